@@ -30,8 +30,10 @@ import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataFetcherContextImpl;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataFetchers;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLHttpService;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLProvider;
+import org.hyperledger.besu.ethereum.api.graphql.internal.RequestScopedBlockchainQueries;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcHttpService;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcResponseCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcApi;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.LivenessCheck;
@@ -112,6 +114,7 @@ import org.hyperledger.besu.util.NetworkUtility;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -155,6 +158,7 @@ public class RunnerBuilder {
 
   private String ethstatsUrl;
   private String ethstatsContact;
+  private Duration ethstatsReportWindow = EthStatsService.DEFAULT_REPORT_WINDOW;
   private JsonRpcConfiguration jsonRpcConfiguration;
   private GraphQLConfiguration graphQLConfiguration;
   private WebSocketConfiguration webSocketConfiguration;
@@ -265,6 +269,11 @@ public class RunnerBuilder {
     return this;
   }
 
+  public RunnerBuilder ethstatsReportWindow(final Duration ethstatsReportWindow) {
+    this.ethstatsReportWindow = ethstatsReportWindow;
+    return this;
+  }
+
   public RunnerBuilder jsonRpcConfiguration(final JsonRpcConfiguration jsonRpcConfiguration) {
     this.jsonRpcConfiguration = jsonRpcConfiguration;
     return this;
@@ -478,7 +487,8 @@ public class RunnerBuilder {
                   miningCoordinator,
                   miningParameters.getStratumPort(),
                   miningParameters.getStratumNetworkInterface(),
-                  miningParameters.getStratumExtranonce()));
+                  miningParameters.getStratumExtranonce(),
+                  metricsSystem));
       miningCoordinator.addEthHashObserver(stratumServer.get());
     }
 
@@ -535,7 +545,8 @@ public class RunnerBuilder {
                   natService,
                   jsonRpcMethods,
                   new HealthService(new LivenessCheck()),
-                  new HealthService(new ReadinessCheck(peerNetwork, synchronizer))));
+                  new HealthService(new ReadinessCheck(peerNetwork, synchronizer)),
+                  createJsonRpcResponseCache(context.getBlockchain())));
     }
 
     Optional<GraphQLHttpService> graphQLHttpService = Optional.empty();
@@ -563,6 +574,7 @@ public class RunnerBuilder {
                   graphQLConfiguration,
                   graphQL,
                   dataFetcherContext,
+                  RequestScopedBlockchainQueries::new,
                   besuController.getProtocolManager().ethContext().getScheduler()));
     }
 
@@ -636,7 +648,8 @@ public class RunnerBuilder {
                   vertx,
                   BesuInfo.nodeName(identityString),
                   besuController.getGenesisConfigOptions(),
-                  network));
+                  network,
+                  ethstatsReportWindow));
     } else {
       ethStatsService = Optional.empty();
     }
@@ -797,6 +810,18 @@ public class RunnerBuilder {
     return methods;
   }
 
+  private Optional<JsonRpcResponseCache> createJsonRpcResponseCache(final Blockchain blockchain) {
+    if (jsonRpcConfiguration.getResponseCacheMaxBytes() <= 0) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new JsonRpcResponseCache(
+            blockchain,
+            jsonRpcConfiguration.getResponseCacheMaxBytes(),
+            jsonRpcConfiguration.getResponseCacheFinalityDepth(),
+            metricsSystem));
+  }
+
   private SubscriptionManager createSubscriptionManager(
       final Vertx vertx,
       final TransactionPool transactionPool,
@@ -0,0 +1,121 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.chainimport;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Splits a file of concatenated RLP encoded blocks into the raw bytes of each block, without
+ * decoding them. The file is read through memory mapped windows so large exports don't need to be
+ * copied through an intermediate read buffer.
+ */
+class MappedRlpBlockSource implements Iterator<MappedRlpBlockSource.RawBlock>, Closeable {
+  private static final long WINDOW_SIZE = 1L << 28; // 256 MiB
+  // enough to hold the longest possible RLP list prefix
+  private static final int MAX_PREFIX_SIZE = 9;
+
+  private final FileChannel fileChannel;
+  private final long fileSize;
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long position;
+
+  MappedRlpBlockSource(final Path file, final long startOffset) throws IOException {
+    fileChannel = FileChannel.open(file);
+    fileSize = fileChannel.size();
+    position = Math.min(startOffset, fileSize);
+    map(position, WINDOW_SIZE);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return position < fileSize;
+  }
+
+  @Override
+  public RawBlock next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more blocks in found in the file.");
+    }
+    try {
+      if (position + MAX_PREFIX_SIZE > windowEnd() && windowEnd() < fileSize) {
+        map(position, WINDOW_SIZE);
+      }
+      final int length =
+          RLP.calculateSize(
+              Bytes.wrapByteBuffer(window, windowOffset(), (int) (windowEnd() - position)));
+      if (position + length > fileSize) {
+        throw new IllegalStateException("Truncated block at offset " + position);
+      }
+      if (position + length > windowEnd()) {
+        map(position, Math.max(length, WINDOW_SIZE));
+      }
+      final Bytes rlp = Bytes.wrapByteBuffer(window, windowOffset(), length).copy();
+      final RawBlock block = new RawBlock(rlp, position + length);
+      position += length;
+      return block;
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void map(final long start, final long size) throws IOException {
+    windowStart = start;
+    window = fileChannel.map(MapMode.READ_ONLY, start, Math.min(size, fileSize - start));
+  }
+
+  private long windowEnd() {
+    return windowStart + window.capacity();
+  }
+
+  private int windowOffset() {
+    return (int) (position - windowStart);
+  }
+
+  @Override
+  public void close() throws IOException {
+    fileChannel.close();
+  }
+
+  static class RawBlock {
+    private final Bytes rlp;
+    private final long nextOffset;
+
+    RawBlock(final Bytes rlp, final long nextOffset) {
+      this.rlp = rlp;
+      this.nextOffset = nextOffset;
+    }
+
+    Bytes getRlp() {
+      return rlp;
+    }
+
+    /** The offset in the file of the block following this one. */
+    long getNextOffset() {
+      return nextOffset;
+    }
+  }
+}
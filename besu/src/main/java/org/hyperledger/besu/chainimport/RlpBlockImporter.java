@@ -16,46 +16,76 @@ package org.hyperledger.besu.chainimport;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import org.hyperledger.besu.chainimport.MappedRlpBlockSource.RawBlock;
+import org.hyperledger.besu.config.JsonUtil;
 import org.hyperledger.besu.controller.BesuController;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
 import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
-import org.hyperledger.besu.ethereum.util.RawBlockIterator;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** Tool for importing rlp-encoded block data from files. */
+/**
+ * Tool for importing rlp-encoded block data from files.
+ *
+ * <p>Blocks are imported through a pipeline: raw blocks are read from a memory mapped file,
+ * decoded, and have their headers and bodies validated and their senders recovered in parallel.
+ * Only execution and storage of the blocks happen sequentially. After every batch of imported
+ * blocks a resume point is written next to the imported file, so an interrupted import restarts
+ * after the last complete batch instead of decoding the whole file again.
+ */
 public class RlpBlockImporter implements Closeable {
   private static final Logger LOG = LogManager.getFormatterLogger();
 
-  private final Semaphore blockBacklog = new Semaphore(2);
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+  private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+  private static final int BUFFER_SIZE = 4 * PARALLELISM;
 
-  private final ExecutorService validationExecutor = Executors.newCachedThreadPool();
-  private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+  private final ExecutorService validationExecutor =
+      Executors.newFixedThreadPool(
+          PARALLELISM,
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("BlockValidation-%d").build());
+  private final ExecutorService pipelineExecutor =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("BlockImport-%d").build());
 
   private long cumulativeGas;
   private long segmentGas;
@@ -86,151 +116,95 @@ public class RlpBlockImporter implements Closeable {
       final long startBlock,
       final long endBlock)
       throws IOException {
+    return importBlockchain(
+        blocks,
+        besuController,
+        skipPowValidation,
+        startBlock,
+        endBlock,
+        DEFAULT_BATCH_SIZE,
+        new NoOpMetricsSystem());
+  }
+
+  /**
+   * Imports blocks that are stored as concatenated RLP sections in the given file into Besu's block
+   * storage.
+   *
+   * @param blocks Path to the file containing the blocks
+   * @param besuController the BesuController that defines blockchain behavior
+   * @param skipPowValidation Skip proof of work validation (correct mix hash and difficulty)
+   * @param startBlock the first block number to import
+   * @param endBlock the block number to stop importing at (exclusive)
+   * @param batchSize the number of blocks imported between resume points
+   * @param metricsSystem the metrics system to report import throughput to
+   * @return the import result
+   * @throws IOException On Failure
+   */
+  public RlpBlockImporter.ImportResult importBlockchain(
+      final Path blocks,
+      final BesuController besuController,
+      final boolean skipPowValidation,
+      final long startBlock,
+      final long endBlock,
+      final int batchSize,
+      final MetricsSystem metricsSystem)
+      throws IOException {
     final ProtocolSchedule protocolSchedule = besuController.getProtocolSchedule();
     final ProtocolContext context = besuController.getProtocolContext();
     final MutableBlockchain blockchain = context.getBlockchain();
-    int count = 0;
-
-    try (final RawBlockIterator iterator =
-        new RawBlockIterator(
-            blocks,
-            rlp ->
-                BlockHeader.readFrom(
-                    rlp, ScheduleBasedBlockHeaderFunctions.create(protocolSchedule)))) {
-      BlockHeader previousHeader = null;
-      CompletableFuture<Void> previousBlockFuture = null;
-      final AtomicReference<Throwable> threadedException = new AtomicReference<>();
-      while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        final long blockNumber = header.getNumber();
-        if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
-            || blockNumber < startBlock
-            || blockNumber >= endBlock) {
-          continue;
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec protocolSpec = protocolSchedule.getByBlockNumber(blockNumber);
-        final BlockHeader lastHeader = previousHeader;
-
-        final CompletableFuture<Void> validationFuture =
-            CompletableFuture.runAsync(
-                () -> validateBlock(protocolSpec, context, lastHeader, header, skipPowValidation),
-                validationExecutor);
-
-        final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
-
-        final CompletableFuture<Void> calculationFutures;
-        if (previousBlockFuture == null) {
-          calculationFutures = extractingFuture;
-        } else {
-          calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
-        }
-
-        try {
-          do {
-            final Throwable t = (Exception) threadedException.get();
-            if (t != null) {
-              throw new RuntimeException("Error importing block", t);
-            }
-          } while (!blockBacklog.tryAcquire(1, SECONDS));
-        } catch (final InterruptedException e) {
-          LOG.error("Interrupted adding to backlog.", e);
-          break;
-        }
-        previousBlockFuture =
-            validationFuture.runAfterBothAsync(
-                calculationFutures,
-                () -> evaluateBlock(context, block, header, protocolSpec, skipPowValidation),
-                importExecutor);
-        previousBlockFuture.exceptionally(
-            exception -> {
-              threadedException.set(exception);
-              return null;
-            });
-
-        ++count;
-        previousHeader = header;
-      }
-      if (previousBlockFuture != null) {
-        previousBlockFuture.join();
-      }
-      logProgress(blockchain.getChainHeadBlockNumber());
-      return new RlpBlockImporter.ImportResult(
-          blockchain.getChainHead().getTotalDifficulty(), count);
-    }
-  }
+    final ImportRun run =
+        new ImportRun(
+            context,
+            protocolSchedule,
+            skipPowValidation,
+            startBlock,
+            endBlock,
+            resumePointFile(blocks),
+            metricsSystem);
 
-  private void extractSignatures(final Block block) {
-    final List<CompletableFuture<Void>> futures =
-        new ArrayList<>(block.getBody().getTransactions().size());
-    for (final Transaction tx : block.getBody().getTransactions()) {
-      futures.add(CompletableFuture.runAsync(tx::getSender, validationExecutor));
-    }
-    for (final CompletableFuture<Void> future : futures) {
-      future.join();
+    try (final MappedRlpBlockSource source = new MappedRlpBlockSource(blocks, run.resumeOffset())) {
+      final Pipeline<RawBlock> pipeline =
+          PipelineBuilder.createPipelineFrom(
+                  "readBlocks",
+                  source,
+                  BUFFER_SIZE,
+                  metricsSystem.createLabelledCounter(
+                      BesuMetricCategory.BLOCKCHAIN,
+                      "rlp_import_pipeline_processed_total",
+                      "Number of entries processed by each RLP block import pipeline stage",
+                      "step",
+                      "action"),
+                  false,
+                  "rlpBlockImport")
+              .thenProcessAsyncOrdered(
+                  "decodeBlocks",
+                  rawBlock ->
+                      CompletableFuture.supplyAsync(() -> run.decode(rawBlock), validationExecutor),
+                  PARALLELISM)
+              .thenFlatMap("selectBlocks", run::select, BUFFER_SIZE)
+              .thenProcessAsyncOrdered(
+                  "validateBlocks",
+                  pendingBlock ->
+                      CompletableFuture.supplyAsync(
+                          () -> run.validate(pendingBlock), validationExecutor),
+                  PARALLELISM)
+              .inBatches(batchSize)
+              .andFinishWith("importBlocks", run::importBatch);
+      pipeline.start(pipelineExecutor).get();
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("Error importing blocks", e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted importing blocks", e);
     }
+    Files.deleteIfExists(run.resumePointFile);
+    logProgress(blockchain.getChainHeadBlockNumber());
+    return new RlpBlockImporter.ImportResult(
+        blockchain.getChainHead().getTotalDifficulty(), run.count);
   }
 
-  private void validateBlock(
-      final ProtocolSpec protocolSpec,
-      final ProtocolContext context,
-      final BlockHeader previousHeader,
-      final BlockHeader header,
-      final boolean skipPowValidation) {
-    final BlockHeaderValidator blockHeaderValidator = protocolSpec.getBlockHeaderValidator();
-    final boolean validHeader =
-        blockHeaderValidator.validateHeader(
-            header,
-            previousHeader,
-            context,
-            skipPowValidation
-                ? HeaderValidationMode.LIGHT_DETACHED_ONLY
-                : HeaderValidationMode.DETACHED_ONLY);
-    if (!validHeader) {
-      throw new IllegalStateException("Invalid header at block number " + header.getNumber() + ".");
-    }
-  }
-
-  private void evaluateBlock(
-      final ProtocolContext context,
-      final Block block,
-      final BlockHeader header,
-      final ProtocolSpec protocolSpec,
-      final boolean skipPowValidation) {
-    try {
-      cumulativeTimer.start();
-      segmentTimer.start();
-      final BlockImporter blockImporter = protocolSpec.getBlockImporter();
-      final boolean blockImported =
-          blockImporter.importBlock(
-              context,
-              block,
-              skipPowValidation
-                  ? HeaderValidationMode.LIGHT_SKIP_DETACHED
-                  : HeaderValidationMode.SKIP_DETACHED,
-              skipPowValidation ? HeaderValidationMode.LIGHT : HeaderValidationMode.FULL);
-      if (!blockImported) {
-        throw new IllegalStateException(
-            "Invalid block at block number " + header.getNumber() + ".");
-      }
-    } finally {
-      blockBacklog.release();
-      cumulativeTimer.stop();
-      segmentTimer.stop();
-      final long thisGas = block.getHeader().getGasUsed();
-      cumulativeGas += thisGas;
-      segmentGas += thisGas;
-      if (header.getNumber() % SEGMENT_SIZE == 0) {
-        logProgress(header.getNumber());
-      }
-    }
+  static Path resumePointFile(final Path blocks) {
+    return blocks.resolveSibling(blocks.getFileName() + ".import-progress");
   }
 
   private void logProgress(final long blockNum) {
@@ -247,18 +221,6 @@ public class RlpBlockImporter implements Closeable {
     segmentTimer.reset();
   }
 
-  private BlockHeader lookupPreviousHeader(
-      final MutableBlockchain blockchain, final BlockHeader header) {
-    return blockchain
-        .getBlockHeader(header.getParentHash())
-        .orElseThrow(
-            () ->
-                new IllegalStateException(
-                    String.format(
-                        "Block %s does not connect to the existing chain. Current chain head %s",
-                        header.getNumber(), blockchain.getChainHeadBlockNumber())));
-  }
-
   @Override
   public void close() {
     validationExecutor.shutdownNow();
@@ -269,12 +231,212 @@ public class RlpBlockImporter implements Closeable {
       LOG.error("Error shutting down validatorExecutor.", e);
     }
 
-    importExecutor.shutdownNow();
+    pipelineExecutor.shutdownNow();
     try {
       //noinspection ResultOfMethodCallIgnored
-      importExecutor.awaitTermination(5, SECONDS);
+      pipelineExecutor.awaitTermination(5, SECONDS);
     } catch (final Exception e) {
-      LOG.error("Error shutting down importExecutor", e);
+      LOG.error("Error shutting down pipelineExecutor", e);
+    }
+  }
+
+  /** The state of a single import of a file, shared by the stages of its pipeline. */
+  private class ImportRun {
+    private final ProtocolContext context;
+    private final ProtocolSchedule protocolSchedule;
+    private final BlockHeaderFunctions blockHeaderFunctions;
+    private final boolean skipPowValidation;
+    private final long startBlock;
+    private final long endBlock;
+    private final Path resumePointFile;
+    private final Counter importedBlocksCounter;
+    private final Counter importedTransactionsCounter;
+    private final Counter importedGasCounter;
+
+    // only accessed from the selectBlocks stage
+    private BlockHeader previousHeader;
+    // only accessed from the importBlocks stage
+    private int count;
+
+    private ImportRun(
+        final ProtocolContext context,
+        final ProtocolSchedule protocolSchedule,
+        final boolean skipPowValidation,
+        final long startBlock,
+        final long endBlock,
+        final Path resumePointFile,
+        final MetricsSystem metricsSystem) {
+      this.context = context;
+      this.protocolSchedule = protocolSchedule;
+      this.blockHeaderFunctions = ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
+      this.skipPowValidation = skipPowValidation;
+      this.startBlock = startBlock;
+      this.endBlock = endBlock;
+      this.resumePointFile = resumePointFile;
+      importedBlocksCounter =
+          metricsSystem.createCounter(
+              BesuMetricCategory.BLOCKCHAIN,
+              "rlp_import_blocks_total",
+              "Total number of blocks imported from RLP files");
+      importedTransactionsCounter =
+          metricsSystem.createCounter(
+              BesuMetricCategory.BLOCKCHAIN,
+              "rlp_import_transactions_total",
+              "Total number of transactions imported from RLP files");
+      importedGasCounter =
+          metricsSystem.createCounter(
+              BesuMetricCategory.BLOCKCHAIN,
+              "rlp_import_gas_total",
+              "Total gas used by blocks imported from RLP files");
+    }
+
+    /**
+     * Returns the file offset to start reading from. A resume point is only used if its block is
+     * part of the local chain and is not before the start block.
+     */
+    private long resumeOffset() throws IOException {
+      if (!Files.exists(resumePointFile)) {
+        return 0;
+      }
+      final ObjectNode resumePoint =
+          JsonUtil.objectNodeFromString(Files.readString(resumePointFile));
+      final long blockNumber = resumePoint.get("blockNumber").asLong();
+      final Hash blockHash = Hash.fromHexString(resumePoint.get("blockHash").asText());
+      if (blockNumber < startBlock || !context.getBlockchain().contains(blockHash)) {
+        return 0;
+      }
+      final long offset = resumePoint.get("offset").asLong();
+      LOG.info("Resuming import after block %d at offset %d", blockNumber, offset);
+      return offset;
+    }
+
+    private DecodedBlock decode(final RawBlock rawBlock) {
+      final Block block =
+          Block.readFrom(new BytesValueRLPInput(rawBlock.getRlp(), false), blockHeaderFunctions);
+      return new DecodedBlock(block, rawBlock.getNextOffset());
+    }
+
+    private Stream<DecodedBlock> select(final DecodedBlock decodedBlock) {
+      final BlockHeader header = decodedBlock.block.getHeader();
+      final long blockNumber = header.getNumber();
+      if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
+          || blockNumber < startBlock
+          || blockNumber >= endBlock
+          || context.getBlockchain().contains(header.getHash())) {
+        return Stream.empty();
+      }
+      if (previousHeader == null || !previousHeader.getHash().equals(header.getParentHash())) {
+        previousHeader = lookupPreviousHeader(context.getBlockchain(), header);
+      }
+      decodedBlock.parentHeader = previousHeader;
+      previousHeader = header;
+      return Stream.of(decodedBlock);
+    }
+
+    private DecodedBlock validate(final DecodedBlock decodedBlock) {
+      final Block block = decodedBlock.block;
+      final BlockHeader header = block.getHeader();
+      final ProtocolSpec protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
+      final BlockHeaderValidator blockHeaderValidator = protocolSpec.getBlockHeaderValidator();
+      final boolean validHeader =
+          blockHeaderValidator.validateHeader(
+              header,
+              decodedBlock.parentHeader,
+              context,
+              skipPowValidation
+                  ? HeaderValidationMode.LIGHT_DETACHED_ONLY
+                  : HeaderValidationMode.DETACHED_ONLY);
+      if (!validHeader) {
+        throw new IllegalStateException(
+            "Invalid header at block number " + header.getNumber() + ".");
+      }
+      if (!BodyValidation.transactionsRoot(block.getBody().getTransactions())
+              .equals(header.getTransactionsRoot())
+          || !BodyValidation.ommersHash(block.getBody().getOmmers())
+              .equals(header.getOmmersHash())) {
+        throw new IllegalStateException("Invalid body at block number " + header.getNumber() + ".");
+      }
+      block.getBody().getTransactions().forEach(Transaction::getSender);
+      return decodedBlock;
+    }
+
+    private void importBatch(final List<DecodedBlock> batch) {
+      for (final DecodedBlock decodedBlock : batch) {
+        evaluateBlock(decodedBlock.block);
+        ++count;
+      }
+      writeResumePoint(batch.get(batch.size() - 1));
+    }
+
+    private void evaluateBlock(final Block block) {
+      final BlockHeader header = block.getHeader();
+      try {
+        cumulativeTimer.start();
+        segmentTimer.start();
+        final BlockImporter blockImporter =
+            protocolSchedule.getByBlockNumber(header.getNumber()).getBlockImporter();
+        final boolean blockImported =
+            blockImporter.importBlock(
+                context,
+                block,
+                skipPowValidation
+                    ? HeaderValidationMode.LIGHT_SKIP_DETACHED
+                    : HeaderValidationMode.SKIP_DETACHED,
+                skipPowValidation ? HeaderValidationMode.LIGHT : HeaderValidationMode.FULL);
+        if (!blockImported) {
+          throw new IllegalStateException(
+              "Invalid block at block number " + header.getNumber() + ".");
+        }
+      } finally {
+        cumulativeTimer.stop();
+        segmentTimer.stop();
+        final long thisGas = header.getGasUsed();
+        cumulativeGas += thisGas;
+        segmentGas += thisGas;
+        if (header.getNumber() % SEGMENT_SIZE == 0) {
+          logProgress(header.getNumber());
+        }
+      }
+      importedBlocksCounter.inc();
+      importedTransactionsCounter.inc(block.getBody().getTransactions().size());
+      importedGasCounter.inc(header.getGasUsed());
+    }
+
+    private void writeResumePoint(final DecodedBlock lastImported) {
+      final Map<String, Object> resumePoint =
+          Map.of(
+              "blockNumber", lastImported.block.getHeader().getNumber(),
+              "blockHash", lastImported.block.getHash().toHexString(),
+              "offset", lastImported.nextOffset);
+      try {
+        Files.write(
+            resumePointFile, JsonUtil.getJson(resumePoint).getBytes(StandardCharsets.UTF_8));
+      } catch (final IOException e) {
+        LOG.warn("Unable to write import resume point to %s: %s", resumePointFile, e.getMessage());
+      }
+    }
+
+    private BlockHeader lookupPreviousHeader(
+        final MutableBlockchain blockchain, final BlockHeader header) {
+      return blockchain
+          .getBlockHeader(header.getParentHash())
+          .orElseThrow(
+              () ->
+                  new IllegalStateException(
+                      String.format(
+                          "Block %s does not connect to the existing chain. Current chain head %s",
+                          header.getNumber(), blockchain.getChainHeadBlockNumber())));
+    }
+  }
+
+  private static class DecodedBlock {
+    private final Block block;
+    private final long nextOffset;
+    private BlockHeader parentHeader;
+
+    private DecodedBlock(final Block block, final long nextOffset) {
+      this.block = block;
+      this.nextOffset = nextOffset;
     }
   }
 
@@ -57,6 +57,7 @@ import org.hyperledger.besu.cli.options.unstable.MiningOptions;
 import org.hyperledger.besu.cli.options.unstable.NatOptions;
 import org.hyperledger.besu.cli.options.unstable.NativeLibraryOptions;
 import org.hyperledger.besu.cli.options.unstable.NetworkingOptions;
+import org.hyperledger.besu.cli.options.unstable.PruningOptions;
 import org.hyperledger.besu.cli.options.unstable.RPCOptions;
 import org.hyperledger.besu.cli.options.unstable.SynchronizerOptions;
 import org.hyperledger.besu.cli.options.unstable.TransactionPoolOptions;
@@ -120,6 +121,7 @@ import org.hyperledger.besu.ethereum.privacy.storage.keyvalue.PrivacyKeyValueSto
 import org.hyperledger.besu.ethereum.privacy.storage.keyvalue.PrivacyKeyValueStorageProviderBuilder;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProviderBuilder;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.MetricCategoryRegistryImpl;
@@ -233,6 +235,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
   final SynchronizerOptions unstableSynchronizerOptions = SynchronizerOptions.create();
   final EthProtocolOptions unstableEthProtocolOptions = EthProtocolOptions.create();
   final MetricsCLIOptions unstableMetricsCLIOptions = MetricsCLIOptions.create();
+  final PruningOptions unstablePruningOptions = PruningOptions.create();
   final TransactionPoolOptions unstableTransactionPoolOptions = TransactionPoolOptions.create();
   private final EthstatsOptions unstableEthstatsOptions = EthstatsOptions.create();
   private final DataStorageOptions unstableDataStorageOptions = DataStorageOptions.create();
@@ -1226,6 +1229,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .put("TransactionPool", unstableTransactionPoolOptions)
             .put("Ethstats", unstableEthstatsOptions)
             .put("Mining", unstableMiningOptions)
+            .put("Pruning", unstablePruningOptions)
             .put("Native Library", unstableNativeLibraryOptions)
             .put("Data Storage Options", unstableDataStorageOptions)
             .build();
@@ -1329,6 +1333,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
   private void configureNativeLibs() {
     if (unstableNativeLibraryOptions.getNativeAltbn128()) {
       AbstractAltBnPrecompiledContract.enableNative();
+    } else {
+      AbstractAltBnPrecompiledContract.disableNative();
     }
     if (unstableNativeLibraryOptions.getNativeSecp256k1()) {
       SECP256K1.enableNative();
@@ -1343,6 +1349,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     validateNatParams();
     validateNetStatsParams();
     validateDnsOptionsParams();
+    validateDataStorageParams();
 
     return this;
   }
@@ -1361,6 +1368,10 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
           "Unable to mine with Stratum if mining is disabled. Either disable Stratum mining (remove --miner-stratum-enabled) "
               + "or specify mining is enabled (--miner-enabled)");
     }
+    if (unstableMiningOptions.getSolverThreads() < 1) {
+      throw new ParameterException(
+          this.commandLine, "Number of solver threads (--Xminer-solver-threads) must be positive");
+    }
   }
 
   protected void validateP2PInterface(final String p2pInterface) {
@@ -1401,6 +1412,11 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
           "The `--Xethstats-contact` requires ethstats server URL to be provided. Either remove --Xethstats-contact"
               + " or provide an url (via --Xethstats=nodename:secret@host:port)");
     }
+    if (unstableEthstatsOptions.getEthstatsReportWindow().isNegative()
+        || unstableEthstatsOptions.getEthstatsReportWindow().isZero()) {
+      throw new ParameterException(
+          this.commandLine, "The `--Xethstats-report-window-millis` must be greater than 0");
+    }
   }
 
   private void validateDnsOptionsParams() {
@@ -1412,6 +1428,18 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     }
   }
 
+  private void validateDataStorageParams() {
+    final DataStorageConfiguration dataStorageConfiguration =
+        unstableDataStorageOptions.toDomainObject();
+    if (dataStorageConfiguration.getBonsaiTrieLogArchiveRangeSize() > 0
+        && dataStorageConfiguration.getBonsaiTrieLogRetainedLayers() == 0) {
+      throw new ParameterException(
+          this.commandLine,
+          "The `--Xbonsai-trie-log-archive-range-size` only archives pruned trie logs. Either remove --Xbonsai-trie-log-archive-range-size"
+              + " or enable pruning (via --Xbonsai-trie-log-retained-layers)");
+    }
+  }
+
   private GenesisConfigOptions readGenesisConfigOptions() {
     final GenesisConfigOptions genesisConfigOptions;
     try {
@@ -1453,7 +1481,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             "--miner-extra-data",
             "--miner-stratum-enabled",
             "--Xminer-remote-sealers-limit",
-            "--Xminer-remote-sealers-hashrate-ttl"));
+            "--Xminer-remote-sealers-hashrate-ttl",
+            "--Xminer-full-dataset-enabled",
+            "--Xminer-solver-threads"));
 
     CommandLineUtils.checkOptionDependencies(
         logger,
@@ -1609,7 +1639,10 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                 Optional.empty(),
                 minBlockOccupancyRatio,
                 unstableMiningOptions.getRemoteSealersLimit(),
-                unstableMiningOptions.getRemoteSealersTimeToLive()))
+                unstableMiningOptions.getRemoteSealersTimeToLive(),
+                unstableMiningOptions.isBlockBuildAheadEnabled(),
+                unstableMiningOptions.isFullDatasetMiningEnabled(),
+                unstableMiningOptions.getSolverThreads()))
         .transactionPoolConfiguration(buildTransactionPoolConfiguration())
         .nodeKey(buildNodeKey())
         .metricsSystem(metricsSystem.get())
@@ -1619,7 +1652,11 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .storageProvider(keyStorageProvider(keyValueStorageName))
         .isPruningEnabled(isPruningEnabled())
         .pruningConfiguration(
-            new PrunerConfiguration(pruningBlockConfirmations, pruningBlocksRetained))
+            new PrunerConfiguration(
+                pruningBlockConfirmations,
+                pruningBlocksRetained,
+                unstablePruningOptions.getSweepOperationsPerSecond(),
+                unstablePruningOptions.getMarkFilterMemory()))
         .genesisConfigOverrides(genesisConfigOverrides)
         .gasLimitCalculator(
             Optional.ofNullable(targetGasLimit)
@@ -1627,7 +1664,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                 .orElse(GasLimitCalculator.constant()))
         .requiredBlocks(requiredBlocks)
         .reorgLoggingThreshold(reorgLoggingThreshold)
-        .dataStorageConfiguration(unstableDataStorageOptions.toDomainObject());
+        .dataStorageConfiguration(unstableDataStorageOptions.toDomainObject())
+        .blockProcessingProfileEnabled(
+            unstableMetricsCLIOptions.toDomainObject().build().isBlockProcessingProfileEnabled());
   }
 
   private GraphQLConfiguration graphQLConfiguration() {
@@ -1695,6 +1734,14 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     jsonRpcConfiguration.setAuthenticationPublicKeyFile(rpcHttpAuthenticationPublicKeyFile);
     jsonRpcConfiguration.setTlsConfiguration(rpcHttpTlsConfiguration());
     jsonRpcConfiguration.setHttpTimeoutSec(unstableRPCOptions.getHttpTimeoutSec());
+    jsonRpcConfiguration.setResponseCacheMaxBytes(
+        unstableRPCOptions.getHttpResponseCacheMaxBytes());
+    if (unstableRPCOptions.getHttpResponseCacheFinalityDepth() < 1) {
+      throw new ParameterException(
+          this.commandLine, "The `--Xhttp-response-cache-finality-depth` must be at least 1");
+    }
+    jsonRpcConfiguration.setResponseCacheFinalityDepth(
+        unstableRPCOptions.getHttpResponseCacheFinalityDepth());
     return jsonRpcConfiguration;
   }
 
@@ -2017,6 +2064,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       privacyParametersBuilder.setEnclaveUrl(privacyUrl);
       privacyParametersBuilder.setMultiTenancyEnabled(isPrivacyMultiTenancyEnabled);
       privacyParametersBuilder.setOnchainPrivacyGroupsEnabled(isFlexiblePrivacyGroupsEnabled);
+      privacyParametersBuilder.setMetricsSystem(metricsSystem.get());
 
       final boolean hasPrivacyPublicKey = privacyPublicKeyFile != null;
       if (hasPrivacyPublicKey && !isPrivacyMultiTenancyEnabled) {
@@ -2193,6 +2241,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .autoLogBloomCaching(autoLogBloomCachingEnabled)
             .ethstatsUrl(unstableEthstatsOptions.getEthstatsUrl())
             .ethstatsContact(unstableEthstatsOptions.getEthstatsContact())
+            .ethstatsReportWindow(unstableEthstatsOptions.getEthstatsReportWindow())
             .storageProvider(keyStorageProvider(keyValueStorageName))
             .build();
 
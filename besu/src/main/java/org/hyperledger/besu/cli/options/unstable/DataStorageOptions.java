@@ -28,6 +28,10 @@ import picocli.CommandLine.Option;
 public class DataStorageOptions implements CLIOptions<DataStorageConfiguration> {
 
   private static final String DATA_STORAGE_FORMAT = "--Xdata-storage-format";
+  private static final String BONSAI_TRIE_LOG_RETAINED_LAYERS =
+      "--Xbonsai-trie-log-retained-layers";
+  private static final String BONSAI_TRIE_LOG_ARCHIVE_RANGE_SIZE =
+      "--Xbonsai-trie-log-archive-range-size";
 
   // Use Bonsai DB
   @Option(
@@ -38,17 +42,47 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
       arity = "1")
   private final DataStorageFormat dataStorageFormat = DataStorageFormat.FOREST;
 
+  @Option(
+      names = {BONSAI_TRIE_LOG_RETAINED_LAYERS},
+      hidden = true,
+      paramLabel = "<LONG>",
+      description =
+          "Number of recent Bonsai trie log layers to keep, older layers are pruned. 0 keeps all layers (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long bonsaiTrieLogRetainedLayers =
+      DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_RETAINED_LAYERS;
+
+  @Option(
+      names = {BONSAI_TRIE_LOG_ARCHIVE_RANGE_SIZE},
+      hidden = true,
+      paramLabel = "<LONG>",
+      description =
+          "Number of blocks per compressed archive of pruned Bonsai trie log layers. 0 discards pruned layers (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long bonsaiTrieLogArchiveRangeSize =
+      DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_ARCHIVE_RANGE_SIZE;
+
   public static DataStorageOptions create() {
     return new DataStorageOptions();
   }
 
   @Override
   public DataStorageConfiguration toDomainObject() {
-    return ImmutableDataStorageConfiguration.builder().dataStorageFormat(dataStorageFormat).build();
+    return ImmutableDataStorageConfiguration.builder()
+        .dataStorageFormat(dataStorageFormat)
+        .bonsaiTrieLogRetainedLayers(bonsaiTrieLogRetainedLayers)
+        .bonsaiTrieLogArchiveRangeSize(bonsaiTrieLogArchiveRangeSize)
+        .build();
   }
 
   @Override
   public List<String> getCLIOptions() {
-    return List.of(DATA_STORAGE_FORMAT, dataStorageFormat.toString());
+    return List.of(
+        DATA_STORAGE_FORMAT,
+        dataStorageFormat.toString(),
+        BONSAI_TRIE_LOG_RETAINED_LAYERS,
+        bonsaiTrieLogRetainedLayers.toString(),
+        BONSAI_TRIE_LOG_ARCHIVE_RANGE_SIZE,
+        bonsaiTrieLogArchiveRangeSize.toString());
   }
 }
@@ -15,8 +15,10 @@
 package org.hyperledger.besu.cli.options.unstable;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
+import org.hyperledger.besu.ethstats.EthStatsService;
 import org.hyperledger.besu.ethstats.util.NetstatsUrl;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -26,6 +28,7 @@ public class EthstatsOptions implements CLIOptions<NetstatsUrl> {
 
   private static final String ETHSTATS = "--Xethstats";
   private static final String ETHSTATS_CONTACT = "--Xethstats-contact";
+  private static final String ETHSTATS_REPORT_WINDOW = "--Xethstats-report-window-millis";
 
   @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
   @CommandLine.Option(
@@ -44,6 +47,16 @@ public class EthstatsOptions implements CLIOptions<NetstatsUrl> {
       arity = "1")
   private String ethstatsContact = "";
 
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      hidden = true,
+      names = {ETHSTATS_REPORT_WINDOW},
+      paramLabel = "<LONG>",
+      description =
+          "Window in milliseconds within which block and pending transaction reports to the ethstats server are coalesced. Outdated reports are sent at most once per window (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private Long ethstatsReportWindowMillis = EthStatsService.DEFAULT_REPORT_WINDOW.toMillis();
+
   private EthstatsOptions() {}
 
   public static EthstatsOptions create() {
@@ -63,8 +76,15 @@ public class EthstatsOptions implements CLIOptions<NetstatsUrl> {
     return ethstatsContact;
   }
 
+  public Duration getEthstatsReportWindow() {
+    return Duration.ofMillis(ethstatsReportWindowMillis);
+  }
+
   @Override
   public List<String> getCLIOptions() {
-    return Arrays.asList(ETHSTATS + "=" + ethstatsUrl, ETHSTATS_CONTACT + "=" + ethstatsContact);
+    return Arrays.asList(
+        ETHSTATS + "=" + ethstatsUrl,
+        ETHSTATS_CONTACT + "=" + ethstatsContact,
+        ETHSTATS_REPORT_WINDOW + "=" + ethstatsReportWindowMillis);
   }
 }
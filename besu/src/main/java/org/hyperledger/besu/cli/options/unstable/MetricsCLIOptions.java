@@ -24,6 +24,10 @@ import picocli.CommandLine;
 
 public class MetricsCLIOptions implements CLIOptions<MetricsConfiguration.Builder> {
   private static final String TIMERS_ENABLED_FLAG = "--Xmetrics-timers-enabled";
+  private static final String LOCK_FREE_RECORDERS_ENABLED_FLAG =
+      "--Xmetrics-lock-free-recorders-enabled";
+  private static final String BLOCK_PROCESSING_PROFILE_ENABLED_FLAG =
+      "--Xmetrics-block-processing-profile-enabled";
 
   @CommandLine.Option(
       names = TIMERS_ENABLED_FLAG,
@@ -32,6 +36,24 @@ public class MetricsCLIOptions implements CLIOptions<MetricsConfiguration.Builde
       description = "Whether to enable timer metrics (default: ${DEFAULT-VALUE}).")
   private Boolean timersEnabled = MetricsConfiguration.DEFAULT_TIMERS_ENABLED;
 
+  @CommandLine.Option(
+      names = LOCK_FREE_RECORDERS_ENABLED_FLAG,
+      hidden = true,
+      defaultValue = "false",
+      description =
+          "Whether Prometheus counters and timers record into lock-free striped counters that are only read on scrape. Timers are then exposed as histograms instead of summaries (default: ${DEFAULT-VALUE}).")
+  private Boolean lockFreeRecordersEnabled =
+      MetricsConfiguration.DEFAULT_LOCK_FREE_RECORDERS_ENABLED;
+
+  @CommandLine.Option(
+      names = BLOCK_PROCESSING_PROFILE_ENABLED_FLAG,
+      hidden = true,
+      defaultValue = "false",
+      description =
+          "Whether to profile the phases and slowest transactions of each processed block. Profiles are available through debug_getBlockProcessingProfile (default: ${DEFAULT-VALUE}).")
+  private Boolean blockProcessingProfileEnabled =
+      MetricsConfiguration.DEFAULT_BLOCK_PROCESSING_PROFILE_ENABLED;
+
   private MetricsCLIOptions() {}
 
   public static MetricsCLIOptions create() {
@@ -41,16 +63,24 @@ public class MetricsCLIOptions implements CLIOptions<MetricsConfiguration.Builde
   public static MetricsCLIOptions fromConfiguration(final MetricsConfiguration config) {
     final MetricsCLIOptions metricsOptions = create();
     metricsOptions.timersEnabled = config.isTimersEnabled();
+    metricsOptions.lockFreeRecordersEnabled = config.isLockFreeRecordersEnabled();
+    metricsOptions.blockProcessingProfileEnabled = config.isBlockProcessingProfileEnabled();
     return metricsOptions;
   }
 
   @Override
   public MetricsConfiguration.Builder toDomainObject() {
-    return MetricsConfiguration.builder().timersEnabled(timersEnabled);
+    return MetricsConfiguration.builder()
+        .timersEnabled(timersEnabled)
+        .lockFreeRecordersEnabled(lockFreeRecordersEnabled)
+        .blockProcessingProfileEnabled(blockProcessingProfileEnabled);
   }
 
   @Override
   public List<String> getCLIOptions() {
-    return Arrays.asList(TIMERS_ENABLED_FLAG + "=" + timersEnabled.toString());
+    return Arrays.asList(
+        TIMERS_ENABLED_FLAG + "=" + timersEnabled.toString(),
+        LOCK_FREE_RECORDERS_ENABLED_FLAG + "=" + lockFreeRecordersEnabled.toString(),
+        BLOCK_PROCESSING_PROFILE_ENABLED_FLAG + "=" + blockProcessingProfileEnabled.toString());
   }
 }
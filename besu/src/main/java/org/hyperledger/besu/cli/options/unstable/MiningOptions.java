@@ -16,6 +16,7 @@ package org.hyperledger.besu.cli.options.unstable;
 
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_REMOTE_SEALERS_LIMIT;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_REMOTE_SEALERS_TTL;
+import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_SOLVER_THREADS;
 
 import picocli.CommandLine;
 
@@ -42,6 +43,32 @@ public class MiningOptions {
       description = "Extranonce for Stratum network miners (default: ${DEFAULT-VALUE})")
   private String stratumExtranonce = "080c";
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xminer-build-ahead-enabled"},
+      paramLabel = "<Boolean>",
+      description =
+          "Execute pending transactions for the next block while waiting for its slot (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean blockBuildAheadEnabled = false;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xminer-full-dataset-enabled"},
+      paramLabel = "<Boolean>",
+      description =
+          "Mine with the full EthHash dataset, generated into the data directory, instead of computing dataset items from the cache (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean fullDatasetMiningEnabled = false;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xminer-solver-threads"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Number of threads used to search for EthHash nonces (default: ${DEFAULT-VALUE})")
+  private final Integer solverThreads = DEFAULT_SOLVER_THREADS;
+
   public static MiningOptions create() {
     return new MiningOptions();
   }
@@ -57,4 +84,16 @@ public class MiningOptions {
   public String getStratumExtranonce() {
     return stratumExtranonce;
   }
+
+  public Boolean isBlockBuildAheadEnabled() {
+    return blockBuildAheadEnabled;
+  }
+
+  public Boolean isFullDatasetMiningEnabled() {
+    return fullDatasetMiningEnabled;
+  }
+
+  public Integer getSolverThreads() {
+    return solverThreads;
+  }
 }
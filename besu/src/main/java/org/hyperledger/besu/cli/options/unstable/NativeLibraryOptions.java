@@ -28,7 +28,8 @@ public class NativeLibraryOptions {
   @CommandLine.Option(
       hidden = true,
       names = {"--Xaltbn128-native-enabled"},
-      description = "Path to PID file (optional)",
+      description =
+          "Use the native alt_bn128 library when it is available, instead of the Java implementation (default: ${DEFAULT-VALUE})",
       arity = "1")
   private final Boolean nativeAltbn128 = Boolean.TRUE;
 
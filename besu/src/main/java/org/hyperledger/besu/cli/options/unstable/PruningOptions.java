@@ -0,0 +1,94 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.options.unstable;
+
+import static org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration.DEFAULT_PRUNING_BLOCKS_RETAINED;
+import static org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration.DEFAULT_PRUNING_BLOCK_CONFIRMATIONS;
+import static org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration.DEFAULT_PRUNING_MARK_FILTER_MEMORY;
+import static org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration.DEFAULT_PRUNING_SWEEP_OPERATIONS_PER_SECOND;
+
+import org.hyperledger.besu.cli.options.CLIOptions;
+import org.hyperledger.besu.cli.options.OptionParser;
+import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import picocli.CommandLine;
+
+public class PruningOptions implements CLIOptions<PrunerConfiguration> {
+  private static final String SWEEP_OPERATIONS_PER_SECOND_FLAG =
+      "--Xpruning-sweep-operations-per-second";
+  private static final String MARK_FILTER_MEMORY_FLAG = "--Xpruning-mark-filter-memory";
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {SWEEP_OPERATIONS_PER_SECOND_FLAG},
+      paramLabel = "<INTEGER>",
+      description =
+          "Maximum number of nodes examined or removed per second while sweeping, 0 for no limit (default: ${DEFAULT-VALUE})")
+  private Integer sweepOperationsPerSecond = DEFAULT_PRUNING_SWEEP_OPERATIONS_PER_SECOND;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {MARK_FILTER_MEMORY_FLAG},
+      paramLabel = "<LONG>",
+      description =
+          "Bytes of memory for an in-memory filter of marked nodes, 0 to store marks in the database (default: ${DEFAULT-VALUE})")
+  private Long markFilterMemory = DEFAULT_PRUNING_MARK_FILTER_MEMORY;
+
+  private PruningOptions() {}
+
+  public static PruningOptions create() {
+    return new PruningOptions();
+  }
+
+  public static PruningOptions fromConfig(final PrunerConfiguration config) {
+    final PruningOptions options = create();
+    options.sweepOperationsPerSecond = config.getSweepOperationsPerSecond();
+    options.markFilterMemory = config.getMarkFilterMemory();
+    return options;
+  }
+
+  /**
+   * The block retention and confirmation settings are stable options owned by the command, so the
+   * returned configuration carries their defaults.
+   */
+  @Override
+  public PrunerConfiguration toDomainObject() {
+    return new PrunerConfiguration(
+        DEFAULT_PRUNING_BLOCK_CONFIRMATIONS,
+        DEFAULT_PRUNING_BLOCKS_RETAINED,
+        sweepOperationsPerSecond,
+        markFilterMemory);
+  }
+
+  @Override
+  public List<String> getCLIOptions() {
+    return Arrays.asList(
+        SWEEP_OPERATIONS_PER_SECOND_FLAG,
+        OptionParser.format(sweepOperationsPerSecond),
+        MARK_FILTER_MEMORY_FLAG,
+        OptionParser.format(markFilterMemory));
+  }
+
+  public Integer getSweepOperationsPerSecond() {
+    return sweepOperationsPerSecond;
+  }
+
+  public Long getMarkFilterMemory() {
+    return markFilterMemory;
+  }
+}
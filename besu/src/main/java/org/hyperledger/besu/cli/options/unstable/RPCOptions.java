@@ -15,6 +15,7 @@
 package org.hyperledger.besu.cli.options.unstable;
 
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
 
 import picocli.CommandLine;
 
@@ -34,6 +35,24 @@ public class RPCOptions {
       arity = "1")
   private final Long wsTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xhttp-response-cache-max-bytes"},
+      description =
+          "Maximum size of the cache of JSON-RPC HTTP responses about final blocks, 0 to disable (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long httpResponseCacheMaxBytes =
+      JsonRpcConfiguration.DEFAULT_RESPONSE_CACHE_MAX_BYTES;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xhttp-response-cache-finality-depth"},
+      description =
+          "Number of blocks below the chain head a block must be before JSON-RPC HTTP responses about it are cached (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long httpResponseCacheFinalityDepth =
+      JsonRpcConfiguration.DEFAULT_RESPONSE_CACHE_FINALITY_DEPTH;
+
   public static RPCOptions create() {
     return new RPCOptions();
   }
@@ -45,4 +64,12 @@ public class RPCOptions {
   public Long getWsTimeoutSec() {
     return wsTimeoutSec;
   }
+
+  public Long getHttpResponseCacheMaxBytes() {
+    return httpResponseCacheMaxBytes;
+  }
+
+  public Long getHttpResponseCacheFinalityDepth() {
+    return httpResponseCacheFinalityDepth;
+  }
 }
@@ -58,6 +58,12 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-world-state-min-millis-before-stalling";
   private static final String WORLD_STATE_TASK_CACHE_SIZE_FLAG =
       "--Xsynchronizer-world-state-task-cache-size";
+  private static final String WORLD_STATE_NODE_FILTER_MEMORY_FLAG =
+      "--Xsynchronizer-world-state-node-filter-memory";
+  private static final String WORLD_STATE_NODE_FILTER_FALSE_POSITIVE_RATE_FLAG =
+      "--Xsynchronizer-world-state-node-filter-false-positive-rate";
+  private static final String WORLD_STATE_NODE_FILTER_PERSISTED_FLAG =
+      "--Xsynchronizer-world-state-node-filter-persisted";
 
   @CommandLine.Option(
       names = BLOCK_PROPAGATION_RANGE_FLAG,
@@ -212,6 +218,37 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private int worldStateTaskCacheSize =
       SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_CACHE_SIZE;
 
+  @CommandLine.Option(
+      names = WORLD_STATE_NODE_FILTER_MEMORY_FLAG,
+      hidden = true,
+      defaultValue = "0",
+      paramLabel = "<LONG>",
+      description =
+          "Bytes of memory used to remember persisted world state nodes during fast sync, 0 to disable (default: ${DEFAULT-VALUE})")
+  private long worldStateNodeFilterMemory =
+      SynchronizerConfiguration.DEFAULT_WORLD_STATE_NODE_FILTER_MEMORY;
+
+  @CommandLine.Option(
+      names = WORLD_STATE_NODE_FILTER_FALSE_POSITIVE_RATE_FLAG,
+      hidden = true,
+      defaultValue = "0.01",
+      paramLabel = "<FLOAT>",
+      description =
+          "Target false positive rate of the persisted world state node filter (default: ${DEFAULT-VALUE})")
+  private float worldStateNodeFilterFalsePositiveRate =
+      SynchronizerConfiguration.DEFAULT_WORLD_STATE_NODE_FILTER_FALSE_POSITIVE_RATE;
+
+  @CommandLine.Option(
+      names = WORLD_STATE_NODE_FILTER_PERSISTED_FLAG,
+      hidden = true,
+      defaultValue = "true",
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Save the persisted world state node filter so it can be reused when fast sync restarts (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private boolean worldStateNodeFilterPersisted =
+      SynchronizerConfiguration.DEFAULT_WORLD_STATE_NODE_FILTER_PERSISTED;
+
   private SynchronizerOptions() {}
 
   public static SynchronizerOptions create() {
@@ -238,6 +275,10 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     options.worldStateMaxRequestsWithoutProgress = config.getWorldStateMaxRequestsWithoutProgress();
     options.worldStateMinMillisBeforeStalling = config.getWorldStateMinMillisBeforeStalling();
     options.worldStateTaskCacheSize = config.getWorldStateTaskCacheSize();
+    options.worldStateNodeFilterMemory = config.getWorldStateNodeFilterMemory();
+    options.worldStateNodeFilterFalsePositiveRate =
+        config.getWorldStateNodeFilterFalsePositiveRate();
+    options.worldStateNodeFilterPersisted = config.isWorldStateNodeFilterPersisted();
     return options;
   }
 
@@ -260,6 +301,9 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     builder.worldStateMaxRequestsWithoutProgress(worldStateMaxRequestsWithoutProgress);
     builder.worldStateMinMillisBeforeStalling(worldStateMinMillisBeforeStalling);
     builder.worldStateTaskCacheSize(worldStateTaskCacheSize);
+    builder.worldStateNodeFilterMemory(worldStateNodeFilterMemory);
+    builder.worldStateNodeFilterFalsePositiveRate(worldStateNodeFilterFalsePositiveRate);
+    builder.worldStateNodeFilterPersisted(worldStateNodeFilterPersisted);
     return builder;
   }
 
@@ -297,6 +341,12 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
         WORLD_STATE_MIN_MILLIS_BEFORE_STALLING_FLAG,
         OptionParser.format(worldStateMinMillisBeforeStalling),
         WORLD_STATE_TASK_CACHE_SIZE_FLAG,
-        OptionParser.format(worldStateTaskCacheSize));
+        OptionParser.format(worldStateTaskCacheSize),
+        WORLD_STATE_NODE_FILTER_MEMORY_FLAG,
+        OptionParser.format(worldStateNodeFilterMemory),
+        WORLD_STATE_NODE_FILTER_FALSE_POSITIVE_RATE_FLAG,
+        OptionParser.format(worldStateNodeFilterFalsePositiveRate),
+        WORLD_STATE_NODE_FILTER_PERSISTED_FLAG,
+        String.valueOf(worldStateNodeFilterPersisted));
   }
 }
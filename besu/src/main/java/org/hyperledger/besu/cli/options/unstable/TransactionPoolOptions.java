@@ -33,6 +33,8 @@ public class TransactionPoolOptions
   private static final String ETH65_TX_ANNOUNCED_BUFFERING_PERIOD_FLAG =
       "--Xeth65-tx-announced-buffering-period-milliseconds";
 
+  private static final String SENDER_QUEUES_ENABLED_FLAG = "--Xtx-pool-sender-queues-enabled";
+
   @CommandLine.Option(
       names = {TX_MESSAGE_KEEP_ALIVE_SEC_FLAG},
       paramLabel = "<INTEGER>",
@@ -53,6 +55,15 @@ public class TransactionPoolOptions
   private long eth65TrxAnnouncedBufferingPeriod =
       TransactionPoolConfiguration.ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD.toMillis();
 
+  @CommandLine.Option(
+      names = {SENDER_QUEUES_ENABLED_FLAG},
+      paramLabel = "<Boolean>",
+      hidden = true,
+      description =
+          "Hold pending transactions in per sender nonce queues, so only the next transaction of each sender is prioritized (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private Boolean senderQueuesEnabled = TransactionPoolConfiguration.DEFAULT_SENDER_QUEUES_ENABLED;
+
   private TransactionPoolOptions() {}
 
   public static TransactionPoolOptions create() {
@@ -64,6 +75,7 @@ public class TransactionPoolOptions
     options.txMessageKeepAliveSeconds = config.getTxMessageKeepAliveSeconds();
     options.eth65TrxAnnouncedBufferingPeriod =
         config.getEth65TrxAnnouncedBufferingPeriod().toMillis();
+    options.senderQueuesEnabled = config.isSenderQueuesEnabled();
     return options;
   }
 
@@ -71,7 +83,8 @@ public class TransactionPoolOptions
   public ImmutableTransactionPoolConfiguration.Builder toDomainObject() {
     return ImmutableTransactionPoolConfiguration.builder()
         .txMessageKeepAliveSeconds(txMessageKeepAliveSeconds)
-        .eth65TrxAnnouncedBufferingPeriod(Duration.ofMillis(eth65TrxAnnouncedBufferingPeriod));
+        .eth65TrxAnnouncedBufferingPeriod(Duration.ofMillis(eth65TrxAnnouncedBufferingPeriod))
+        .isSenderQueuesEnabled(senderQueuesEnabled);
   }
 
   @Override
@@ -80,6 +93,8 @@ public class TransactionPoolOptions
         TX_MESSAGE_KEEP_ALIVE_SEC_FLAG,
         OptionParser.format(txMessageKeepAliveSeconds),
         ETH65_TX_ANNOUNCED_BUFFERING_PERIOD_FLAG,
-        OptionParser.format(eth65TrxAnnouncedBufferingPeriod));
+        OptionParser.format(eth65TrxAnnouncedBufferingPeriod),
+        SENDER_QUEUES_ENABLED_FLAG,
+        senderQueuesEnabled.toString());
   }
 }
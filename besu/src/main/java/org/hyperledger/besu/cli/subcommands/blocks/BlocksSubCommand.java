@@ -173,6 +173,14 @@ public class BlocksSubCommand implements Runnable {
         arity = "1..1")
     private final Long endBlock = Long.MAX_VALUE;
 
+    @Option(
+        names = "--batch-size",
+        paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+        description =
+            "The number of RLP blocks imported between resume points (default: ${DEFAULT-VALUE})",
+        arity = "1..1")
+    private final Integer batchSize = RlpBlockImporter.DEFAULT_BATCH_SIZE;
+
     @SuppressWarnings("unused")
     @Spec
     private CommandSpec spec;
@@ -188,6 +196,9 @@ public class BlocksSubCommand implements Runnable {
       if (blockImportFiles.isEmpty()) {
         throw new ParameterException(spec.commandLine(), "No files specified to import.");
       }
+      if (batchSize < 1) {
+        throw new ParameterException(spec.commandLine(), "--batch-size must be positive.");
+      }
       LOG.info("Import {} block data from {} files", format, blockImportFiles.size());
       final Optional<MetricsService> metricsService = initMetrics(parentCommand);
 
@@ -281,7 +292,14 @@ public class BlocksSubCommand implements Runnable {
       parentCommand
           .rlpBlockImporter
           .get()
-          .importBlockchain(path, controller, skipPow, startBlock, endBlock);
+          .importBlockchain(
+              path,
+              controller,
+              skipPow,
+              startBlock,
+              endBlock,
+              batchSize,
+              parentCommand.parentCommand.getMetricsSystem());
     }
   }
 
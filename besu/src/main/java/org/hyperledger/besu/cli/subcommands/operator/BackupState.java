@@ -89,27 +89,41 @@ public class BackupState implements Runnable {
               BesuInfo.version(), blockchain, backupDir.toPath(), scheduler, worldStateStorage);
       final BackupStatus status = backup.requestBackup(targetBlock, compress, Optional.empty());
 
-      final double refValue = Math.pow(2, 256) / 100.0d;
+      final long startTime = System.nanoTime();
+      long lastReportTime = startTime;
+      long lastAccountCount = 0;
       while (status.isBackingUp()) {
+        LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(10));
         if (status.getTargetBlockNum() != status.getStoredBlockNum()) {
           System.out.printf(
               "Chain Progress - %,d of %,d (%5.2f%%)%n",
               status.getStoredBlockNum(),
               status.getTargetBlockNum(),
               status.getStoredBlockNum() * 100.0d / status.getTargetBlockNum());
-        } else {
-          System.out.printf(
-              "State Progress - %6.3f%% / %,d Accounts / %,d Storage Nodes%n",
-              status.getCurrentAccountBytes().toUnsignedBigInteger().doubleValue() / refValue,
-              status.getAccountCount(),
-              status.getStorageCount());
         }
-        LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(10));
+        final long now = System.nanoTime();
+        final long accountCount = status.getAccountCount();
+        System.out.printf(
+            "State Progress - %d of %d Shards / %,d Accounts / %,d Storage Nodes / %,.0f Accounts/s%n",
+            status.getCompletedShards(),
+            status.getShardCount(),
+            accountCount,
+            status.getStorageCount(),
+            perSecond(accountCount - lastAccountCount, now - lastReportTime));
+        lastReportTime = now;
+        lastAccountCount = accountCount;
       }
 
+      if (status.isFailed()) {
+        throw new IllegalStateException(
+            "Backup failed, no manifest was written", status.getFailure().orElseThrow());
+      }
       System.out.printf(
-          "Backup complete%n Accounts: %,d%n Code Size: %,d%nState Entries: %,d%n",
-          status.getAccountCount(), status.getCodeSize(), status.getStorageCount());
+          "Backup complete%n Accounts: %,d%n Code Size: %,d%nState Entries: %,d%n Throughput: %,.0f Accounts/s%n",
+          status.getAccountCount(),
+          status.getCodeSize(),
+          status.getStorageCount(),
+          perSecond(status.getAccountCount(), System.nanoTime() - startTime));
     } finally {
       scheduler.stop();
       try {
@@ -120,6 +134,10 @@ public class BackupState implements Runnable {
     }
   }
 
+  private static double perSecond(final long count, final long elapsedNanos) {
+    return elapsedNanos <= 0 ? 0 : count * 1e9d / elapsedNanos;
+  }
+
   private BesuController createBesuController() {
     return parentCommand.parentCommand.buildController();
   }
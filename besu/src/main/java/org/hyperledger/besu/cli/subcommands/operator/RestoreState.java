@@ -16,6 +16,7 @@
 
 package org.hyperledger.besu.cli.subcommands.operator;
 
+import static com.google.common.base.Preconditions.checkState;
 import static org.hyperledger.besu.cli.DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP;
 import static org.hyperledger.besu.ethereum.trie.CompactEncoding.bytesToPath;
 
@@ -32,6 +33,7 @@ import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.trie.DefaultNodeFactory;
 import org.hyperledger.besu.ethereum.trie.Node;
 import org.hyperledger.besu.ethereum.trie.PersistVisitor;
 import org.hyperledger.besu.ethereum.trie.RestoreVisitor;
@@ -41,12 +43,25 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.util.io.RollingFileReader;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -73,14 +88,16 @@ public class RestoreState implements Runnable {
 
   @ParentCommand private OperatorSubCommand parentCommand;
 
-  private static final int TRIE_NODE_COMMIT_BATCH_SIZE = 100;
+  // each shard commits its own write batch, so batches can be large without blocking other shards
+  private static final int TRIE_NODE_COMMIT_BATCH_SIZE = 10_000;
 
+  private ObjectNode manifest;
   private long targetBlock;
   private long accountCount;
-  private long trieNodeCount;
   private boolean compressed;
   private BesuController besuController;
-  private WorldStateStorage.Updater updater;
+  private final AtomicLong restoredAccounts = new AtomicLong();
+  private long restoreStartTime;
 
   private Path accountFileName(final int fileNumber, final boolean compressed) {
     return StateBackupService.accountFileName(backupDir, targetBlock, fileNumber, compressed);
@@ -101,13 +118,7 @@ public class RestoreState implements Runnable {
   @Override
   public void run() {
     try {
-      final ObjectNode manifest =
-          JsonUtil.objectNodeFromString(
-              Files.readString(backupDir.resolve("besu-backup-manifest.json")));
-
-      compressed = manifest.get("compressed").asBoolean(false);
-      targetBlock = manifest.get("targetBlock").asLong();
-      accountCount = manifest.get("accountCount").asLong();
+      readManifest();
       besuController = createBesuController();
 
       restoreBlocks();
@@ -120,6 +131,17 @@ public class RestoreState implements Runnable {
     }
   }
 
+  @VisibleForTesting
+  void readManifest() throws IOException {
+    manifest =
+        JsonUtil.objectNodeFromString(
+            Files.readString(backupDir.resolve(StateBackupService.MANIFEST_FILE_NAME)));
+
+    compressed = manifest.get("compressed").asBoolean(false);
+    targetBlock = manifest.get("targetBlock").asLong();
+    accountCount = manifest.get("accountCount").asLong();
+  }
+
   private void restoreBlocks() throws IOException {
     try (final RollingFileReader headerReader =
             new RollingFileReader(this::headerFileName, compressed);
@@ -158,123 +180,281 @@ public class RestoreState implements Runnable {
     LOG.info("Chain data loaded");
   }
 
-  @SuppressWarnings("UnusedVariable")
-  private void restoreAccounts() throws IOException {
-    newWorldStateUpdater();
-    int storageBranchCount = 0;
-    int storageExtensionCount = 0;
-    int storageLeafCount = 0;
+  private void restoreAccounts() {
+    final Hash stateRoot =
+        besuController
+            .getProtocolContext()
+            .getBlockchain()
+            .getBlockHeader(targetBlock)
+            .orElseThrow(() -> new IllegalStateException("Target block was not restored"))
+            .getStateRoot();
+    final WorldStateStorage worldStateStorage =
+        ((DefaultWorldStateArchive) besuController.getProtocolContext().getWorldStateArchive())
+            .getWorldStateStorage();
+    restoreAccounts(worldStateStorage, stateRoot);
+  }
 
-    final PersistVisitor<Bytes> accountPersistVisitor =
-        new PersistVisitor<>(this::updateAccountState);
-    Node<Bytes> root = accountPersistVisitor.initialRoot();
+  @VisibleForTesting
+  void restoreAccounts(final WorldStateStorage worldStateStorage, final Hash stateRoot) {
+    final List<ShardRestorer> shards = new ArrayList<>();
+    if (manifest.has("shards")) {
+      for (final JsonNode shard : manifest.get("shards")) {
+        final int index = shard.get("index").asInt();
+        shards.add(
+            new ShardRestorer(
+                index,
+                shard.get("prefixLength").asInt(),
+                shard.get("accountCount").asLong(),
+                Bytes32.fromHexString(shard.get("rootHash").asText()),
+                (fileNumber, compressed) ->
+                    StateBackupService.accountShardFileName(
+                        backupDir, targetBlock, index, fileNumber, compressed),
+                worldStateStorage));
+      }
+      shards.sort(Comparator.comparingInt(shard -> shard.index));
+    } else {
+      // backups without shards hold the whole account trie in a single set of files
+      shards.add(
+          new ShardRestorer(
+              0, 0, accountCount, stateRoot, this::accountFileName, worldStateStorage));
+    }
 
-    try (final RollingFileReader reader =
-        new RollingFileReader(this::accountFileName, compressed)) {
-      for (int i = 0; i < accountCount; i++) {
-        if (i % 100000 == 0) {
-          LOG.info("Loading account data {} / {}", i, accountCount);
-        }
-        final byte[] accountEntry = reader.readBytes();
-        final BytesValueRLPInput accountInput =
-            new BytesValueRLPInput(Bytes.of(accountEntry), false, true);
-        final int length = accountInput.enterList();
-        if (length != 3) {
-          throw new RuntimeException("Unexpected account length " + length);
-        }
-        final Bytes32 trieKey = accountInput.readBytes32();
-        final Bytes accountRlp = accountInput.readBytes();
-        final Bytes code = accountInput.readBytes();
-
-        final StateTrieAccountValue trieAccount =
-            StateTrieAccountValue.readFrom(new BytesValueRLPInput(accountRlp, false, true));
-        if (!trieAccount.getCodeHash().equals(Hash.hash(code))) {
-          throw new RuntimeException("Code hash doesn't match");
-        }
-        if (code.size() > 0) {
-          updateCode(code);
-        }
+    LOG.info("Loading {} accounts from {} shards", accountCount, shards.size());
+    restoreStartTime = System.nanoTime();
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(shards.size(), Runtime.getRuntime().availableProcessors()),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("StateRestore-%d").build());
+    final List<Node<Bytes>> shardRoots;
+    try {
+      final List<CompletableFuture<Node<Bytes>>> futures =
+          shards.stream()
+              .map(shard -> CompletableFuture.supplyAsync(shard::restore, executor))
+              .collect(Collectors.toList());
+      shardRoots = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    } finally {
+      executor.shutdownNow();
+    }
 
-        final RestoreVisitor<Bytes> accountTrieWriteVisitor =
-            new RestoreVisitor<>(t -> t, accountRlp, accountPersistVisitor);
+    final Node<Bytes> root;
+    if (shards.size() == 1 && shards.get(0).prefixLength == 0) {
+      root = shardRoots.get(0);
+    } else {
+      // the shards are the children of the root branch, which is the only node left to write
+      root =
+          new DefaultNodeFactory<Bytes>(Function.identity())
+              .createBranch(new ArrayList<>(shardRoots), Optional.empty());
+      final WorldStateStorage.Updater updater = worldStateStorage.updater();
+      updater.putAccountStateTrieNode(null, root.getHash(), root.getRlp());
+      updater.commit();
+    }
+    checkState(
+        root.getHash().equals(stateRoot),
+        "Restored state root %s does not match the state root %s of block %s",
+        root.getHash(),
+        stateRoot,
+        targetBlock);
+
+    LOG.info(
+        "Account BranchNodes: {} ",
+        shards.stream().mapToLong(shard -> shard.accountBranchCount).sum());
+    LOG.info(
+        "Account ExtensionNodes: {} ",
+        shards.stream().mapToLong(shard -> shard.accountExtensionCount).sum());
+    LOG.info(
+        "Account LeafNodes: {} ", shards.stream().mapToLong(shard -> shard.accountLeafCount).sum());
+    LOG.info(
+        "Storage BranchNodes: {} ",
+        shards.stream().mapToLong(shard -> shard.storageBranchCount).sum());
+    LOG.info(
+        "Storage ExtensionNodes: {} ",
+        shards.stream().mapToLong(shard -> shard.storageExtensionCount).sum());
+    LOG.info(
+        "Storage LeafNodes: {} ", shards.stream().mapToLong(shard -> shard.storageLeafCount).sum());
+    LOG.info(
+        "Account data loaded, {} accounts at {} accounts/s",
+        restoredAccounts.get(),
+        accountsPerSecond(restoredAccounts.get()));
+  }
 
-        root = root.accept(accountTrieWriteVisitor, bytesToPath(trieKey));
+  private long accountsPerSecond(final long accounts) {
+    final long elapsedNanos = System.nanoTime() - restoreStartTime;
+    return elapsedNanos <= 0 ? 0 : accounts * 1_000_000_000L / elapsedNanos;
+  }
 
-        final PersistVisitor<Bytes> storagePersistVisitor =
-            new PersistVisitor<>(this::updateAccountStorage);
-        Node<Bytes> storageRoot = storagePersistVisitor.initialRoot();
+  /**
+   * Rebuilds the subtrie of one backup shard. Each shard has its own reader and world state
+   * updater, so shards can be loaded concurrently, and the root hash of the rebuilt subtrie is
+   * checked against the one recorded in the manifest.
+   */
+  private class ShardRestorer {
+    private final int index;
+    private final int prefixLength;
+    private final long shardAccountCount;
+    private final Bytes32 expectedRootHash;
+    private final BiFunction<Integer, Boolean, Path> fileNameGenerator;
+    private final WorldStateStorage worldStateStorage;
+
+    private WorldStateStorage.Updater updater;
+    private long trieNodeCount;
+    private long accountBranchCount;
+    private long accountExtensionCount;
+    private long accountLeafCount;
+    private long storageBranchCount;
+    private long storageExtensionCount;
+    private long storageLeafCount;
+
+    private ShardRestorer(
+        final int index,
+        final int prefixLength,
+        final long shardAccountCount,
+        final Bytes32 expectedRootHash,
+        final BiFunction<Integer, Boolean, Path> fileNameGenerator,
+        final WorldStateStorage worldStateStorage) {
+      this.index = index;
+      this.prefixLength = prefixLength;
+      this.shardAccountCount = shardAccountCount;
+      this.expectedRootHash = expectedRootHash;
+      this.fileNameGenerator = fileNameGenerator;
+      this.worldStateStorage = worldStateStorage;
+    }
 
-        while (true) {
-          final byte[] trieEntry = reader.readBytes();
-          final BytesValueRLPInput trieInput =
-              new BytesValueRLPInput(Bytes.of(trieEntry), false, true);
-          final int len = trieInput.enterList();
-          if (len == 0) {
-            break;
-          }
-          if (len != 2) {
-            throw new RuntimeException("Unexpected storage trie entry length " + len);
+    private Node<Bytes> restore() {
+      updater = worldStateStorage.updater();
+      final PersistVisitor<Bytes> accountPersistVisitor =
+          new PersistVisitor<>(this::updateAccountState);
+      Node<Bytes> root = accountPersistVisitor.initialRoot();
+
+      if (shardAccountCount > 0) {
+        try (final RollingFileReader reader =
+            new RollingFileReader(fileNameGenerator, compressed)) {
+          for (long i = 0; i < shardAccountCount; i++) {
+            root = restoreAccount(reader, root, accountPersistVisitor);
           }
-          final Bytes32 storageTrieKey = Bytes32.wrap(trieInput.readBytes());
-          final Bytes storageTrieValue = Bytes.wrap(trieInput.readBytes());
-          final RestoreVisitor<Bytes> storageTrieWriteVisitor =
-              new RestoreVisitor<>(t -> t, storageTrieValue, storagePersistVisitor);
-          storageRoot = storageRoot.accept(storageTrieWriteVisitor, bytesToPath(storageTrieKey));
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      accountPersistVisitor.persist(root);
+      updater.commit();
+
+      checkState(
+          root.getHash().equals(expectedRootHash),
+          "Restored root %s of shard %s does not match the backed up root %s",
+          root.getHash(),
+          index,
+          expectedRootHash);
+      accountBranchCount = accountPersistVisitor.getBranchNodeCount();
+      accountExtensionCount = accountPersistVisitor.getExtensionNodeCount();
+      accountLeafCount = accountPersistVisitor.getLeafNodeCount();
+      LOG.info("Shard {} verified with {} accounts", index, shardAccountCount);
+      return root;
+    }
 
-          trieInput.leaveList();
+    private Node<Bytes> restoreAccount(
+        final RollingFileReader reader,
+        final Node<Bytes> root,
+        final PersistVisitor<Bytes> accountPersistVisitor)
+        throws IOException {
+      final byte[] accountEntry = reader.readBytes();
+      final BytesValueRLPInput accountInput =
+          new BytesValueRLPInput(Bytes.of(accountEntry), false, true);
+      final int length = accountInput.enterList();
+      if (length != 3) {
+        throw new RuntimeException("Unexpected account length " + length);
+      }
+      final Bytes32 trieKey = accountInput.readBytes32();
+      final Bytes accountRlp = accountInput.readBytes();
+      final Bytes code = accountInput.readBytes();
+
+      final StateTrieAccountValue trieAccount =
+          StateTrieAccountValue.readFrom(new BytesValueRLPInput(accountRlp, false, true));
+      if (!trieAccount.getCodeHash().equals(Hash.hash(code))) {
+        throw new RuntimeException("Code hash doesn't match");
+      }
+      if (code.size() > 0) {
+        updateCode(code);
+      }
+
+      // the shard subtrie sits below the root branch, so its paths start after the shard nibble
+      final Bytes path = bytesToPath(trieKey);
+      if (prefixLength > 0 && path.get(0) != index) {
+        throw new RuntimeException("Account " + trieKey + " does not belong to shard " + index);
+      }
+      final RestoreVisitor<Bytes> accountTrieWriteVisitor =
+          new RestoreVisitor<>(t -> t, accountRlp, accountPersistVisitor);
+      final Node<Bytes> updatedRoot =
+          root.accept(accountTrieWriteVisitor, path.slice(prefixLength));
+
+      final PersistVisitor<Bytes> storagePersistVisitor =
+          new PersistVisitor<>(this::updateAccountStorage);
+      Node<Bytes> storageRoot = storagePersistVisitor.initialRoot();
+
+      while (true) {
+        final byte[] trieEntry = reader.readBytes();
+        final BytesValueRLPInput trieInput =
+            new BytesValueRLPInput(Bytes.of(trieEntry), false, true);
+        final int len = trieInput.enterList();
+        if (len == 0) {
+          break;
+        }
+        if (len != 2) {
+          throw new RuntimeException("Unexpected storage trie entry length " + len);
         }
-        storagePersistVisitor.persist(storageRoot);
-        storageBranchCount += storagePersistVisitor.getBranchNodeCount();
-        storageExtensionCount += storagePersistVisitor.getExtensionNodeCount();
-        storageLeafCount += storagePersistVisitor.getLeafNodeCount();
+        final Bytes32 storageTrieKey = Bytes32.wrap(trieInput.readBytes());
+        final Bytes storageTrieValue = Bytes.wrap(trieInput.readBytes());
+        final RestoreVisitor<Bytes> storageTrieWriteVisitor =
+            new RestoreVisitor<>(t -> t, storageTrieValue, storagePersistVisitor);
+        storageRoot = storageRoot.accept(storageTrieWriteVisitor, bytesToPath(storageTrieKey));
 
-        accountInput.leaveList();
+        trieInput.leaveList();
       }
+      storagePersistVisitor.persist(storageRoot);
+      if (!storageRoot.getHash().equals(trieAccount.getStorageRoot())) {
+        throw new RuntimeException("Storage root of account " + trieKey + " doesn't match");
+      }
+      storageBranchCount += storagePersistVisitor.getBranchNodeCount();
+      storageExtensionCount += storagePersistVisitor.getExtensionNodeCount();
+      storageLeafCount += storagePersistVisitor.getLeafNodeCount();
+
+      accountInput.leaveList();
+
+      final long restored = restoredAccounts.incrementAndGet();
+      if (restored % 100000 == 0) {
+        LOG.info(
+            "Loading account data {} / {} ({} accounts/s)",
+            restored,
+            accountCount,
+            accountsPerSecond(restored));
+      }
+      return updatedRoot;
     }
-    accountPersistVisitor.persist(root);
-    updater.commit();
-    LOG.info("Account BranchNodes: {} ", accountPersistVisitor.getBranchNodeCount());
-    LOG.info("Account ExtensionNodes: {} ", accountPersistVisitor.getExtensionNodeCount());
-    LOG.info("Account LeafNodes: {} ", accountPersistVisitor.getLeafNodeCount());
-    LOG.info("Storage BranchNodes: {} ", storageBranchCount);
-    LOG.info("Storage LeafNodes: {} ", storageExtensionCount);
-    LOG.info("Storage ExtensionNodes: {} ", storageLeafCount);
-    LOG.info("Account data loaded");
-  }
 
-  private void newWorldStateUpdater() {
-    if (updater != null) {
-      updater.commit();
+    private void maybeCommitUpdater() {
+      if (trieNodeCount % TRIE_NODE_COMMIT_BATCH_SIZE == 0) {
+        updater.commit();
+        updater = worldStateStorage.updater();
+      }
     }
-    final WorldStateStorage worldStateStorage =
-        ((DefaultWorldStateArchive) besuController.getProtocolContext().getWorldStateArchive())
-            .getWorldStateStorage();
-    updater = worldStateStorage.updater();
-  }
 
-  private void maybeCommitUpdater() {
-    if (trieNodeCount % TRIE_NODE_COMMIT_BATCH_SIZE == 0) {
-      newWorldStateUpdater();
+    private void updateCode(final Bytes code) {
+      maybeCommitUpdater();
+      updater.putCode(code);
     }
-  }
-
-  private void updateCode(final Bytes code) {
-    maybeCommitUpdater();
-    updater.putCode(code);
-  }
 
-  private void updateAccountState(final Bytes32 key, final Bytes value) {
-    maybeCommitUpdater();
-    // restore by path not supported
-    updater.putAccountStateTrieNode(null, key, value);
-    trieNodeCount++;
-  }
+    private void updateAccountState(final Bytes32 key, final Bytes value) {
+      maybeCommitUpdater();
+      // restore by path not supported
+      updater.putAccountStateTrieNode(null, key, value);
+      trieNodeCount++;
+    }
 
-  private void updateAccountStorage(final Bytes32 key, final Bytes value) {
-    maybeCommitUpdater();
-    // restore by path not supported
-    updater.putAccountStorageTrieNode(null, key, value);
-    trieNodeCount++;
+    private void updateAccountStorage(final Bytes32 key, final Bytes value) {
+      maybeCommitUpdater();
+      // restore by path not supported
+      updater.putAccountStorageTrieNode(null, key, value);
+      trieNodeCount++;
+    }
   }
 
   private BesuController createBesuController() {
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.hyperledger.besu.config.GenesisConfigFile;
 import org.hyperledger.besu.config.GenesisConfigOptions;
 import org.hyperledger.besu.config.experimental.ExperimentalEIPs;
+import org.hyperledger.besu.consensus.common.VoteTallySnapshotStore;
 import org.hyperledger.besu.crypto.NodeKey;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.methods.JsonRpcMethods;
@@ -53,6 +54,7 @@ import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
@@ -106,6 +108,7 @@ public abstract class BesuControllerBuilder {
   private long reorgLoggingThreshold;
   private DataStorageConfiguration dataStorageConfiguration =
       DataStorageConfiguration.DEFAULT_CONFIG;
+  private boolean blockProcessingProfileEnabled;
 
   public BesuControllerBuilder storageProvider(final StorageProvider storageProvider) {
     this.storageProvider = storageProvider;
@@ -212,6 +215,12 @@ public abstract class BesuControllerBuilder {
     return this;
   }
 
+  public BesuControllerBuilder blockProcessingProfileEnabled(
+      final boolean blockProcessingProfileEnabled) {
+    this.blockProcessingProfileEnabled = blockProcessingProfileEnabled;
+    return this;
+  }
+
   public BesuController build() {
     checkNotNull(genesisConfig, "Missing genesis config");
     checkNotNull(syncConfig, "Missing sync config");
@@ -249,6 +258,9 @@ public abstract class BesuControllerBuilder {
 
     protocolSchedule.setPublicWorldStateArchiveForPrivacyBlockProcessor(
         protocolContext.getWorldStateArchive());
+    if (blockProcessingProfileEnabled) {
+      protocolSchedule.setBlockProcessingProfiler(new BlockProcessingProfiler(metricsSystem));
+    }
 
     Optional<Pruner> maybePruner = Optional.empty();
     if (isPruningEnabled) {
@@ -267,9 +279,11 @@ public abstract class BesuControllerBuilder {
                         blockchain,
                         storageProvider.getStorageBySegmentIdentifier(
                             KeyValueSegmentIdentifier.PRUNING_STATE),
-                        metricsSystem),
+                        metricsSystem,
+                        prunerConfiguration),
                     blockchain,
-                    prunerConfiguration));
+                    prunerConfiguration,
+                    metricsSystem));
       }
     }
     final EthPeers ethPeers = new EthPeers(getSupportedProtocol(), clock, metricsSystem);
@@ -401,6 +415,23 @@ public abstract class BesuControllerBuilder {
   protected abstract Object createConsensusContext(
       Blockchain blockchain, WorldStateArchive worldStateArchive);
 
+  protected VoteTallySnapshotStore createVoteTallySnapshotStore(final Blockchain blockchain) {
+    final VoteTallySnapshotStore snapshotStore =
+        new VoteTallySnapshotStore(
+            storageProvider.getStorageBySegmentIdentifier(
+                KeyValueSegmentIdentifier.VOTE_TALLY_SNAPSHOTS),
+            VoteTallySnapshotStore.DEFAULT_SNAPSHOT_INTERVAL);
+    blockchain.observeBlockAdded(
+        event -> {
+          if (event.isNewCanonicalHead()
+              && event.getBlock().getHeader().getNumber() % snapshotStore.getSnapshotInterval()
+                  == 0) {
+            snapshotStore.pruneNonCanonical(blockchain);
+          }
+        });
+    return snapshotStore;
+  }
+
   protected String getSupportedProtocol() {
     return EthProtocol.NAME;
   }
@@ -434,7 +465,8 @@ public abstract class BesuControllerBuilder {
       final WorldStateStorage worldStateStorage, final Blockchain blockchain) {
     switch (dataStorageConfiguration.getDataStorageFormat()) {
       case BONSAI:
-        return new BonsaiWorldStateArchive(storageProvider, blockchain);
+        return new BonsaiWorldStateArchive(
+            storageProvider, blockchain, dataStorageConfiguration, metricsSystem);
       case FOREST:
       default:
         final WorldStatePreimageStorage preimageStorage =
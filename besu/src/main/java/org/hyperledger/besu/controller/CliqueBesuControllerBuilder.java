@@ -42,6 +42,8 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
+import java.util.Optional;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -92,7 +94,8 @@ public class CliqueBesuControllerBuilder extends BesuControllerBuilder {
                 localAddress,
                 secondsBetweenBlocks),
             epochManager,
-            gasLimitCalculator);
+            gasLimitCalculator,
+            metricsSystem);
     final CliqueMiningCoordinator miningCoordinator =
         new CliqueMiningCoordinator(
             protocolContext.getBlockchain(),
@@ -137,7 +140,9 @@ public class CliqueBesuControllerBuilder extends BesuControllerBuilder {
             blockchain,
             new VoteTallyUpdater(epochManager, blockInterface),
             epochManager,
-            blockInterface),
+            blockInterface,
+            Optional.of(createVoteTallySnapshotStore(blockchain)),
+            metricsSystem),
         new VoteProposer(),
         epochManager,
         blockInterface);
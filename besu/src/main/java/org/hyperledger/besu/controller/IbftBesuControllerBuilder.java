@@ -74,6 +74,7 @@ import org.hyperledger.besu.util.Subscribers;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -251,7 +252,9 @@ public class IbftBesuControllerBuilder extends BesuControllerBuilder {
             new VoteTallyUpdater(epochManager, new BftBlockInterface()),
             epochManager,
             new BftBlockInterface(),
-            new BftValidatorOverrides(ibftValidatorForkMap)),
+            new BftValidatorOverrides(ibftValidatorForkMap),
+            Optional.of(createVoteTallySnapshotStore(blockchain)),
+            metricsSystem),
         new VoteProposer(),
         epochManager,
         blockInterface);
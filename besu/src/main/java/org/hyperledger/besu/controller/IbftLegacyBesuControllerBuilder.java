@@ -45,6 +45,7 @@ import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -91,7 +92,9 @@ public class IbftLegacyBesuControllerBuilder extends BesuControllerBuilder {
             blockchain,
             new VoteTallyUpdater(epochManager, blockInterface),
             epochManager,
-            blockInterface);
+            blockInterface,
+            Optional.of(createVoteTallySnapshotStore(blockchain)),
+            metricsSystem);
 
     final VoteProposer voteProposer = new VoteProposer();
     return new BftContext(voteTallyCache, voteProposer, epochManager, blockInterface);
@@ -25,6 +25,8 @@ import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.EpochCalculator;
+import org.hyperledger.besu.ethereum.mainnet.EthHashDatasetManager;
+import org.hyperledger.besu.ethereum.mainnet.EthHasher;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderValidator;
 import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
@@ -32,6 +34,8 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
 public class MainnetBesuControllerBuilder extends BesuControllerBuilder {
 
+  private static final String ETHHASH_DATASET_DIRECTORY = "ethash";
+
   private EpochCalculator epochCalculator = new EpochCalculator.DefaultEpochCalculator();
 
   @Override
@@ -53,7 +57,9 @@ public class MainnetBesuControllerBuilder extends BesuControllerBuilder {
                 MainnetBlockHeaderValidator.TIMESTAMP_TOLERANCE_S,
                 clock),
             gasLimitCalculator,
-            epochCalculator);
+            epochCalculator,
+            createEthHasher(miningParameters),
+            metricsSystem);
 
     final EthHashMiningCoordinator miningCoordinator =
         new EthHashMiningCoordinator(
@@ -71,6 +77,17 @@ public class MainnetBesuControllerBuilder extends BesuControllerBuilder {
     return miningCoordinator;
   }
 
+  private EthHasher createEthHasher(final MiningParameters miningParameters) {
+    if (!miningParameters.isFullDatasetMiningEnabled()) {
+      return new EthHasher.Light();
+    }
+    return new EthHasher.Full(
+        new EthHashDatasetManager(
+            dataDirectory.resolve(ETHHASH_DATASET_DIRECTORY),
+            Runtime.getRuntime().availableProcessors(),
+            metricsSystem));
+  }
+
   @Override
   protected Void createConsensusContext(
       final Blockchain blockchain, final WorldStateArchive worldStateArchive) {
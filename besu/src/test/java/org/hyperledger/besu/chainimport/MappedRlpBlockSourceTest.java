@@ -0,0 +1,79 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.chainimport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.chainimport.MappedRlpBlockSource.RawBlock;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.testutil.BlockTestUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedRlpBlockSourceTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void readsEveryBlockInOrder() throws IOException {
+    final Path source = folder.getRoot().toPath().resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+
+    final List<RawBlock> blocks = readAll(source, 0);
+
+    assertThat(blocks).hasSize(1000);
+    for (int i = 0; i < blocks.size(); i++) {
+      assertThat(blockNumber(blocks.get(i))).isEqualTo(i);
+    }
+    assertThat(blocks.get(blocks.size() - 1).getNextOffset()).isEqualTo(Files.size(source));
+  }
+
+  @Test
+  public void startsAtOffset() throws IOException {
+    final Path source = folder.getRoot().toPath().resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+    final long offset = readAll(source, 0).get(499).getNextOffset();
+
+    final List<RawBlock> blocks = readAll(source, offset);
+
+    assertThat(blocks).hasSize(500);
+    assertThat(blockNumber(blocks.get(0))).isEqualTo(500);
+  }
+
+  private static List<RawBlock> readAll(final Path source, final long offset) throws IOException {
+    final List<RawBlock> blocks = new ArrayList<>();
+    try (final MappedRlpBlockSource blockSource = new MappedRlpBlockSource(source, offset)) {
+      blockSource.forEachRemaining(blocks::add);
+    }
+    return blocks;
+  }
+
+  private static long blockNumber(final RawBlock block) {
+    final RLPInput rlp = new BytesValueRLPInput(block.getRlp(), false);
+    rlp.enterList();
+    return BlockHeader.readFrom(rlp, new MainnetBlockHeaderFunctions()).getNumber();
+  }
+}
@@ -22,12 +22,19 @@ import org.hyperledger.besu.config.GenesisConfigFile;
 import org.hyperledger.besu.controller.BesuController;
 import org.hyperledger.besu.crypto.NodeKeyUtils;
 import org.hyperledger.besu.ethereum.blockcreation.GasLimitCalculator;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
 import org.hyperledger.besu.ethereum.core.MiningParametersTestBuilder;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
 import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.testutil.BlockTestUtil;
 import org.hyperledger.besu.testutil.TestClock;
@@ -40,6 +47,7 @@ import java.nio.file.StandardOpenOption;
 import java.util.concurrent.CompletionException;
 
 import com.google.common.io.Resources;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.Rule;
 import org.junit.Test;
@@ -80,6 +88,55 @@ public final class RlpBlockImporterTest {
     assertThat(result.td).isEqualTo(UInt256.valueOf(21991996248790L));
   }
 
+  @Test
+  public void blockImportResumesAfterLastCompletedBatch() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    final Path source = dataDir.resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+    final BesuController targetController =
+        new BesuController.Builder()
+            .fromGenesisConfig(GenesisConfigFile.mainnet())
+            .synchronizerConfiguration(SynchronizerConfiguration.builder().build())
+            .ethProtocolConfiguration(EthProtocolConfiguration.defaultConfig())
+            .storageProvider(new InMemoryStorageProvider())
+            .networkId(BigInteger.ONE)
+            .miningParameters(new MiningParametersTestBuilder().enabled(false).build())
+            .nodeKey(NodeKeyUtils.generate())
+            .metricsSystem(new NoOpMetricsSystem())
+            .privacyParameters(PrivacyParameters.DEFAULT)
+            .dataDirectory(dataDir)
+            .clock(TestClock.fixed())
+            .transactionPoolConfiguration(TransactionPoolConfiguration.DEFAULT)
+            .gasLimitCalculator(GasLimitCalculator.constant())
+            .build();
+    rlpBlockImporter.importBlockchain(
+        source, targetController, false, 0, 500, 100, new NoOpMetricsSystem());
+    final Block lastImported =
+        targetController.getProtocolContext().getBlockchain().getChainHeadBlock();
+    final long nextOffset;
+    try (final MappedRlpBlockSource blockSource = new MappedRlpBlockSource(source, 0)) {
+      long offset = 0;
+      for (long i = 0; i <= lastImported.getHeader().getNumber(); i++) {
+        offset = blockSource.next().getNextOffset();
+      }
+      nextOffset = offset;
+    }
+    final Path resumePoint = RlpBlockImporter.resumePointFile(source);
+    Files.writeString(
+        resumePoint,
+        String.format(
+            "{\"blockNumber\":%d,\"blockHash\":\"%s\",\"offset\":%d}",
+            lastImported.getHeader().getNumber(), lastImported.getHash(), nextOffset));
+
+    final RlpBlockImporter.ImportResult result =
+        rlpBlockImporter.importBlockchain(source, targetController, false);
+
+    assertThat(lastImported.getHeader().getNumber()).isEqualTo(499);
+    assertThat(result.count).isEqualTo(500);
+    assertThat(result.td).isEqualTo(UInt256.valueOf(21991996248790L));
+    assertThat(resumePoint).doesNotExist();
+  }
+
   @Test
   public void blockImportRejectsBadPow() throws IOException {
     final Path dataDir = folder.newFolder().toPath();
@@ -108,6 +165,50 @@ public final class RlpBlockImporterTest {
         CompletionException.class);
   }
 
+  @Test
+  public void blockImportRejectsTrailingDataInBlock() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    final Path blocks = dataDir.resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(blocks);
+    final Path source = dataDir.resolve("trailing.blocks");
+    try (final MappedRlpBlockSource blockSource = new MappedRlpBlockSource(blocks, 0)) {
+      final Bytes genesis = blockSource.next().getRlp();
+      final Block block =
+          Block.readFrom(
+              new BytesValueRLPInput(blockSource.next().getRlp(), false),
+              new MainnetBlockHeaderFunctions());
+      final BytesValueRLPOutput out = new BytesValueRLPOutput();
+      out.startList();
+      block.getHeader().writeTo(out);
+      out.writeList(block.getBody().getTransactions(), Transaction::writeTo);
+      out.writeList(block.getBody().getOmmers(), BlockHeader::writeTo);
+      out.writeLongScalar(1L);
+      out.endList();
+      Files.write(source, Bytes.concatenate(genesis, out.encoded()).toArrayUnsafe());
+    }
+    final BesuController targetController =
+        new BesuController.Builder()
+            .fromGenesisConfig(GenesisConfigFile.mainnet())
+            .synchronizerConfiguration(SynchronizerConfiguration.builder().build())
+            .ethProtocolConfiguration(EthProtocolConfiguration.defaultConfig())
+            .storageProvider(new InMemoryStorageProvider())
+            .networkId(BigInteger.ONE)
+            .miningParameters(new MiningParametersTestBuilder().enabled(false).build())
+            .nodeKey(NodeKeyUtils.generate())
+            .metricsSystem(new NoOpMetricsSystem())
+            .privacyParameters(PrivacyParameters.DEFAULT)
+            .dataDirectory(dataDir)
+            .clock(TestClock.fixed())
+            .transactionPoolConfiguration(TransactionPoolConfiguration.DEFAULT)
+            .gasLimitCalculator(GasLimitCalculator.constant())
+            .build();
+
+    assertThatThrownBy(() -> rlpBlockImporter.importBlockchain(source, targetController, false))
+        .hasRootCauseInstanceOf(RLPException.class);
+    assertThat(targetController.getProtocolContext().getBlockchain().getChainHeadBlockNumber())
+        .isZero();
+  }
+
   @Test
   public void blockImportCanSkipPow() throws IOException {
     final Path dataDir = folder.newFolder().toPath();
@@ -83,6 +83,7 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -1505,6 +1506,41 @@ public class BesuCommandTest extends CommandTestAbstract {
     verify(mockRunnerBuilder).ethstatsContact(contact);
   }
 
+  @Test
+  public void ethStatsReportWindowOptionIsParsedCorrectly() {
+    parseCommand(
+        "--Xethstats", "besu-node:secret@host:443", "--Xethstats-report-window-millis", "250");
+    verify(mockRunnerBuilder).ethstatsReportWindow(Duration.ofMillis(250));
+  }
+
+  @Test
+  public void ethStatsReportWindowMustBePositive() {
+    parseCommand(
+        "--Xethstats", "besu-node:secret@host:443", "--Xethstats-report-window-millis", "0");
+    Mockito.verifyZeroInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("The `--Xethstats-report-window-millis` must be greater than 0");
+  }
+
+  @Test
+  public void bonsaiTrieLogArchiveRangeSizeRequiresTrieLogPruning() {
+    parseCommand("--Xbonsai-trie-log-archive-range-size", "1024");
+    Mockito.verifyZeroInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("The `--Xbonsai-trie-log-archive-range-size` only archives pruned trie logs");
+  }
+
+  @Test
+  public void httpResponseCacheFinalityDepthMustBePositive() {
+    parseCommand("--Xhttp-response-cache-finality-depth", "0");
+    Mockito.verifyZeroInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("The `--Xhttp-response-cache-finality-depth` must be at least 1");
+  }
+
   @Test
   public void ethStatsContactOptionCannotBeUsedWithoutEthStatsServerProvided() {
     parseCommand("--Xethstats-contact", "besu-updated");
@@ -2883,6 +2919,28 @@ public class BesuCommandTest extends CommandTestAbstract {
             });
   }
 
+  @Test
+  public void blockProcessingProfileIsDisabledByDefault() {
+    parseCommand();
+
+    verify(mockControllerBuilder).blockProcessingProfileEnabled(false);
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void blockProcessingProfileCanBeEnabled() {
+    parseCommand("--Xmetrics-block-processing-profile-enabled");
+
+    verify(mockControllerBuilder).blockProcessingProfileEnabled(true);
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Ignore
   public void pruningIsEnabledIfSyncModeIsFast() {
     parseCommand("--sync-mode", "FAST");
@@ -28,7 +28,10 @@ public class MetricsCLIOptionsTest
   @Override
   MetricsConfiguration.Builder createCustomizedDomainObject() {
     return MetricsConfiguration.builder()
-        .timersEnabled(!MetricsConfiguration.DEFAULT_TIMERS_ENABLED);
+        .timersEnabled(!MetricsConfiguration.DEFAULT_TIMERS_ENABLED)
+        .lockFreeRecordersEnabled(!MetricsConfiguration.DEFAULT_LOCK_FREE_RECORDERS_ENABLED)
+        .blockProcessingProfileEnabled(
+            !MetricsConfiguration.DEFAULT_BLOCK_PROCESSING_PROFILE_ENABLED);
   }
 
   @Override
@@ -0,0 +1,74 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.options;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.cli.options.unstable.PruningOptions;
+import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PruningOptionsTest
+    extends AbstractCLIOptionsTest<PrunerConfiguration, PruningOptions> {
+
+  @Test
+  public void parsesValidSweepAndMarkFilterOptions() {
+    final TestBesuCommand cmd =
+        parseCommand(
+            "--Xpruning-sweep-operations-per-second", "2000",
+            "--Xpruning-mark-filter-memory", "1048576");
+
+    final PrunerConfiguration config = getOptionsFromBesuCommand(cmd).toDomainObject();
+    assertThat(config.getSweepOperationsPerSecond()).isEqualTo(2000);
+    assertThat(config.getMarkFilterMemory()).isEqualTo(1048576L);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Override
+  PrunerConfiguration createDefaultDomainObject() {
+    return PrunerConfiguration.getDefault();
+  }
+
+  @Override
+  PrunerConfiguration createCustomizedDomainObject() {
+    return new PrunerConfiguration(
+        PrunerConfiguration.DEFAULT_PRUNING_BLOCK_CONFIRMATIONS,
+        PrunerConfiguration.DEFAULT_PRUNING_BLOCKS_RETAINED,
+        PrunerConfiguration.DEFAULT_PRUNING_SWEEP_OPERATIONS_PER_SECOND + 5000,
+        PrunerConfiguration.DEFAULT_PRUNING_MARK_FILTER_MEMORY + 64 * 1024 * 1024);
+  }
+
+  @Override
+  protected List<String> getFieldsToIgnore() {
+    // Configured through the stable --pruning-* options
+    return Arrays.asList("blocksRetainedBeforeSweeping", "blockConfirmationsBeforeMarking");
+  }
+
+  @Override
+  PruningOptions optionsFromDomainObject(final PrunerConfiguration domainObject) {
+    return PruningOptions.fromConfig(domainObject);
+  }
+
+  @Override
+  PruningOptions getOptionsFromBesuCommand(final TestBesuCommand besuCommand) {
+    return besuCommand.getPruningOptions();
+  }
+}
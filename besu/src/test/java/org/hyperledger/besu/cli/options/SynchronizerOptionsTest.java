@@ -45,6 +45,12 @@ public class SynchronizerOptionsTest
         .worldStateMinMillisBeforeStalling(
             SynchronizerConfiguration.DEFAULT_WORLD_STATE_MIN_MILLIS_BEFORE_STALLING * 2)
         .worldStateTaskCacheSize(SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_CACHE_SIZE + 1)
+        .worldStateNodeFilterMemory(
+            SynchronizerConfiguration.DEFAULT_WORLD_STATE_NODE_FILTER_MEMORY + 1024)
+        .worldStateNodeFilterFalsePositiveRate(
+            SynchronizerConfiguration.DEFAULT_WORLD_STATE_NODE_FILTER_FALSE_POSITIVE_RATE / 2)
+        .worldStateNodeFilterPersisted(
+            !SynchronizerConfiguration.DEFAULT_WORLD_STATE_NODE_FILTER_PERSISTED)
         .blockPropagationRange(
             Range.closed(
                 SynchronizerConfiguration.DEFAULT_BLOCK_PROPAGATION_RANGE.lowerEndpoint() - 2,
@@ -67,7 +67,8 @@ public class TransactionPoolOptionsTest
         ImmutableTransactionPoolConfiguration.builder().build();
     return ImmutableTransactionPoolConfiguration.builder()
         .txMessageKeepAliveSeconds(defaultValue.getTxMessageKeepAliveSeconds())
-        .eth65TrxAnnouncedBufferingPeriod(defaultValue.getEth65TrxAnnouncedBufferingPeriod());
+        .eth65TrxAnnouncedBufferingPeriod(defaultValue.getEth65TrxAnnouncedBufferingPeriod())
+        .isSenderQueuesEnabled(defaultValue.isSenderQueuesEnabled());
   }
 
   @Override
@@ -76,7 +77,8 @@ public class TransactionPoolOptionsTest
         .txMessageKeepAliveSeconds(TransactionPoolConfiguration.DEFAULT_TX_MSG_KEEP_ALIVE + 1)
         .eth65TrxAnnouncedBufferingPeriod(
             TransactionPoolConfiguration.ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD.plus(
-                Duration.ofMillis(100)));
+                Duration.ofMillis(100)))
+        .isSenderQueuesEnabled(!TransactionPoolConfiguration.DEFAULT_SENDER_QUEUES_ENABLED);
   }
 
   @Override
@@ -18,6 +18,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -59,11 +60,14 @@ public class BlocksSubCommandTest extends CommandTestAbstract {
 
   private static final String EXPECTED_BLOCK_IMPORT_USAGE =
       "Usage: besu blocks import [-hV] [--run] [--skip-pow-validation-enabled]\n"
-          + "                          [--end-block=<LONG>] [--format=<format>]\n"
-          + "                          [--start-block=<LONG>] [--start-time=<startTime>]\n"
-          + "                          [--from[=<FILE>...]]... [<FILE>...]\n"
+          + "                          [--batch-size=<INTEGER>] [--end-block=<LONG>]\n"
+          + "                          [--format=<format>] [--start-block=<LONG>]\n"
+          + "                          [--start-time=<startTime>] [--from[=<FILE>...]]...\n"
+          + "                          [<FILE>...]\n"
           + "This command imports blocks from a file into the database.\n"
           + "      [<FILE>...]            Files containing blocks to import.\n"
+          + "      --batch-size=<INTEGER> The number of RLP blocks imported between resume\n"
+          + "                               points (default: 1000)\n"
           + "      --end-block=<LONG>     The ending index of the block list to import\n"
           + "                               (exclusive).  If not specified all blocks after\n"
           + "                               the start block will be imported.\n"
@@ -159,7 +163,14 @@ public class BlocksSubCommandTest extends CommandTestAbstract {
         BLOCK_SUBCOMMAND_NAME, BLOCK_IMPORT_SUBCOMMAND_NAME, "--from", fileToImport.getPath());
 
     verify(rlpBlockImporter)
-        .importBlockchain(pathArgumentCaptor.capture(), any(), anyBoolean(), anyLong(), anyLong());
+        .importBlockchain(
+            pathArgumentCaptor.capture(),
+            any(),
+            anyBoolean(),
+            anyLong(),
+            anyLong(),
+            anyInt(),
+            any());
 
     assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
 
@@ -179,7 +190,14 @@ public class BlocksSubCommandTest extends CommandTestAbstract {
         fileToImport.getPath());
 
     verify(rlpBlockImporter)
-        .importBlockchain(pathArgumentCaptor.capture(), any(), anyBoolean(), anyLong(), anyLong());
+        .importBlockchain(
+            pathArgumentCaptor.capture(),
+            any(),
+            anyBoolean(),
+            anyLong(),
+            anyLong(),
+            anyInt(),
+            any());
 
     assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
 
@@ -202,7 +220,14 @@ public class BlocksSubCommandTest extends CommandTestAbstract {
         file3ToImport.getPath());
 
     verify(rlpBlockImporter, times(3))
-        .importBlockchain(pathArgumentCaptor.capture(), any(), anyBoolean(), anyLong(), anyLong());
+        .importBlockchain(
+            pathArgumentCaptor.capture(),
+            any(),
+            anyBoolean(),
+            anyLong(),
+            anyLong(),
+            anyInt(),
+            any());
 
     assertThat(pathArgumentCaptor.getAllValues())
         .containsExactlyInAnyOrder(
@@ -0,0 +1,110 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.subcommands.operator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.query.StateBackupService;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.AccountStorageEntry;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.WorldState;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import picocli.CommandLine;
+
+public class RestoreStateTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void restoredShardsRebuildTheBackedUpWorldState() throws Exception {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final DefaultWorldStateArchive sourceArchive =
+        InMemoryStorageProvider.createInMemoryWorldStateArchive();
+    final MutableWorldState sourceWorldState = sourceArchive.getMutable();
+    final List<Account> accounts = gen.createRandomAccounts(sourceWorldState, 200);
+    final Hash stateRoot = sourceWorldState.rootHash();
+
+    final Block block = gen.block(BlockOptions.create().setBlockNumber(0).setStateRoot(stateRoot));
+    final Blockchain blockchain = mock(Blockchain.class);
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(0L);
+    when(blockchain.getBlockHeader(0)).thenReturn(Optional.of(block.getHeader()));
+    when(blockchain.getBlockByNumber(0)).thenReturn(Optional.of(block));
+    when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(List.of()));
+    final EthScheduler scheduler = mock(EthScheduler.class);
+    when(scheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.supplyAsync(
+                    (Supplier<Object>) invocation.getArgument(0), Runnable::run));
+
+    final Path backupDir = folder.newFolder().toPath();
+    final StateBackupService.BackupStatus status =
+        new StateBackupService(
+                "test", blockchain, backupDir, scheduler, sourceArchive.getWorldStateStorage(), 4)
+            .requestBackup(0, true, Optional.empty());
+    assertThat(status.isFailed()).isFalse();
+    assertThat(status.getShardCount()).isEqualTo(16);
+
+    final RestoreState restoreState = new RestoreState();
+    new CommandLine(restoreState).parseArgs("--backup-path", backupDir.toString());
+    restoreState.readManifest();
+    final DefaultWorldStateArchive restoredArchive =
+        InMemoryStorageProvider.createInMemoryWorldStateArchive();
+    restoreState.restoreAccounts(restoredArchive.getWorldStateStorage(), stateRoot);
+
+    final WorldState restoredWorldState =
+        restoredArchive.get(stateRoot, block.getHash()).orElseThrow();
+    assertThat(restoredWorldState.rootHash()).isEqualTo(stateRoot);
+    for (final Account account : accounts) {
+      final Account source = sourceWorldState.get(account.getAddress());
+      final Account restored = restoredWorldState.get(account.getAddress());
+      assertThat(restored.getNonce()).isEqualTo(source.getNonce());
+      assertThat(restored.getBalance()).isEqualTo(source.getBalance());
+      assertThat(restored.getCode()).isEqualTo(source.getCode());
+      assertThat(storageValues(restored)).isEqualTo(storageValues(source));
+    }
+  }
+
+  private static List<UInt256> storageValues(final Account account) {
+    return account.storageEntriesFrom(Bytes32.ZERO, Integer.MAX_VALUE).values().stream()
+        .map(AccountStorageEntry::getValue)
+        .collect(Collectors.toList());
+  }
+}
@@ -23,9 +23,18 @@ import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 
 import java.util.function.Supplier;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.tuweni.bytes.Bytes;
 
 public class CliqueBlockHashing {
+  private static final int PROPOSER_ADDRESS_CACHE_SIZE = 10_000;
+
+  // Recovering the proposer from its seal is expensive, and it is needed repeatedly for the same
+  // block by the header validation rules, the vote tally and RPC queries. As the block hash covers
+  // the proposer seal, it identifies the recovered address.
+  private static final Cache<Hash, Address> PROPOSER_ADDRESS_CACHE =
+      CacheBuilder.newBuilder().maximumSize(PROPOSER_ADDRESS_CACHE_SIZE).build();
   /**
    * Constructs a hash of the block header, suitable for use when creating the proposer seal. The
    * extra data is modified to have a null proposer seal and empty list of committed seals.
@@ -57,8 +66,18 @@ public class CliqueBlockHashing {
       throw new IllegalArgumentException(
           "Supplied cliqueExtraData does not include a proposer " + "seal");
     }
+    final Hash blockHash = header.getHash();
+    final Address cachedProposer = PROPOSER_ADDRESS_CACHE.getIfPresent(blockHash);
+    if (cachedProposer != null) {
+      return cachedProposer;
+    }
     final Hash proposerHash = calculateDataHashForProposerSeal(header, cliqueExtraData);
-    return Util.signatureToAddress(cliqueExtraData.getProposerSeal().get(), proposerHash);
+    final Address proposer =
+        Util.signatureToAddress(cliqueExtraData.getProposerSeal().get(), proposerHash);
+    if (proposer != null) {
+      PROPOSER_ADDRESS_CACHE.put(blockHash, proposer);
+    }
+    return proposer;
   }
 
   private static Bytes serializeHeaderWithoutProposerSeal(
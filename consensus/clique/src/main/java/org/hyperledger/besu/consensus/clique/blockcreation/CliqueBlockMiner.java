@@ -17,6 +17,7 @@ package org.hyperledger.besu.consensus.clique.blockcreation;
 import org.hyperledger.besu.consensus.clique.CliqueHelpers;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.AbstractBlockScheduler;
+import org.hyperledger.besu.ethereum.blockcreation.BlockBuildAhead;
 import org.hyperledger.besu.ethereum.blockcreation.BlockMiner;
 import org.hyperledger.besu.ethereum.chain.MinedBlockObserver;
 import org.hyperledger.besu.ethereum.core.Address;
@@ -24,6 +25,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 public class CliqueBlockMiner extends BlockMiner<CliqueBlockCreator> {
@@ -38,7 +40,34 @@ public class CliqueBlockMiner extends BlockMiner<CliqueBlockCreator> {
       final AbstractBlockScheduler scheduler,
       final BlockHeader parentHeader,
       final Address localAddress) {
-    super(blockCreator, protocolSchedule, protocolContext, observers, scheduler, parentHeader);
+    this(
+        blockCreator,
+        protocolSchedule,
+        protocolContext,
+        observers,
+        scheduler,
+        parentHeader,
+        localAddress,
+        Optional.empty());
+  }
+
+  public CliqueBlockMiner(
+      final Function<BlockHeader, CliqueBlockCreator> blockCreator,
+      final ProtocolSchedule protocolSchedule,
+      final ProtocolContext protocolContext,
+      final Subscribers<MinedBlockObserver> observers,
+      final AbstractBlockScheduler scheduler,
+      final BlockHeader parentHeader,
+      final Address localAddress,
+      final Optional<BlockBuildAhead> buildAhead) {
+    super(
+        blockCreator,
+        protocolSchedule,
+        protocolContext,
+        observers,
+        scheduler,
+        parentHeader,
+        buildAhead);
     this.localAddress = localAddress;
   }
 
@@ -23,6 +23,7 @@ import org.hyperledger.besu.crypto.NodeKey;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.AbstractBlockScheduler;
 import org.hyperledger.besu.ethereum.blockcreation.AbstractMinerExecutor;
+import org.hyperledger.besu.ethereum.blockcreation.BlockBuildAhead;
 import org.hyperledger.besu.ethereum.blockcreation.GasLimitCalculator;
 import org.hyperledger.besu.ethereum.chain.EthHashObserver;
 import org.hyperledger.besu.ethereum.chain.MinedBlockObserver;
@@ -32,6 +33,8 @@ import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.util.List;
@@ -47,6 +50,7 @@ public class CliqueMinerExecutor extends AbstractMinerExecutor<CliqueBlockMiner>
   private final Address localAddress;
   private final NodeKey nodeKey;
   private final EpochManager epochManager;
+  private final Optional<BlockBuildAhead> blockBuildAhead;
 
   public CliqueMinerExecutor(
       final ProtocolContext protocolContext,
@@ -57,6 +61,28 @@ public class CliqueMinerExecutor extends AbstractMinerExecutor<CliqueBlockMiner>
       final AbstractBlockScheduler blockScheduler,
       final EpochManager epochManager,
       final GasLimitCalculator gasLimitCalculator) {
+    this(
+        protocolContext,
+        protocolSchedule,
+        pendingTransactions,
+        nodeKey,
+        miningParams,
+        blockScheduler,
+        epochManager,
+        gasLimitCalculator,
+        new NoOpMetricsSystem());
+  }
+
+  public CliqueMinerExecutor(
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final PendingTransactions pendingTransactions,
+      final NodeKey nodeKey,
+      final MiningParameters miningParams,
+      final AbstractBlockScheduler blockScheduler,
+      final EpochManager epochManager,
+      final GasLimitCalculator gasLimitCalculator,
+      final MetricsSystem metricsSystem) {
     super(
         protocolContext,
         protocolSchedule,
@@ -67,6 +93,10 @@ public class CliqueMinerExecutor extends AbstractMinerExecutor<CliqueBlockMiner>
     this.nodeKey = nodeKey;
     this.localAddress = Util.publicKeyToAddress(nodeKey.getPublicKey());
     this.epochManager = epochManager;
+    this.blockBuildAhead =
+        miningParams.isBlockBuildAheadEnabled()
+            ? Optional.of(new BlockBuildAhead(metricsSystem))
+            : Optional.empty();
   }
 
   @Override
@@ -96,7 +126,8 @@ public class CliqueMinerExecutor extends AbstractMinerExecutor<CliqueBlockMiner>
         observers,
         blockScheduler,
         parentHeader,
-        localAddress);
+        localAddress,
+        blockBuildAhead);
   }
 
   @Override
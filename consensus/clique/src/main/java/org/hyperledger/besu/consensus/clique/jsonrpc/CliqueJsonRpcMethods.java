@@ -71,11 +71,17 @@ public class CliqueJsonRpcMethods extends ApiGroupJsonRpcMethods {
 
   private VoteTallyCache createVoteTallyCache(
       final ProtocolContext context, final MutableBlockchain blockchain) {
-    final EpochManager epochManager =
-        context.getConsensusState(CliqueContext.class).getEpochManager();
+    final CliqueContext cliqueContext = context.getConsensusState(CliqueContext.class);
+    final EpochManager epochManager = cliqueContext.getEpochManager();
     final CliqueBlockInterface cliqueBlockInterface = new CliqueBlockInterface();
     final VoteTallyUpdater voteTallyUpdater =
         new VoteTallyUpdater(epochManager, cliqueBlockInterface);
-    return new VoteTallyCache(blockchain, voteTallyUpdater, epochManager, cliqueBlockInterface);
+    // Share the persisted snapshots so historic lookups don't replay back to the epoch block
+    return new VoteTallyCache(
+        blockchain,
+        voteTallyUpdater,
+        epochManager,
+        cliqueBlockInterface,
+        cliqueContext.getVoteTallyCache().getSnapshotStore());
   }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common.bft;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.consensus.common.VoteTally;
+import org.hyperledger.besu.consensus.common.VoteTallyCache;
+import org.hyperledger.besu.consensus.common.bft.headervalidationrules.BftCommitSealsValidationRule;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.LogsBloomFilter;
+import org.hyperledger.besu.ethereum.core.Util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the throughput of validating the committed seals of a chain of headers produced by a 21
+ * validator IBFT or QBFT network, with and without the recovered committers already cached.
+ */
+@State(Scope.Benchmark)
+public class BftHeaderValidationBenchmark {
+
+  private static final int VALIDATOR_COUNT = 21;
+  private static final int CHAIN_LENGTH = 64;
+
+  @Param({"false", "true"})
+  public boolean warmCache;
+
+  private final BftCommitSealsValidationRule commitSealsValidationRule =
+      new BftCommitSealsValidationRule();
+  private final List<BlockHeader> headers = new ArrayList<>();
+  private ProtocolContext protocolContext;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final List<KeyPair> validatorKeys =
+        IntStream.range(0, VALIDATOR_COUNT)
+            .mapToObj(i -> KeyPair.generate())
+            .collect(Collectors.toList());
+    final List<Address> validators =
+        validatorKeys.stream()
+            .map(keyPair -> Util.publicKeyToAddress(keyPair.getPublicKey()))
+            .sorted()
+            .collect(Collectors.toList());
+
+    Hash parentHash = Hash.ZERO;
+    for (int number = 1; number <= CHAIN_LENGTH; number++) {
+      final BlockHeaderBuilder builder = headerBuilder(parentHash, number);
+      final BftExtraData unsealedExtraData =
+          new BftExtraData(
+              Bytes.wrap(new byte[BftExtraData.EXTRA_VANITY_LENGTH]),
+              Collections.emptyList(),
+              Optional.empty(),
+              0,
+              validators);
+      builder.extraData(unsealedExtraData.encode());
+      final Hash dataHash =
+          BftBlockHashing.calculateDataHashForCommittedSeal(
+              builder.buildBlockHeader(), unsealedExtraData);
+
+      final BftExtraData sealedExtraData =
+          new BftExtraData(
+              unsealedExtraData.getVanityData(),
+              validatorKeys.stream()
+                  .map(keyPair -> SECP256K1.sign(dataHash, keyPair))
+                  .collect(Collectors.toList()),
+              Optional.empty(),
+              0,
+              validators);
+      builder.extraData(sealedExtraData.encode());
+      final BlockHeader header = builder.buildBlockHeader();
+      headers.add(header);
+      parentHash = header.getHash();
+    }
+
+    final BftContext bftContext = mock(BftContext.class);
+    final VoteTallyCache voteTallyCache = mock(VoteTallyCache.class);
+    when(bftContext.getVoteTallyCache()).thenReturn(voteTallyCache);
+    when(voteTallyCache.getVoteTallyAfterBlock(any())).thenReturn(new VoteTally(validators));
+    protocolContext = new ProtocolContext(null, null, bftContext);
+  }
+
+  @Setup(Level.Invocation)
+  public void prepareCache() {
+    if (!warmCache) {
+      BftBlockHashing.clearCommitterAddressesCache();
+    }
+  }
+
+  @Benchmark
+  public boolean validateHeaderChain() {
+    boolean valid = true;
+    BlockHeader parent = null;
+    for (final BlockHeader header : headers) {
+      valid &= commitSealsValidationRule.validate(header, parent, protocolContext);
+      parent = header;
+    }
+    return valid;
+  }
+
+  private static BlockHeaderBuilder headerBuilder(final Hash parentHash, final long number) {
+    return new BlockHeaderBuilder()
+        .parentHash(parentHash)
+        .ommersHash(Hash.EMPTY_LIST_HASH)
+        .coinbase(Address.ZERO)
+        .stateRoot(Hash.EMPTY_TRIE_HASH)
+        .transactionsRoot(Hash.EMPTY_TRIE_HASH)
+        .receiptsRoot(Hash.EMPTY_TRIE_HASH)
+        .logsBloom(LogsBloomFilter.empty())
+        .difficulty(Difficulty.ONE)
+        .number(number)
+        .gasLimit(10_000_000)
+        .gasUsed(0)
+        .timestamp(number)
+        .mixHash(BftHelpers.EXPECTED_MIX_HASH)
+        .nonce(0)
+        .blockHeaderFunctions(BftBlockHeaderFunctions.forOnChainBlock());
+  }
+}
@@ -18,6 +18,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.Optional;
 
 public class ForkingVoteTallyCache extends VoteTallyCache {
 
@@ -34,6 +37,19 @@ public class ForkingVoteTallyCache extends VoteTallyCache {
     this.validatorOverrides = validatorOverrides;
   }
 
+  public ForkingVoteTallyCache(
+      final Blockchain blockchain,
+      final VoteTallyUpdater voteTallyUpdater,
+      final EpochManager epochManager,
+      final BlockInterface blockInterface,
+      final BftValidatorOverrides validatorOverrides,
+      final Optional<VoteTallySnapshotStore> snapshotStore,
+      final MetricsSystem metricsSystem) {
+    super(blockchain, voteTallyUpdater, epochManager, blockInterface, snapshotStore, metricsSystem);
+    checkNotNull(validatorOverrides);
+    this.validatorOverrides = validatorOverrides;
+  }
+
   @Override
   protected VoteTally getValidatorsAfter(final BlockHeader header) {
     final long nextBlockNumber = header.getNumber() + 1L;
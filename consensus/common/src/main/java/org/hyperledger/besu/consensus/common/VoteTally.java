@@ -15,15 +15,19 @@
 package org.hyperledger.besu.consensus.common;
 
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 import com.google.common.collect.Maps;
@@ -129,4 +133,53 @@ public class VoteTally implements ValidatorProvider {
     return new VoteTally(
         new TreeSet<>(this.currentValidators), addVotesBySubject, removeVotesBySubject);
   }
+
+  /**
+   * Writes the validators and all outstanding votes of this tally, such that {@link
+   * #readFrom(RLPInput)} restores an equivalent tally.
+   *
+   * @param out the output to write the tally to
+   */
+  public void writeTo(final RLPOutput out) {
+    out.startList();
+    out.writeList(currentValidators, (validator, o) -> o.writeBytes(validator));
+    writeVotes(addVotesBySubject, out);
+    writeVotes(removeVotesBySubject, out);
+    out.endList();
+  }
+
+  public static VoteTally readFrom(final RLPInput in) {
+    in.enterList();
+    final List<Address> validators = in.readList(Address::readFrom);
+    final Map<Address, Set<Address>> addVotesBySubject = readVotes(in);
+    final Map<Address, Set<Address>> removeVotesBySubject = readVotes(in);
+    in.leaveList();
+    return new VoteTally(validators, addVotesBySubject, removeVotesBySubject);
+  }
+
+  private static void writeVotes(final Map<Address, Set<Address>> votes, final RLPOutput out) {
+    out.startList();
+    new TreeMap<>(votes)
+        .forEach(
+            (subject, voters) -> {
+              out.startList();
+              out.writeBytes(subject);
+              out.writeList(new TreeSet<>(voters), (voter, o) -> o.writeBytes(voter));
+              out.endList();
+            });
+    out.endList();
+  }
+
+  private static Map<Address, Set<Address>> readVotes(final RLPInput in) {
+    final Map<Address, Set<Address>> votes = new HashMap<>();
+    in.enterList();
+    while (!in.isEndOfCurrentList()) {
+      in.enterList();
+      final Address subject = Address.readFrom(in);
+      votes.put(subject, new HashSet<>(in.readList(Address::readFrom)));
+      in.leaveList();
+    }
+    in.leaveList();
+    return votes;
+  }
 }
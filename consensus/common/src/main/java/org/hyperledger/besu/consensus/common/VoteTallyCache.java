@@ -19,10 +19,16 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 import com.google.common.cache.Cache;
@@ -37,21 +43,90 @@ public class VoteTallyCache {
   private final Cache<Hash, VoteTally> voteTallyCache =
       CacheBuilder.newBuilder().maximumSize(100).build();
   private final BlockInterface blockInterface;
+  private final Optional<VoteTallySnapshotStore> snapshotStore;
+
+  private final Counter cacheHitCounter;
+  private final Counter cacheMissCounter;
+  private final Counter walkedHeadersCounter;
+  private final Counter snapshotsReadCounter;
+  private final Counter snapshotsWrittenCounter;
 
   public VoteTallyCache(
       final Blockchain blockchain,
       final VoteTallyUpdater voteTallyUpdater,
       final EpochManager epochManager,
       final BlockInterface blockInterface) {
+    this(blockchain, voteTallyUpdater, epochManager, blockInterface, Optional.empty());
+  }
+
+  public VoteTallyCache(
+      final Blockchain blockchain,
+      final VoteTallyUpdater voteTallyUpdater,
+      final EpochManager epochManager,
+      final BlockInterface blockInterface,
+      final Optional<VoteTallySnapshotStore> snapshotStore) {
+    this(
+        blockchain,
+        voteTallyUpdater,
+        epochManager,
+        blockInterface,
+        snapshotStore,
+        new NoOpMetricsSystem());
+  }
+
+  public VoteTallyCache(
+      final Blockchain blockchain,
+      final VoteTallyUpdater voteTallyUpdater,
+      final EpochManager epochManager,
+      final BlockInterface blockInterface,
+      final Optional<VoteTallySnapshotStore> snapshotStore,
+      final MetricsSystem metricsSystem) {
 
     checkNotNull(blockchain);
     checkNotNull(voteTallyUpdater);
     checkNotNull(epochManager);
     checkNotNull(blockInterface);
+    checkNotNull(snapshotStore);
     this.blockchain = blockchain;
     this.voteTallyUpdater = voteTallyUpdater;
     this.epochManager = epochManager;
     this.blockInterface = blockInterface;
+    this.snapshotStore = snapshotStore;
+
+    final LabelledMetric<Counter> lookupCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "vote_tally_cache_lookups_total",
+            "Number of vote tally lookups by cache result",
+            "result");
+    cacheHitCounter = lookupCounter.labels("hit");
+    cacheMissCounter = lookupCounter.labels("miss");
+    walkedHeadersCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "vote_tally_cache_walked_headers_total",
+            "Number of headers replayed to construct vote tallies missing from the cache");
+    snapshotsReadCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "vote_tally_snapshots_read_total",
+            "Number of persisted vote tally snapshots used to construct vote tallies");
+    snapshotsWrittenCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "vote_tally_snapshots_written_total",
+            "Number of vote tally snapshots persisted");
+    snapshotStore.ifPresent(
+        store ->
+            metricsSystem.createIntegerGauge(
+                BesuMetricCategory.BLOCKCHAIN,
+                "vote_tally_snapshots_current",
+                "Number of persisted vote tally snapshots",
+                store::size));
+  }
+
+  public Optional<VoteTallySnapshotStore> getSnapshotStore() {
+    return snapshotStore;
   }
 
   public VoteTally getVoteTallyAtHead() {
@@ -60,16 +135,22 @@ public class VoteTallyCache {
 
   /**
    * Determines the VoteTally for a given block header, by back-tracing the blockchain to a
-   * previously cached value or epoch block. Then appyling votes in each intermediate header such
-   * that representative state can be provided. This function assumes the vote cast in {@code
-   * header} is applied, thus the voteTally returned contains the group of validators who are
-   * permitted to partake in the next block's creation.
+   * previously cached value, persisted snapshot or epoch block. Then appyling votes in each
+   * intermediate header such that representative state can be provided. This function assumes the
+   * vote cast in {@code header} is applied, thus the voteTally returned contains the group of
+   * validators who are permitted to partake in the next block's creation.
    *
    * @param header the header of the block after which the VoteTally is to be returned
    * @return The Vote Tally (and therefore validators) following the application of all votes upto
    *     and including the requested header.
    */
   public VoteTally getVoteTallyAfterBlock(final BlockHeader header) {
+    final VoteTally cached = voteTallyCache.getIfPresent(header.getHash());
+    if (cached != null) {
+      cacheHitCounter.inc();
+      return cached;
+    }
+    cacheMissCounter.inc();
     try {
       return voteTallyCache.get(header.getHash(), () -> populateCacheUptoAndIncluding(header));
     } catch (final ExecutionException ex) {
@@ -97,6 +178,7 @@ public class VoteTallyCache {
                       new NoSuchElementException(
                           "Supplied block was on a orphaned chain, unable to generate VoteTally."));
     }
+    walkedHeadersCounter.inc(intermediateBlocks.size());
     return constructMissingCacheEntries(intermediateBlocks, voteTally);
   }
 
@@ -105,7 +187,15 @@ public class VoteTallyCache {
       return new VoteTally(blockInterface.validatorsInBlock(header));
     }
 
-    return voteTallyCache.getIfPresent(header.getParentHash());
+    final VoteTally parentVoteTally = voteTallyCache.getIfPresent(header.getParentHash());
+    if (parentVoteTally != null) {
+      return parentVoteTally;
+    }
+
+    final Optional<VoteTally> snapshot =
+        snapshotStore.flatMap(store -> store.get(header.getParentHash()));
+    snapshot.ifPresent(voteTally -> snapshotsReadCounter.inc());
+    return snapshot.orElse(null);
   }
 
   private VoteTally constructMissingCacheEntries(
@@ -115,6 +205,10 @@ public class VoteTallyCache {
       final BlockHeader h = headers.pop();
       voteTallyUpdater.updateForBlock(h, mutableVoteTally);
       voteTallyCache.put(h.getHash(), mutableVoteTally.copy());
+      if (snapshotStore.isPresent() && snapshotStore.get().shouldSnapshot(h, epochManager)) {
+        snapshotStore.get().put(h.getHash(), mutableVoteTally);
+        snapshotsWrittenCounter.inc();
+      }
     }
     return mutableVoteTally;
   }
@@ -0,0 +1,141 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Persists vote tallies keyed by the hash of the block they follow, so that determining the
+ * validators of a historic block does not require replaying every vote since the last epoch block.
+ *
+ * <p>The hashes of all stored snapshots are loaded when the store is created, which allows a walk
+ * back through the chain to check each header for a snapshot without reading from storage.
+ *
+ * <p>Snapshots can be written for blocks that never become canonical, so each snapshot is checked
+ * against the canonical chain once its block is a snapshot interval behind the chain head, and
+ * removed if it is not part of it.
+ */
+public class VoteTallySnapshotStore {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final long DEFAULT_SNAPSHOT_INTERVAL = 1024;
+
+  private final KeyValueStorage storage;
+  private final long snapshotInterval;
+  private final Set<Hash> snapshotHashes = ConcurrentHashMap.newKeySet();
+  private final Set<Hash> unconfirmedHashes = ConcurrentHashMap.newKeySet();
+
+  public VoteTallySnapshotStore(final KeyValueStorage storage, final long snapshotInterval) {
+    checkArgument(snapshotInterval > 0, "Vote tally snapshot interval must be positive");
+    this.storage = storage;
+    this.snapshotInterval = snapshotInterval;
+    storage.streamKeys().map(key -> Hash.wrap(Bytes32.wrap(key))).forEach(snapshotHashes::add);
+    unconfirmedHashes.addAll(snapshotHashes);
+    LOG.debug("Loaded {} vote tally snapshots", snapshotHashes.size());
+  }
+
+  /**
+   * Whether the tally following the given block should be persisted. Tallies following an epoch
+   * block are not stored as they are given directly by the epoch block's header.
+   *
+   * @param header the header of the block the tally follows
+   * @param epochManager the epoch manager of the chain
+   * @return true if a snapshot should be stored for the block
+   */
+  public boolean shouldSnapshot(final BlockHeader header, final EpochManager epochManager) {
+    return header.getNumber() % snapshotInterval == 0
+        && !epochManager.isEpochBlock(header.getNumber())
+        && !snapshotHashes.contains(header.getHash());
+  }
+
+  public Optional<VoteTally> get(final Hash blockHash) {
+    if (!snapshotHashes.contains(blockHash)) {
+      return Optional.empty();
+    }
+    return storage
+        .get(blockHash.toArrayUnsafe())
+        .map(value -> VoteTally.readFrom(RLP.input(Bytes.wrap(value))));
+  }
+
+  public void put(final Hash blockHash, final VoteTally voteTally) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    voteTally.writeTo(out);
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(blockHash.toArrayUnsafe(), out.encoded().toArrayUnsafe());
+    transaction.commit();
+    snapshotHashes.add(blockHash);
+    unconfirmedHashes.add(blockHash);
+  }
+
+  /**
+   * Removes the snapshots of blocks that are not on the canonical chain. Snapshots of blocks less
+   * than a snapshot interval behind the chain head are left until a later call, and snapshots found
+   * to be canonical are not checked again.
+   *
+   * @param blockchain the blockchain whose canonical chain the snapshots are checked against
+   */
+  public void pruneNonCanonical(final Blockchain blockchain) {
+    final long checkedBelow = blockchain.getChainHeadBlockNumber() - snapshotInterval;
+    for (final Hash blockHash : unconfirmedHashes) {
+      final Optional<Long> blockNumber =
+          blockchain.getBlockHeader(blockHash).map(BlockHeader::getNumber);
+      if (blockNumber.isPresent() && blockNumber.get() > checkedBelow) {
+        continue;
+      }
+      final boolean canonical =
+          blockNumber
+              .flatMap(blockchain::getBlockHashByNumber)
+              .filter(blockHash::equals)
+              .isPresent();
+      if (!canonical) {
+        remove(blockHash);
+      }
+      unconfirmedHashes.remove(blockHash);
+    }
+  }
+
+  public long getSnapshotInterval() {
+    return snapshotInterval;
+  }
+
+  private void remove(final Hash blockHash) {
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.remove(blockHash.toArrayUnsafe());
+    transaction.commit();
+    snapshotHashes.remove(blockHash);
+    LOG.debug("Removed vote tally snapshot of non-canonical block {}", blockHash);
+  }
+
+  public int size() {
+    return snapshotHashes.size();
+  }
+}
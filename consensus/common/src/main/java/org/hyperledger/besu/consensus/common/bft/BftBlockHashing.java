@@ -21,13 +21,23 @@ import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.tuweni.bytes.Bytes;
 
 public class BftBlockHashing {
+  private static final int COMMITTER_ADDRESSES_CACHE_SIZE = 1_000;
+
+  // Recovering the committers from their seals is expensive, and it is needed repeatedly for the
+  // same block. The block hash doesn't cover the committed seals or the round, so the cache is
+  // keyed by a hash of the block hash and the full extra data.
+  private static final Cache<Hash, List<Address>> COMMITTER_ADDRESSES_CACHE =
+      CacheBuilder.newBuilder().maximumSize(COMMITTER_ADDRESSES_CACHE_SIZE).build();
 
   /**
    * Constructs a hash of the block header suitable for signing as a committed seal. The extra data
@@ -70,12 +80,30 @@ public class BftBlockHashing {
    */
   public static List<Address> recoverCommitterAddresses(
       final BlockHeader header, final BftExtraData bftExtraData) {
+    final Hash cacheKey = Hash.hash(Bytes.concatenate(header.getHash(), bftExtraData.encode()));
+    final List<Address> cachedCommitters = COMMITTER_ADDRESSES_CACHE.getIfPresent(cacheKey);
+    if (cachedCommitters != null) {
+      return cachedCommitters;
+    }
+
     final Hash committerHash =
         BftBlockHashing.calculateDataHashForCommittedSeal(header, bftExtraData);
 
-    return bftExtraData.getSeals().stream()
-        .map(p -> Util.signatureToAddress(p, committerHash))
-        .collect(Collectors.toList());
+    // Each seal is recovered independently, so the seals are recovered in parallel
+    final List<Address> committers =
+        Collections.unmodifiableList(
+            bftExtraData
+                .getSeals()
+                .parallelStream()
+                .map(p -> Util.signatureToAddress(p, committerHash))
+                .collect(Collectors.toList()));
+    COMMITTER_ADDRESSES_CACHE.put(cacheKey, committers);
+    return committers;
+  }
+
+  // Lets the benchmarks measure seal recovery without the cache
+  static void clearCommitterAddressesCache() {
+    COMMITTER_ADDRESSES_CACHE.invalidateAll();
   }
 
   private static Bytes serializeHeader(
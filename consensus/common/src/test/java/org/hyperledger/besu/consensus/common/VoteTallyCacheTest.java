@@ -17,21 +17,28 @@ package org.hyperledger.besu.consensus.common;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.ethereum.core.AddressHelpers;
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.util.Arrays;
 import java.util.Optional;
 
 import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.assertj.core.util.Lists;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
@@ -129,4 +136,77 @@ public class VoteTallyCacheTest extends VoteTallyCacheTestBase {
     voteTally = cache.getVoteTallyAfterBlock(block_1.getHeader());
     assertThat(voteTally.getValidators()).containsAll(validators);
   }
+
+  @Test
+  public void walkBackStopsAtPersistedSnapshotAfterRestart() {
+    final EpochManager epochManager = new EpochManager(30_000);
+    final InMemoryKeyValueStorage storage = new InMemoryKeyValueStorage();
+    when(blockInterface.extractVoteFromHeader(block_1.getHeader()))
+        .thenReturn(
+            Optional.of(new ValidatorVote(VoteType.DROP, validators.get(0), validators.get(2))));
+
+    final VoteTallyCache cache =
+        new VoteTallyCache(
+            blockChain,
+            new VoteTallyUpdater(epochManager, blockInterface),
+            epochManager,
+            blockInterface,
+            Optional.of(new VoteTallySnapshotStore(storage, 2)),
+            new NoOpMetricsSystem());
+    cache.getVoteTallyAfterBlock(block_2.getHeader());
+
+    // A new cache over the same storage only replays the blocks after the block_2 snapshot.
+    final VoteTallySnapshotStore restoredStore = new VoteTallySnapshotStore(storage, 2);
+    assertThat(restoredStore.size()).isEqualTo(1);
+    final VoteTallyUpdater tallyUpdater = mock(VoteTallyUpdater.class);
+    final VoteTallyCache restoredCache =
+        new VoteTallyCache(
+            blockChain,
+            tallyUpdater,
+            epochManager,
+            blockInterface,
+            Optional.of(restoredStore),
+            new NoOpMetricsSystem());
+
+    final Block block_3 = createEmptyBlock(3, block_2.getHeader().getHash());
+    final VoteTally voteTally = restoredCache.getVoteTallyAfterBlock(block_3.getHeader());
+
+    verify(tallyUpdater).updateForBlock(eq(block_3.getHeader()), any());
+    verifyNoMoreInteractions(tallyUpdater);
+    assertThat(voteTally.getValidators()).containsExactlyElementsOf(validators);
+    assertThat(voteTally.getOutstandingRemoveVotesFor(validators.get(2)))
+        .containsExactly(validators.get(0));
+  }
+
+  @Test
+  public void snapshotsOfNonCanonicalBlocksArePruned() {
+    final InMemoryKeyValueStorage storage = new InMemoryKeyValueStorage();
+    final VoteTallySnapshotStore snapshotStore = new VoteTallySnapshotStore(storage, 2);
+    final Block forkBlock =
+        new Block(
+            headerBuilder
+                .number(2)
+                .parentHash(block_1.getHash())
+                .coinbase(AddressHelpers.ofValue(1))
+                .buildHeader(),
+            new BlockBody(Lists.emptyList(), Lists.emptyList()));
+    blockChain.appendBlock(forkBlock, Lists.emptyList());
+    final VoteTally voteTally = new VoteTally(validators);
+    snapshotStore.put(block_2.getHash(), voteTally);
+    snapshotStore.put(forkBlock.getHash(), voteTally);
+
+    // Neither block is a full snapshot interval behind the head yet
+    snapshotStore.pruneNonCanonical(blockChain);
+    assertThat(snapshotStore.size()).isEqualTo(2);
+
+    final Block block_3 = createEmptyBlock(3, block_2.getHash());
+    final Block block_4 = createEmptyBlock(4, block_3.getHash());
+    blockChain.appendBlock(block_3, Lists.emptyList());
+    blockChain.appendBlock(block_4, Lists.emptyList());
+    snapshotStore.pruneNonCanonical(blockChain);
+
+    assertThat(snapshotStore.get(block_2.getHash())).isPresent();
+    assertThat(snapshotStore.get(forkBlock.getHash())).isEmpty();
+    assertThat(new VoteTallySnapshotStore(storage, 2).size()).isEqualTo(1);
+  }
 }
@@ -70,9 +70,16 @@ public class IbftJsonRpcMethods extends ApiGroupJsonRpcMethods {
 
   private VoteTallyCache createVoteTallyCache(
       final ProtocolContext context, final MutableBlockchain blockchain) {
-    final EpochManager epochManager = context.getConsensusState(BftContext.class).getEpochManager();
+    final BftContext bftContext = context.getConsensusState(BftContext.class);
+    final EpochManager epochManager = bftContext.getEpochManager();
     final BftBlockInterface bftBlockInterface = new BftBlockInterface();
     final VoteTallyUpdater voteTallyUpdater = new VoteTallyUpdater(epochManager, bftBlockInterface);
-    return new VoteTallyCache(blockchain, voteTallyUpdater, epochManager, bftBlockInterface);
+    // Share the persisted snapshots so historic lookups don't replay back to the epoch block
+    return new VoteTallyCache(
+        blockchain,
+        voteTallyUpdater,
+        epochManager,
+        bftBlockInterface,
+        bftContext.getVoteTallyCache().getSnapshotStore());
   }
 }
@@ -77,6 +77,35 @@ public class BftBlockHashingTest {
     assertThat(actualCommitterAddresses).isEqualTo(expectedCommitterAddresses);
   }
 
+  @Test
+  public void committerAddressesDependOnSealsOfHeadersWithTheSameHash() {
+    final Hash dataHashForCommittedSeal =
+        BftBlockHashing.calculateDataHashForCommittedSeal(
+            HEADER_TO_BE_HASHED, BftExtraData.decode(HEADER_TO_BE_HASHED));
+    final List<NodeKey> sealingNodeKeys = COMMITTERS_NODE_KEYS.subList(0, 3);
+    final List<Signature> commitSeals =
+        sealingNodeKeys.stream()
+            .map(nodeKey -> nodeKey.sign(dataHashForCommittedSeal))
+            .collect(Collectors.toList());
+    final BlockHeaderBuilder builder = setHeaderFieldsExceptForExtraData();
+    builder.extraData(new BftExtraData(VANITY_DATA, commitSeals, VOTE, ROUND, VALIDATORS).encode());
+    final BlockHeader headerWithFewerSeals = builder.buildBlockHeader();
+
+    // populate the cache with the committers of the fully sealed header first
+    BftBlockHashing.recoverCommitterAddresses(
+        HEADER_TO_BE_HASHED, BftExtraData.decode(HEADER_TO_BE_HASHED));
+    final List<Address> committers =
+        BftBlockHashing.recoverCommitterAddresses(
+            headerWithFewerSeals, BftExtraData.decode(headerWithFewerSeals));
+
+    assertThat(headerWithFewerSeals.getHash()).isEqualTo(HEADER_TO_BE_HASHED.getHash());
+    assertThat(committers)
+        .isEqualTo(
+            sealingNodeKeys.stream()
+                .map(nodeKey -> Util.publicKeyToAddress(nodeKey.getPublicKey()))
+                .collect(Collectors.toList()));
+  }
+
   @Test
   public void testCalculateDataHashForCommittedSeal() {
     Hash dataHahsForCommittedSeal =
@@ -14,10 +14,12 @@
  */
 package org.hyperledger.besu.crypto.altbn128;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.hyperledger.besu.crypto.altbn128.AltBn128Fq12Point.twist;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Adapted from the pc_ecc (Apache 2 License) implementation:
@@ -33,6 +35,21 @@ public class AltBn128Fq12Pairer {
       new BigInteger(
           "21888242871839275222246405745257275088548364400416034343698204186575808495617");
 
+  /**
+   * Checks whether the product of the reduced pairings of each pair of points is one, as specified
+   * for the alt_bn128 pairing precompile. This uses the faster {@link MontgomeryPairing} rather
+   * than {@link #pair} and {@link #finalize}.
+   *
+   * @param g1Points the G1 points, which must be on the curve
+   * @param g2Points the G2 points, which must be on the twist and in the subgroup
+   * @return whether the product of the pairings is one
+   */
+  public static boolean pairingCheck(
+      final List<AltBn128Point> g1Points, final List<AltBn128Fq2Point> g2Points) {
+    checkArgument(g1Points.size() == g2Points.size(), "Points must be given in pairs");
+    return MontgomeryPairing.pair(g1Points, g2Points).isOne();
+  }
+
   public static Fq12 pair(final AltBn128Point p, final AltBn128Fq2Point q) {
     return millerLoop(cast(p), twist(q));
   }
@@ -21,10 +21,6 @@ import java.math.BigInteger;
  * https://github.com/ethereum/py_ecc/blob/master/py_ecc/bn128/bn128_field_elements.py
  */
 public class AltBn128Fq2Point extends AbstractFieldPoint<AltBn128Fq2Point> {
-  private static final BigInteger CURVE_ORDER =
-      new BigInteger(
-          "21888242871839275222246405745257275088548364400416034343698204186575808495617", 10);
-
   public static AltBn128Fq2Point g2() {
     final Fq2 x =
         Fq2.create(
@@ -74,7 +70,7 @@ public class AltBn128Fq2Point extends AbstractFieldPoint<AltBn128Fq2Point> {
   }
 
   public boolean isInGroup() {
-    return multiply(CURVE_ORDER).isInfinity();
+    return MontgomeryG2Point.isInGroup(this);
   }
 
   @SuppressWarnings("rawtypes")
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.crypto.altbn128;
 
+import java.math.BigInteger;
+
 /**
  * Adapted from the pc_ecc (Apache 2 License) implementation:
  * https://github.com/ethereum/py_ecc/blob/master/py_ecc/bn128/bn128_field_elements.py
@@ -51,6 +53,15 @@ public class AltBn128Point extends AbstractFieldPoint<AltBn128Point> {
     return y.power(2).subtract(x.power(3)).equals(B);
   }
 
+  /**
+   * Multiplies in Jacobian coordinates on Montgomery form limbs rather than through repeated affine
+   * doublings, each of which needs a field inversion.
+   */
+  @Override
+  public AltBn128Point multiply(final BigInteger n) {
+    return MontgomeryG1Point.multiply(this, n);
+  }
+
   @Override
   protected AltBn128Point infinity() {
     return new AltBn128Point(Fq.zero(), Fq.zero());
@@ -50,6 +50,10 @@ public class Fq implements FieldElement<Fq> {
     this.n = n;
   }
 
+  BigInteger toBigInteger() {
+    return n.mod(FIELD_MODULUS);
+  }
+
   public Bytes toBytes() {
     return Bytes.wrap(n.toByteArray()).trimLeadingZeros();
   }
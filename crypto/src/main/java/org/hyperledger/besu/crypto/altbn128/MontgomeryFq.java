@@ -0,0 +1,359 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A mutable element of the alt_bn128 base field, held in Montgomery form as four 64-bit limbs.
+ *
+ * <p>Operations write their result into the receiver and never allocate, so callers can keep a
+ * fixed set of elements as scratch space. Every operation reads its operands completely before
+ * writing the result, which means the receiver may also be one of the operands. Instances are not
+ * thread safe.
+ */
+final class MontgomeryFq {
+
+  private static final long[] P = limbs(FieldElement.FIELD_MODULUS);
+  private static final long P0 = P[0];
+  private static final long P1 = P[1];
+  private static final long P2 = P[2];
+  private static final long P3 = P[3];
+  private static final BigInteger R = BigInteger.ONE.shiftLeft(256);
+  // -p^-1 mod 2^64
+  private static final long INV =
+      FieldElement.FIELD_MODULUS.negate().modInverse(BigInteger.ONE.shiftLeft(64)).longValue();
+  private static final long[] R_SQUARED = limbs(R.multiply(R).mod(FieldElement.FIELD_MODULUS));
+  private static final long[] ONE = limbs(R.mod(FieldElement.FIELD_MODULUS));
+  private static final long[] CANONICAL_ONE = {1, 0, 0, 0};
+  private static final long[] P_MINUS_TWO =
+      limbs(FieldElement.FIELD_MODULUS.subtract(BigInteger.TWO));
+
+  private final long[] limbs = new long[4];
+  private final long[] scratch = new long[4];
+
+  static MontgomeryFq zero() {
+    return new MontgomeryFq();
+  }
+
+  static MontgomeryFq one() {
+    return new MontgomeryFq().setOne();
+  }
+
+  /**
+   * Creates an element from its canonical value.
+   *
+   * @param value a value in the range [0, p)
+   * @return the element
+   */
+  static MontgomeryFq create(final BigInteger value) {
+    return new MontgomeryFq().set(value);
+  }
+
+  static MontgomeryFq create(final long value) {
+    return create(BigInteger.valueOf(value).mod(FieldElement.FIELD_MODULUS));
+  }
+
+  MontgomeryFq set(final BigInteger value) {
+    return montgomeryMultiply(limbs(value), R_SQUARED);
+  }
+
+  MontgomeryFq set(final MontgomeryFq other) {
+    System.arraycopy(other.limbs, 0, limbs, 0, 4);
+    return this;
+  }
+
+  MontgomeryFq setZero() {
+    Arrays.fill(limbs, 0);
+    return this;
+  }
+
+  MontgomeryFq setOne() {
+    System.arraycopy(ONE, 0, limbs, 0, 4);
+    return this;
+  }
+
+  BigInteger toBigInteger() {
+    // multiplying by one (not in Montgomery form) converts out of Montgomery form
+    final long[] canonical = new MontgomeryFq().montgomeryMultiply(limbs, CANONICAL_ONE).limbs;
+    final byte[] bytes = new byte[32];
+    for (int i = 0; i < 4; i++) {
+      final long limb = canonical[3 - i];
+      for (int j = 0; j < 8; j++) {
+        bytes[i * 8 + j] = (byte) (limb >>> (56 - j * 8));
+      }
+    }
+    return new BigInteger(1, bytes);
+  }
+
+  boolean isZero() {
+    return (limbs[0] | limbs[1] | limbs[2] | limbs[3]) == 0;
+  }
+
+  boolean isOne() {
+    return Arrays.equals(limbs, ONE);
+  }
+
+  MontgomeryFq add(final MontgomeryFq a, final MontgomeryFq b) {
+    return addLimbs(a.limbs, b.limbs);
+  }
+
+  MontgomeryFq subtract(final MontgomeryFq a, final MontgomeryFq b) {
+    long borrow = 0;
+    for (int i = 0; i < 4; i++) {
+      final long x = a.limbs[i];
+      final long y = b.limbs[i];
+      final long difference = x - y - borrow;
+      borrow =
+          borrow == 0
+              ? (Long.compareUnsigned(x, y) < 0 ? 1 : 0)
+              : (Long.compareUnsigned(x, y) <= 0 ? 1 : 0);
+      limbs[i] = difference;
+    }
+    if (borrow != 0) {
+      addModulus();
+    }
+    return this;
+  }
+
+  MontgomeryFq doubled(final MontgomeryFq a) {
+    return add(a, a);
+  }
+
+  MontgomeryFq negate(final MontgomeryFq a) {
+    if (a.isZero()) {
+      return setZero();
+    }
+    long borrow = 0;
+    for (int i = 0; i < 4; i++) {
+      final long y = a.limbs[i];
+      final long difference = P[i] - y - borrow;
+      borrow =
+          borrow == 0
+              ? (Long.compareUnsigned(P[i], y) < 0 ? 1 : 0)
+              : (Long.compareUnsigned(P[i], y) <= 0 ? 1 : 0);
+      limbs[i] = difference;
+    }
+    return this;
+  }
+
+  /** Multiplies by nine, the real part of the sextic non-residue, using additions only. */
+  MontgomeryFq timesNine(final MontgomeryFq a) {
+    final long[] original = scratch;
+    System.arraycopy(a.limbs, 0, original, 0, 4);
+    add(a, a);
+    add(this, this);
+    add(this, this);
+    return addLimbs(limbs, original);
+  }
+
+  MontgomeryFq multiply(final MontgomeryFq a, final MontgomeryFq b) {
+    return montgomeryMultiply(a.limbs, b.limbs);
+  }
+
+  MontgomeryFq square(final MontgomeryFq a) {
+    return multiply(a, a);
+  }
+
+  /** Computes the inverse by Fermat's little theorem. The inverse of zero is zero. */
+  MontgomeryFq inverse(final MontgomeryFq a) {
+    final long[] base = new long[4];
+    System.arraycopy(a.limbs, 0, base, 0, 4);
+    setOne();
+    for (int i = 255; i >= 0; i--) {
+      montgomeryMultiply(limbs, limbs);
+      if (((P_MINUS_TWO[i >>> 6] >>> (i & 63)) & 1) != 0) {
+        montgomeryMultiply(limbs, base);
+      }
+    }
+    return this;
+  }
+
+  boolean sameAs(final MontgomeryFq other) {
+    return Arrays.equals(limbs, other.limbs);
+  }
+
+  /**
+   * Sets this element to {@code x * y * R^-1 mod p} using coarsely integrated operand scanning. The
+   * result is only written once both operands have been read, so either may be the limbs of this
+   * element.
+   */
+  private MontgomeryFq montgomeryMultiply(final long[] x, final long[] y) {
+    final long y0 = y[0];
+    final long y1 = y[1];
+    final long y2 = y[2];
+    final long y3 = y[3];
+    long t0 = 0;
+    long t1 = 0;
+    long t2 = 0;
+    long t3 = 0;
+    long t4 = 0;
+    long t5;
+    long carry;
+    long lo;
+    long hi;
+    long m;
+    for (int i = 0; i < 4; i++) {
+      final long xi = x[i];
+
+      // t += xi * y
+      carry = 0;
+      lo = xi * y0;
+      hi = unsignedMultiplyHigh(xi, y0);
+      lo += t0;
+      hi += carryOf(lo, t0);
+      lo += carry;
+      hi += carryOf(lo, carry);
+      t0 = lo;
+      carry = hi;
+      lo = xi * y1;
+      hi = unsignedMultiplyHigh(xi, y1);
+      lo += t1;
+      hi += carryOf(lo, t1);
+      lo += carry;
+      hi += carryOf(lo, carry);
+      t1 = lo;
+      carry = hi;
+      lo = xi * y2;
+      hi = unsignedMultiplyHigh(xi, y2);
+      lo += t2;
+      hi += carryOf(lo, t2);
+      lo += carry;
+      hi += carryOf(lo, carry);
+      t2 = lo;
+      carry = hi;
+      lo = xi * y3;
+      hi = unsignedMultiplyHigh(xi, y3);
+      lo += t3;
+      hi += carryOf(lo, t3);
+      lo += carry;
+      hi += carryOf(lo, carry);
+      t3 = lo;
+      carry = hi;
+      t4 += carry;
+      t5 = carryOf(t4, carry);
+
+      // t = (t + m * p) / 2^64, where m makes the lowest limb zero
+      m = t0 * INV;
+      lo = m * P0;
+      carry = unsignedMultiplyHigh(m, P0) + carryOf(lo + t0, lo);
+      lo = m * P1;
+      hi = unsignedMultiplyHigh(m, P1);
+      lo += t1;
+      hi += carryOf(lo, t1);
+      lo += carry;
+      hi += carryOf(lo, carry);
+      t0 = lo;
+      carry = hi;
+      lo = m * P2;
+      hi = unsignedMultiplyHigh(m, P2);
+      lo += t2;
+      hi += carryOf(lo, t2);
+      lo += carry;
+      hi += carryOf(lo, carry);
+      t1 = lo;
+      carry = hi;
+      lo = m * P3;
+      hi = unsignedMultiplyHigh(m, P3);
+      lo += t3;
+      hi += carryOf(lo, t3);
+      lo += carry;
+      hi += carryOf(lo, carry);
+      t2 = lo;
+      carry = hi;
+      t3 = t4 + carry;
+      t4 = t5 + carryOf(t3, carry);
+    }
+    limbs[0] = t0;
+    limbs[1] = t1;
+    limbs[2] = t2;
+    limbs[3] = t3;
+    return reduceOnce();
+  }
+
+  private MontgomeryFq addLimbs(final long[] x, final long[] y) {
+    // p < 2^254 so the sum of two reduced values can't overflow 256 bits
+    long carry = 0;
+    for (int i = 0; i < 4; i++) {
+      final long xi = x[i];
+      final long sum = xi + y[i] + carry;
+      carry = carry == 0 ? carryOf(sum, xi) : (Long.compareUnsigned(sum, xi) <= 0 ? 1 : 0);
+      limbs[i] = sum;
+    }
+    return reduceOnce();
+  }
+
+  private MontgomeryFq reduceOnce() {
+    if (!lessThanModulus()) {
+      subtractModulus();
+    }
+    return this;
+  }
+
+  private boolean lessThanModulus() {
+    for (int i = 3; i >= 0; i--) {
+      final int comparison = Long.compareUnsigned(limbs[i], P[i]);
+      if (comparison != 0) {
+        return comparison < 0;
+      }
+    }
+    return false;
+  }
+
+  private void subtractModulus() {
+    long borrow = 0;
+    for (int i = 0; i < 4; i++) {
+      final long x = limbs[i];
+      limbs[i] = x - P[i] - borrow;
+      borrow =
+          borrow == 0
+              ? (Long.compareUnsigned(x, P[i]) < 0 ? 1 : 0)
+              : (Long.compareUnsigned(x, P[i]) <= 0 ? 1 : 0);
+    }
+  }
+
+  private void addModulus() {
+    long carry = 0;
+    for (int i = 0; i < 4; i++) {
+      final long x = limbs[i];
+      final long sum = x + P[i] + carry;
+      carry = carry == 0 ? carryOf(sum, x) : (Long.compareUnsigned(sum, x) <= 0 ? 1 : 0);
+      limbs[i] = sum;
+    }
+  }
+
+  /** Returns 1 if {@code sum}, the result of adding {@code addend} to something, overflowed. */
+  private static long carryOf(final long sum, final long addend) {
+    return Long.compareUnsigned(sum, addend) < 0 ? 1 : 0;
+  }
+
+  private static long unsignedMultiplyHigh(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  private static long[] limbs(final BigInteger value) {
+    final long[] limbs = new long[4];
+    for (int i = 0; i < 4; i++) {
+      limbs[i] = value.shiftRight(i * 64).longValue();
+    }
+    return limbs;
+  }
+
+  @Override
+  public String toString() {
+    return toBigInteger().toString();
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * A mutable element of the quadratic extension {@code Fq6[w] / (w^2 - v)}, built on {@link
+ * MontgomeryFq6}. The same aliasing and thread safety rules apply.
+ *
+ * <p>Since {@code w^6 = 9 + i}, this tower is isomorphic to the {@link Fq12} polynomial
+ * representation and elements can be converted between the two exactly.
+ */
+final class MontgomeryFq12 {
+
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+  private static final MontgomeryFq2 NON_RESIDUE =
+      MontgomeryFq2.create(BigInteger.valueOf(9), BigInteger.ONE);
+
+  /**
+   * FROBENIUS_COEFFICIENTS[n - 1][k] is {@code (9 + i)^(k (p^n - 1) / 6)}, the factor the
+   * coefficient of {@code w^k} picks up when raising to the power {@code p^n}.
+   */
+  static final MontgomeryFq2[][] FROBENIUS_COEFFICIENTS = new MontgomeryFq2[3][6];
+
+  static {
+    for (int n = 1; n <= 3; n++) {
+      final BigInteger exponent = P.pow(n).subtract(BigInteger.ONE).divide(BigInteger.valueOf(6));
+      final MontgomeryFq2 gamma = MontgomeryFq2.zero().power(NON_RESIDUE, exponent);
+      FROBENIUS_COEFFICIENTS[n - 1][0] = MontgomeryFq2.one();
+      for (int k = 1; k < 6; k++) {
+        FROBENIUS_COEFFICIENTS[n - 1][k] =
+            MontgomeryFq2.zero().multiply(FROBENIUS_COEFFICIENTS[n - 1][k - 1], gamma);
+      }
+    }
+  }
+
+  final MontgomeryFq6 c0 = MontgomeryFq6.zero();
+  final MontgomeryFq6 c1 = MontgomeryFq6.zero();
+
+  private final MontgomeryFq6 t0 = MontgomeryFq6.zero();
+  private final MontgomeryFq6 t1 = MontgomeryFq6.zero();
+  private final MontgomeryFq6 t2 = MontgomeryFq6.zero();
+  private final MontgomeryFq6 t3 = MontgomeryFq6.zero();
+  private final MontgomeryFq2 lineSum = MontgomeryFq2.zero();
+
+  static MontgomeryFq12 one() {
+    return new MontgomeryFq12().setOne();
+  }
+
+  MontgomeryFq12 set(final MontgomeryFq12 other) {
+    c0.set(other.c0);
+    c1.set(other.c1);
+    return this;
+  }
+
+  MontgomeryFq12 setOne() {
+    c0.setOne();
+    c1.setZero();
+    return this;
+  }
+
+  boolean isOne() {
+    return c0.isOne() && c1.isZero();
+  }
+
+  MontgomeryFq12 multiply(final MontgomeryFq12 a, final MontgomeryFq12 b) {
+    t0.multiply(a.c0, b.c0);
+    t1.multiply(a.c1, b.c1);
+    t2.add(a.c0, a.c1);
+    t3.add(b.c0, b.c1);
+    c1.multiply(t2, t3).subtract(c1, t0).subtract(c1, t1);
+    c0.multiplyByV(t1).add(c0, t0);
+    return this;
+  }
+
+  /** Complex squaring, using two cubic extension multiplications. */
+  MontgomeryFq12 square(final MontgomeryFq12 a) {
+    t0.multiply(a.c0, a.c1);
+    t1.add(a.c0, a.c1);
+    t2.multiplyByV(a.c1).add(t2, a.c0);
+    c0.multiply(t1, t2).subtract(c0, t0);
+    t3.multiplyByV(t0);
+    c0.subtract(c0, t3);
+    c1.doubled(t0);
+    return this;
+  }
+
+  /**
+   * Multiplies by a Miller loop line {@code l0 + l1 w + l3 w^3}, which only has three non-zero
+   * quadratic extension coefficients.
+   */
+  MontgomeryFq12 multiplyByLine(
+      final MontgomeryFq12 a,
+      final MontgomeryFq2 l0,
+      final MontgomeryFq2 l1,
+      final MontgomeryFq2 l3) {
+    t0.multiply(a.c0, l0);
+    t1.multiplyBy01(a.c1, l1, l3);
+    t2.add(a.c0, a.c1);
+    lineSum.add(l0, l1);
+    c1.multiplyBy01(t2, lineSum, l3).subtract(c1, t0).subtract(c1, t1);
+    c0.multiplyByV(t1).add(c0, t0);
+    return this;
+  }
+
+  /** Raises to the power {@code p^6}, which for this tower is conjugation over Fq6. */
+  MontgomeryFq12 conjugate(final MontgomeryFq12 a) {
+    c0.set(a.c0);
+    c1.negate(a.c1);
+    return this;
+  }
+
+  MontgomeryFq12 inverse(final MontgomeryFq12 a) {
+    // 1 / (a0 + a1 w) = (a0 - a1 w) / (a0^2 - a1^2 v)
+    t0.square(a.c0);
+    t1.square(a.c1);
+    t2.multiplyByV(t1);
+    t0.subtract(t0, t2).inverse(t0);
+    c0.multiply(a.c0, t0);
+    c1.multiply(a.c1, t0).negate(c1);
+    return this;
+  }
+
+  /** Raises to the power {@code p^n} for n of 1, 2 or 3. */
+  MontgomeryFq12 frobenius(final MontgomeryFq12 a, final int n) {
+    final MontgomeryFq2[] gamma = FROBENIUS_COEFFICIENTS[n - 1];
+    final boolean conjugate = (n & 1) == 1;
+    frobenius(c0.c0, a.c0.c0, gamma[0], conjugate);
+    frobenius(c1.c0, a.c1.c0, gamma[1], conjugate);
+    frobenius(c0.c1, a.c0.c1, gamma[2], conjugate);
+    frobenius(c1.c1, a.c1.c1, gamma[3], conjugate);
+    frobenius(c0.c2, a.c0.c2, gamma[4], conjugate);
+    frobenius(c1.c2, a.c1.c2, gamma[5], conjugate);
+    return this;
+  }
+
+  private static void frobenius(
+      final MontgomeryFq2 result,
+      final MontgomeryFq2 coefficient,
+      final MontgomeryFq2 gamma,
+      final boolean conjugate) {
+    if (conjugate) {
+      result.conjugate(coefficient);
+    } else {
+      result.set(coefficient);
+    }
+    result.multiply(result, gamma);
+  }
+
+  /** Raises to a positive power given as an unsigned 64-bit value. */
+  MontgomeryFq12 power(final MontgomeryFq12 a, final long exponent) {
+    final MontgomeryFq12 base = new MontgomeryFq12().set(a);
+    setOne();
+    for (int i = 63 - Long.numberOfLeadingZeros(exponent); i >= 0; i--) {
+      square(this);
+      if (((exponent >>> i) & 1) != 0) {
+        multiply(this, base);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Converts to the polynomial representation used by {@link Fq12}. The tower coefficient {@code x
+   * + y i} of {@code w^k} becomes {@code (x - 9y) w^k + y w^(k + 6)}, since {@code i = w^6 - 9}.
+   */
+  Fq12 toFq12() {
+    final MontgomeryFq2[] tower = {c0.c0, c1.c0, c0.c1, c1.c1, c0.c2, c1.c2};
+    final Fq[] coefficients = new Fq[Fq12.DEGREE];
+    for (int k = 0; k < 6; k++) {
+      final BigInteger x = tower[k].c0.toBigInteger();
+      final BigInteger y = tower[k].c1.toBigInteger();
+      coefficients[k] = Fq.create(x.subtract(y.multiply(BigInteger.valueOf(9))).mod(P));
+      coefficients[k + 6] = Fq.create(y);
+    }
+    return new Fq12(coefficients);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + c0 + ", " + c1 + ")";
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * A mutable element of the quadratic extension {@code Fq[i] / (i^2 + 1)}, built on {@link
+ * MontgomeryFq}. The same aliasing and thread safety rules apply.
+ */
+final class MontgomeryFq2 {
+
+  final MontgomeryFq c0 = MontgomeryFq.zero();
+  final MontgomeryFq c1 = MontgomeryFq.zero();
+
+  private final MontgomeryFq t0 = MontgomeryFq.zero();
+  private final MontgomeryFq t1 = MontgomeryFq.zero();
+  private final MontgomeryFq t2 = MontgomeryFq.zero();
+  private final MontgomeryFq t3 = MontgomeryFq.zero();
+
+  static MontgomeryFq2 zero() {
+    return new MontgomeryFq2();
+  }
+
+  static MontgomeryFq2 one() {
+    return new MontgomeryFq2().setOne();
+  }
+
+  static MontgomeryFq2 create(final BigInteger real, final BigInteger imaginary) {
+    final MontgomeryFq2 element = new MontgomeryFq2();
+    element.c0.set(real);
+    element.c1.set(imaginary);
+    return element;
+  }
+
+  static MontgomeryFq2 create(final Fq2 value) {
+    final Fq[] coefficients = value.getCoefficients();
+    return create(coefficients[0].toBigInteger(), coefficients[1].toBigInteger());
+  }
+
+  MontgomeryFq2 set(final MontgomeryFq2 other) {
+    c0.set(other.c0);
+    c1.set(other.c1);
+    return this;
+  }
+
+  MontgomeryFq2 setZero() {
+    c0.setZero();
+    c1.setZero();
+    return this;
+  }
+
+  MontgomeryFq2 setOne() {
+    c0.setOne();
+    c1.setZero();
+    return this;
+  }
+
+  boolean isZero() {
+    return c0.isZero() && c1.isZero();
+  }
+
+  boolean isOne() {
+    return c0.isOne() && c1.isZero();
+  }
+
+  boolean sameAs(final MontgomeryFq2 other) {
+    return c0.sameAs(other.c0) && c1.sameAs(other.c1);
+  }
+
+  MontgomeryFq2 add(final MontgomeryFq2 a, final MontgomeryFq2 b) {
+    c0.add(a.c0, b.c0);
+    c1.add(a.c1, b.c1);
+    return this;
+  }
+
+  MontgomeryFq2 subtract(final MontgomeryFq2 a, final MontgomeryFq2 b) {
+    c0.subtract(a.c0, b.c0);
+    c1.subtract(a.c1, b.c1);
+    return this;
+  }
+
+  MontgomeryFq2 doubled(final MontgomeryFq2 a) {
+    c0.doubled(a.c0);
+    c1.doubled(a.c1);
+    return this;
+  }
+
+  MontgomeryFq2 negate(final MontgomeryFq2 a) {
+    c0.negate(a.c0);
+    c1.negate(a.c1);
+    return this;
+  }
+
+  MontgomeryFq2 conjugate(final MontgomeryFq2 a) {
+    c0.set(a.c0);
+    c1.negate(a.c1);
+    return this;
+  }
+
+  /** Karatsuba multiplication, using three base field multiplications. */
+  MontgomeryFq2 multiply(final MontgomeryFq2 a, final MontgomeryFq2 b) {
+    t0.multiply(a.c0, b.c0);
+    t1.multiply(a.c1, b.c1);
+    t2.add(a.c0, a.c1);
+    t3.add(b.c0, b.c1);
+    c1.multiply(t2, t3).subtract(c1, t0).subtract(c1, t1);
+    c0.subtract(t0, t1);
+    return this;
+  }
+
+  MontgomeryFq2 multiply(final MontgomeryFq2 a, final MontgomeryFq b) {
+    c0.multiply(a.c0, b);
+    c1.multiply(a.c1, b);
+    return this;
+  }
+
+  /** Complex squaring, using two base field multiplications. */
+  MontgomeryFq2 square(final MontgomeryFq2 a) {
+    t0.add(a.c0, a.c1);
+    t1.subtract(a.c0, a.c1);
+    t2.multiply(a.c0, a.c1);
+    c0.multiply(t0, t1);
+    c1.doubled(t2);
+    return this;
+  }
+
+  /** Multiplies by the sextic non-residue {@code 9 + i} that defines the rest of the tower. */
+  MontgomeryFq2 multiplyByNonResidue(final MontgomeryFq2 a) {
+    t0.timesNine(a.c0).subtract(t0, a.c1);
+    t1.timesNine(a.c1).add(t1, a.c0);
+    c0.set(t0);
+    c1.set(t1);
+    return this;
+  }
+
+  MontgomeryFq2 inverse(final MontgomeryFq2 a) {
+    t0.square(a.c0);
+    t1.square(a.c1);
+    t0.add(t0, t1).inverse(t0);
+    c0.multiply(a.c0, t0);
+    c1.multiply(a.c1, t0).negate(c1);
+    return this;
+  }
+
+  MontgomeryFq2 power(final MontgomeryFq2 a, final BigInteger exponent) {
+    final MontgomeryFq2 base = new MontgomeryFq2().set(a);
+    setOne();
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      square(this);
+      if (exponent.testBit(i)) {
+        multiply(this, base);
+      }
+    }
+    return this;
+  }
+
+  Fq2 toFq2() {
+    return Fq2.create(c0.toBigInteger(), c1.toBigInteger());
+  }
+
+  @Override
+  public String toString() {
+    return "(" + c0 + ", " + c1 + ")";
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+/**
+ * A mutable element of the cubic extension {@code Fq2[v] / (v^3 - (9 + i))}, built on {@link
+ * MontgomeryFq2}. The same aliasing and thread safety rules apply.
+ */
+final class MontgomeryFq6 {
+
+  final MontgomeryFq2 c0 = MontgomeryFq2.zero();
+  final MontgomeryFq2 c1 = MontgomeryFq2.zero();
+  final MontgomeryFq2 c2 = MontgomeryFq2.zero();
+
+  private final MontgomeryFq2 t0 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 t1 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 t2 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 t3 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 t4 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 r0 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 r1 = MontgomeryFq2.zero();
+
+  static MontgomeryFq6 zero() {
+    return new MontgomeryFq6();
+  }
+
+  MontgomeryFq6 set(final MontgomeryFq6 other) {
+    c0.set(other.c0);
+    c1.set(other.c1);
+    c2.set(other.c2);
+    return this;
+  }
+
+  MontgomeryFq6 setZero() {
+    c0.setZero();
+    c1.setZero();
+    c2.setZero();
+    return this;
+  }
+
+  MontgomeryFq6 setOne() {
+    c0.setOne();
+    c1.setZero();
+    c2.setZero();
+    return this;
+  }
+
+  boolean isZero() {
+    return c0.isZero() && c1.isZero() && c2.isZero();
+  }
+
+  boolean isOne() {
+    return c0.isOne() && c1.isZero() && c2.isZero();
+  }
+
+  boolean sameAs(final MontgomeryFq6 other) {
+    return c0.sameAs(other.c0) && c1.sameAs(other.c1) && c2.sameAs(other.c2);
+  }
+
+  MontgomeryFq6 add(final MontgomeryFq6 a, final MontgomeryFq6 b) {
+    c0.add(a.c0, b.c0);
+    c1.add(a.c1, b.c1);
+    c2.add(a.c2, b.c2);
+    return this;
+  }
+
+  MontgomeryFq6 subtract(final MontgomeryFq6 a, final MontgomeryFq6 b) {
+    c0.subtract(a.c0, b.c0);
+    c1.subtract(a.c1, b.c1);
+    c2.subtract(a.c2, b.c2);
+    return this;
+  }
+
+  MontgomeryFq6 doubled(final MontgomeryFq6 a) {
+    c0.doubled(a.c0);
+    c1.doubled(a.c1);
+    c2.doubled(a.c2);
+    return this;
+  }
+
+  MontgomeryFq6 negate(final MontgomeryFq6 a) {
+    c0.negate(a.c0);
+    c1.negate(a.c1);
+    c2.negate(a.c2);
+    return this;
+  }
+
+  /** Karatsuba style multiplication, using six quadratic extension multiplications. */
+  MontgomeryFq6 multiply(final MontgomeryFq6 a, final MontgomeryFq6 b) {
+    t0.multiply(a.c0, b.c0);
+    t1.multiply(a.c1, b.c1);
+    t2.multiply(a.c2, b.c2);
+
+    // c0 = t0 + ((a1 + a2)(b1 + b2) - t1 - t2) * xi
+    t3.add(a.c1, a.c2);
+    t4.add(b.c1, b.c2);
+    r0.multiply(t3, t4).subtract(r0, t1).subtract(r0, t2).multiplyByNonResidue(r0).add(r0, t0);
+
+    // c1 = (a0 + a1)(b0 + b1) - t0 - t1 + t2 * xi
+    t3.add(a.c0, a.c1);
+    t4.add(b.c0, b.c1);
+    r1.multiply(t3, t4).subtract(r1, t0).subtract(r1, t1);
+    t3.multiplyByNonResidue(t2);
+    r1.add(r1, t3);
+
+    // c2 = (a0 + a2)(b0 + b2) - t0 - t2 + t1
+    t3.add(a.c0, a.c2);
+    t4.add(b.c0, b.c2);
+    c2.multiply(t3, t4).subtract(c2, t0).subtract(c2, t2).add(c2, t1);
+    c0.set(r0);
+    c1.set(r1);
+    return this;
+  }
+
+  /**
+   * Multiplies by an element whose {@code v^2} coefficient is zero, as produced when evaluating the
+   * Miller loop lines.
+   */
+  MontgomeryFq6 multiplyBy01(
+      final MontgomeryFq6 a, final MontgomeryFq2 b0, final MontgomeryFq2 b1) {
+    t0.multiply(a.c0, b0);
+    t1.multiply(a.c1, b1);
+
+    // c0 = t0 + ((a1 + a2) b1 - t1) * xi
+    t3.add(a.c1, a.c2);
+    r0.multiply(t3, b1).subtract(r0, t1).multiplyByNonResidue(r0).add(r0, t0);
+
+    // c1 = (a0 + a1)(b0 + b1) - t0 - t1
+    t3.add(a.c0, a.c1);
+    t4.add(b0, b1);
+    r1.multiply(t3, t4).subtract(r1, t0).subtract(r1, t1);
+
+    // c2 = (a0 + a2) b0 - t0 + t1
+    t3.add(a.c0, a.c2);
+    c2.multiply(t3, b0).subtract(c2, t0).add(c2, t1);
+    c0.set(r0);
+    c1.set(r1);
+    return this;
+  }
+
+  MontgomeryFq6 multiply(final MontgomeryFq6 a, final MontgomeryFq2 b) {
+    c0.multiply(a.c0, b);
+    c1.multiply(a.c1, b);
+    c2.multiply(a.c2, b);
+    return this;
+  }
+
+  MontgomeryFq6 square(final MontgomeryFq6 a) {
+    return multiply(a, a);
+  }
+
+  /** Multiplies by {@code v}, which shifts the coefficients and multiplies the top one by xi. */
+  MontgomeryFq6 multiplyByV(final MontgomeryFq6 a) {
+    t0.multiplyByNonResidue(a.c2);
+    c2.set(a.c1);
+    c1.set(a.c0);
+    c0.set(t0);
+    return this;
+  }
+
+  MontgomeryFq6 inverse(final MontgomeryFq6 a) {
+    // r0 = a0^2 - a1 a2 xi
+    t0.multiply(a.c1, a.c2).multiplyByNonResidue(t0);
+    r0.square(a.c0).subtract(r0, t0);
+    // r1 = a2^2 xi - a0 a1
+    t0.square(a.c2).multiplyByNonResidue(t0);
+    t1.multiply(a.c0, a.c1);
+    r1.subtract(t0, t1);
+    // t2 = a1^2 - a0 a2
+    t0.square(a.c1);
+    t1.multiply(a.c0, a.c2);
+    t2.subtract(t0, t1);
+    // t3 = 1 / (a0 r0 + (a2 r1 + a1 t2) xi)
+    t0.multiply(a.c2, r1);
+    t1.multiply(a.c1, t2);
+    t3.add(t0, t1).multiplyByNonResidue(t3);
+    t0.multiply(a.c0, r0);
+    t3.add(t3, t0).inverse(t3);
+
+    c0.multiply(r0, t3);
+    c1.multiply(r1, t3);
+    c2.multiply(t2, t3);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "(" + c0 + ", " + c1 + ", " + c2 + ")";
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * A mutable alt_bn128 G1 point in Jacobian coordinates, where {@code (X, Y, Z)} represents the
+ * affine point {@code (X / Z^2, Y / Z^3)} and the point at infinity has {@code Z = 0}. Avoiding an
+ * inversion per group operation makes scalar multiplication far cheaper than with affine points.
+ */
+final class MontgomeryG1Point {
+
+  private final MontgomeryFq x = MontgomeryFq.zero();
+  private final MontgomeryFq y = MontgomeryFq.zero();
+  private final MontgomeryFq z = MontgomeryFq.zero();
+
+  private final MontgomeryFq t0 = MontgomeryFq.zero();
+  private final MontgomeryFq t1 = MontgomeryFq.zero();
+  private final MontgomeryFq t2 = MontgomeryFq.zero();
+  private final MontgomeryFq t3 = MontgomeryFq.zero();
+  private final MontgomeryFq t4 = MontgomeryFq.zero();
+
+  static MontgomeryG1Point infinity() {
+    return new MontgomeryG1Point();
+  }
+
+  /**
+   * Computes a scalar multiple of an affine point.
+   *
+   * @param point the point, where (0, 0) represents infinity
+   * @param scalar the non-negative scalar
+   * @return the product as an affine point
+   */
+  static AltBn128Point multiply(final AltBn128Point point, final BigInteger scalar) {
+    if (point.isInfinity() || scalar.signum() == 0) {
+      return AltBn128Point.INFINITY;
+    }
+    final MontgomeryFq px = MontgomeryFq.create(point.getX().toBigInteger());
+    final MontgomeryFq py = MontgomeryFq.create(point.getY().toBigInteger());
+    final MontgomeryG1Point result = infinity();
+    for (int i = scalar.bitLength() - 1; i >= 0; i--) {
+      result.doubled();
+      if (scalar.testBit(i)) {
+        result.addAffine(px, py);
+      }
+    }
+    return result.toAffine();
+  }
+
+  boolean isInfinity() {
+    return z.isZero();
+  }
+
+  void doubled() {
+    if (isInfinity()) {
+      return;
+    }
+    t0.square(x); // XX
+    t1.square(y); // YY
+    t2.square(t1); // YYYY
+    t3.multiply(x, t1).doubled(t3).doubled(t3); // S = 4 X YY
+    t4.doubled(t0).add(t4, t0); // M = 3 XX
+
+    z.multiply(y, z).doubled(z);
+    x.square(t4).subtract(x, t3).subtract(x, t3);
+    t3.subtract(t3, x);
+    y.multiply(t4, t3);
+    t2.doubled(t2).doubled(t2).doubled(t2);
+    y.subtract(y, t2);
+  }
+
+  void addAffine(final MontgomeryFq qx, final MontgomeryFq qy) {
+    if (isInfinity()) {
+      x.set(qx);
+      y.set(qy);
+      z.setOne();
+      return;
+    }
+    t0.square(z); // ZZ
+    t1.multiply(qx, t0).subtract(t1, x); // H = qx ZZ - X
+    t2.multiply(qy, t0).multiply(t2, z).subtract(t2, y); // r = qy ZZ Z - Y
+    if (t1.isZero()) {
+      if (t2.isZero()) {
+        doubled();
+      } else {
+        z.setZero();
+      }
+      return;
+    }
+    z.multiply(z, t1);
+    t0.square(t1); // HH
+    t3.multiply(t1, t0); // HHH
+    t4.multiply(x, t0); // V = X HH
+
+    x.square(t2).subtract(x, t3).subtract(x, t4).subtract(x, t4);
+    t4.subtract(t4, x);
+    t3.multiply(y, t3);
+    y.multiply(t2, t4).subtract(y, t3);
+  }
+
+  AltBn128Point toAffine() {
+    if (isInfinity()) {
+      return AltBn128Point.INFINITY;
+    }
+    t0.inverse(z);
+    t1.square(t0);
+    t2.multiply(x, t1);
+    t1.multiply(t1, t0);
+    t3.multiply(y, t1);
+    return new AltBn128Point(Fq.create(t2.toBigInteger()), Fq.create(t3.toBigInteger()));
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * A mutable point on the alt_bn128 sextic twist in Jacobian coordinates, see {@link
+ * MontgomeryG1Point}.
+ *
+ * <p>Besides the plain group operations, the Miller loop steps also evaluate the line through the
+ * points at a G1 point P. The line is returned as the coefficients of {@code l0 + l1 w + l3 w^3},
+ * its image on the untwisted curve, scaled by a factor in Fq2 so that no inversion is needed. The
+ * factor is removed by the final exponentiation.
+ */
+final class MontgomeryG2Point {
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  final MontgomeryFq2 x = MontgomeryFq2.zero();
+  final MontgomeryFq2 y = MontgomeryFq2.zero();
+  final MontgomeryFq2 z = MontgomeryFq2.zero();
+
+  private final MontgomeryFq2 t0 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 t1 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 t2 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 t3 = MontgomeryFq2.zero();
+  private final MontgomeryFq2 t4 = MontgomeryFq2.zero();
+
+  static MontgomeryG2Point infinity() {
+    return new MontgomeryG2Point();
+  }
+
+  /**
+   * Checks that a point on the twist is in the subgroup of order r by multiplying it by r.
+   *
+   * @param point the point, which must be on the curve
+   * @return whether the point is in the subgroup
+   */
+  static boolean isInGroup(final AltBn128Fq2Point point) {
+    if (point.isInfinity()) {
+      return true;
+    }
+    final MontgomeryFq2 qx = MontgomeryFq2.create(point.getX());
+    final MontgomeryFq2 qy = MontgomeryFq2.create(point.getY());
+    final MontgomeryG2Point result = infinity();
+    for (int i = CURVE_ORDER.bitLength() - 1; i >= 0; i--) {
+      result.doubled();
+      if (CURVE_ORDER.testBit(i)) {
+        result.addAffine(qx, qy);
+      }
+    }
+    return result.isInfinity();
+  }
+
+  MontgomeryG2Point setAffine(final MontgomeryFq2 qx, final MontgomeryFq2 qy) {
+    x.set(qx);
+    y.set(qy);
+    z.setOne();
+    return this;
+  }
+
+  boolean isInfinity() {
+    return z.isZero();
+  }
+
+  void doubled() {
+    if (isInfinity()) {
+      return;
+    }
+    t0.square(x); // XX
+    t1.square(y); // YY
+    t2.square(t1); // YYYY
+    t3.multiply(x, t1).doubled(t3).doubled(t3); // S = 4 X YY
+    t4.doubled(t0).add(t4, t0); // M = 3 XX
+
+    z.multiply(y, z).doubled(z);
+    x.square(t4).subtract(x, t3).subtract(x, t3);
+    t3.subtract(t3, x);
+    y.multiply(t4, t3);
+    t2.doubled(t2).doubled(t2).doubled(t2);
+    y.subtract(y, t2);
+  }
+
+  void addAffine(final MontgomeryFq2 qx, final MontgomeryFq2 qy) {
+    if (isInfinity()) {
+      setAffine(qx, qy);
+      return;
+    }
+    t0.square(z); // ZZ
+    t1.multiply(qx, t0).subtract(t1, x); // H = qx ZZ - X
+    t2.multiply(qy, t0).multiply(t2, z).subtract(t2, y); // r = qy ZZ Z - Y
+    if (t1.isZero()) {
+      if (t2.isZero()) {
+        doubled();
+      } else {
+        z.setZero();
+      }
+      return;
+    }
+    z.multiply(z, t1);
+    addWithSlope();
+  }
+
+  /**
+   * Doubles this point and evaluates the tangent line at P. With {@code M = 3 X^2} the line is
+   * scaled by {@code 2 Y Z^3}, giving {@code l0 = -2 Y Z^3 yP}, {@code l1 = M Z^2 xP} and {@code l3
+   * = 2 Y^2 - M X}.
+   */
+  void doubleWithLine(
+      final MontgomeryFq px,
+      final MontgomeryFq py,
+      final MontgomeryFq2 l0,
+      final MontgomeryFq2 l1,
+      final MontgomeryFq2 l3) {
+    t0.square(x); // XX
+    t1.square(y); // YY
+    t4.doubled(t0).add(t4, t0); // M = 3 XX
+    t0.square(z); // ZZ
+
+    l3.multiply(t4, x);
+    l3.subtract(t1, l3).add(l3, t1);
+    l1.multiply(t4, t0).multiply(l1, px);
+    z.multiply(y, z).doubled(z);
+    l0.multiply(z, t0).multiply(l0, py).negate(l0);
+
+    t2.square(t1); // YYYY
+    t3.multiply(x, t1).doubled(t3).doubled(t3); // S = 4 X YY
+    x.square(t4).subtract(x, t3).subtract(x, t3);
+    t3.subtract(t3, x);
+    y.multiply(t4, t3);
+    t2.doubled(t2).doubled(t2).doubled(t2);
+    y.subtract(y, t2);
+  }
+
+  /**
+   * Adds the affine point Q to this point and evaluates the line through them at P. With {@code H =
+   * xQ Z^2 - X} and {@code r = yQ Z^3 - Y} the line is scaled by {@code Z H}, giving {@code l0 = -Z
+   * H yP}, {@code l1 = r xP} and {@code l3 = Z H yQ - r xQ}. The points must be distinct and not
+   * each other's negation, which always holds in the Miller loop.
+   */
+  void addWithLine(
+      final MontgomeryFq2 qx,
+      final MontgomeryFq2 qy,
+      final MontgomeryFq px,
+      final MontgomeryFq py,
+      final MontgomeryFq2 l0,
+      final MontgomeryFq2 l1,
+      final MontgomeryFq2 l3) {
+    t0.square(z); // ZZ
+    t1.multiply(qx, t0).subtract(t1, x); // H
+    t2.multiply(qy, t0).multiply(t2, z).subtract(t2, y); // r
+    z.multiply(z, t1);
+
+    l0.multiply(z, py).negate(l0);
+    l1.multiply(t2, px);
+    l3.multiply(z, qy);
+    t3.multiply(t2, qx);
+    l3.subtract(l3, t3);
+
+    addWithSlope();
+  }
+
+  /** Completes a mixed addition once t1 holds H, t2 holds r and Z has been updated. */
+  private void addWithSlope() {
+    t0.square(t1); // HH
+    t3.multiply(t1, t0); // HHH
+    t4.multiply(x, t0); // V = X HH
+
+    x.square(t2).subtract(x, t3).subtract(x, t4).subtract(x, t4);
+    t4.subtract(t4, x);
+    t3.multiply(y, t3);
+    y.multiply(t2, t4).subtract(y, t3);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optimal ate pairing on {@link MontgomeryFq12}. It computes the same reduced pairing as {@link
+ * AltBn128Fq12Pairer}, but the Miller loops of all pairs share the squarings of a single
+ * accumulator, the line functions are evaluated without inversions and multiplied in sparse form,
+ * and the final exponentiation uses the Frobenius map and an addition chain in the BN parameter u.
+ */
+final class MontgomeryPairing {
+
+  private static final BigInteger ATE_LOOP_COUNT = new BigInteger("29793968203157093288");
+  private static final int LOG_ATE_LOOP_COUNT = 63;
+  // the BN parameter, with p = 36u^4 + 36u^3 + 24u^2 + 6u + 1
+  private static final long U = 4965661367192848881L;
+
+  private MontgomeryPairing() {}
+
+  /**
+   * Computes the product of the reduced pairings of each pair of points. Pairs where either point
+   * is infinity contribute one.
+   *
+   * @param g1Points the G1 points, which must be on the curve
+   * @param g2Points the G2 points, which must be on the twist and in the subgroup
+   * @return the product of the pairings
+   */
+  static MontgomeryFq12 pair(
+      final List<AltBn128Point> g1Points, final List<AltBn128Fq2Point> g2Points) {
+    return finalExponentiation(millerLoop(g1Points, g2Points));
+  }
+
+  static MontgomeryFq12 millerLoop(
+      final List<AltBn128Point> g1Points, final List<AltBn128Fq2Point> g2Points) {
+    final List<MillerLoopPair> pairs = new ArrayList<>(g1Points.size());
+    for (int i = 0; i < g1Points.size(); i++) {
+      if (!g1Points.get(i).isInfinity() && !g2Points.get(i).isInfinity()) {
+        pairs.add(new MillerLoopPair(g1Points.get(i), g2Points.get(i)));
+      }
+    }
+
+    final MontgomeryFq12 f = MontgomeryFq12.one();
+    final MontgomeryFq2 l0 = MontgomeryFq2.zero();
+    final MontgomeryFq2 l1 = MontgomeryFq2.zero();
+    final MontgomeryFq2 l3 = MontgomeryFq2.zero();
+    for (int i = LOG_ATE_LOOP_COUNT; i >= 0; --i) {
+      f.square(f);
+      for (final MillerLoopPair pair : pairs) {
+        pair.r.doubleWithLine(pair.px, pair.py, l0, l1, l3);
+        f.multiplyByLine(f, l0, l1, l3);
+      }
+      if (ATE_LOOP_COUNT.testBit(i)) {
+        for (final MillerLoopPair pair : pairs) {
+          pair.r.addWithLine(pair.qx, pair.qy, pair.px, pair.py, l0, l1, l3);
+          f.multiplyByLine(f, l0, l1, l3);
+        }
+      }
+    }
+
+    // the final additions of pi(Q) and -pi^2(Q), where pi is the p-power Frobenius on the twist
+    final MontgomeryFq2[] gamma1 = MontgomeryFq12.FROBENIUS_COEFFICIENTS[0];
+    final MontgomeryFq2[] gamma2 = MontgomeryFq12.FROBENIUS_COEFFICIENTS[1];
+    final MontgomeryFq2 frobeniusX = MontgomeryFq2.zero();
+    final MontgomeryFq2 frobeniusY = MontgomeryFq2.zero();
+    for (final MillerLoopPair pair : pairs) {
+      frobeniusX.conjugate(pair.qx).multiply(frobeniusX, gamma1[2]);
+      frobeniusY.conjugate(pair.qy).multiply(frobeniusY, gamma1[3]);
+      pair.r.addWithLine(frobeniusX, frobeniusY, pair.px, pair.py, l0, l1, l3);
+      f.multiplyByLine(f, l0, l1, l3);
+
+      frobeniusX.multiply(pair.qx, gamma2[2]);
+      frobeniusY.multiply(pair.qy, gamma2[3]).negate(frobeniusY);
+      pair.r.addWithLine(frobeniusX, frobeniusY, pair.px, pair.py, l0, l1, l3);
+      f.multiplyByLine(f, l0, l1, l3);
+    }
+    return f;
+  }
+
+  /**
+   * Raises to the power {@code (p^12 - 1) / r}. The easy part {@code (p^6 - 1)(p^2 + 1)} uses
+   * conjugation, one inversion and the Frobenius map. The hard part {@code (p^4 - p^2 + 1) / r} is
+   * decomposed in base p with coefficients that are polynomials in u, following Scott et al., "On
+   * the Final Exponentiation for Calculating Pairings on Ordinary Elliptic Curves".
+   */
+  static MontgomeryFq12 finalExponentiation(final MontgomeryFq12 f) {
+    final MontgomeryFq12 t0 = new MontgomeryFq12();
+    final MontgomeryFq12 t1 = new MontgomeryFq12();
+
+    // easy part, after which the result is in the cyclotomic subgroup and its inverse is its
+    // conjugate
+    t0.inverse(f);
+    t1.conjugate(f).multiply(t1, t0);
+    t0.frobenius(t1, 2);
+    t1.multiply(t1, t0);
+
+    final MontgomeryFq12 fp = new MontgomeryFq12().frobenius(t1, 1);
+    final MontgomeryFq12 fp2 = new MontgomeryFq12().frobenius(t1, 2);
+    final MontgomeryFq12 fp3 = new MontgomeryFq12().frobenius(fp2, 1);
+
+    final MontgomeryFq12 fu = new MontgomeryFq12().power(t1, U);
+    final MontgomeryFq12 fu2 = new MontgomeryFq12().power(fu, U);
+    final MontgomeryFq12 fu3 = new MontgomeryFq12().power(fu2, U);
+
+    final MontgomeryFq12 y3 = new MontgomeryFq12().frobenius(fu, 1);
+    final MontgomeryFq12 fu2p = new MontgomeryFq12().frobenius(fu2, 1);
+    final MontgomeryFq12 fu3p = new MontgomeryFq12().frobenius(fu3, 1);
+    final MontgomeryFq12 y2 = new MontgomeryFq12().frobenius(fu2, 2);
+
+    final MontgomeryFq12 y0 = new MontgomeryFq12().multiply(fp, fp2);
+    y0.multiply(y0, fp3);
+    final MontgomeryFq12 y1 = new MontgomeryFq12().conjugate(t1);
+    final MontgomeryFq12 y5 = new MontgomeryFq12().conjugate(fu2);
+    y3.conjugate(y3);
+    final MontgomeryFq12 y4 = new MontgomeryFq12().multiply(fu, fu2p);
+    y4.conjugate(y4);
+    final MontgomeryFq12 y6 = new MontgomeryFq12().multiply(fu3, fu3p);
+    y6.conjugate(y6);
+
+    t0.square(y6).multiply(t0, y4).multiply(t0, y5);
+    t1.multiply(y3, y5).multiply(t1, t0);
+    t0.multiply(t0, y2);
+    t1.square(t1).multiply(t1, t0).square(t1);
+    t0.multiply(t1, y1);
+    t1.multiply(t1, y0);
+    t0.square(t0).multiply(t0, t1);
+    return t0;
+  }
+
+  private static class MillerLoopPair {
+    private final MontgomeryFq px;
+    private final MontgomeryFq py;
+    private final MontgomeryFq2 qx;
+    private final MontgomeryFq2 qy;
+    private final MontgomeryG2Point r;
+
+    private MillerLoopPair(final AltBn128Point p, final AltBn128Fq2Point q) {
+      px = MontgomeryFq.create(p.getX().toBigInteger());
+      py = MontgomeryFq.create(p.getY().toBigInteger());
+      qx = MontgomeryFq2.create(q.getX());
+      qy = MontgomeryFq2.create(q.getY());
+      r = MontgomeryG2Point.infinity().setAffine(qx, qy);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryFqTest {
+
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void shouldRoundTripValues() {
+    for (final BigInteger value : values()) {
+      assertThat(MontgomeryFq.create(value).toBigInteger()).isEqualTo(value);
+    }
+  }
+
+  @Test
+  public void shouldMatchBigIntegerArithmetic() {
+    final List<BigInteger> values = values();
+    for (final BigInteger a : values) {
+      for (final BigInteger b : values) {
+        final MontgomeryFq x = MontgomeryFq.create(a);
+        final MontgomeryFq y = MontgomeryFq.create(b);
+        assertThat(MontgomeryFq.zero().add(x, y).toBigInteger()).isEqualTo(a.add(b).mod(P));
+        assertThat(MontgomeryFq.zero().subtract(x, y).toBigInteger())
+            .isEqualTo(a.subtract(b).mod(P));
+        assertThat(MontgomeryFq.zero().multiply(x, y).toBigInteger())
+            .isEqualTo(a.multiply(b).mod(P));
+      }
+    }
+  }
+
+  @Test
+  public void shouldMatchBigIntegerUnaryOperations() {
+    for (final BigInteger a : values()) {
+      final MontgomeryFq x = MontgomeryFq.create(a);
+      assertThat(MontgomeryFq.zero().negate(x).toBigInteger()).isEqualTo(a.negate().mod(P));
+      assertThat(MontgomeryFq.zero().square(x).toBigInteger()).isEqualTo(a.multiply(a).mod(P));
+      assertThat(MontgomeryFq.zero().timesNine(x).toBigInteger())
+          .isEqualTo(a.multiply(BigInteger.valueOf(9)).mod(P));
+      final BigInteger expectedInverse = a.signum() == 0 ? BigInteger.ZERO : a.modInverse(P);
+      assertThat(MontgomeryFq.zero().inverse(x).toBigInteger()).isEqualTo(expectedInverse);
+    }
+  }
+
+  @Test
+  public void shouldAllowResultToAliasOperands() {
+    final BigInteger a = new BigInteger(253, random);
+    final BigInteger b = new BigInteger(253, random);
+    final MontgomeryFq x = MontgomeryFq.create(a);
+    final MontgomeryFq y = MontgomeryFq.create(b);
+    x.multiply(x, y).add(x, x);
+    y.multiply(x, y);
+    final BigInteger expectedX = a.multiply(b).shiftLeft(1).mod(P);
+    assertThat(x.toBigInteger()).isEqualTo(expectedX);
+    assertThat(y.toBigInteger()).isEqualTo(expectedX.multiply(b).mod(P));
+  }
+
+  private List<BigInteger> values() {
+    final List<BigInteger> values = new ArrayList<>();
+    values.add(BigInteger.ZERO);
+    values.add(BigInteger.ONE);
+    values.add(BigInteger.TWO);
+    values.add(P.subtract(BigInteger.ONE));
+    values.add(P.subtract(BigInteger.TWO));
+    values.add(BigInteger.ONE.shiftLeft(253));
+    values.add(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+    while (values.size() < 32) {
+      final BigInteger value = new BigInteger(254, random);
+      if (value.compareTo(P) < 0) {
+        values.add(value);
+      }
+    }
+    return values;
+  }
+}
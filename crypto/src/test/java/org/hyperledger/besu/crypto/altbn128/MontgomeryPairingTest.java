@@ -0,0 +1,140 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryPairingTest {
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void shouldMatchFq12Arithmetic() {
+    for (int i = 0; i < 10; i++) {
+      final MontgomeryFq12 a = randomFq12();
+      final MontgomeryFq12 b = randomFq12();
+      final Fq12 expectedA = a.toFq12();
+      final Fq12 expectedB = b.toFq12();
+
+      assertThat(new MontgomeryFq12().multiply(a, b).toFq12())
+          .isEqualTo(expectedA.multiply(expectedB));
+      assertThat(new MontgomeryFq12().square(a).toFq12()).isEqualTo(expectedA.power(2));
+      assertThat(new MontgomeryFq12().inverse(a).toFq12()).isEqualTo(Fq12.one().divide(expectedA));
+      assertThat(new MontgomeryFq12().frobenius(a, 1).toFq12())
+          .isEqualTo(expectedA.power(FieldElement.FIELD_MODULUS));
+      assertThat(new MontgomeryFq12().frobenius(a, 2).toFq12())
+          .isEqualTo(expectedA.power(FieldElement.FIELD_MODULUS.pow(2)));
+    }
+  }
+
+  @Test
+  public void shouldMatchReferencePairingExactly() {
+    final AltBn128Point p = AltBn128Point.g1().multiply(new BigInteger(250, random));
+    final AltBn128Fq2Point q = AltBn128Fq2Point.g2();
+
+    final Fq12 expected = AltBn128Fq12Pairer.finalize(AltBn128Fq12Pairer.pair(p, q));
+
+    assertThat(MontgomeryPairing.pair(List.of(p), List.of(q)).toFq12()).isEqualTo(expected);
+  }
+
+  @Test
+  public void shouldBeBilinear() {
+    final BigInteger a = new BigInteger(250, random);
+    final BigInteger b = new BigInteger(250, random);
+    final AltBn128Point g1 = AltBn128Point.g1();
+    final AltBn128Fq2Point g2 = AltBn128Fq2Point.g2();
+
+    // e(aG1, bG2) * e(-abG1, G2) == 1
+    final AltBn128Point abNegated = g1.multiply(a.multiply(b).mod(CURVE_ORDER)).negate();
+    assertThat(
+            AltBn128Fq12Pairer.pairingCheck(
+                List.of(g1.multiply(a), abNegated), List.of(g2.multiply(b), g2)))
+        .isTrue();
+    assertThat(
+            AltBn128Fq12Pairer.pairingCheck(
+                List.of(g1.multiply(a), abNegated.negate()), List.of(g2.multiply(b), g2)))
+        .isFalse();
+  }
+
+  @Test
+  public void shouldIgnorePairsWithInfinity() {
+    assertThat(
+            AltBn128Fq12Pairer.pairingCheck(
+                List.of(AltBn128Point.INFINITY, AltBn128Point.g1()),
+                List.of(AltBn128Fq2Point.g2(), new AltBn128Fq2Point(Fq2.zero(), Fq2.zero()))))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldMultiplyG1PointsLikeRepeatedAddition() {
+    final AltBn128Point g1 = AltBn128Point.g1();
+    AltBn128Point expected = AltBn128Point.INFINITY;
+    for (int i = 0; i <= 20; i++) {
+      assertThat(g1.multiply(BigInteger.valueOf(i))).isEqualTo(expected);
+      expected = expected.add(g1);
+    }
+    assertThat(g1.multiply(CURVE_ORDER.subtract(BigInteger.ONE)))
+        .isEqualTo(
+            new AltBn128Point(
+                Fq.create(1), Fq.create(FieldElement.FIELD_MODULUS.subtract(BigInteger.TWO))));
+    assertThat(AltBn128Point.INFINITY.multiply(BigInteger.TEN).isInfinity()).isTrue();
+  }
+
+  @Test
+  public void shouldCheckG2SubgroupMembership() {
+    assertThat(AltBn128Fq2Point.g2().isInGroup()).isTrue();
+    assertThat(AltBn128Fq2Point.g2().multiply(new BigInteger(250, random)).isInGroup()).isTrue();
+
+    final AltBn128Fq2Point outsideSubgroup =
+        new AltBn128Fq2Point(
+            Fq2.create(
+                new BigInteger(
+                    "1246178655ab8f2f26956b189894b7eb93cd4215b9937e7969e44305f80f521e", 16),
+                new BigInteger(
+                    "1382cd45e5674247f9c900b5c6f6cabbc189c2fabe2df0bf5acd84c97818f508", 16)),
+            Fq2.create(
+                new BigInteger(
+                    "1fbf8045ce3e79b5cde4112d38bcd0efbdb1295d2eefdf58151ae309d7ded7db", 16),
+                new BigInteger(
+                    "08331c0a261a74e7e75db1232956663cbc88110f726159c5cba1857ecd03fa64", 16)));
+    assertThat(outsideSubgroup.isOnCurve()).isTrue();
+    assertThat(outsideSubgroup.isInGroup()).isFalse();
+  }
+
+  private MontgomeryFq12 randomFq12() {
+    final MontgomeryFq12 element = new MontgomeryFq12();
+    for (final MontgomeryFq6 c : List.of(element.c0, element.c1)) {
+      for (final MontgomeryFq2 coefficient : List.of(c.c0, c.c1, c.c2)) {
+        coefficient.c0.set(randomFieldValue());
+        coefficient.c1.set(randomFieldValue());
+      }
+    }
+    return element;
+  }
+
+  private BigInteger randomFieldValue() {
+    return new BigInteger(256, random).mod(FieldElement.FIELD_MODULUS);
+  }
+}
@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLSucces
 import org.hyperledger.besu.ethereum.api.handlers.IsAliveHandler;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutHandler;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.util.NetworkUtility;
 
@@ -40,6 +41,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.annotations.VisibleForTesting;
@@ -88,6 +90,7 @@ public class GraphQLHttpService {
   private final GraphQL graphQL;
 
   private final GraphQLDataFetcherContext dataFetcherContext;
+  private final Function<BlockchainQueries, BlockchainQueries> requestScope;
   private final EthScheduler scheduler;
 
   /**
@@ -107,6 +110,29 @@ public class GraphQLHttpService {
       final GraphQL graphQL,
       final GraphQLDataFetcherContextImpl dataFetcherContext,
       final EthScheduler scheduler) {
+    this(vertx, dataDir, config, graphQL, dataFetcherContext, Function.identity(), scheduler);
+  }
+
+  /**
+   * Construct a GraphQLHttpService handler
+   *
+   * @param vertx The vertx process that will be running this service
+   * @param dataDir The data directory where requests can be buffered
+   * @param config Configuration for the rpc methods being loaded
+   * @param graphQL GraphQL engine
+   * @param dataFetcherContext DataFetcherContext required by GraphQL to finish it's job
+   * @param requestScope Creates the blockchain queries used while executing a single request, e.g.
+   *     to memoize lookups for the duration of the request
+   * @param scheduler {@link EthScheduler} used to trigger timeout on backend queries
+   */
+  public GraphQLHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final GraphQLConfiguration config,
+      final GraphQL graphQL,
+      final GraphQLDataFetcherContextImpl dataFetcherContext,
+      final Function<BlockchainQueries, BlockchainQueries> requestScope,
+      final EthScheduler scheduler) {
     this.dataDir = dataDir;
 
     validateConfig(config);
@@ -114,6 +140,7 @@ public class GraphQLHttpService {
     this.vertx = vertx;
     this.graphQL = graphQL;
     this.dataFetcherContext = dataFetcherContext;
+    this.requestScope = requestScope;
     this.scheduler = scheduler;
   }
 
@@ -390,7 +417,12 @@ public class GraphQLHttpService {
             .variables(variables)
             .context(
                 new GraphQLDataFetcherContextImpl(
-                    dataFetcherContext, new IsAliveHandler(scheduler, config.getHttpTimeoutSec())))
+                    requestScope.apply(dataFetcherContext.getBlockchainQueries()),
+                    dataFetcherContext.getProtocolSchedule(),
+                    dataFetcherContext.getTransactionPool(),
+                    dataFetcherContext.getMiningCoordinator(),
+                    dataFetcherContext.getSynchronizer(),
+                    new IsAliveHandler(scheduler, config.getHttpTimeoutSec())))
             .build();
     final ExecutionResult result = graphQL.execute(executionInput);
     final Map<String, Object> toSpecificationResult = result.toSpecification();
@@ -18,12 +18,14 @@ import org.hyperledger.besu.ethereum.api.graphql.internal.Scalars;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.List;
 
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 import graphql.GraphQL;
 import graphql.analysis.FieldComplexityEnvironment;
 import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
@@ -34,6 +36,9 @@ import graphql.schema.idl.TypeRuntimeWiring;
 public class GraphQLProvider {
 
   public static final int MAX_COMPLEXITY = 200;
+  // allows a handful of maximally complex queries, or many simple ones, to execute at once
+  public static final int COMPLEXITY_BUDGET = 4 * MAX_COMPLEXITY;
+  public static final long COMPLEXITY_BUDGET_WAIT_MILLIS = 5_000;
 
   private GraphQLProvider() {}
 
@@ -44,8 +49,14 @@ public class GraphQLProvider {
     final GraphQLSchema graphQLSchema = buildSchema(sdl, graphQLDataFetchers);
     return GraphQL.newGraphQL(graphQLSchema)
         .instrumentation(
-            new MaxQueryComplexityInstrumentation(
-                MAX_COMPLEXITY, GraphQLProvider::calculateFieldCost))
+            new ChainedInstrumentation(
+                List.of(
+                    new MaxQueryComplexityInstrumentation(
+                        MAX_COMPLEXITY, GraphQLProvider::calculateFieldCost),
+                    new QueryComplexityBudgetInstrumentation(
+                        GraphQLProvider::calculateFieldCost,
+                        COMPLEXITY_BUDGET,
+                        COMPLEXITY_BUDGET_WAIT_MILLIS))))
         .build();
   }
 
@@ -0,0 +1,154 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import graphql.ExecutionResult;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.schema.GraphQLCompositeType;
+import graphql.validation.ValidationError;
+
+/**
+ * Admits validated queries for execution against a shared complexity budget. Each query holds as
+ * many permits as its complexity until it completes, so any number of cheap queries can run side by
+ * side while only a few expensive ones execute at once. A query which can't be admitted within the
+ * configured wait is aborted rather than tying up a worker thread indefinitely.
+ *
+ * <p>Complexity is calculated the same way as for the maximum query complexity check, which must
+ * run first so that no query can require more permits than the budget holds.
+ */
+class QueryComplexityBudgetInstrumentation extends SimpleInstrumentation {
+
+  private final FieldComplexityCalculator fieldComplexityCalculator;
+  private final Semaphore budget;
+  private final long maxWaitMillis;
+
+  QueryComplexityBudgetInstrumentation(
+      final FieldComplexityCalculator fieldComplexityCalculator,
+      final int complexityBudget,
+      final long maxWaitMillis) {
+    checkArgument(complexityBudget > 0, "Complexity budget must be positive");
+    this.fieldComplexityCalculator = fieldComplexityCalculator;
+    this.budget = new Semaphore(complexityBudget, true);
+    this.maxWaitMillis = maxWaitMillis;
+  }
+
+  @Override
+  public InstrumentationState createState() {
+    return new AdmissionState();
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecution(
+      final InstrumentationExecutionParameters parameters) {
+    final AdmissionState state = parameters.getInstrumentationState();
+    return SimpleInstrumentationContext.whenCompleted((result, throwable) -> state.release());
+  }
+
+  @Override
+  public InstrumentationContext<List<ValidationError>> beginValidation(
+      final InstrumentationValidationParameters parameters) {
+    return SimpleInstrumentationContext.whenCompleted(
+        (errors, throwable) -> {
+          if ((errors != null && !errors.isEmpty()) || throwable != null) {
+            return;
+          }
+          final int complexity = calculateComplexity(parameters);
+          final AdmissionState state = parameters.getInstrumentationState();
+          state.acquire(complexity);
+        });
+  }
+
+  int availableBudget() {
+    return budget.availablePermits();
+  }
+
+  private int calculateComplexity(final InstrumentationValidationParameters parameters) {
+    final QueryTraverser queryTraverser =
+        QueryTraverser.newQueryTraverser()
+            .schema(parameters.getSchema())
+            .document(parameters.getDocument())
+            .operationName(parameters.getOperation())
+            .variables(parameters.getVariables())
+            .build();
+    final Map<QueryVisitorFieldEnvironment, Integer> complexityByParent = new HashMap<>();
+    queryTraverser.visitPostOrder(
+        new QueryVisitorStub() {
+          @Override
+          public void visitField(final QueryVisitorFieldEnvironment environment) {
+            if (environment.isTypeNameIntrospectionField()) {
+              return;
+            }
+            final int childComplexity = complexityByParent.getOrDefault(environment, 0);
+            final int complexity =
+                fieldComplexityCalculator.calculate(
+                    toComplexityEnvironment(environment), childComplexity);
+            complexityByParent.merge(environment.getParentEnvironment(), complexity, Integer::sum);
+          }
+        });
+    return complexityByParent.getOrDefault(null, 0);
+  }
+
+  private static FieldComplexityEnvironment toComplexityEnvironment(
+      final QueryVisitorFieldEnvironment environment) {
+    final QueryVisitorFieldEnvironment parent = environment.getParentEnvironment();
+    return new FieldComplexityEnvironment(
+        environment.getField(),
+        environment.getFieldDefinition(),
+        (GraphQLCompositeType) environment.getFieldsContainer(),
+        environment.getArguments(),
+        parent == null ? null : toComplexityEnvironment(parent));
+  }
+
+  private class AdmissionState implements InstrumentationState {
+    private int permits;
+
+    private void acquire(final int complexity) {
+      try {
+        if (!budget.tryAcquire(complexity, maxWaitMillis, TimeUnit.MILLISECONDS)) {
+          throw new AbortExecutionException(
+              "server busy, unable to admit query with complexity " + complexity);
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AbortExecutionException(e);
+      }
+      permits = complexity;
+    }
+
+    private void release() {
+      budget.release(permits);
+      permits = 0;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql.internal;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.chain.ChainHead;
+import org.hyperledger.besu.ethereum.chain.ChainReorgObserver;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A view of the blockchain which remembers every lookup made through it. A single GraphQL query
+ * commonly resolves the same header, body or receipts many times, e.g. once for each transaction of
+ * a block, so each request gets its own instance and reads each item from storage at most once.
+ *
+ * <p>Lookups made through this view are not refreshed when the chain changes, so instances must not
+ * outlive the request they were created for. Chain head lookups are always passed through.
+ */
+public class RequestScopedBlockchain implements Blockchain {
+
+  private final Blockchain blockchain;
+
+  private final Map<Long, Optional<Hash>> hashesByNumber = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<BlockHeader>> headers = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<BlockBody>> bodies = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<List<TransactionReceipt>>> receipts = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<Difficulty>> totalDifficulties = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<Transaction>> transactions = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<TransactionLocation>> transactionLocations =
+      new ConcurrentHashMap<>();
+
+  public RequestScopedBlockchain(final Blockchain blockchain) {
+    this.blockchain = blockchain;
+  }
+
+  @Override
+  public ChainHead getChainHead() {
+    return blockchain.getChainHead();
+  }
+
+  @Override
+  public long getChainHeadBlockNumber() {
+    return blockchain.getChainHeadBlockNumber();
+  }
+
+  @Override
+  public Hash getChainHeadHash() {
+    return blockchain.getChainHeadHash();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final long blockNumber) {
+    return getBlockHashByNumber(blockNumber).flatMap(this::getBlockHeader);
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHeaderHash) {
+    return headers.computeIfAbsent(blockHeaderHash, blockchain::getBlockHeader);
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHeaderHash) {
+    return bodies.computeIfAbsent(blockHeaderHash, blockchain::getBlockBody);
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
+    return receipts.computeIfAbsent(blockHeaderHash, blockchain::getTxReceipts);
+  }
+
+  @Override
+  public Optional<Hash> getBlockHashByNumber(final long number) {
+    return hashesByNumber.computeIfAbsent(number, blockchain::getBlockHashByNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficultyByHash(final Hash blockHeaderHash) {
+    return totalDifficulties.computeIfAbsent(blockHeaderHash, blockchain::getTotalDifficultyByHash);
+  }
+
+  @Override
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return transactions.computeIfAbsent(transactionHash, blockchain::getTransactionByHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return transactionLocations.computeIfAbsent(
+        transactionHash, blockchain::getTransactionLocation);
+  }
+
+  @Override
+  public long observeBlockAdded(final BlockAddedObserver observer) {
+    return blockchain.observeBlockAdded(observer);
+  }
+
+  @Override
+  public boolean removeObserver(final long observerId) {
+    return blockchain.removeObserver(observerId);
+  }
+
+  @Override
+  public long observeChainReorg(final ChainReorgObserver observer) {
+    return blockchain.observeChainReorg(observer);
+  }
+
+  @Override
+  public boolean removeChainReorgObserver(final long observerId) {
+    return blockchain.removeChainReorgObserver(observerId);
+  }
+}
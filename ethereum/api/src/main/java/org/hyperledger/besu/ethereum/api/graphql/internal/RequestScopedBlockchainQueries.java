@@ -0,0 +1,102 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql.internal;
+
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.WorldState;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Blockchain queries for a single GraphQL request. Chain data is read through a {@link
+ * RequestScopedBlockchain}, and the blocks, transactions, receipts and accounts assembled from it
+ * are remembered for the rest of the request, so fields that resolve the same object are only
+ * computed once. Receipts are read per block, so the receipts of all transactions in a block are
+ * fetched together by the first receipt lookup.
+ */
+public class RequestScopedBlockchainQueries extends BlockchainQueries {
+
+  private final Map<Hash, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>> blocks =
+      new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<TransactionWithMetadata>> transactions =
+      new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<TransactionReceiptWithMetadata>> receipts =
+      new ConcurrentHashMap<>();
+  private final Map<Long, Optional<WorldState>> worldStates = new ConcurrentHashMap<>();
+
+  public RequestScopedBlockchainQueries(final BlockchainQueries queries) {
+    super(queries, new RequestScopedBlockchain(queries.getBlockchain()));
+  }
+
+  @Override
+  public Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> blockByHash(
+      final Hash blockHeaderHash) {
+    return blocks.computeIfAbsent(blockHeaderHash, super::blockByHash);
+  }
+
+  @Override
+  public Optional<TransactionWithMetadata> transactionByHash(final Hash transactionHash) {
+    return transactions.computeIfAbsent(transactionHash, super::transactionByHash);
+  }
+
+  @Override
+  public Optional<TransactionReceiptWithMetadata> transactionReceiptByTransactionHash(
+      final Hash transactionHash) {
+    return receipts.computeIfAbsent(transactionHash, super::transactionReceiptByTransactionHash);
+  }
+
+  @Override
+  public Optional<WorldState> getWorldState(final long blockNumber) {
+    return worldStates.computeIfAbsent(
+        blockNumber, number -> super.getWorldState(number).map(RequestScopedWorldState::new));
+  }
+
+  private static class RequestScopedWorldState implements WorldState {
+    private final WorldState worldState;
+    private final Map<Address, Optional<Account>> accounts = new ConcurrentHashMap<>();
+
+    private RequestScopedWorldState(final WorldState worldState) {
+      this.worldState = worldState;
+    }
+
+    @Override
+    public Hash rootHash() {
+      return worldState.rootHash();
+    }
+
+    @Override
+    public Stream<StreamableAccount> streamAccounts(final Bytes32 startKeyHash, final int limit) {
+      return worldState.streamAccounts(startKeyHash, limit);
+    }
+
+    @Override
+    public Account get(final Address address) {
+      return accounts
+          .computeIfAbsent(address, a -> Optional.ofNullable(worldState.get(a)))
+          .orElse(null);
+    }
+  }
+}
@@ -31,6 +31,8 @@ import com.google.common.base.MoreObjects;
 public class JsonRpcConfiguration {
   private static final String DEFAULT_JSON_RPC_HOST = "127.0.0.1";
   public static final int DEFAULT_JSON_RPC_PORT = 8545;
+  public static final long DEFAULT_RESPONSE_CACHE_MAX_BYTES = 0;
+  public static final long DEFAULT_RESPONSE_CACHE_FINALITY_DEPTH = 64;
 
   private boolean enabled;
   private int port;
@@ -43,6 +45,8 @@ public class JsonRpcConfiguration {
   private File authenticationPublicKeyFile;
   private Optional<TlsConfiguration> tlsConfiguration = Optional.empty();
   private long httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
+  private long responseCacheMaxBytes = DEFAULT_RESPONSE_CACHE_MAX_BYTES;
+  private long responseCacheFinalityDepth = DEFAULT_RESPONSE_CACHE_FINALITY_DEPTH;
 
   public static JsonRpcConfiguration createDefault() {
     final JsonRpcConfiguration config = new JsonRpcConfiguration();
@@ -151,6 +155,22 @@ public class JsonRpcConfiguration {
     this.httpTimeoutSec = httpTimeoutSec;
   }
 
+  public long getResponseCacheMaxBytes() {
+    return responseCacheMaxBytes;
+  }
+
+  public void setResponseCacheMaxBytes(final long responseCacheMaxBytes) {
+    this.responseCacheMaxBytes = responseCacheMaxBytes;
+  }
+
+  public long getResponseCacheFinalityDepth() {
+    return responseCacheFinalityDepth;
+  }
+
+  public void setResponseCacheFinalityDepth(final long responseCacheFinalityDepth) {
+    this.responseCacheFinalityDepth = responseCacheFinalityDepth;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -165,6 +185,8 @@ public class JsonRpcConfiguration {
         .add("authenticationPublicKeyFile", authenticationPublicKeyFile)
         .add("tlsConfiguration", tlsConfiguration)
         .add("httpTimeoutSec", httpTimeoutSec)
+        .add("responseCacheMaxBytes", responseCacheMaxBytes)
+        .add("responseCacheFinalityDepth", responseCacheFinalityDepth)
         .toString();
   }
 
@@ -139,6 +139,7 @@ public class JsonRpcHttpService {
   private HttpServer httpServer;
   private final HealthService livenessService;
   private final HealthService readinessService;
+  private final Optional<JsonRpcResponseCache> responseCache;
 
   /**
    * Construct a JsonRpcHttpService handler
@@ -161,6 +162,41 @@ public class JsonRpcHttpService {
       final Map<String, JsonRpcMethod> methods,
       final HealthService livenessService,
       final HealthService readinessService) {
+    this(
+        vertx,
+        dataDir,
+        config,
+        metricsSystem,
+        natService,
+        methods,
+        livenessService,
+        readinessService,
+        Optional.empty());
+  }
+
+  /**
+   * Construct a JsonRpcHttpService handler
+   *
+   * @param vertx The vertx process that will be running this service
+   * @param dataDir The data directory where requests can be buffered
+   * @param config Configuration for the rpc methods being loaded
+   * @param metricsSystem The metrics service that activities should be reported to
+   * @param natService The NAT environment manager.
+   * @param methods The json rpc methods that should be enabled
+   * @param livenessService A service responsible for reporting whether this node is live
+   * @param readinessService A service responsible for reporting whether this node has fully started
+   * @param responseCache The cache of responses to queries about final blocks, if enabled
+   */
+  public JsonRpcHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final JsonRpcConfiguration config,
+      final MetricsSystem metricsSystem,
+      final NatService natService,
+      final Map<String, JsonRpcMethod> methods,
+      final HealthService livenessService,
+      final HealthService readinessService,
+      final Optional<JsonRpcResponseCache> responseCache) {
     this(
         vertx,
         dataDir,
@@ -170,7 +206,8 @@ public class JsonRpcHttpService {
         methods,
         AuthenticationService.create(vertx, config),
         livenessService,
-        readinessService);
+        readinessService,
+        responseCache);
   }
 
   private JsonRpcHttpService(
@@ -182,7 +219,8 @@ public class JsonRpcHttpService {
       final Map<String, JsonRpcMethod> methods,
       final Optional<AuthenticationService> authenticationService,
       final HealthService livenessService,
-      final HealthService readinessService) {
+      final HealthService readinessService,
+      final Optional<JsonRpcResponseCache> responseCache) {
     this.dataDir = dataDir;
     requestTimer =
         metricsSystem.createLabelledTimer(
@@ -198,6 +236,7 @@ public class JsonRpcHttpService {
     this.authenticationService = authenticationService;
     this.livenessService = livenessService;
     this.readinessService = readinessService;
+    this.responseCache = responseCache;
     this.tracer = GlobalOpenTelemetry.getTracer("org.hyperledger.besu.jsonrpc", "1.0.0");
   }
 
@@ -672,12 +711,15 @@ public class JsonRpcHttpService {
         // Generate response
         try (final OperationTimer.TimingContext ignored =
             requestTimer.labels(requestBody.getMethod()).startTimer()) {
-          if (user.isPresent()) {
-            return method.response(
-                new JsonRpcRequestContext(requestBody, user.get(), () -> !ctx.response().closed()));
+          final JsonRpcRequestContext requestContext =
+              user.isPresent()
+                  ? new JsonRpcRequestContext(
+                      requestBody, user.get(), () -> !ctx.response().closed())
+                  : new JsonRpcRequestContext(requestBody, () -> !ctx.response().closed());
+          if (responseCache.isPresent()) {
+            return responseCache.get().response(requestContext, method);
           }
-          return method.response(
-              new JsonRpcRequestContext(requestBody, () -> !ctx.response().closed()));
+          return method.response(requestContext);
         } catch (final InvalidJsonRpcParameters e) {
           LOG.debug("Invalid Params", e);
           span.setStatus(StatusCode.ERROR, "Invalid Params");
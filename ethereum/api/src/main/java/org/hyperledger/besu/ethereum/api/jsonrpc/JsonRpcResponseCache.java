@@ -0,0 +1,243 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponseType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.TransactionReceiptResult;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.vertx.core.json.Json;
+
+/**
+ * Caches the serialized results of JSON-RPC queries about blocks which are too deep to be reorged.
+ *
+ * <p>Only methods whose result is fully determined by a single block are cached, and only once that
+ * block is at least the finality depth below the chain head. A reorg replacing blocks at or below
+ * the highest cached block clears the whole cache. Cached results are written into responses
+ * verbatim, so they are not serialized again.
+ */
+public class JsonRpcResponseCache {
+
+  private static final ObjectMapper CANONICAL_MAPPER =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  private static final Map<String, ResultBlock> CACHEABLE_METHODS =
+      Map.of(
+          RpcMethod.ETH_GET_BLOCK_BY_HASH.getMethodName(),
+          JsonRpcResponseCache::blockResultNumber,
+          RpcMethod.ETH_GET_BLOCK_BY_NUMBER.getMethodName(),
+          JsonRpcResponseCache::blockResultNumber,
+          RpcMethod.ETH_GET_TRANSACTION_RECEIPT.getMethodName(),
+          JsonRpcResponseCache::receiptBlockNumber,
+          RpcMethod.ETH_GET_LOGS.getMethodName(),
+          JsonRpcResponseCache::logsFilterBlockNumber,
+          RpcMethod.TRACE_BLOCK.getMethodName(),
+          JsonRpcResponseCache::blockParameterNumber);
+
+  private final Blockchain blockchain;
+  private final long finalityDepth;
+  private final Cache<String, String> results;
+  private final AtomicLong reorgGeneration = new AtomicLong();
+  // guarded by this, together with inserting results, so a reorg can't interleave with an insert
+  private long highestCachedBlock = -1;
+  private final LabelledMetric<Counter> lookupCounter;
+
+  /**
+   * Creates a response cache.
+   *
+   * @param blockchain the blockchain being queried
+   * @param maximumBytes the approximate maximum size of the cached results
+   * @param finalityDepth the number of blocks below the chain head a block must be before results
+   *     about it are cached, at least 1
+   * @param metricsSystem The metrics service that activities should be reported to
+   */
+  public JsonRpcResponseCache(
+      final Blockchain blockchain,
+      final long maximumBytes,
+      final long finalityDepth,
+      final MetricsSystem metricsSystem) {
+    checkArgument(maximumBytes > 0, "Response cache size must be positive");
+    // at depth 0 a block tag such as "latest" resolves to a cacheable block
+    checkArgument(finalityDepth >= 1, "Response cache finality depth must be at least 1");
+    this.blockchain = blockchain;
+    this.finalityDepth = finalityDepth;
+    this.results =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((String key, String result) -> key.length() + result.length())
+            .build();
+    this.lookupCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC,
+            "response_cache_lookups_total",
+            "Number of JSON-RPC response cache lookups by method and result",
+            "methodName",
+            "result");
+
+    blockchain.observeBlockAdded(this::onBlockAdded);
+  }
+
+  /**
+   * Returns the response to a request, answering it from the cache when possible.
+   *
+   * @param request the request
+   * @param method the method handling the request
+   * @return the response
+   */
+  public JsonRpcResponse response(final JsonRpcRequestContext request, final JsonRpcMethod method) {
+    final JsonRpcRequest jsonRpcRequest = request.getRequest();
+    final ResultBlock resultBlock = CACHEABLE_METHODS.get(jsonRpcRequest.getMethod());
+    if (resultBlock == null) {
+      return method.response(request);
+    }
+
+    final String key = cacheKey(jsonRpcRequest);
+    final String cachedResult = results.getIfPresent(key);
+    if (cachedResult != null) {
+      lookupCounter.labels(jsonRpcRequest.getMethod(), "hit").inc();
+      return new JsonRpcSuccessResponse(jsonRpcRequest.getId(), new RawValue(cachedResult));
+    }
+    lookupCounter.labels(jsonRpcRequest.getMethod(), "miss").inc();
+
+    final long generation = reorgGeneration.get();
+    final JsonRpcResponse response = method.response(request);
+    if (response.getType() != JsonRpcResponseType.SUCCESS) {
+      return response;
+    }
+    final Object result = ((JsonRpcSuccessResponse) response).getResult();
+    if (result == null) {
+      return response;
+    }
+    final OptionalLong blockNumber = resultBlock.blockNumber(request, result, blockchain);
+    if (blockNumber.isEmpty()
+        || blockNumber.getAsLong() > blockchain.getChainHeadBlockNumber() - finalityDepth) {
+      return response;
+    }
+
+    final String serializedResult = Json.encode(result);
+    cache(key, serializedResult, blockNumber.getAsLong(), generation);
+    return new JsonRpcSuccessResponse(jsonRpcRequest.getId(), new RawValue(serializedResult));
+  }
+
+  private synchronized void cache(
+      final String key,
+      final String serializedResult,
+      final long blockNumber,
+      final long generation) {
+    // a reorg while the result was being created may have replaced the block it describes
+    if (reorgGeneration.get() != generation) {
+      return;
+    }
+    highestCachedBlock = Math.max(highestCachedBlock, blockNumber);
+    results.put(key, serializedResult);
+  }
+
+  private synchronized void onBlockAdded(final BlockAddedEvent event) {
+    if (event.getEventType() != BlockAddedEvent.EventType.CHAIN_REORG) {
+      return;
+    }
+    final long commonAncestor =
+        blockchain
+            .getBlockHeader(event.getCommonAncestorHash())
+            .map(BlockHeader::getNumber)
+            .orElse(-1L);
+    // results still being created haven't raised the highest cached block, so they are discarded
+    // on any reorg
+    reorgGeneration.incrementAndGet();
+    if (commonAncestor < highestCachedBlock) {
+      results.invalidateAll();
+      highestCachedBlock = -1;
+    }
+  }
+
+  // Parameters are hex quantities, hashes, addresses and block tags, none of which are case
+  // sensitive, so equal requests map to the same key however their maps are ordered or cased.
+  private static String cacheKey(final JsonRpcRequest request) {
+    try {
+      final Object[] params = request.getParams() == null ? new Object[0] : request.getParams();
+      return request.getMethod()
+          + CANONICAL_MAPPER.writeValueAsString(params).toLowerCase(Locale.ROOT);
+    } catch (final JsonProcessingException e) {
+      throw new IllegalArgumentException("Unable to encode JSON-RPC request parameters", e);
+    }
+  }
+
+  private static OptionalLong blockResultNumber(
+      final JsonRpcRequestContext request, final Object result, final Blockchain blockchain) {
+    return result instanceof BlockResult
+        ? OptionalLong.of(Long.decode(((BlockResult) result).getNumber()))
+        : OptionalLong.empty();
+  }
+
+  private static OptionalLong receiptBlockNumber(
+      final JsonRpcRequestContext request, final Object result, final Blockchain blockchain) {
+    return result instanceof TransactionReceiptResult
+        ? OptionalLong.of(Long.decode(((TransactionReceiptResult) result).getBlockNumber()))
+        : OptionalLong.empty();
+  }
+
+  private static OptionalLong logsFilterBlockNumber(
+      final JsonRpcRequestContext request, final Object result, final Blockchain blockchain) {
+    final FilterParameter filter = request.getRequiredParameter(0, FilterParameter.class);
+    if (filter.getBlockHash().isPresent()) {
+      return toOptionalLong(
+          blockchain.getBlockHeader(filter.getBlockHash().get()).map(BlockHeader::getNumber));
+    }
+    return toOptionalLong(filter.getToBlock().getNumber());
+  }
+
+  private static OptionalLong blockParameterNumber(
+      final JsonRpcRequestContext request, final Object result, final Blockchain blockchain) {
+    return toOptionalLong(request.getRequiredParameter(0, BlockParameter.class).getNumber());
+  }
+
+  private static OptionalLong toOptionalLong(final Optional<Long> value) {
+    return value.map(OptionalLong::of).orElse(OptionalLong.empty());
+  }
+
+  @FunctionalInterface
+  private interface ResultBlock {
+    /** Returns the number of the block which fully determines the result, if there is one. */
+    OptionalLong blockNumber(JsonRpcRequestContext request, Object result, Blockchain blockchain);
+  }
+}
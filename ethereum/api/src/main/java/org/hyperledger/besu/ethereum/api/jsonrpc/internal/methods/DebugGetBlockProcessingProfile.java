@@ -0,0 +1,87 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameterOrBlockHash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockProcessingProfileResult;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfile;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+
+import java.util.Optional;
+
+/**
+ * Returns the processing profile of a recently processed block. Without a parameter, or with
+ * "latest", the profile of the block that was processed last is returned. Block numbers are
+ * resolved to the canonical block with that number.
+ */
+public class DebugGetBlockProcessingProfile implements JsonRpcMethod {
+
+  private final BlockchainQueries blockchainQueries;
+  private final ProtocolSchedule protocolSchedule;
+
+  public DebugGetBlockProcessingProfile(
+      final BlockchainQueries blockchainQueries, final ProtocolSchedule protocolSchedule) {
+    this.blockchainQueries = blockchainQueries;
+    this.protocolSchedule = protocolSchedule;
+  }
+
+  @Override
+  public String getName() {
+    return RpcMethod.DEBUG_GET_BLOCK_PROCESSING_PROFILE.getMethodName();
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequestContext requestContext) {
+    final BlockProcessingProfiler profiler = protocolSchedule.getBlockProcessingProfiler();
+    if (!profiler.isEnabled()) {
+      return new JsonRpcErrorResponse(
+          requestContext.getRequest().getId(), JsonRpcError.BLOCK_PROCESSING_PROFILE_NOT_ENABLED);
+    }
+
+    final Optional<BlockParameterOrBlockHash> blockParameter =
+        requestContext.getOptionalParameter(0, BlockParameterOrBlockHash.class);
+    if (blockParameter.map(BlockParameterOrBlockHash::isPending).orElse(false)) {
+      return new JsonRpcErrorResponse(
+          requestContext.getRequest().getId(), JsonRpcError.INVALID_PARAMS);
+    }
+
+    final Optional<BlockProcessingProfile> profile =
+        blockParameter
+            .filter(parameter -> !parameter.isLatest())
+            .map(parameter -> profileOf(profiler, parameter))
+            .orElseGet(profiler::getLatestProfile);
+    return new JsonRpcSuccessResponse(
+        requestContext.getRequest().getId(),
+        profile.map(BlockProcessingProfileResult::new).orElse(null));
+  }
+
+  private Optional<BlockProcessingProfile> profileOf(
+      final BlockProcessingProfiler profiler, final BlockParameterOrBlockHash blockParameter) {
+    if (blockParameter.getHash().isPresent()) {
+      return profiler.getProfile(blockParameter.getHash().get());
+    }
+    return blockchainQueries
+        .getBlockHashByNumber(blockParameter.getNumber().getAsLong())
+        .flatMap(profiler::getProfile);
+  }
+}
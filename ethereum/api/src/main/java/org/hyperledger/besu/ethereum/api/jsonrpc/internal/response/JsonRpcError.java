@@ -83,6 +83,7 @@ public enum JsonRpcError {
   // Debug failures
   BLOCK_NOT_FOUND(-32000, "Block not found"),
   PARENT_BLOCK_NOT_FOUND(-32000, "Parent block not found"),
+  BLOCK_PROCESSING_PROFILE_NOT_ENABLED(-32000, "Block processing profiling has not been enabled"),
 
   // Permissioning/Account allowlist errors
   ACCOUNT_ALLOWLIST_NOT_ENABLED(-32000, "Account allowlist has not been enabled"),
@@ -0,0 +1,171 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfile;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfile.TransactionProfile;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({
+  "blockNumber",
+  "blockHash",
+  "successful",
+  "transactionCount",
+  "gasUsed",
+  "durationMs",
+  "phasesMs",
+  "storageReads",
+  "blockCachedStorageReads",
+  "storageReadDurationMs",
+  "slowestTransactions"
+})
+public class BlockProcessingProfileResult {
+
+  private final BlockProcessingProfile profile;
+  private final Map<String, Double> phasesMs = new LinkedHashMap<>();
+  private final List<TransactionProfileResult> slowestTransactions;
+
+  public BlockProcessingProfileResult(final BlockProcessingProfile profile) {
+    this.profile = profile;
+    profile
+        .getPhaseNanos()
+        .forEach((phase, nanos) -> phasesMs.put(phase.getLabel(), millis(nanos)));
+    this.slowestTransactions =
+        profile.getSlowestTransactions().stream()
+            .map(TransactionProfileResult::new)
+            .collect(Collectors.toList());
+  }
+
+  @JsonGetter(value = "blockNumber")
+  public String getBlockNumber() {
+    return Quantity.create(profile.getBlockNumber());
+  }
+
+  @JsonGetter(value = "blockHash")
+  public String getBlockHash() {
+    return profile.getBlockHash().toHexString();
+  }
+
+  @JsonGetter(value = "successful")
+  public boolean isSuccessful() {
+    return profile.isSuccessful();
+  }
+
+  @JsonGetter(value = "transactionCount")
+  public String getTransactionCount() {
+    return Quantity.create(profile.getTransactionCount());
+  }
+
+  @JsonGetter(value = "gasUsed")
+  public String getGasUsed() {
+    return Quantity.create(profile.getGasUsed());
+  }
+
+  @JsonGetter(value = "durationMs")
+  public double getDurationMs() {
+    return millis(profile.getDurationNanos());
+  }
+
+  @JsonGetter(value = "phasesMs")
+  public Map<String, Double> getPhasesMs() {
+    return phasesMs;
+  }
+
+  @JsonGetter(value = "storageReads")
+  public String getStorageReads() {
+    return Quantity.create(profile.getStorageReads());
+  }
+
+  @JsonGetter(value = "blockCachedStorageReads")
+  public String getBlockCachedStorageReads() {
+    return Quantity.create(profile.getBlockCachedStorageReads());
+  }
+
+  @JsonGetter(value = "storageReadDurationMs")
+  public double getStorageReadDurationMs() {
+    return millis(profile.getStorageReadNanos());
+  }
+
+  @JsonGetter(value = "slowestTransactions")
+  public List<TransactionProfileResult> getSlowestTransactions() {
+    return slowestTransactions;
+  }
+
+  private static double millis(final long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  @JsonPropertyOrder({
+    "hash",
+    "transactionIndex",
+    "to",
+    "gasUsed",
+    "durationMs",
+    "storageReads",
+    "storageReadDurationMs"
+  })
+  public static class TransactionProfileResult {
+
+    private final TransactionProfile profile;
+
+    TransactionProfileResult(final TransactionProfile profile) {
+      this.profile = profile;
+    }
+
+    @JsonGetter(value = "hash")
+    public String getHash() {
+      return profile.getHash().toHexString();
+    }
+
+    @JsonGetter(value = "transactionIndex")
+    public String getTransactionIndex() {
+      return Quantity.create(profile.getIndex());
+    }
+
+    @JsonGetter(value = "to")
+    public String getTo() {
+      return profile.getTo().map(Address::toHexString).orElse(null);
+    }
+
+    @JsonGetter(value = "gasUsed")
+    public String getGasUsed() {
+      return Quantity.create(profile.getGasUsed());
+    }
+
+    @JsonGetter(value = "durationMs")
+    public double getDurationMs() {
+      return millis(profile.getDurationNanos());
+    }
+
+    @JsonGetter(value = "storageReads")
+    public String getStorageReads() {
+      return Quantity.create(profile.getStorageReads());
+    }
+
+    @JsonGetter(value = "storageReadDurationMs")
+    public double getStorageReadDurationMs() {
+      return millis(profile.getStorageReadNanos());
+    }
+  }
+}
@@ -109,6 +109,21 @@ public class BlockchainQueries {
     this.apiConfig = apiConfig;
   }
 
+  /**
+   * Creates queries over a different view of the same chain, sharing the world state archive, log
+   * bloom cache and configuration of the given queries.
+   *
+   * @param queries the queries to share state with
+   * @param blockchain the view of the chain to query
+   */
+  protected BlockchainQueries(final BlockchainQueries queries, final Blockchain blockchain) {
+    this.blockchain = blockchain;
+    this.worldStateArchive = queries.worldStateArchive;
+    this.cachePath = queries.cachePath;
+    this.transactionLogBloomCacher = queries.transactionLogBloomCacher;
+    this.apiConfig = queries.apiConfig;
+  }
+
   public Blockchain getBlockchain() {
     return blockchain;
   }
@@ -18,6 +18,7 @@ package org.hyperledger.besu.ethereum.api.query;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static org.hyperledger.besu.ethereum.trie.CompactEncoding.bytesToPath;
 
 import org.hyperledger.besu.config.JsonUtil;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -31,35 +32,57 @@ import org.hyperledger.besu.ethereum.trie.Node;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.TrieIterator;
 import org.hyperledger.besu.ethereum.trie.TrieIterator.State;
+import org.hyperledger.besu.ethereum.trie.TrieNodeDecoder;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.plugin.data.Hash;
 import org.hyperledger.besu.util.io.RollingFileWriter;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 
+/**
+ * Writes the chain data and the world state of a block to a set of backup files.
+ *
+ * <p>When the root of the account trie is a branch node the state is split into one shard per child
+ * of the root. Each shard is walked on its own thread and written to its own set of independently
+ * compressed chunk files, and the manifest records the account count and subtrie root hash of every
+ * shard so a restore can load and verify the shards in parallel.
+ */
 public class StateBackupService {
 
   private static final Logger LOG = LogManager.getLogger();
+  public static final String MANIFEST_FILE_NAME = "besu-backup-manifest.json";
+  static final int SHARD_COUNT = 16;
+  private static final int DEFAULT_BACKUP_THREADS =
+      Math.min(SHARD_COUNT + 1, Runtime.getRuntime().availableProcessors());
   private static final Bytes ACCOUNT_END_MARKER;
 
   static {
@@ -74,10 +97,10 @@ public class StateBackupService {
   private final EthScheduler scheduler;
   private final Blockchain blockchain;
   private final WorldStateStorage worldStateStorage;
+  private final int backupThreads;
   private final BackupStatus backupStatus = new BackupStatus();
 
   private Path backupDir;
-  private RollingFileWriter accountFileWriter;
 
   public StateBackupService(
       final String besuVersion,
@@ -85,11 +108,23 @@ public class StateBackupService {
       final Path backupDir,
       final EthScheduler scheduler,
       final WorldStateStorage worldStateStorage) {
+    this(besuVersion, blockchain, backupDir, scheduler, worldStateStorage, DEFAULT_BACKUP_THREADS);
+  }
+
+  public StateBackupService(
+      final String besuVersion,
+      final Blockchain blockchain,
+      final Path backupDir,
+      final EthScheduler scheduler,
+      final WorldStateStorage worldStateStorage,
+      final int backupThreads) {
+    checkArgument(backupThreads > 0, "Backup threads must be positive");
     this.besuVersion = besuVersion;
     this.blockchain = blockchain;
     this.backupDir = backupDir;
     this.scheduler = scheduler;
     this.worldStateStorage = worldStateStorage;
+    this.backupThreads = backupThreads;
   }
 
   public Path getBackupDir() {
@@ -108,6 +143,7 @@ public class StateBackupService {
             backupStatus.targetBlock = block;
             backupStatus.compressed = compress;
             backupStatus.currentAccount = Bytes32.ZERO;
+            backupStatus.failure = null;
             scheduler.scheduleComputationTask(
                 () -> {
                   try {
@@ -145,6 +181,18 @@ public class StateBackupService {
             targetBlock, fileNumber, compressed ? "c" : "r"));
   }
 
+  public static Path accountShardFileName(
+      final Path backupDir,
+      final long targetBlock,
+      final int shard,
+      final int fileNumber,
+      final boolean compressed) {
+    return backupDir.resolve(
+        String.format(
+            "besu-account-backup-%08d-s%02d-%04d.%sdat",
+            targetBlock, shard, fileNumber, compressed ? "c" : "r"));
+  }
+
   public static Path headerFileName(
       final Path backupDir, final int fileNumber, final boolean compressed) {
     return backupDir.resolve(
@@ -163,10 +211,6 @@ public class StateBackupService {
         String.format("besu-receipt-backup-%04d.%sdat", fileNumber, compressed ? "c" : "r"));
   }
 
-  private Path accountFileName(final int fileNumber, final boolean compressed) {
-    return accountFileName(backupDir, backupStatus.targetBlock, fileNumber, compressed);
-  }
-
   private Path headerFileName(final int fileNumber, final boolean compressed) {
     return headerFileName(backupDir, fileNumber, compressed);
   }
@@ -187,61 +231,125 @@ public class StateBackupService {
       backupStatus.targetBlock = block;
       backupStatus.compressed = compress;
       backupStatus.currentAccount = Bytes32.ZERO;
-
-      backupChainData();
-      backupLeaves();
-
-      writeManifest();
+      backupStatus.completedShards.set(0);
+
+      final ExecutorService executor =
+          Executors.newFixedThreadPool(
+              backupThreads,
+              new ThreadFactoryBuilder().setDaemon(true).setNameFormat("StateBackup-%d").build());
+      try {
+        final CompletableFuture<Void> chainData =
+            CompletableFuture.runAsync(
+                () -> {
+                  try {
+                    backupChainData();
+                  } catch (final IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                  }
+                },
+                executor);
+        final List<BackupShard> shards = backupLeaves(executor);
+        chainData.join();
+
+        writeManifest(shards);
+      } finally {
+        executor.shutdownNow();
+      }
 
       return backupStatus;
     } catch (final Throwable t) {
       LOG.error("Unexpected error", t);
+      // recorded before the backup stops so anyone polling the status sees why it ended
+      backupStatus.failure =
+          t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
       throw t;
+    } finally {
+      backupStatus.currentAccount = null;
     }
   }
 
-  private void writeManifest() throws IOException {
+  private void writeManifest(final List<BackupShard> shards) throws IOException {
     final Map<String, Object> manifest = new HashMap<>();
     manifest.put("clientVersion", besuVersion);
     manifest.put("compressed", backupStatus.compressed);
     manifest.put("targetBlock", backupStatus.targetBlock);
     manifest.put("accountCount", backupStatus.accountCount);
+    manifest.put(
+        "shards", shards.stream().map(BackupShard::toManifest).collect(Collectors.toList()));
 
     Files.write(
-        backupDir.resolve("besu-backup-manifest.json"),
+        backupDir.resolve(MANIFEST_FILE_NAME),
         JsonUtil.getJson(manifest).getBytes(StandardCharsets.UTF_8));
   }
 
-  private void backupLeaves() throws IOException {
+  private List<BackupShard> backupLeaves(final ExecutorService executor) {
     final Optional<BlockHeader> header = blockchain.getBlockHeader(backupStatus.targetBlock);
     if (header.isEmpty()) {
-      backupStatus.currentAccount = null;
-      return;
+      return List.of();
     }
+    final Bytes32 stateRoot = header.get().getStateRoot();
     final Optional<Bytes> worldStateRoot =
-        worldStateStorage.getAccountStateTrieNode(Bytes.EMPTY, header.get().getStateRoot());
+        worldStateStorage.getAccountStateTrieNode(Bytes.EMPTY, stateRoot);
     if (worldStateRoot.isEmpty()) {
-      backupStatus.currentAccount = null;
-      return;
+      return List.of();
     }
 
-    try (final RollingFileWriter accountFileWriter =
-        new RollingFileWriter(this::accountFileName, backupStatus.compressed)) {
-      this.accountFileWriter = accountFileWriter;
+    // only a branch node has a child for every nibble, any other root is backed up as one shard
+    final List<Node<Bytes>> rootChildren =
+        TrieNodeDecoder.decode(Bytes.EMPTY, worldStateRoot.get()).getChildren();
+    final List<BackupShard> shards = new ArrayList<>();
+    if (rootChildren.size() == SHARD_COUNT) {
+      for (int i = 0; i < SHARD_COUNT; i++) {
+        shards.add(new BackupShard(i, 1, rootChildren.get(i).getHash()));
+      }
+    } else {
+      shards.add(new BackupShard(0, 0, stateRoot));
+    }
+    backupStatus.shardCount = shards.size();
+
+    CompletableFuture.allOf(
+            shards.stream()
+                .map(
+                    shard ->
+                        CompletableFuture.runAsync(() -> backupShard(shard, stateRoot), executor))
+                .toArray(CompletableFuture[]::new))
+        .join();
+    return shards;
+  }
 
+  private void backupShard(final BackupShard shard, final Bytes32 stateRoot) {
+    try (final RollingFileWriter accountFileWriter =
+        new RollingFileWriter(
+            (fileNumber, compressed) ->
+                accountShardFileName(
+                    backupDir, backupStatus.targetBlock, shard.index, fileNumber, compressed),
+            backupStatus.compressed)) {
+      // each shard walks its own trie so lazily loaded nodes are never shared between threads
       final StoredMerklePatriciaTrie<Bytes32, Bytes> accountTrie =
           new StoredMerklePatriciaTrie<>(
               worldStateStorage::getAccountStateTrieNode,
-              header.get().getStateRoot(),
+              stateRoot,
               Function.identity(),
               Function.identity());
-
-      accountTrie.visitLeafs(this::visitAccount);
-      backupStatus.currentAccount = null;
+      accountTrie.acceptAtRoot(
+          new TrieIterator<>(
+              (nodeKey, node) -> visitAccount(shard, accountFileWriter, nodeKey, node), true),
+          bytesToPath(shard.startKey()));
+    } catch (final IOException ioe) {
+      throw new UncheckedIOException(ioe);
     }
+    backupStatus.completedShards.incrementAndGet();
+    LOG.debug("Backed up shard {} with {} accounts", shard.index, shard.accountCount);
   }
 
-  private TrieIterator.State visitAccount(final Bytes32 nodeKey, final Node<Bytes> node) {
+  private TrieIterator.State visitAccount(
+      final BackupShard shard,
+      final RollingFileWriter accountFileWriter,
+      final Bytes32 nodeKey,
+      final Node<Bytes> node) {
+    if (!shard.contains(nodeKey)) {
+      return State.STOP;
+    }
     if (node.getValue().isEmpty()) {
       return State.CONTINUE;
     }
@@ -264,8 +372,7 @@ public class StateBackupService {
     try {
       accountFileWriter.writeBytes(accountOutput.encoded().toArrayUnsafe());
     } catch (final IOException ioe) {
-      LOG.error("Failure writing backup", ioe);
-      return State.STOP;
+      throw new UncheckedIOException(ioe);
     }
 
     // storage is written for each leaf, otherwise the whole trie would have to fit in memory
@@ -282,10 +389,10 @@ public class StateBackupService {
     try {
       accountFileWriter.writeBytes(ACCOUNT_END_MARKER.toArrayUnsafe());
     } catch (final IOException ioe) {
-      LOG.error("Failure writing backup", ioe);
-      return State.STOP;
+      throw new UncheckedIOException(ioe);
     }
 
+    shard.accountCount++;
     backupStatus.accountCount.incrementAndGet();
     return State.CONTINUE;
   }
@@ -337,24 +444,56 @@ public class StateBackupService {
     try {
       accountFileWriter.writeBytes(output.encoded().toArrayUnsafe());
     } catch (final IOException ioe) {
-      LOG.error("Failure writing backup", ioe);
-      return State.STOP;
+      throw new UncheckedIOException(ioe);
     }
 
     backupStatus.storageCount.incrementAndGet();
     return State.CONTINUE;
   }
 
+  private static final class BackupShard {
+    private final int index;
+    private final int prefixLength;
+    private final Bytes32 rootHash;
+    private long accountCount;
+
+    private BackupShard(final int index, final int prefixLength, final Bytes32 rootHash) {
+      this.index = index;
+      this.prefixLength = prefixLength;
+      this.rootHash = rootHash;
+    }
+
+    private Bytes32 startKey() {
+      return prefixLength == 0 ? Bytes32.ZERO : Bytes32.rightPad(Bytes.of((byte) (index << 4)));
+    }
+
+    private boolean contains(final Bytes32 key) {
+      return prefixLength == 0 || (key.get(0) & 0xff) >>> 4 == index;
+    }
+
+    private Map<String, Object> toManifest() {
+      final Map<String, Object> manifest = new HashMap<>();
+      manifest.put("index", index);
+      manifest.put("prefixLength", prefixLength);
+      manifest.put("accountCount", accountCount);
+      manifest.put("rootHash", rootHash.toHexString());
+      return manifest;
+    }
+  }
+
   public static final class BackupStatus {
     long targetBlock;
-    long storedBlock;
+    volatile long storedBlock;
     boolean compressed;
-    Bytes32 currentAccount;
-    Bytes32 currentStorage;
+    volatile Bytes32 currentAccount;
+    volatile Bytes32 currentStorage;
+    volatile int shardCount;
+    AtomicInteger completedShards = new AtomicInteger(0);
     AtomicLong accountCount = new AtomicLong(0);
     AtomicLong codeSize = new AtomicLong(0);
     AtomicLong storageCount = new AtomicLong(0);
     boolean requestAccepted;
+    volatile Throwable failure;
 
     @JsonGetter
     public String getTargetBlock() {
@@ -381,6 +520,16 @@ public class StateBackupService {
       return currentAccount != null;
     }
 
+    @JsonIgnore
+    public boolean isFailed() {
+      return failure != null;
+    }
+
+    @JsonIgnore
+    public Optional<Throwable> getFailure() {
+      return Optional.ofNullable(failure);
+    }
+
     @JsonIgnore
     public long getAccountCount() {
       return accountCount.get();
@@ -396,6 +545,16 @@ public class StateBackupService {
       return storageCount.get();
     }
 
+    @JsonIgnore
+    public int getShardCount() {
+      return shardCount;
+    }
+
+    @JsonIgnore
+    public int getCompletedShards() {
+      return completedShards.get();
+    }
+
     @JsonIgnore
     public Bytes getCurrentAccountBytes() {
       return currentAccount;
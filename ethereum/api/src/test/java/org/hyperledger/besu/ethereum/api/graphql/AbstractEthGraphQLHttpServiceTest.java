@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.api.graphql;
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.graphql.internal.RequestScopedBlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.blockcreation.EthHashMiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.GenesisState;
@@ -186,6 +187,7 @@ public abstract class AbstractEthGraphQLHttpServiceTest {
             config,
             graphQL,
             dataFetcherContext,
+            RequestScopedBlockchainQueries::new,
             Mockito.mock(EthScheduler.class));
     service.start().join();
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeRuntimeWiring;
+import org.junit.Test;
+
+public class QueryComplexityBudgetInstrumentationTest {
+
+  private static final String SDL =
+      "type Query { value: Int slow: Int nested: Nested } type Nested { a: Int b: Int c: Int }";
+
+  private final CountDownLatch slowStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseSlow = new CountDownLatch(1);
+
+  @Test
+  public void budgetIsReturnedOnceQueryCompletes() {
+    final QueryComplexityBudgetInstrumentation instrumentation =
+        new QueryComplexityBudgetInstrumentation((env, child) -> child + 1, 10, 0);
+    final GraphQL graphQL = buildGraphQL(instrumentation);
+
+    final ExecutionResult result = graphQL.execute("{ nested { a b c } }");
+
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(instrumentation.availableBudget()).isEqualTo(10);
+  }
+
+  @Test
+  public void queryIsAbortedWhenBudgetIsExhausted() throws Exception {
+    final QueryComplexityBudgetInstrumentation instrumentation =
+        new QueryComplexityBudgetInstrumentation((env, child) -> child + 1, 4, 0);
+    final GraphQL graphQL = buildGraphQL(instrumentation);
+
+    final CompletableFuture<ExecutionResult> slowResult =
+        CompletableFuture.supplyAsync(() -> graphQL.execute("{ slow value }"));
+    assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(instrumentation.availableBudget()).isEqualTo(2);
+
+    final ExecutionResult rejected = graphQL.execute("{ nested { a b } }");
+    assertThat(rejected.getErrors()).hasSize(1);
+    assertThat(rejected.getErrors().get(0).getMessage()).contains("complexity 3");
+
+    final ExecutionResult admitted = graphQL.execute("{ value }");
+    assertThat(admitted.getErrors()).isEmpty();
+
+    releaseSlow.countDown();
+    assertThat(slowResult.get(5, TimeUnit.SECONDS).getErrors()).isEmpty();
+    assertThat(instrumentation.availableBudget()).isEqualTo(4);
+  }
+
+  private GraphQL buildGraphQL(final QueryComplexityBudgetInstrumentation instrumentation) {
+    final DataFetcher<Integer> slow =
+        environment -> {
+          slowStarted.countDown();
+          releaseSlow.await(5, TimeUnit.SECONDS);
+          return 1;
+        };
+    final RuntimeWiring wiring =
+        RuntimeWiring.newRuntimeWiring()
+            .type(
+                TypeRuntimeWiring.newTypeWiring("Query")
+                    .dataFetcher("value", environment -> 1)
+                    .dataFetcher("slow", slow)
+                    .dataFetcher("nested", environment -> Map.of("a", 1, "b", 2, "c", 3)))
+            .build();
+    return GraphQL.newGraphQL(
+            new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring))
+        .instrumentation(instrumentation)
+        .build();
+  }
+}
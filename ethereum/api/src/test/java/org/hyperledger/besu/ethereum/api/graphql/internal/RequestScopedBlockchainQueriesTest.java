@@ -0,0 +1,134 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.WorldState;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestScopedBlockchainQueriesTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+
+  private Block block;
+  private Hash blockHash;
+
+  @Before
+  public void setUp() {
+    block = gen.block();
+    blockHash = block.getHash();
+    final List<TransactionReceipt> receipts = gen.receipts(block);
+    when(blockchain.getBlockHashByNumber(block.getHeader().getNumber()))
+        .thenReturn(Optional.of(blockHash));
+    when(blockchain.getBlockHeader(blockHash)).thenReturn(Optional.of(block.getHeader()));
+    when(blockchain.getBlockBody(blockHash)).thenReturn(Optional.of(block.getBody()));
+    when(blockchain.getTotalDifficultyByHash(blockHash)).thenReturn(Optional.of(Difficulty.ONE));
+    when(blockchain.getTxReceipts(blockHash)).thenReturn(Optional.of(receipts));
+    final List<Transaction> transactions = block.getBody().getTransactions();
+    for (int i = 0; i < transactions.size(); i++) {
+      when(blockchain.getTransactionLocation(transactions.get(i).getHash()))
+          .thenReturn(Optional.of(new TransactionLocation(blockHash, i)));
+    }
+  }
+
+  @Test
+  public void repeatedLookupsReadChainDataOnce() {
+    final BlockchainQueries queries =
+        new RequestScopedBlockchainQueries(new BlockchainQueries(blockchain, worldStateArchive));
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(queries.blockByNumber(block.getHeader().getNumber())).isPresent();
+      assertThat(queries.blockByHash(blockHash)).isPresent();
+    }
+
+    verify(blockchain, times(1)).getBlockHashByNumber(block.getHeader().getNumber());
+    verify(blockchain, times(1)).getBlockHeader(blockHash);
+    verify(blockchain, times(1)).getBlockBody(blockHash);
+    verify(blockchain, times(1)).getTotalDifficultyByHash(blockHash);
+  }
+
+  @Test
+  public void receiptsOfABlockAreReadOnceForAllTransactions() {
+    final BlockchainQueries queries =
+        new RequestScopedBlockchainQueries(new BlockchainQueries(blockchain, worldStateArchive));
+
+    final List<Transaction> transactions = block.getBody().getTransactions();
+    assertThat(transactions).hasSizeGreaterThan(1);
+    for (final Transaction transaction : transactions) {
+      final Optional<TransactionReceiptWithMetadata> receipt =
+          queries.transactionReceiptByTransactionHash(transaction.getHash());
+      assertThat(receipt).isPresent();
+      assertThat(receipt.get().getTransactionHash()).isEqualTo(transaction.getHash());
+    }
+
+    verify(blockchain, times(1)).getTxReceipts(blockHash);
+    verify(blockchain, times(1)).getBlockBody(blockHash);
+  }
+
+  @Test
+  public void accountsAreReadOnceFromWorldState() {
+    final MutableWorldState worldState = mock(MutableWorldState.class);
+    when(worldStateArchive.getMutable(any(), any())).thenReturn(Optional.of(worldState));
+    final Address address = gen.address();
+    final BlockchainQueries queries =
+        new RequestScopedBlockchainQueries(new BlockchainQueries(blockchain, worldStateArchive));
+
+    final long blockNumber = block.getHeader().getNumber();
+    for (int i = 0; i < 3; i++) {
+      final Optional<WorldState> scopedWorldState = queries.getWorldState(blockNumber);
+      assertThat(scopedWorldState).isPresent();
+      assertThat(scopedWorldState.get().get(address)).isNull();
+    }
+
+    verify(worldStateArchive, times(1)).getMutable(any(), any());
+    verify(worldState, times(1)).get(address);
+  }
+
+  @Test
+  public void lookupsAreNotSharedBetweenRequests() {
+    final BlockchainQueries queries = new BlockchainQueries(blockchain, worldStateArchive);
+
+    new RequestScopedBlockchainQueries(queries).blockByHash(blockHash);
+    new RequestScopedBlockchainQueries(queries).blockByHash(blockHash);
+
+    verify(blockchain, times(2)).getBlockBody(blockHash);
+  }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.TransactionReceiptRootResult;
+import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class JsonRpcResponseCacheTest {
+
+  private static final long CHAIN_HEAD = 100;
+  private static final long FINALITY_DEPTH = 10;
+
+  private final BlockDataGenerator blockDataGenerator = new BlockDataGenerator();
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final JsonRpcMethod method = mock(JsonRpcMethod.class);
+  private JsonRpcResponseCache cache;
+  private BlockAddedObserver blockAddedObserver;
+
+  @Before
+  public void setUp() {
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(CHAIN_HEAD);
+    when(method.response(any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonRpcRequestContext request = invocation.getArgument(0);
+              return new JsonRpcSuccessResponse(
+                  request.getRequest().getId(), List.of(request.getRequest().getParams()[0]));
+            });
+    cache = new JsonRpcResponseCache(blockchain, 10_000, FINALITY_DEPTH, new NoOpMetricsSystem());
+
+    final ArgumentCaptor<BlockAddedObserver> observer =
+        ArgumentCaptor.forClass(BlockAddedObserver.class);
+    verify(blockchain).observeBlockAdded(observer.capture());
+    blockAddedObserver = observer.getValue();
+  }
+
+  @Test
+  public void finalResultIsServedFromCache() {
+    final JsonRpcResponse first = cache.response(request(1, "trace_block", "0x5"), method);
+    final JsonRpcResponse second = cache.response(request(2, "trace_block", "0x5"), method);
+
+    verify(method, times(1)).response(any());
+    assertThat(Json.encode(first)).isEqualTo("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[\"0x5\"]}");
+    assertThat(Json.encode(second))
+        .isEqualTo("{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":[\"0x5\"]}");
+  }
+
+  @Test
+  public void equivalentParametersShareCacheEntry() {
+    cache.response(request(1, "trace_block", "0xA"), method);
+    cache.response(request(2, "trace_block", "0xa"), method);
+
+    verify(method, times(1)).response(any());
+  }
+
+  @Test
+  public void resultAboveFinalityDepthIsNotCached() {
+    final String notFinal = "0x" + Long.toHexString(CHAIN_HEAD - FINALITY_DEPTH + 1);
+    cache.response(request(1, "trace_block", notFinal), method);
+    cache.response(request(2, "trace_block", notFinal), method);
+
+    verify(method, times(2)).response(any());
+  }
+
+  @Test
+  public void resultForBlockTagIsNotCached() {
+    cache.response(request(1, "trace_block", "latest"), method);
+    cache.response(request(2, "trace_block", "latest"), method);
+
+    verify(method, times(2)).response(any());
+  }
+
+  @Test
+  public void uncacheableMethodIsAlwaysCalled() {
+    cache.response(request(1, "eth_getBalance", "0x5"), method);
+    cache.response(request(2, "eth_getBalance", "0x5"), method);
+
+    verify(method, times(2)).response(any());
+  }
+
+  @Test
+  public void errorResponseIsNotCached() {
+    doReturn(new JsonRpcErrorResponse(1, JsonRpcError.INTERNAL_ERROR)).when(method).response(any());
+    final JsonRpcResponse response = cache.response(request(1, "trace_block", "0x5"), method);
+    cache.response(request(2, "trace_block", "0x5"), method);
+
+    assertThat(response).isInstanceOf(JsonRpcErrorResponse.class);
+    verify(method, times(2)).response(any());
+  }
+
+  @Test
+  public void reorgBelowCachedBlockClearsCache() {
+    cache.response(request(1, "trace_block", "0x5"), method);
+    reorgTo(4);
+    cache.response(request(2, "trace_block", "0x5"), method);
+
+    verify(method, times(2)).response(any());
+  }
+
+  @Test
+  public void reorgAboveCachedBlocksKeepsCache() {
+    cache.response(request(1, "trace_block", "0x5"), method);
+    reorgTo(5);
+    cache.response(request(2, "trace_block", "0x5"), method);
+
+    verify(method, times(1)).response(any());
+  }
+
+  @Test
+  public void resultCreatedDuringReorgIsNotCached() {
+    final JsonRpcMethod reorgingMethod = mock(JsonRpcMethod.class);
+    when(reorgingMethod.response(any()))
+        .thenAnswer(
+            invocation -> {
+              reorgTo(4);
+              return method.response(invocation.getArgument(0));
+            })
+        .thenAnswer(invocation -> method.response(invocation.getArgument(0)));
+
+    cache.response(request(1, "trace_block", "0x5"), reorgingMethod);
+    cache.response(request(2, "trace_block", "0x5"), reorgingMethod);
+
+    verify(reorgingMethod, times(2)).response(any());
+  }
+
+  @Test
+  public void blockResultIsCachedByTheNumberOfTheBlock() {
+    final BlockHeader finalHeader = blockDataGenerator.header(5);
+    final BlockHeader recentHeader = blockDataGenerator.header(CHAIN_HEAD);
+    doReturn(success(blockResult(finalHeader))).when(method).response(any());
+    cache.response(request(1, "eth_getBlockByHash", finalHeader.getHash().toString()), method);
+    cache.response(request(2, "eth_getBlockByHash", finalHeader.getHash().toString()), method);
+
+    doReturn(success(blockResult(recentHeader))).when(method).response(any());
+    cache.response(request(3, "eth_getBlockByHash", recentHeader.getHash().toString()), method);
+    cache.response(request(4, "eth_getBlockByHash", recentHeader.getHash().toString()), method);
+
+    verify(method, times(3)).response(any());
+  }
+
+  @Test
+  public void receiptIsCachedByTheNumberOfItsBlock() {
+    final Transaction finalTransaction = blockDataGenerator.transaction();
+    final String finalHash = finalTransaction.getHash().toString();
+    doReturn(success(receiptResult(finalTransaction, 5))).when(method).response(any());
+    cache.response(request(1, "eth_getTransactionReceipt", finalHash), method);
+    cache.response(request(2, "eth_getTransactionReceipt", finalHash), method);
+
+    final Transaction recentTransaction = blockDataGenerator.transaction();
+    final String recentHash = recentTransaction.getHash().toString();
+    doReturn(success(receiptResult(recentTransaction, CHAIN_HEAD))).when(method).response(any());
+    cache.response(request(3, "eth_getTransactionReceipt", recentHash), method);
+    cache.response(request(4, "eth_getTransactionReceipt", recentHash), method);
+
+    verify(method, times(3)).response(any());
+  }
+
+  @Test
+  public void logsAreCachedByTheToBlockOfTheFilter() {
+    final Map<String, String> finalRange = Map.of("fromBlock", "0x1", "toBlock", "0x5");
+    cache.response(request(1, "eth_getLogs", finalRange), method);
+    cache.response(request(2, "eth_getLogs", finalRange), method);
+
+    final Map<String, String> latestRange = Map.of("fromBlock", "0x1", "toBlock", "latest");
+    cache.response(request(3, "eth_getLogs", latestRange), method);
+    cache.response(request(4, "eth_getLogs", latestRange), method);
+
+    verify(method, times(3)).response(any());
+  }
+
+  @Test
+  public void logsAreCachedByTheBlockHashOfTheFilter() {
+    final BlockHeader finalHeader = blockDataGenerator.header(5);
+    when(blockchain.getBlockHeader(finalHeader.getHash())).thenReturn(Optional.of(finalHeader));
+    final Map<String, String> finalBlock = Map.of("blockHash", finalHeader.getHash().toString());
+    cache.response(request(1, "eth_getLogs", finalBlock), method);
+    cache.response(request(2, "eth_getLogs", finalBlock), method);
+
+    final Map<String, String> unknownBlock =
+        Map.of("blockHash", blockDataGenerator.header(5).getHash().toString());
+    cache.response(request(3, "eth_getLogs", unknownBlock), method);
+    cache.response(request(4, "eth_getLogs", unknownBlock), method);
+
+    verify(method, times(3)).response(any());
+  }
+
+  @Test
+  public void resultsAreEvictedBeyondTheMaximumSize() {
+    // each entry weighs 25 to 27, so at most 4 of them fit
+    cache = new JsonRpcResponseCache(blockchain, 100, FINALITY_DEPTH, new NoOpMetricsSystem());
+    for (int round = 0; round < 2; round++) {
+      for (long block = 1; block <= 20; block++) {
+        cache.response(request(1, "trace_block", "0x" + Long.toHexString(block)), method);
+      }
+    }
+
+    verify(method, atLeast(36)).response(any());
+  }
+
+  @Test
+  public void finalityDepthMustBePositive() {
+    assertThatThrownBy(
+            () -> new JsonRpcResponseCache(blockchain, 10_000, 0, new NoOpMetricsSystem()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void reorgTo(final long commonAncestorNumber) {
+    final BlockHeader commonAncestor = blockDataGenerator.header(commonAncestorNumber);
+    when(blockchain.getBlockHeader(commonAncestor.getHash()))
+        .thenReturn(Optional.of(commonAncestor));
+    final Block newHead =
+        blockDataGenerator.block(BlockOptions.create().setBlockNumber(CHAIN_HEAD));
+    blockAddedObserver.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(
+            newHead,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            commonAncestor.getHash()));
+  }
+
+  private BlockResult blockResult(final BlockHeader header) {
+    return new BlockResult(
+        header, Collections.emptyList(), Collections.emptyList(), Difficulty.ONE, 0);
+  }
+
+  private TransactionReceiptRootResult receiptResult(
+      final Transaction transaction, final long blockNumber) {
+    return new TransactionReceiptRootResult(
+        TransactionReceiptWithMetadata.create(
+            blockDataGenerator.receipt(),
+            transaction,
+            transaction.getHash(),
+            0,
+            21_000,
+            blockDataGenerator.hash(),
+            blockNumber));
+  }
+
+  private JsonRpcSuccessResponse success(final Object result) {
+    return new JsonRpcSuccessResponse(1, result);
+  }
+
+  private JsonRpcRequestContext request(final int id, final String method, final Object param) {
+    final JsonRpcRequest request =
+        new JsonObject()
+            .put("jsonrpc", "2.0")
+            .put("id", id)
+            .put("method", method)
+            .put("params", List.of(param))
+            .mapTo(JsonRpcRequest.class);
+    return new JsonRpcRequestContext(request);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockProcessingProfileResult;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler.BlockRecorder;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler.Phase;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DebugGetBlockProcessingProfileTest {
+
+  private final BlockchainQueries blockchainQueries = mock(BlockchainQueries.class);
+  private final ProtocolSchedule protocolSchedule = mock(ProtocolSchedule.class);
+  private final BlockProcessingProfiler profiler =
+      new BlockProcessingProfiler(new NoOpMetricsSystem());
+  private final BlockHeader first = new BlockHeaderTestFixture().number(1).buildHeader();
+  private final BlockHeader second = new BlockHeaderTestFixture().number(2).buildHeader();
+
+  private final DebugGetBlockProcessingProfile method =
+      new DebugGetBlockProcessingProfile(blockchainQueries, protocolSchedule);
+
+  @Before
+  public void setUp() {
+    when(protocolSchedule.getBlockProcessingProfiler()).thenReturn(profiler);
+    for (final BlockHeader header : new BlockHeader[] {first, second}) {
+      final BlockRecorder recorder = profiler.startBlock(header);
+      recorder.startPhase(Phase.PERSIST);
+      recorder.endPhase();
+      recorder.endBlock(true);
+    }
+  }
+
+  @Test
+  public void nameShouldBeDebugGetBlockProcessingProfile() {
+    assertThat(method.getName()).isEqualTo("debug_getBlockProcessingProfile");
+  }
+
+  @Test
+  public void shouldReturnErrorWhenProfilingIsDisabled() {
+    when(protocolSchedule.getBlockProcessingProfiler())
+        .thenReturn(BlockProcessingProfiler.DISABLED);
+
+    final JsonRpcResponse response = method.response(request());
+
+    assertThat(((JsonRpcErrorResponse) response).getError())
+        .isEqualTo(JsonRpcError.BLOCK_PROCESSING_PROFILE_NOT_ENABLED);
+  }
+
+  @Test
+  public void shouldReturnLatestProfileWithoutParameter() {
+    assertThat(result(request()).getBlockHash()).isEqualTo(second.getHash().toHexString());
+    assertThat(result(request("latest")).getBlockHash()).isEqualTo(second.getHash().toHexString());
+  }
+
+  @Test
+  public void shouldReturnProfileByHash() {
+    final BlockProcessingProfileResult result = result(request(first.getHash().toHexString()));
+
+    assertThat(result.getBlockHash()).isEqualTo(first.getHash().toHexString());
+    assertThat(result.getBlockNumber()).isEqualTo("0x1");
+    assertThat(result.getPhasesMs()).containsOnlyKeys("persist");
+  }
+
+  @Test
+  public void shouldReturnProfileOfCanonicalBlockByNumber() {
+    when(blockchainQueries.getBlockHashByNumber(1)).thenReturn(Optional.of(first.getHash()));
+
+    assertThat(result(request("0x1")).getBlockHash()).isEqualTo(first.getHash().toHexString());
+  }
+
+  @Test
+  public void shouldReturnNullWhenBlockWasNotProfiled() {
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) method.response(request(Hash.ZERO.toHexString()));
+
+    assertThat(response.getResult()).isNull();
+  }
+
+  @Test
+  public void shouldRejectPendingBlock() {
+    final JsonRpcResponse response = method.response(request("pending"));
+
+    assertThat(((JsonRpcErrorResponse) response).getError()).isEqualTo(JsonRpcError.INVALID_PARAMS);
+  }
+
+  private BlockProcessingProfileResult result(final JsonRpcRequestContext request) {
+    return (BlockProcessingProfileResult)
+        ((JsonRpcSuccessResponse) method.response(request)).getResult();
+  }
+
+  private JsonRpcRequestContext request(final Object... params) {
+    return new JsonRpcRequestContext(
+        new JsonRpcRequest("2.0", "debug_getBlockProcessingProfile", params));
+  }
+}
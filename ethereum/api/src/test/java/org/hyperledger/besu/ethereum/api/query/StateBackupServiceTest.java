@@ -17,13 +17,41 @@
 package org.hyperledger.besu.ethereum.api.query;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.config.JsonUtil;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
+import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.trie.TrieNodeDecoder;
+import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class StateBackupServiceTest {
 
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
   private final Path backupDir = Path.of("/tmp/backup");
 
   @Test
@@ -42,6 +70,111 @@ public class StateBackupServiceTest {
         .isEqualTo("/tmp/backup/besu-account-backup-06000000-0046.cdat");
   }
 
+  @Test
+  public void accountShardFileName() {
+    assertThat(
+            StateBackupService.accountShardFileName(backupDir, 4_000_000, 7, 42, false).toString())
+        .isEqualTo("/tmp/backup/besu-account-backup-04000000-s07-0042.rdat");
+    assertThat(
+            StateBackupService.dataFileToIndex(
+                    StateBackupService.accountShardFileName(backupDir, 6_000_000, 15, 46, true))
+                .toString())
+        .isEqualTo("/tmp/backup/besu-account-backup-06000000-s15.cidx");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void backupSplitsAccountsIntoShardsOfTheRootBranch() throws Exception {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final DefaultWorldStateArchive worldStateArchive =
+        InMemoryStorageProvider.createInMemoryWorldStateArchive();
+    final MutableWorldState worldState = worldStateArchive.getMutable();
+    gen.createRandomAccounts(worldState, 200);
+    final WorldStateStorage worldStateStorage = worldStateArchive.getWorldStateStorage();
+
+    final Block block =
+        gen.block(BlockOptions.create().setBlockNumber(0).setStateRoot(worldState.rootHash()));
+    final Blockchain blockchain = mock(Blockchain.class);
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(0L);
+    when(blockchain.getBlockHeader(0)).thenReturn(Optional.of(block.getHeader()));
+    when(blockchain.getBlockByNumber(0)).thenReturn(Optional.of(block));
+    when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(List.of()));
+    final EthScheduler scheduler = mock(EthScheduler.class);
+    when(scheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(
+                    ((Supplier<Object>) invocation.getArgument(0)).get()));
+
+    final Path dir = folder.newFolder().toPath();
+    final StateBackupService backupService =
+        new StateBackupService("test", blockchain, dir, scheduler, worldStateStorage, 4);
+    final StateBackupService.BackupStatus status =
+        backupService.requestBackup(0, true, Optional.empty());
+
+    assertThat(status.isBackingUp()).isFalse();
+    assertThat(status.isFailed()).isFalse();
+    assertThat(status.getAccountCount()).isEqualTo(200);
+    assertThat(status.getCompletedShards()).isEqualTo(16);
+
+    final ObjectNode manifest =
+        JsonUtil.objectNodeFromString(
+            Files.readString(dir.resolve(StateBackupService.MANIFEST_FILE_NAME)));
+    final List<org.hyperledger.besu.ethereum.trie.Node<Bytes>> rootChildren =
+        TrieNodeDecoder.decode(
+                Bytes.EMPTY,
+                worldStateStorage
+                    .getAccountStateTrieNode(Bytes.EMPTY, worldState.rootHash())
+                    .orElseThrow())
+            .getChildren();
+    long accountCount = 0;
+    for (final JsonNode shard : manifest.get("shards")) {
+      final int index = shard.get("index").asInt();
+      assertThat(shard.get("rootHash").asText())
+          .isEqualTo(rootChildren.get(index).getHash().toHexString());
+      assertThat(StateBackupService.accountShardFileName(dir, 0, index, 0, true)).exists();
+      accountCount += shard.get("accountCount").asLong();
+    }
+    assertThat(manifest.get("shards")).hasSize(16);
+    assertThat(accountCount).isEqualTo(200);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void failedBackupIsReportedInTheStatus() throws Exception {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final DefaultWorldStateArchive worldStateArchive =
+        InMemoryStorageProvider.createInMemoryWorldStateArchive();
+    final MutableWorldState worldState = worldStateArchive.getMutable();
+    gen.createRandomAccounts(worldState, 20);
+
+    final Block block =
+        gen.block(BlockOptions.create().setBlockNumber(0).setStateRoot(worldState.rootHash()));
+    final Blockchain blockchain = mock(Blockchain.class);
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(0L);
+    when(blockchain.getBlockHeader(0)).thenReturn(Optional.of(block.getHeader()));
+    when(blockchain.getBlockByNumber(0)).thenReturn(Optional.of(block));
+    when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(List.of()));
+    final EthScheduler scheduler = mock(EthScheduler.class);
+    when(scheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.supplyAsync(
+                    (Supplier<Object>) invocation.getArgument(0), Runnable::run));
+
+    // the backup files can't be written as the backup directory is a file
+    final Path dir = folder.newFile().toPath();
+    final StateBackupService backupService =
+        new StateBackupService(
+            "test", blockchain, dir, scheduler, worldStateArchive.getWorldStateStorage(), 4);
+    final StateBackupService.BackupStatus status =
+        backupService.requestBackup(0, true, Optional.empty());
+
+    assertThat(status.isBackingUp()).isFalse();
+    assertThat(status.isFailed()).isTrue();
+    assertThat(status.getFailure()).containsInstanceOf(UncheckedIOException.class);
+  }
+
   @Test
   public void headerFileName() {
     assertThat(StateBackupService.headerFileName(backupDir, 42, false).toString())
@@ -79,6 +79,9 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
 
+  // Only accessed from the thread creating the block
+  private Optional<BlockCandidate> candidate = Optional.empty();
+
   protected AbstractBlockCreator(
       final Address coinbase,
       final ExtraDataCalculator extraDataCalculator,
@@ -132,16 +135,37 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     return createBlock(Optional.of(transactions), Optional.of(ommers), timestamp);
   }
 
+  /**
+   * Executes the currently pending transactions against a candidate for the block with the given
+   * timestamp, without creating the block.
+   *
+   * <p>The candidate is kept and extended by later calls with the same timestamp, and is completed
+   * by {@link #createBlock(long)}. Only transactions which arrived after the last call then need to
+   * be executed when the block is created.
+   *
+   * @param timestamp the timestamp of the block which will be created
+   * @return the number of transactions included in the candidate so far
+   */
+  public int buildAhead(final long timestamp) {
+    try {
+      return candidateFor(timestamp).selectPendingTransactions().getTransactions().size();
+    } catch (final CancellationException ex) {
+      LOG.trace("Attempt to build block ahead was interrupted.");
+      throw ex;
+    }
+  }
+
   private Block createBlock(
       final Optional<List<Transaction>> maybeTransactions,
       final Optional<List<BlockHeader>> maybeOmmers,
       final long timestamp) {
     try {
-      final ProcessableBlockHeader processableBlockHeader = createPendingBlockHeader(timestamp);
-
-      throwIfStopped();
-
-      final MutableWorldState disposableWorldState = duplicateWorldStateAtParent();
+      final BlockCandidate blockCandidate =
+          maybeTransactions.isPresent() ? createCandidate(timestamp) : candidateFor(timestamp);
+      // The block reward is applied to the candidate's world state, so it can't be extended again
+      candidate = Optional.empty();
+      final ProcessableBlockHeader processableBlockHeader = blockCandidate.header;
+      final MutableWorldState disposableWorldState = blockCandidate.worldState;
 
       throwIfStopped();
 
@@ -150,7 +174,12 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       throwIfStopped();
 
       final BlockTransactionSelector.TransactionSelectionResults transactionResults =
-          selectTransactions(processableBlockHeader, disposableWorldState, maybeTransactions);
+          maybeTransactions.isPresent()
+              ? blockCandidate.selector.evaluateTransactions(
+                  processableBlockHeader.getNumber(),
+                  processableBlockHeader.getGasLimit(),
+                  maybeTransactions.get())
+              : blockCandidate.selectPendingTransactions();
 
       throwIfStopped();
 
@@ -198,41 +227,51 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     }
   }
 
-  private BlockTransactionSelector.TransactionSelectionResults selectTransactions(
+  private BlockCandidate candidateFor(final long timestamp) {
+    if (candidate.isEmpty() || candidate.get().timestamp != timestamp) {
+      candidate = Optional.of(createCandidate(timestamp));
+    }
+    return candidate.get();
+  }
+
+  private BlockCandidate createCandidate(final long timestamp) {
+    final ProcessableBlockHeader processableBlockHeader = createPendingBlockHeader(timestamp);
+
+    throwIfStopped();
+
+    final MutableWorldState disposableWorldState = duplicateWorldStateAtParent();
+
+    throwIfStopped();
+
+    return new BlockCandidate(
+        timestamp,
+        processableBlockHeader,
+        disposableWorldState,
+        createTransactionSelector(processableBlockHeader, disposableWorldState));
+  }
+
+  private BlockTransactionSelector createTransactionSelector(
       final ProcessableBlockHeader processableBlockHeader,
-      final MutableWorldState disposableWorldState,
-      final Optional<List<Transaction>> transactions)
-      throws RuntimeException {
+      final MutableWorldState disposableWorldState) {
     final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
 
     final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory =
         protocolSpec.getTransactionReceiptFactory();
 
-    final BlockTransactionSelector selector =
-        new BlockTransactionSelector(
-            transactionProcessor,
-            protocolContext.getBlockchain(),
-            disposableWorldState,
-            pendingTransactions,
-            processableBlockHeader,
-            transactionReceiptFactory,
-            minTransactionGasPrice,
-            minBlockOccupancyRatio,
-            isCancelled::get,
-            miningBeneficiary,
-            protocolSpec.getTransactionPriceCalculator(),
-            protocolSpec.getGasBudgetCalculator(),
-            protocolSpec.getEip1559());
-
-    if (transactions.isPresent()) {
-      return selector.evaluateTransactions(
-          processableBlockHeader.getNumber(),
-          processableBlockHeader.getGasLimit(),
-          transactions.get());
-    } else {
-      return selector.buildTransactionListForBlock(
-          processableBlockHeader.getNumber(), processableBlockHeader.getGasLimit());
-    }
+    return new BlockTransactionSelector(
+        transactionProcessor,
+        protocolContext.getBlockchain(),
+        disposableWorldState,
+        pendingTransactions,
+        processableBlockHeader,
+        transactionReceiptFactory,
+        minTransactionGasPrice,
+        minBlockOccupancyRatio,
+        isCancelled::get,
+        miningBeneficiary,
+        protocolSpec.getTransactionPriceCalculator(),
+        protocolSpec.getGasBudgetCalculator(),
+        protocolSpec.getEip1559());
   }
 
   private MutableWorldState duplicateWorldStateAtParent() {
@@ -353,4 +392,27 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
   protected abstract BlockHeader createFinalBlockHeader(
       final SealableBlockHeader sealableBlockHeader);
+
+  /** A block under construction whose transactions have been executed against its world state. */
+  private static class BlockCandidate {
+    private final long timestamp;
+    private final ProcessableBlockHeader header;
+    private final MutableWorldState worldState;
+    private final BlockTransactionSelector selector;
+
+    private BlockCandidate(
+        final long timestamp,
+        final ProcessableBlockHeader header,
+        final MutableWorldState worldState,
+        final BlockTransactionSelector selector) {
+      this.timestamp = timestamp;
+      this.header = header;
+      this.worldState = worldState;
+      this.selector = selector;
+    }
+
+    private BlockTransactionSelector.TransactionSelectionResults selectPendingTransactions() {
+      return selector.buildTransactionListForBlock(header.getNumber(), header.getGasLimit());
+    }
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Stopwatch;
+
+/**
+ * Builds a block candidate while a miner waits for its slot, so that only transactions which arrive
+ * in the last moments before the slot need to be executed once the block is due.
+ *
+ * <p>The candidate is extended with newly pending transactions at a fixed interval. A new chain
+ * head cancels the miner for the old parent, and the miner for the new parent starts a fresh
+ * candidate.
+ */
+public class BlockBuildAhead {
+
+  public static final long DEFAULT_INTERVAL_MILLIS = 100;
+
+  private final long intervalMillis;
+  private final AtomicLong lastBuildAheadDepth = new AtomicLong();
+  private final Counter builtAheadTransactionsCounter;
+  private final Counter completionTransactionsCounter;
+  private final OperationTimer completionTimer;
+
+  public BlockBuildAhead(final MetricsSystem metricsSystem) {
+    this(metricsSystem, DEFAULT_INTERVAL_MILLIS);
+  }
+
+  public BlockBuildAhead(final MetricsSystem metricsSystem, final long intervalMillis) {
+    this.intervalMillis = intervalMillis;
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "block_build_ahead_depth",
+        "Number of transactions executed ahead of the slot for the last created block",
+        lastBuildAheadDepth::get);
+    builtAheadTransactionsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_build_ahead_transactions_total",
+            "Total number of block transactions executed ahead of the block's slot");
+    completionTransactionsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_build_ahead_completion_transactions_total",
+            "Total number of block transactions executed when the block's slot was reached");
+    completionTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_build_ahead_completion_duration_seconds",
+            "Time taken to complete a block built ahead once its slot was reached");
+  }
+
+  /**
+   * Extends the block candidate with pending transactions until the slot is reached.
+   *
+   * @param blockCreator the creator of the block
+   * @param timestamp the timestamp of the block
+   * @param millisecondsUntilSlot the time remaining until the block can be created
+   * @return the number of transactions in the candidate when the slot was reached
+   * @throws InterruptedException if interrupted while waiting for the slot
+   */
+  int buildUntilSlot(
+      final AbstractBlockCreator blockCreator,
+      final long timestamp,
+      final long millisecondsUntilSlot)
+      throws InterruptedException {
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    int transactions = 0;
+    long remainingMillis = millisecondsUntilSlot;
+    while (remainingMillis > 0) {
+      transactions = blockCreator.buildAhead(timestamp);
+      remainingMillis = millisecondsUntilSlot - stopwatch.elapsed(TimeUnit.MILLISECONDS);
+      if (remainingMillis > 0) {
+        Thread.sleep(Math.min(remainingMillis, intervalMillis));
+        remainingMillis = millisecondsUntilSlot - stopwatch.elapsed(TimeUnit.MILLISECONDS);
+      }
+    }
+    return transactions;
+  }
+
+  Block completeBlock(
+      final AbstractBlockCreator blockCreator,
+      final long timestamp,
+      final int builtAheadTransactions) {
+    final Block block;
+    try (final OperationTimer.TimingContext ignored = completionTimer.startTimer()) {
+      block = blockCreator.createBlock(timestamp);
+    }
+    final int transactions = block.getBody().getTransactions().size();
+    lastBuildAheadDepth.set(builtAheadTransactions);
+    builtAheadTransactionsCounter.inc(builtAheadTransactions);
+    completionTransactionsCounter.inc(Math.max(0, transactions - builtAheadTransactions));
+    return block;
+  }
+}
@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -56,6 +57,7 @@ public class BlockMiner<M extends AbstractBlockCreator> implements Runnable {
   private final ProtocolSchedule protocolSchedule;
   private final Subscribers<MinedBlockObserver> observers;
   private final AbstractBlockScheduler scheduler;
+  private final Optional<BlockBuildAhead> buildAhead;
 
   public BlockMiner(
       final Function<BlockHeader, M> blockCreatorFactory,
@@ -64,6 +66,24 @@ public class BlockMiner<M extends AbstractBlockCreator> implements Runnable {
       final Subscribers<MinedBlockObserver> observers,
       final AbstractBlockScheduler scheduler,
       final BlockHeader parentHeader) {
+    this(
+        blockCreatorFactory,
+        protocolSchedule,
+        protocolContext,
+        observers,
+        scheduler,
+        parentHeader,
+        Optional.empty());
+  }
+
+  public BlockMiner(
+      final Function<BlockHeader, M> blockCreatorFactory,
+      final ProtocolSchedule protocolSchedule,
+      final ProtocolContext protocolContext,
+      final Subscribers<MinedBlockObserver> observers,
+      final AbstractBlockScheduler scheduler,
+      final BlockHeader parentHeader,
+      final Optional<BlockBuildAhead> buildAhead) {
     this.blockCreatorFactory = blockCreatorFactory;
     this.minerBlockCreator = blockCreatorFactory.apply(parentHeader);
     this.protocolContext = protocolContext;
@@ -71,6 +91,7 @@ public class BlockMiner<M extends AbstractBlockCreator> implements Runnable {
     this.observers = observers;
     this.scheduler = scheduler;
     this.parentHeader = parentHeader;
+    this.buildAhead = buildAhead;
   }
 
   @Override
@@ -116,11 +137,29 @@ public class BlockMiner<M extends AbstractBlockCreator> implements Runnable {
     // ahead of the parent, and still within allowable clock tolerance.
     LOG.trace("Started a mining operation.");
 
-    final long newBlockTimestamp = scheduler.waitUntilNextBlockCanBeMined(parentHeader);
+    final long newBlockTimestamp;
+    int builtAheadTransactions = 0;
+    if (buildAhead.isPresent()) {
+      final AbstractBlockScheduler.BlockCreationTimeResult nextBlockTime =
+          scheduler.getNextTimestamp(parentHeader);
+      newBlockTimestamp = nextBlockTime.getTimestampForHeader();
+      builtAheadTransactions =
+          buildAhead
+              .get()
+              .buildUntilSlot(
+                  minerBlockCreator, newBlockTimestamp, nextBlockTime.getMillisecondsUntilValid());
+    } else {
+      newBlockTimestamp = scheduler.waitUntilNextBlockCanBeMined(parentHeader);
+    }
 
     final Stopwatch stopwatch = Stopwatch.createStarted();
     LOG.trace("Mining a new block with timestamp {}", newBlockTimestamp);
-    final Block block = minerBlockCreator.createBlock(newBlockTimestamp);
+    final Block block =
+        buildAhead.isPresent()
+            ? buildAhead
+                .get()
+                .completeBlock(minerBlockCreator, newBlockTimestamp, builtAheadTransactions)
+            : minerBlockCreator.createBlock(newBlockTimestamp);
     LOG.trace(
         "Block created, importing to local chain, block includes {} transactions",
         block.getBody().getTransactions().size());
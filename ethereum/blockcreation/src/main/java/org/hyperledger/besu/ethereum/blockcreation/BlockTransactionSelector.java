@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.blockcreation;
 import org.hyperledger.besu.config.experimental.ExperimentalEIPs;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -36,8 +37,10 @@ import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.plugin.data.TransactionType;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.function.Supplier;
 
@@ -61,7 +64,9 @@ import com.google.common.collect.Lists;
  * </ul>
  *
  * Once "used" this class must be discarded and another created. This class contains state which is
- * not cleared between executions of buildTransactionListForBlock().
+ * not cleared between executions of buildTransactionListForBlock(). Calling it again continues the
+ * same block: transactions which were already selected are skipped, so only transactions that
+ * arrived since the previous call are executed.
  */
 public class BlockTransactionSelector {
 
@@ -122,6 +127,7 @@ public class BlockTransactionSelector {
 
   private final TransactionSelectionResults transactionSelectionResult =
       new TransactionSelectionResults();
+  private final Set<Hash> selectedTransactionHashes = new HashSet<>();
 
   public BlockTransactionSelector(
       final MainnetTransactionProcessor transactionProcessor,
@@ -194,6 +200,10 @@ public class BlockTransactionSelector {
       throw new CancellationException("Cancelled during transaction selection.");
     }
 
+    if (selectedTransactionHashes.contains(transaction.getHash())) {
+      return TransactionSelectionResult.CONTINUE;
+    }
+
     if (transactionTooLargeForBlock(blockNumber, gasLimit, transaction)) {
       if (blockOccupancyAboveThreshold()) {
         return TransactionSelectionResult.COMPLETE_OPERATION;
@@ -257,6 +267,7 @@ public class BlockTransactionSelector {
           transactionSelectionResult.getFrontierCumulativeGasUsed() + gasUsedByTransaction;
     }
 
+    selectedTransactionHashes.add(transaction.getHash());
     transactionSelectionResult.update(
         transaction,
         transactionReceiptFactory.create(
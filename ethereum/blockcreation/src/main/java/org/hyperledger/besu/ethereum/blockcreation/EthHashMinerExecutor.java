@@ -25,6 +25,8 @@ import org.hyperledger.besu.ethereum.mainnet.EpochCalculator;
 import org.hyperledger.besu.ethereum.mainnet.EthHashSolver;
 import org.hyperledger.besu.ethereum.mainnet.EthHasher;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.util.Optional;
@@ -36,6 +38,9 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<EthHashBlockMine
   protected boolean stratumMiningEnabled;
   protected final Iterable<Long> nonceGenerator;
   protected final EpochCalculator epochCalculator;
+  protected final EthHasher ethHasher;
+  protected final int solverThreads;
+  protected final MetricsSystem metricsSystem;
 
   public EthHashMinerExecutor(
       final ProtocolContext protocolContext,
@@ -45,6 +50,28 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<EthHashBlockMine
       final AbstractBlockScheduler blockScheduler,
       final GasLimitCalculator gasLimitCalculator,
       final EpochCalculator epochCalculator) {
+    this(
+        protocolContext,
+        protocolSchedule,
+        pendingTransactions,
+        miningParams,
+        blockScheduler,
+        gasLimitCalculator,
+        epochCalculator,
+        new EthHasher.Light(),
+        new NoOpMetricsSystem());
+  }
+
+  public EthHashMinerExecutor(
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final PendingTransactions pendingTransactions,
+      final MiningParameters miningParams,
+      final AbstractBlockScheduler blockScheduler,
+      final GasLimitCalculator gasLimitCalculator,
+      final EpochCalculator epochCalculator,
+      final EthHasher ethHasher,
+      final MetricsSystem metricsSystem) {
     super(
         protocolContext,
         protocolSchedule,
@@ -55,6 +82,9 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<EthHashBlockMine
     this.coinbase = miningParams.getCoinbase();
     this.nonceGenerator = miningParams.getNonceGenerator().orElse(new RandomNonceGenerator());
     this.epochCalculator = epochCalculator;
+    this.ethHasher = ethHasher;
+    this.solverThreads = miningParams.getSolverThreads();
+    this.metricsSystem = metricsSystem;
   }
 
   @Override
@@ -76,10 +106,12 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<EthHashBlockMine
     final EthHashSolver solver =
         new EthHashSolver(
             nonceGenerator,
-            new EthHasher.Light(),
+            ethHasher,
             stratumMiningEnabled,
             ethHashObservers,
-            epochCalculator);
+            epochCalculator,
+            solverThreads,
+            metricsSystem);
     final Function<BlockHeader, EthHashBlockCreator> blockCreator =
         (header) ->
             new EthHashBlockCreator(
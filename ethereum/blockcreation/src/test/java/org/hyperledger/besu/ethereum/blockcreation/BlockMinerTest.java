@@ -16,7 +16,9 @@ package org.hyperledger.besu.ethereum.blockcreation;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,6 +34,7 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.MutableProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.math.BigInteger;
@@ -123,6 +126,49 @@ public class BlockMinerTest {
     verify(observer, times(1)).blockMined(blockToCreate);
   }
 
+  @Test
+  public void blockIsBuiltAheadUntilTheSlotIsReached() throws InterruptedException {
+    final BlockHeaderTestFixture headerBuilder = new BlockHeaderTestFixture();
+
+    final Block blockToCreate =
+        new Block(
+            headerBuilder.buildHeader(), new BlockBody(Lists.newArrayList(), Lists.newArrayList()));
+
+    final ProtocolContext protocolContext = new ProtocolContext(null, null, null);
+
+    final EthHashBlockCreator blockCreator = mock(EthHashBlockCreator.class);
+    final Function<BlockHeader, EthHashBlockCreator> blockCreatorSupplier =
+        (parentHeader) -> blockCreator;
+    when(blockCreator.createBlock(anyLong())).thenReturn(blockToCreate);
+
+    final BlockImporter blockImporter = mock(BlockImporter.class);
+    final ProtocolSpec protocolSpec = mock(ProtocolSpec.class);
+    final ProtocolSchedule protocolSchedule = singleSpecSchedule(protocolSpec);
+
+    when(protocolSpec.getBlockImporter()).thenReturn(blockImporter);
+    when(blockImporter.importBlock(any(), any(), any())).thenReturn(true);
+
+    final MinedBlockObserver observer = mock(MinedBlockObserver.class);
+    final DefaultBlockScheduler scheduler = mock(DefaultBlockScheduler.class);
+    when(scheduler.getNextTimestamp(any()))
+        .thenReturn(new AbstractBlockScheduler.BlockCreationTimeResult(5L, 50L));
+    final BlockMiner<EthHashBlockCreator> miner =
+        new BlockMiner<>(
+            blockCreatorSupplier,
+            protocolSchedule,
+            protocolContext,
+            subscribersContaining(observer),
+            scheduler,
+            headerBuilder.buildHeader(),
+            Optional.of(new BlockBuildAhead(new NoOpMetricsSystem(), 10L)));
+
+    miner.run();
+    verify(blockCreator, atLeastOnce()).buildAhead(5L);
+    verify(blockCreator).createBlock(5L);
+    verify(scheduler, never()).waitUntilNextBlockCanBeMined(any());
+    verify(observer, times(1)).blockMined(blockToCreate);
+  }
+
   private static Subscribers<MinedBlockObserver> subscribersContaining(
       final MinedBlockObserver... observers) {
     final Subscribers<MinedBlockObserver> result = Subscribers.create();
@@ -19,6 +19,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.config.GenesisConfigFile;
@@ -551,6 +553,52 @@ public class BlockTransactionSelectorTest {
     assertThat(results.getTransactions().size()).isEqualTo(0);
   }
 
+  @Test
+  public void repeatedSelectionOnlyProcessesNewTransactions() {
+    final ProcessableBlockHeader blockHeader = createBlockWithGasLimit(5000);
+    final Transaction firstTransaction = createTransaction(0);
+    final Transaction secondTransaction = createTransaction(1);
+
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), anyBoolean(), any()))
+        .thenReturn(
+            TransactionProcessingResult.successful(
+                new ArrayList<>(), 0, 0, Bytes.EMPTY, ValidationResult.valid()));
+
+    final Address miningBeneficiary = AddressHelpers.ofValue(1);
+    final BlockTransactionSelector selector =
+        new BlockTransactionSelector(
+            transactionProcessor,
+            blockchain,
+            worldState,
+            pendingTransactions,
+            blockHeader,
+            this::createReceipt,
+            Wei.ZERO,
+            0.8,
+            this::isCancelled,
+            miningBeneficiary,
+            TransactionPriceCalculator.frontier(),
+            TransactionGasBudgetCalculator.frontier(),
+            Optional.empty());
+
+    pendingTransactions.addRemoteTransaction(firstTransaction);
+    selector.buildTransactionListForBlock(blockHeader.getNumber(), blockHeader.getGasLimit());
+
+    pendingTransactions.addRemoteTransaction(secondTransaction);
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        selector.buildTransactionListForBlock(blockHeader.getNumber(), blockHeader.getGasLimit());
+
+    assertThat(results.getTransactions()).containsExactly(firstTransaction, secondTransaction);
+    assertThat(results.getReceipts()).hasSize(2);
+    verify(transactionProcessor, times(1))
+        .processTransaction(
+            any(), any(), any(), eq(firstTransaction), any(), any(), anyBoolean(), any());
+    verify(transactionProcessor, times(1))
+        .processTransaction(
+            any(), any(), any(), eq(secondTransaction), any(), any(), anyBoolean(), any());
+  }
+
   private Transaction createTransaction(final int transactionNumber) {
     return Transaction.builder()
         .gasLimit(100)
@@ -108,6 +108,7 @@ public class PrunerIntegrationTest {
             markSweepPruner,
             blockchain,
             new PrunerConfiguration(blockConfirmations, numBlocksToKeep),
+            metricsSystem,
             new MockExecutorService());
 
     pruner.start();
@@ -0,0 +1,73 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures decoding the RLP of the hot data types and writing it back out, as done when a block is
+ * received, hashed and stored.
+ */
+@State(Scope.Benchmark)
+public class EncodedDataTypesBenchmark {
+
+  private Bytes encodedHeader;
+  private Bytes encodedTransaction;
+  private Bytes encodedReceipt;
+
+  @Setup
+  public void prepare() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    encodedHeader = RLP.encode(gen.header()::writeTo);
+    encodedTransaction = RLP.encode(gen.transaction()::writeTo);
+    encodedReceipt = RLP.encode(gen.receipt(gen.logs(4, 3))::writeTo);
+  }
+
+  @Benchmark
+  public Hash decodeAndHashHeader() {
+    return BlockHeader.readFrom(RLP.input(encodedHeader), new MainnetBlockHeaderFunctions())
+        .getHash();
+  }
+
+  @Benchmark
+  public Bytes decodeAndEncodeHeader() {
+    return RLP.encode(
+        BlockHeader.readFrom(RLP.input(encodedHeader), new MainnetBlockHeaderFunctions())::writeTo);
+  }
+
+  @Benchmark
+  public Hash decodeAndHashTransaction() {
+    return Transaction.readFrom(RLP.input(encodedTransaction)).getHash();
+  }
+
+  @Benchmark
+  public Bytes decodeAndEncodeReceipt() {
+    return RLP.encode(TransactionReceipt.readFrom(RLP.input(encodedReceipt))::writeTo);
+  }
+
+  @Benchmark
+  public List<Log> decodeReceiptLogs() {
+    return TransactionReceipt.readFrom(RLP.input(encodedReceipt)).getLogs();
+  }
+}
@@ -118,6 +118,7 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
     final KeyValueStorageTransaction storageTx = storageStorage.startTransaction();
     final KeyValueStorageTransaction trieBranchTx = trieBranchStorage.startTransaction();
     final KeyValueStorageTransaction trieLogTx = trieLogStorage.startTransaction();
+    int trieLogBytes = -1;
 
     try {
       // first clear storage
@@ -266,7 +267,9 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
                   this, blockHeader.getNumber(), worldStateRootHash, trieLog));
           final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
           trieLog.writeTo(rlpLog);
-          trieLogTx.put(worldStateBlockHash.toArrayUnsafe(), rlpLog.encoded().toArrayUnsafe());
+          final byte[] trieLogValue = rlpLog.encoded().toArrayUnsafe();
+          trieLogTx.put(worldStateBlockHash.toArrayUnsafe(), trieLogValue);
+          trieLogBytes = trieLogValue.length;
         }
       } else {
         trieBranchTx.remove(WORLD_BLOCK_HASH_KEY);
@@ -294,6 +297,9 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
     }
     if (blockHeader != null) {
       archive.scrubLayeredCache(blockHeader.getNumber());
+      if (trieLogBytes >= 0) {
+        archive.onTrieLogPersisted(blockHeader, trieLogBytes);
+      }
     }
   }
 
@@ -25,7 +25,13 @@ import org.hyperledger.besu.ethereum.core.WorldState;
 import org.hyperledger.besu.ethereum.proof.WorldStateProof;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 
 import java.util.ArrayList;
@@ -51,11 +57,53 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
   private final BonsaiPersistedWorldState persistedState;
   private final Map<Bytes32, BonsaiLayeredWorldState> layeredWorldStates;
   private final KeyValueStorage trieLogStorage;
+  private final Optional<TrieLogRangeArchive> trieLogRangeArchive;
+  private final Optional<TrieLogPruner> trieLogPruner;
+
+  private final Counter trieLogBytesWrittenCounter;
+  private final Counter trieLogLayersReplayedCounter;
+  private final OperationTimer trieLogReplayTimer;
 
   public BonsaiWorldStateArchive(final StorageProvider provider, final Blockchain blockchain) {
+    this(provider, blockchain, DataStorageConfiguration.DEFAULT_CONFIG, new NoOpMetricsSystem());
+  }
+
+  public BonsaiWorldStateArchive(
+      final StorageProvider provider,
+      final Blockchain blockchain,
+      final DataStorageConfiguration dataStorageConfiguration,
+      final MetricsSystem metricsSystem) {
     this.blockchain = blockchain;
     trieLogStorage =
         provider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.TRIE_LOG_STORAGE);
+    final long archiveRangeSize = dataStorageConfiguration.getBonsaiTrieLogArchiveRangeSize();
+    trieLogRangeArchive =
+        archiveRangeSize > 0
+            ? Optional.of(new TrieLogRangeArchive(trieLogStorage, archiveRangeSize))
+            : Optional.empty();
+    final long retainedLayers = dataStorageConfiguration.getBonsaiTrieLogRetainedLayers();
+    trieLogPruner =
+        retainedLayers > 0
+            ? Optional.of(
+                new TrieLogPruner(
+                    trieLogStorage, blockchain, retainedLayers, trieLogRangeArchive, metricsSystem))
+            : Optional.empty();
+
+    trieLogBytesWrittenCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "bonsai_trie_log_bytes_written_total",
+            "Total number of bytes of Bonsai trie logs written to storage");
+    trieLogLayersReplayedCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "bonsai_trie_log_layers_replayed_total",
+            "Total number of Bonsai trie log layers rolled back or forward to reach a world state");
+    trieLogReplayTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.BLOCKCHAIN,
+            "bonsai_trie_log_replay_duration_seconds",
+            "Time taken to roll the persisted Bonsai world state to a different block");
     persistedState =
         new BonsaiPersistedWorldState(
             this,
@@ -83,19 +131,34 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
     layeredWorldStates.put(worldState.blockHash(), worldState);
   }
 
-  private Optional<TrieLogLayer> getTrieLogLayer(final Hash blockHash) {
+  void onTrieLogPersisted(final BlockHeader blockHeader, final int trieLogBytes) {
+    trieLogBytesWrittenCounter.inc(trieLogBytes);
+    trieLogPruner.ifPresent(pruner -> pruner.onBlockPersisted(blockHeader.getNumber()));
+  }
+
+  private Optional<TrieLogLayer> getTrieLogLayer(final BlockHeader header) {
+    final Hash blockHash = header.getHash();
     if (layeredWorldStates.containsKey(blockHash)) {
       return Optional.of(layeredWorldStates.get(blockHash).getTrieLog());
-    } else {
-      return trieLogStorage.get(blockHash.toArrayUnsafe()).map(TrieLogLayer::fromBytes);
     }
+    final Optional<TrieLogLayer> storedLayer =
+        trieLogStorage.get(blockHash.toArrayUnsafe()).map(TrieLogLayer::fromBytes);
+    if (storedLayer.isPresent()) {
+      return storedLayer;
+    }
+    return trieLogRangeArchive.flatMap(archive -> archive.getTrieLogLayer(header));
   }
 
   @Override
   public boolean isWorldStateAvailable(final Hash rootHash, final Hash blockHash) {
     return layeredWorldStates.containsKey(blockHash)
         || persistedState.blockHash().equals(blockHash)
-        || trieLogStorage.containsKey(blockHash.toArrayUnsafe());
+        || trieLogStorage.containsKey(blockHash.toArrayUnsafe())
+        || trieLogRangeArchive.isPresent()
+            && blockchain
+                .getBlockHeader(blockHash)
+                .flatMap(header -> trieLogRangeArchive.get().getTrieLogLayer(header))
+                .isPresent();
   }
 
   @Override
@@ -103,7 +166,7 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
     if (blockHash.equals(persistedState.blockHash())) {
       return Optional.of(persistedState);
     } else {
-      try {
+      try (final OperationTimer.TimingContext ignored = trieLogReplayTimer.startTimer()) {
         BlockHeader persistedHeader = blockchain.getBlockHeader(persistedState.blockHash()).get();
         BlockHeader targetHeader = blockchain.getBlockHeader(blockHash).get();
 
@@ -113,13 +176,13 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
         // roll back from persisted to even with target
         while (persistedHeader.getNumber() > targetHeader.getNumber()) {
           LOG.debug("Rollback {}", persistedHeader.getHash());
-          rollBacks.add(getTrieLogLayer(persistedHeader.getHash()).get());
+          rollBacks.add(getTrieLogLayer(persistedHeader).get());
           persistedHeader = blockchain.getBlockHeader(persistedHeader.getParentHash()).get();
         }
         // roll forward to target
         while (persistedHeader.getNumber() < targetHeader.getNumber()) {
           LOG.debug("Rollforward {}", targetHeader.getHash());
-          rollForwards.add(getTrieLogLayer(targetHeader.getHash()).get());
+          rollForwards.add(getTrieLogLayer(targetHeader).get());
           targetHeader = blockchain.getBlockHeader(targetHeader.getParentHash()).get();
         }
 
@@ -127,16 +190,17 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
         while (!persistedHeader.getHash().equals(targetHeader.getHash())) {
           LOG.debug("Paired Rollback {}", persistedHeader.getHash());
           LOG.debug("Paired Rollforward {}", targetHeader.getHash());
-          rollForwards.add(getTrieLogLayer(targetHeader.getHash()).get());
+          rollForwards.add(getTrieLogLayer(targetHeader).get());
           targetHeader = blockchain.getBlockHeader(targetHeader.getParentHash()).get();
 
-          rollBacks.add(getTrieLogLayer(persistedHeader.getHash()).get());
+          rollBacks.add(getTrieLogLayer(persistedHeader).get());
           persistedHeader = blockchain.getBlockHeader(persistedHeader.getParentHash()).get();
         }
 
         // attempt the state rolling
         final BonsaiWorldStateUpdater bonsaiUpdater =
             (BonsaiWorldStateUpdater) persistedState.updater();
+        trieLogLayersReplayedCounter.inc(rollBacks.size() + rollForwards.size());
         try {
           for (final TrieLogLayer rollBack : rollBacks) {
             bonsaiUpdater.rollBack(rollBack);
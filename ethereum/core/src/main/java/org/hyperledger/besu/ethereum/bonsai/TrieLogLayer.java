@@ -90,6 +90,15 @@ public class TrieLogLayer {
             oldValue == null ? Bytes.EMPTY : oldValue, newValue == null ? Bytes.EMPTY : newValue));
   }
 
+  /**
+   * Adds a code change as is. Unlike {@link #addCodeChange(Address, Bytes, Bytes)}, missing code is
+   * kept as null, as it is when the layer is read from its RLP encoding.
+   */
+  void addCodeChange(final Address address, final BonsaiValue<Bytes> change) {
+    checkState(!frozen, "Layer is Frozen");
+    code.put(address, change);
+  }
+
   void addStorageChange(
       final Address address, final Hash slotHash, final UInt256 oldValue, final UInt256 newValue) {
     checkState(!frozen, "Layer is Frozen");
@@ -0,0 +1,224 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Removes canonical trie logs once they fall more than the retained number of layers behind the
+ * persisted state. If a range archive is configured, each complete range of pruned layers is
+ * written to the archive in the same transaction that removes the individual layers, so historic
+ * state remains reachable through replay.
+ *
+ * <p>Only trie logs of canonical blocks are pruned. Trie logs of abandoned forks are left in place.
+ */
+class TrieLogPruner {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final long PRUNE_BATCH_SIZE = 1000;
+  private static final byte[] LAST_PRUNED_BLOCK_KEY =
+      "trieLogLastPrunedBlock".getBytes(StandardCharsets.UTF_8);
+
+  private final KeyValueStorage trieLogStorage;
+  private final Blockchain blockchain;
+  private final long retainedLayers;
+  private final Optional<TrieLogRangeArchive> rangeArchive;
+  private final Executor executor;
+
+  private final Counter prunedLayersCounter;
+  private final Counter archivedLayersCounter;
+  private final Counter archivedBytesCounter;
+
+  // only accessed from the executor
+  private Optional<Long> lastPrunedBlock = Optional.empty();
+
+  @VisibleForTesting
+  TrieLogPruner(
+      final KeyValueStorage trieLogStorage,
+      final Blockchain blockchain,
+      final long retainedLayers,
+      final Optional<TrieLogRangeArchive> rangeArchive,
+      final MetricsSystem metricsSystem,
+      final Executor executor) {
+    checkArgument(
+        retainedLayers >= BonsaiWorldStateArchive.RETAINED_LAYERS,
+        "Retained trie log layers must be at least %s",
+        BonsaiWorldStateArchive.RETAINED_LAYERS);
+    this.trieLogStorage = trieLogStorage;
+    this.blockchain = blockchain;
+    this.retainedLayers = retainedLayers;
+    this.rangeArchive = rangeArchive;
+    this.executor = executor;
+
+    prunedLayersCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "bonsai_trie_log_layers_pruned_total",
+            "Total number of Bonsai trie log layers removed from the trie log storage");
+    archivedLayersCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "bonsai_trie_log_layers_archived_total",
+            "Total number of Bonsai trie log layers written to range archives");
+    archivedBytesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "bonsai_trie_log_archived_bytes_total",
+            "Total number of compressed bytes written to Bonsai trie log range archives");
+  }
+
+  TrieLogPruner(
+      final KeyValueStorage trieLogStorage,
+      final Blockchain blockchain,
+      final long retainedLayers,
+      final Optional<TrieLogRangeArchive> rangeArchive,
+      final MetricsSystem metricsSystem) {
+    this(
+        trieLogStorage,
+        blockchain,
+        retainedLayers,
+        rangeArchive,
+        metricsSystem,
+        new ThreadPoolExecutor(
+            0,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("TrieLogPruning-%d")
+                .build()));
+  }
+
+  void onBlockPersisted(final long blockNumber) {
+    final long pruneTarget = blockNumber - retainedLayers;
+    if (pruneTarget < 0) {
+      return;
+    }
+    executor.execute(() -> pruneTo(pruneTarget));
+  }
+
+  private void pruneTo(final long pruneTarget) {
+    try {
+      if (lastPrunedBlock.isEmpty()) {
+        lastPrunedBlock =
+            Optional.of(
+                trieLogStorage
+                    .get(LAST_PRUNED_BLOCK_KEY)
+                    .map(value -> Bytes.wrap(value).toLong())
+                    .orElse(-1L));
+      }
+      if (rangeArchive.isPresent()) {
+        archiveCompleteRanges(rangeArchive.get(), pruneTarget);
+      } else {
+        pruneLayers(pruneTarget);
+      }
+    } catch (final RuntimeException e) {
+      LOG.warn("Unable to prune trie logs up to block {}", pruneTarget, e);
+    }
+  }
+
+  private void pruneLayers(final long pruneTarget) {
+    while (lastPrunedBlock.get() < pruneTarget) {
+      final long lastBlock = Math.min(pruneTarget, lastPrunedBlock.get() + PRUNE_BATCH_SIZE);
+      final KeyValueStorageTransaction transaction = trieLogStorage.startTransaction();
+      long pruned = 0;
+      for (long blockNumber = lastPrunedBlock.get() + 1; blockNumber <= lastBlock; blockNumber++) {
+        final Optional<BlockHeader> header = blockchain.getBlockHeader(blockNumber);
+        if (header.isPresent()) {
+          transaction.remove(header.get().getHash().toArrayUnsafe());
+          pruned++;
+        }
+      }
+      commit(transaction, lastBlock);
+      prunedLayersCounter.inc(pruned);
+      LOG.trace("Pruned trie log layers up to block {}", lastBlock);
+    }
+  }
+
+  private void archiveCompleteRanges(final TrieLogRangeArchive archive, final long pruneTarget) {
+    while (true) {
+      final long firstBlock = lastPrunedBlock.get() + 1;
+      final long rangeIndex = archive.rangeIndex(firstBlock);
+      // a range may already be partially pruned if archiving was enabled after pruning
+      final long lastBlock = (rangeIndex + 1) * archive.getRangeSize() - 1;
+      if (lastBlock > pruneTarget) {
+        return;
+      }
+      final List<BlockHeader> headers = new ArrayList<>();
+      final List<TrieLogLayer> layers = new ArrayList<>();
+      for (long blockNumber = firstBlock; blockNumber <= lastBlock; blockNumber++) {
+        blockchain
+            .getBlockHeader(blockNumber)
+            .ifPresent(
+                header -> {
+                  headers.add(header);
+                  trieLogStorage
+                      .get(header.getHash().toArrayUnsafe())
+                      .map(TrieLogLayer::fromBytes)
+                      .ifPresent(layers::add);
+                });
+      }
+
+      final KeyValueStorageTransaction transaction = trieLogStorage.startTransaction();
+      if (!layers.isEmpty() && !archive.containsRange(rangeIndex)) {
+        final int archivedBytes = archive.writeRange(rangeIndex, layers, transaction);
+        archivedLayersCounter.inc(layers.size());
+        archivedBytesCounter.inc(archivedBytes);
+        LOG.debug(
+            "Archived {} trie log layers for blocks {} to {} in {} bytes",
+            layers.size(),
+            firstBlock,
+            lastBlock,
+            archivedBytes);
+      }
+      headers.forEach(header -> transaction.remove(header.getHash().toArrayUnsafe()));
+      commit(transaction, lastBlock);
+      prunedLayersCounter.inc(layers.size());
+    }
+  }
+
+  private void commit(final KeyValueStorageTransaction transaction, final long lastBlock) {
+    transaction.put(LAST_PRUNED_BLOCK_KEY, Bytes.ofUnsignedLong(lastBlock).toArrayUnsafe());
+    transaction.commit();
+    lastPrunedBlock = Optional.of(lastBlock);
+  }
+}
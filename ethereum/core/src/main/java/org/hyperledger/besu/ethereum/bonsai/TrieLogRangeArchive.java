@@ -0,0 +1,342 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Stores historic trie logs as compressed ranges of consecutive blocks.
+ *
+ * <p>Each range holds the canonical trie logs for {@code rangeSize} blocks. Within a range the
+ * original value of a change is usually the updated value of the previous change to the same key,
+ * so such originals are replaced with a marker and restored from the preceding layer on decoding.
+ * The encoded range is snappy compressed and stored in the trie log segment under a key that can't
+ * collide with a block hash.
+ */
+class TrieLogRangeArchive {
+
+  private static final Bytes RANGE_KEY_PREFIX =
+      Bytes.wrap("trieLogRange".getBytes(StandardCharsets.UTF_8));
+  private static final int DECODED_RANGE_CACHE_SIZE = 4;
+
+  private final KeyValueStorage trieLogStorage;
+  private final long rangeSize;
+  private final Cache<Long, Map<Hash, TrieLogLayer>> decodedRanges =
+      CacheBuilder.newBuilder().maximumSize(DECODED_RANGE_CACHE_SIZE).build();
+
+  TrieLogRangeArchive(final KeyValueStorage trieLogStorage, final long rangeSize) {
+    checkArgument(rangeSize > 0, "Trie log archive range size must be positive");
+    this.trieLogStorage = trieLogStorage;
+    this.rangeSize = rangeSize;
+  }
+
+  long getRangeSize() {
+    return rangeSize;
+  }
+
+  long rangeIndex(final long blockNumber) {
+    return blockNumber / rangeSize;
+  }
+
+  Optional<TrieLogLayer> getTrieLogLayer(final BlockHeader header) {
+    final long rangeIndex = rangeIndex(header.getNumber());
+    try {
+      return Optional.ofNullable(
+          decodedRanges
+              .get(
+                  rangeIndex,
+                  () ->
+                      trieLogStorage
+                          .get(rangeKey(rangeIndex))
+                          .map(TrieLogRangeArchive::decode)
+                          .orElse(Map.of()))
+              .get(header.getHash()));
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("Unable to read trie log range " + rangeIndex, e.getCause());
+    }
+  }
+
+  boolean containsRange(final long rangeIndex) {
+    return trieLogStorage.containsKey(rangeKey(rangeIndex));
+  }
+
+  /**
+   * Writes a range of trie logs to the given transaction.
+   *
+   * @param rangeIndex the index of the range being written
+   * @param layers the layers in the range, ordered by block number
+   * @param transaction the transaction to write the range with
+   * @return the number of bytes written
+   */
+  int writeRange(
+      final long rangeIndex,
+      final List<TrieLogLayer> layers,
+      final KeyValueStorageTransaction transaction) {
+    final byte[] encoded = encode(layers);
+    transaction.put(rangeKey(rangeIndex), encoded);
+    decodedRanges.invalidate(rangeIndex);
+    return encoded.length;
+  }
+
+  static byte[] rangeKey(final long rangeIndex) {
+    return Bytes.concatenate(RANGE_KEY_PREFIX, Bytes.ofUnsignedLong(rangeIndex)).toArrayUnsafe();
+  }
+
+  static byte[] encode(final List<TrieLogLayer> layers) {
+    final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    final PriorValues priorValues = new PriorValues();
+    output.startList();
+    for (final TrieLogLayer layer : layers) {
+      writeLayer(layer, priorValues, output);
+    }
+    output.endList();
+    try {
+      return Snappy.compress(output.encoded().toArrayUnsafe());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static Map<Hash, TrieLogLayer> decode(final byte[] compressed) {
+    final byte[] encoded;
+    try {
+      encoded = Snappy.uncompress(compressed);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    final RLPInput input = new BytesValueRLPInput(Bytes.wrap(encoded), false);
+    final PriorValues priorValues = new PriorValues();
+    final Map<Hash, TrieLogLayer> layers = new HashMap<>();
+    input.enterList();
+    while (!input.isEndOfCurrentList()) {
+      final TrieLogLayer layer = readLayer(input, priorValues);
+      layers.put(layer.getBlockHash(), layer);
+    }
+    input.leaveList();
+    return layers;
+  }
+
+  private static void writeLayer(
+      final TrieLogLayer layer, final PriorValues priorValues, final RLPOutput output) {
+    final Map<Address, BonsaiValue<StateTrieAccountValue>> accounts = new HashMap<>();
+    final Map<Address, BonsaiValue<Bytes>> code = new HashMap<>();
+    final Map<Address, Map<Hash, BonsaiValue<UInt256>>> storage = new HashMap<>();
+    layer.streamAccountChanges().forEach(e -> accounts.put(e.getKey(), e.getValue()));
+    layer.streamCodeChanges().forEach(e -> code.put(e.getKey(), e.getValue()));
+    layer.streamStorageChanges().forEach(e -> storage.put(e.getKey(), e.getValue()));
+
+    final Set<Address> addresses = new TreeSet<>();
+    addresses.addAll(accounts.keySet());
+    addresses.addAll(code.keySet());
+    addresses.addAll(storage.keySet());
+
+    output.startList();
+    output.writeBytes(layer.getBlockHash());
+    for (final Address address : addresses) {
+      output.startList();
+      output.writeBytes(address);
+
+      final BonsaiValue<StateTrieAccountValue> accountChange = accounts.get(address);
+      if (accountChange == null || accountChange.isUnchanged()) {
+        output.writeNull();
+      } else {
+        output.startList();
+        writeDelta(
+            accountChange,
+            priorValues.accounts,
+            address,
+            output,
+            (o, account) -> account.writeTo(o));
+        output.endList();
+      }
+
+      final BonsaiValue<Bytes> codeChange = code.get(address);
+      if (codeChange == null || codeChange.isUnchanged()) {
+        output.writeNull();
+      } else {
+        output.startList();
+        writeDelta(codeChange, priorValues.code, address, output, RLPOutput::writeBytes);
+        output.endList();
+      }
+
+      final Map<Hash, BonsaiValue<UInt256>> storageChanges = storage.get(address);
+      if (storageChanges == null) {
+        output.writeNull();
+      } else {
+        final Map<Hash, UInt256> priorSlots =
+            priorValues.storage.computeIfAbsent(address, a -> new HashMap<>());
+        output.startList();
+        for (final Map.Entry<Hash, BonsaiValue<UInt256>> slot : storageChanges.entrySet()) {
+          output.startList();
+          output.writeBytes(slot.getKey());
+          writeDelta(
+              slot.getValue(), priorSlots, slot.getKey(), output, RLPOutput::writeUInt256Scalar);
+          output.endList();
+        }
+        output.endList();
+      }
+
+      output.endList();
+    }
+    output.endList();
+  }
+
+  private static TrieLogLayer readLayer(final RLPInput input, final PriorValues priorValues) {
+    final TrieLogLayer layer = new TrieLogLayer();
+    input.enterList();
+    layer.setBlockHash(Hash.wrap(input.readBytes32()));
+    while (!input.isEndOfCurrentList()) {
+      input.enterList();
+      final Address address = Address.readFrom(input);
+
+      if (input.nextIsNull()) {
+        input.skipNext();
+      } else {
+        input.enterList();
+        final BonsaiValue<StateTrieAccountValue> change =
+            readDelta(input, priorValues.accounts, address, StateTrieAccountValue::readFrom);
+        input.leaveList();
+        layer.addAccountChange(address, change.getOriginal(), change.getUpdated());
+      }
+
+      if (input.nextIsNull()) {
+        input.skipNext();
+      } else {
+        input.enterList();
+        final BonsaiValue<Bytes> change =
+            readDelta(input, priorValues.code, address, RLPInput::readBytes);
+        input.leaveList();
+        layer.addCodeChange(address, change);
+      }
+
+      if (input.nextIsNull()) {
+        input.skipNext();
+      } else {
+        final Map<Hash, UInt256> priorSlots =
+            priorValues.storage.computeIfAbsent(address, a -> new HashMap<>());
+        input.enterList();
+        while (!input.isEndOfCurrentList()) {
+          input.enterList();
+          final Hash slotHash = Hash.wrap(input.readBytes32());
+          final BonsaiValue<UInt256> change =
+              readDelta(input, priorSlots, slotHash, RLPInput::readUInt256Scalar);
+          layer.addStorageChange(address, slotHash, change.getOriginal(), change.getUpdated());
+          input.leaveList();
+        }
+        input.leaveList();
+      }
+
+      input.leaveList();
+    }
+    input.leaveList();
+    layer.freeze();
+    return layer;
+  }
+
+  /**
+   * Writes the original and updated values of a change. When the original value matches the last
+   * updated value seen for the key in this range, an empty list is written in its place. No value
+   * handled here is encoded as an empty list, so the marker is unambiguous.
+   */
+  private static <K, T> void writeDelta(
+      final BonsaiValue<T> change,
+      final Map<K, T> priorValues,
+      final K key,
+      final RLPOutput output,
+      final BiConsumer<RLPOutput, T> writer) {
+    final T original = change.getOriginal();
+    if (priorValues.containsKey(key) && Objects.equals(priorValues.get(key), original)) {
+      output.startList();
+      output.endList();
+    } else {
+      writeNullable(original, output, writer);
+    }
+    writeNullable(change.getUpdated(), output, writer);
+    priorValues.put(key, change.getUpdated());
+  }
+
+  private static <K, T> BonsaiValue<T> readDelta(
+      final RLPInput input,
+      final Map<K, T> priorValues,
+      final K key,
+      final Function<RLPInput, T> reader) {
+    final T original;
+    if (input.nextIsList() && input.nextSize() == 0) {
+      input.skipNext();
+      original = priorValues.get(key);
+    } else {
+      original = readNullable(input, reader);
+    }
+    final T updated = readNullable(input, reader);
+    priorValues.put(key, updated);
+    return new BonsaiValue<>(original, updated);
+  }
+
+  private static <T> void writeNullable(
+      final T value, final RLPOutput output, final BiConsumer<RLPOutput, T> writer) {
+    if (value == null) {
+      output.writeNull();
+    } else {
+      writer.accept(output, value);
+    }
+  }
+
+  private static <T> T readNullable(final RLPInput input, final Function<RLPInput, T> reader) {
+    if (input.nextIsNull()) {
+      input.skipNext();
+      return null;
+    } else {
+      return reader.apply(input);
+    }
+  }
+
+  private static class PriorValues {
+    private final Map<Address, StateTrieAccountValue> accounts = new HashMap<>();
+    private final Map<Address, Bytes> code = new HashMap<>();
+    private final Map<Address, Map<Hash, UInt256>> storage = new HashMap<>();
+  }
+}
@@ -15,10 +15,12 @@
 package org.hyperledger.besu.ethereum.core;
 
 import org.hyperledger.besu.config.experimental.ExperimentalEIPs;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 import com.google.common.base.Suppliers;
@@ -40,6 +42,9 @@ public class BlockHeader extends SealableBlockHeader
 
   private final Supplier<ParsedExtraData> parsedExtraData;
 
+  // The RLP this header was decoded from, written out as is rather than re-encoding the header.
+  private final Optional<Bytes> encoded;
+
   public BlockHeader(
       final Hash parentHash,
       final Hash ommersHash,
@@ -58,6 +63,46 @@ public class BlockHeader extends SealableBlockHeader
       final Hash mixHash,
       final long nonce,
       final BlockHeaderFunctions blockHeaderFunctions) {
+    this(
+        parentHash,
+        ommersHash,
+        coinbase,
+        stateRoot,
+        transactionsRoot,
+        receiptsRoot,
+        logsBloom,
+        difficulty,
+        number,
+        gasLimit,
+        gasUsed,
+        timestamp,
+        extraData,
+        baseFee,
+        mixHash,
+        nonce,
+        blockHeaderFunctions,
+        Optional.empty());
+  }
+
+  private BlockHeader(
+      final Hash parentHash,
+      final Hash ommersHash,
+      final Address coinbase,
+      final Hash stateRoot,
+      final Hash transactionsRoot,
+      final Hash receiptsRoot,
+      final LogsBloomFilter logsBloom,
+      final Difficulty difficulty,
+      final long number,
+      final long gasLimit,
+      final long gasUsed,
+      final long timestamp,
+      final Bytes extraData,
+      final Long baseFee,
+      final Hash mixHash,
+      final long nonce,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final Optional<Bytes> encoded) {
     super(
         parentHash,
         ommersHash,
@@ -77,6 +122,7 @@ public class BlockHeader extends SealableBlockHeader
     this.nonce = nonce;
     this.hash = Suppliers.memoize(() -> blockHeaderFunctions.hash(this));
     this.parsedExtraData = Suppliers.memoize(() -> blockHeaderFunctions.parseExtraData(this));
+    this.encoded = encoded;
   }
 
   /**
@@ -128,6 +174,10 @@ public class BlockHeader extends SealableBlockHeader
    * @param out The RLP output to write to
    */
   public void writeTo(final RLPOutput out) {
+    if (encoded.isPresent()) {
+      out.writeRaw(encoded.get());
+      return;
+    }
     out.startList();
 
     out.writeBytes(parentHash);
@@ -152,7 +202,12 @@ public class BlockHeader extends SealableBlockHeader
   }
 
   public static BlockHeader readFrom(
-      final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+      final RLPInput rlpInput, final BlockHeaderFunctions blockHeaderFunctions) {
+    // The header is decoded from a copy of its encoding, so that retaining the encoding doesn't
+    // retain the whole input it was read from. As the decoding is strict, the encoding is the same
+    // one writeTo would produce.
+    final Bytes encoded = rlpInput.readAsRlp().raw().copy();
+    final RLPInput input = RLP.input(encoded);
     input.enterList();
     final Hash parentHash = Hash.wrap(input.readBytes32());
     final Hash ommersHash = Hash.wrap(input.readBytes32());
@@ -191,7 +246,8 @@ public class BlockHeader extends SealableBlockHeader
         baseFee,
         mixHash,
         nonce,
-        blockHeaderFunctions);
+        blockHeaderFunctions,
+        Optional.of(encoded));
   }
 
   @Override
@@ -26,6 +26,8 @@ public class MiningParameters {
 
   public static final long DEFAULT_REMOTE_SEALERS_TTL = Duration.ofMinutes(10).toMinutes();
 
+  public static final int DEFAULT_SOLVER_THREADS = 1;
+
   private final Optional<Address> coinbase;
   private final Wei minTransactionGasPrice;
   private final Bytes extraData;
@@ -38,6 +40,9 @@ public class MiningParameters {
   private final Double minBlockOccupancyRatio;
   private final int remoteSealersLimit;
   private final long remoteSealersTimeToLive;
+  private final boolean blockBuildAheadEnabled;
+  private final boolean fullDatasetMiningEnabled;
+  private final int solverThreads;
 
   public MiningParameters(
       final Address coinbase,
@@ -72,6 +77,70 @@ public class MiningParameters {
       final Double minBlockOccupancyRatio,
       final int remoteSealersLimit,
       final long remoteSealersTimeToLive) {
+    this(
+        coinbase,
+        minTransactionGasPrice,
+        extraData,
+        enabled,
+        stratumMiningEnabled,
+        stratumNetworkInterface,
+        stratumPort,
+        stratumExtranonce,
+        maybeNonceGenerator,
+        minBlockOccupancyRatio,
+        remoteSealersLimit,
+        remoteSealersTimeToLive,
+        false);
+  }
+
+  public MiningParameters(
+      final Address coinbase,
+      final Wei minTransactionGasPrice,
+      final Bytes extraData,
+      final boolean enabled,
+      final boolean stratumMiningEnabled,
+      final String stratumNetworkInterface,
+      final int stratumPort,
+      final String stratumExtranonce,
+      final Optional<Iterable<Long>> maybeNonceGenerator,
+      final Double minBlockOccupancyRatio,
+      final int remoteSealersLimit,
+      final long remoteSealersTimeToLive,
+      final boolean blockBuildAheadEnabled) {
+    this(
+        coinbase,
+        minTransactionGasPrice,
+        extraData,
+        enabled,
+        stratumMiningEnabled,
+        stratumNetworkInterface,
+        stratumPort,
+        stratumExtranonce,
+        maybeNonceGenerator,
+        minBlockOccupancyRatio,
+        remoteSealersLimit,
+        remoteSealersTimeToLive,
+        blockBuildAheadEnabled,
+        false,
+        DEFAULT_SOLVER_THREADS);
+  }
+
+  public MiningParameters(
+      final Address coinbase,
+      final Wei minTransactionGasPrice,
+      final Bytes extraData,
+      final boolean enabled,
+      final boolean stratumMiningEnabled,
+      final String stratumNetworkInterface,
+      final int stratumPort,
+      final String stratumExtranonce,
+      final Optional<Iterable<Long>> maybeNonceGenerator,
+      final Double minBlockOccupancyRatio,
+      final int remoteSealersLimit,
+      final long remoteSealersTimeToLive,
+      final boolean blockBuildAheadEnabled,
+      final boolean fullDatasetMiningEnabled,
+      final int solverThreads) {
     this.coinbase = Optional.ofNullable(coinbase);
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.extraData = extraData;
@@ -84,6 +153,9 @@ public class MiningParameters {
     this.minBlockOccupancyRatio = minBlockOccupancyRatio;
     this.remoteSealersLimit = remoteSealersLimit;
     this.remoteSealersTimeToLive = remoteSealersTimeToLive;
+    this.blockBuildAheadEnabled = blockBuildAheadEnabled;
+    this.fullDatasetMiningEnabled = fullDatasetMiningEnabled;
+    this.solverThreads = solverThreads;
   }
 
   public Optional<Address> getCoinbase() {
@@ -134,6 +206,18 @@ public class MiningParameters {
     return remoteSealersTimeToLive;
   }
 
+  public boolean isBlockBuildAheadEnabled() {
+    return blockBuildAheadEnabled;
+  }
+
+  public boolean isFullDatasetMiningEnabled() {
+    return fullDatasetMiningEnabled;
+  }
+
+  public int getSolverThreads() {
+    return solverThreads;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) return true;
@@ -149,7 +233,10 @@ public class MiningParameters {
         && Objects.equals(stratumExtranonce, that.stratumExtranonce)
         && Objects.equals(minBlockOccupancyRatio, that.minBlockOccupancyRatio)
         && Objects.equals(remoteSealersTimeToLive, that.remoteSealersTimeToLive)
-        && Objects.equals(remoteSealersLimit, that.remoteSealersLimit);
+        && Objects.equals(remoteSealersLimit, that.remoteSealersLimit)
+        && Objects.equals(blockBuildAheadEnabled, that.blockBuildAheadEnabled)
+        && Objects.equals(fullDatasetMiningEnabled, that.fullDatasetMiningEnabled)
+        && solverThreads == that.solverThreads;
   }
 
   @Override
@@ -165,7 +252,10 @@ public class MiningParameters {
         stratumExtranonce,
         minBlockOccupancyRatio,
         remoteSealersLimit,
-        remoteSealersTimeToLive);
+        remoteSealersTimeToLive,
+        blockBuildAheadEnabled,
+        fullDatasetMiningEnabled,
+        solverThreads);
   }
 
   @Override
@@ -197,6 +287,12 @@ public class MiningParameters {
         + remoteSealersLimit
         + ", remoteSealersTimeToLive="
         + remoteSealersTimeToLive
+        + ", blockBuildAheadEnabled="
+        + blockBuildAheadEnabled
+        + ", fullDatasetMiningEnabled="
+        + fullDatasetMiningEnabled
+        + ", solverThreads="
+        + solverThreads
         + '}';
   }
 }
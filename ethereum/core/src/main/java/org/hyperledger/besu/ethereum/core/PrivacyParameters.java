@@ -20,6 +20,8 @@ import org.hyperledger.besu.crypto.KeyPairUtil;
 import org.hyperledger.besu.crypto.SECP256K1;
 import org.hyperledger.besu.enclave.Enclave;
 import org.hyperledger.besu.enclave.EnclaveFactory;
+import org.hyperledger.besu.ethereum.privacy.ParallelPrivateStateRehydration;
+import org.hyperledger.besu.ethereum.privacy.PrivatePayloadPrefetcher;
 import org.hyperledger.besu.ethereum.privacy.PrivateStateRootResolver;
 import org.hyperledger.besu.ethereum.privacy.PrivateWorldStateReader;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivacyStorageProvider;
@@ -28,6 +30,8 @@ import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.ethereum.worldstate.WorldStatePreimageStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.io.File;
 import java.io.IOException;
@@ -57,6 +61,8 @@ public class PrivacyParameters {
   private boolean onchainPrivacyGroupsEnabled;
   private PrivateStateRootResolver privateStateRootResolver;
   private PrivateWorldStateReader privateWorldStateReader;
+  private PrivatePayloadPrefetcher privatePayloadPrefetcher;
+  private ParallelPrivateStateRehydration parallelPrivateStateRehydration;
 
   public Integer getPrivacyAddress() {
     return onchainPrivacyGroupsEnabled ? Address.PRIVACY - 1 : Address.PRIVACY;
@@ -168,6 +174,24 @@ public class PrivacyParameters {
     this.privateWorldStateReader = privateWorldStateReader;
   }
 
+  public Optional<PrivatePayloadPrefetcher> getPrivatePayloadPrefetcher() {
+    return Optional.ofNullable(privatePayloadPrefetcher);
+  }
+
+  private void setPrivatePayloadPrefetcher(
+      final PrivatePayloadPrefetcher privatePayloadPrefetcher) {
+    this.privatePayloadPrefetcher = privatePayloadPrefetcher;
+  }
+
+  public Optional<ParallelPrivateStateRehydration> getParallelPrivateStateRehydration() {
+    return Optional.ofNullable(parallelPrivateStateRehydration);
+  }
+
+  private void setParallelPrivateStateRehydration(
+      final ParallelPrivateStateRehydration parallelPrivateStateRehydration) {
+    this.parallelPrivateStateRehydration = parallelPrivateStateRehydration;
+  }
+
   @Override
   public String toString() {
     return "PrivacyParameters{"
@@ -197,6 +221,7 @@ public class PrivacyParameters {
     private Path privacyKeyStorePasswordFile;
     private Path privacyTlsKnownEnclaveFile;
     private boolean onchainPrivacyGroupsEnabled;
+    private MetricsSystem metricsSystem = new NoOpMetricsSystem();
 
     public Builder setEnclaveUrl(final URI enclaveUrl) {
       this.enclaveUrl = enclaveUrl;
@@ -248,6 +273,11 @@ public class PrivacyParameters {
       return this;
     }
 
+    public Builder setMetricsSystem(final MetricsSystem metricsSystem) {
+      this.metricsSystem = metricsSystem;
+      return this;
+    }
+
     public PrivacyParameters build() {
       final PrivacyParameters config = new PrivacyParameters();
       if (enabled) {
@@ -284,6 +314,15 @@ public class PrivacyParameters {
           config.setEnclave(enclaveFactory.createVertxEnclave(enclaveUrl));
         }
 
+        config.setPrivatePayloadPrefetcher(
+            new PrivatePayloadPrefetcher(
+                config.getEnclave(),
+                onchainPrivacyGroupsEnabled ? Address.ONCHAIN_PRIVACY : Address.DEFAULT_PRIVACY,
+                PrivatePayloadPrefetcher.DEFAULT_MAX_IN_FLIGHT));
+        config.setParallelPrivateStateRehydration(
+            new ParallelPrivateStateRehydration(
+                metricsSystem, ParallelPrivateStateRehydration.DEFAULT_PARALLELISM));
+
         if (privateKeyPath != null) {
           config.setSigningKeyPair(KeyPairUtil.load(privateKeyPath.toFile()));
         }
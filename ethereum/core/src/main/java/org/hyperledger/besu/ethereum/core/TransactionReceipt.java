@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.core;
 
 import org.hyperledger.besu.ethereum.mainnet.TransactionReceiptType;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
@@ -23,8 +24,10 @@ import org.hyperledger.besu.plugin.data.TransactionType;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Suppliers;
 import org.apache.tuweni.bytes.Bytes;
 
 /**
@@ -45,11 +48,13 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
   private final TransactionType transactionType;
   private final Hash stateRoot;
   private final long cumulativeGasUsed;
-  private final List<Log> logs;
+  private final Supplier<List<Log>> logs;
   private final LogsBloomFilter bloomFilter;
   private final int status;
   private final TransactionReceiptType transactionReceiptType;
   private final Optional<Bytes> revertReason;
+  // The RLP this receipt was decoded from, written out as is rather than re-encoding the receipt.
+  private final Optional<Bytes> encoded;
 
   /**
    * Creates an instance of a state root-encoded transaction receipt.
@@ -74,23 +79,6 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
         revertReason);
   }
 
-  private TransactionReceipt(
-      final TransactionType transactionType,
-      final Hash stateRoot,
-      final long cumulativeGasUsed,
-      final List<Log> logs,
-      final LogsBloomFilter bloomFilter,
-      final Optional<Bytes> revertReason) {
-    this(
-        transactionType,
-        stateRoot,
-        NONEXISTENT,
-        cumulativeGasUsed,
-        logs,
-        bloomFilter,
-        revertReason);
-  }
-
   /**
    * Creates an instance of a status-encoded transaction receipt.
    *
@@ -114,16 +102,6 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
         revertReason);
   }
 
-  private TransactionReceipt(
-      final TransactionType transactionType,
-      final int status,
-      final long cumulativeGasUsed,
-      final List<Log> logs,
-      final LogsBloomFilter bloomFilter,
-      final Optional<Bytes> revertReason) {
-    this(transactionType, null, status, cumulativeGasUsed, logs, bloomFilter, revertReason);
-  }
-
   public TransactionReceipt(
       final TransactionType transactionType,
       final int status,
@@ -132,6 +110,7 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
       final Optional<Bytes> maybeRevertReason) {
     this(
         transactionType,
+        null,
         status,
         cumulativeGasUsed,
         logs,
@@ -147,6 +126,26 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
       final List<Log> logs,
       final LogsBloomFilter bloomFilter,
       final Optional<Bytes> revertReason) {
+    this(
+        transactionType,
+        stateRoot,
+        status,
+        cumulativeGasUsed,
+        Suppliers.ofInstance(logs),
+        bloomFilter,
+        revertReason,
+        Optional.empty());
+  }
+
+  private TransactionReceipt(
+      final TransactionType transactionType,
+      final Hash stateRoot,
+      final int status,
+      final long cumulativeGasUsed,
+      final Supplier<List<Log>> logs,
+      final LogsBloomFilter bloomFilter,
+      final Optional<Bytes> revertReason,
+      final Optional<Bytes> encoded) {
     this.transactionType = transactionType;
     this.stateRoot = stateRoot;
     this.cumulativeGasUsed = cumulativeGasUsed;
@@ -156,6 +155,7 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
     transactionReceiptType =
         stateRoot == null ? TransactionReceiptType.STATUS : TransactionReceiptType.ROOT;
     this.revertReason = revertReason;
+    this.encoded = encoded;
   }
 
   /**
@@ -172,6 +172,10 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
   }
 
   private void writeTo(final RLPOutput out, final boolean withRevertReason) {
+    if (encoded.isPresent()) {
+      out.writeRaw(encoded.get());
+      return;
+    }
     if (!transactionType.equals(TransactionType.FRONTIER)) {
       out.writeRaw(Bytes.of((byte) transactionType.getSerializedType()));
     }
@@ -186,7 +190,7 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
     }
     out.writeLongScalar(cumulativeGasUsed);
     out.writeBytes(bloomFilter);
-    out.writeList(logs, Log::writeTo);
+    out.writeList(logs.get(), Log::writeTo);
     if (withRevertReason && revertReason.isPresent()) {
       out.writeBytes(revertReason.get());
     }
@@ -212,28 +216,38 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
    */
   public static TransactionReceipt readFrom(
       final RLPInput input, final boolean revertReasonAllowed) {
-    TransactionType transactionType = TransactionType.FRONTIER;
-    try {
-      input.enterList();
-    } catch (RLPException rlpe) {
-      if (rlpe.getMessage().contains("Expected current item to be a list")) {
-        // This is an EIP-2718 receipt
-        transactionType = TransactionType.of(input.readByte());
-        input.enterList();
-      } else {
-        throw rlpe;
-      }
+    // The receipt is decoded from a copy of its encoding, so that the lazily decoded logs don't
+    // retain the whole input the receipt was read from.
+    if (input.nextIsList()) {
+      final Bytes encoded = input.readAsRlp().raw().copy();
+      return readFrom(
+          RLP.input(encoded), TransactionType.FRONTIER, Optional.of(encoded), revertReasonAllowed);
     }
+    // This is an EIP-2718 receipt
+    final TransactionType transactionType = TransactionType.of(input.readByte());
+    return readFrom(
+        RLP.input(input.readAsRlp().raw().copy()),
+        transactionType,
+        Optional.empty(),
+        revertReasonAllowed);
+  }
 
+  private static TransactionReceipt readFrom(
+      final RLPInput input,
+      final TransactionType transactionType,
+      final Optional<Bytes> encoded,
+      final boolean revertReasonAllowed) {
+    input.enterList();
     try {
       // Get the first element to check later to determine the
       // correct transaction receipt encoding to use.
       final RLPInput firstElement = input.readAsRlp();
       final long cumulativeGas = input.readLongScalar();
-      // The logs below will populate the bloom filter upon construction.
+      // The logs are only decoded when first accessed, the bloom filter is read as is.
       // TODO consider validating that the logs and bloom filter match.
       final LogsBloomFilter bloomFilter = LogsBloomFilter.readFrom(input);
-      final List<Log> logs = input.readList(Log::readFrom);
+      final RLPInput logsInput = input.readAsRlp();
+      final Supplier<List<Log>> logs = Suppliers.memoize(() -> logsInput.readList(Log::readFrom));
       final Optional<Bytes> revertReason;
       if (input.isEndOfCurrentList()) {
         revertReason = Optional.empty();
@@ -243,17 +257,33 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
         }
         revertReason = Optional.of(input.readBytes());
       }
+      // The encoding only matches writeTo if there is no revert reason, which writeTo omits.
+      final Optional<Bytes> retainedEncoding = encoded.filter(e -> revertReason.isEmpty());
 
       // Status code-encoded transaction receipts have a single
       // byte for success (0x01) or failure (0x80).
       if (firstElement.raw().size() == 1) {
         final int status = firstElement.readIntScalar();
         return new TransactionReceipt(
-            transactionType, status, cumulativeGas, logs, bloomFilter, revertReason);
+            transactionType,
+            null,
+            status,
+            cumulativeGas,
+            logs,
+            bloomFilter,
+            revertReason,
+            retainedEncoding);
       } else {
         final Hash stateRoot = Hash.wrap(firstElement.readBytes32());
         return new TransactionReceipt(
-            transactionType, stateRoot, cumulativeGas, logs, bloomFilter, revertReason);
+            transactionType,
+            stateRoot,
+            NONEXISTENT,
+            cumulativeGas,
+            logs,
+            bloomFilter,
+            revertReason,
+            retainedEncoding);
       }
     } finally {
       input.leaveList();
@@ -286,7 +316,7 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
    */
   @Override
   public List<Log> getLogs() {
-    return logs;
+    return logs.get();
   }
 
   /**
@@ -327,7 +357,7 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
       return false;
     }
     final TransactionReceipt other = (TransactionReceipt) obj;
-    return logs.equals(other.getLogs())
+    return getLogs().equals(other.getLogs())
         && stateRoot.equals(other.stateRoot)
         && cumulativeGasUsed == other.getCumulativeGasUsed()
         && status == other.status;
@@ -335,7 +365,7 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
 
   @Override
   public int hashCode() {
-    return Objects.hash(logs, stateRoot, cumulativeGasUsed);
+    return Objects.hash(getLogs(), stateRoot, cumulativeGasUsed);
   }
 
   @Override
@@ -343,7 +373,7 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
     return MoreObjects.toStringHelper(this)
         .add("stateRoot", stateRoot)
         .add("cumulativeGasUsed", cumulativeGasUsed)
-        .add("logs", logs)
+        .add("logs", getLogs())
         .add("bloomFilter", bloomFilter)
         .add("status", status)
         .add("transactionReceiptType", transactionReceiptType)
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.WorldState;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.core.fees.TransactionGasBudgetCalculator;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler.Phase;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
@@ -104,6 +105,8 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
   private final TransactionGasBudgetCalculator gasBudgetCalculator;
 
+  private BlockProcessingProfiler blockProcessingProfiler = BlockProcessingProfiler.DISABLED;
+
   protected AbstractBlockProcessor(
       final MainnetTransactionProcessor transactionProcessor,
       final TransactionReceiptFactory transactionReceiptFactory,
@@ -119,6 +122,10 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     this.gasBudgetCalculator = gasBudgetCalculator;
   }
 
+  public void setBlockProcessingProfiler(final BlockProcessingProfiler blockProcessingProfiler) {
+    this.blockProcessingProfiler = blockProcessingProfiler;
+  }
+
   @Override
   public AbstractBlockProcessor.Result processBlock(
       final Blockchain blockchain,
@@ -129,6 +136,9 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
       final PrivateMetadataUpdater privateMetadataUpdater) {
     Span globalProcessBlock =
         tracer.spanBuilder("processBlock").setSpanKind(Span.Kind.INTERNAL).startSpan();
+    final BlockProcessingProfiler.BlockRecorder profile =
+        blockProcessingProfiler.startBlock(blockHeader);
+    boolean successful = false;
     try {
       final List<TransactionReceipt> receipts = new ArrayList<>();
       long currentGasUsed = 0;
@@ -146,11 +156,13 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
           return AbstractBlockProcessor.Result.failed();
         }
 
+        final OperationTracer operationTracer = profile.startTransaction(transaction);
         final WorldUpdater worldStateUpdater = worldState.updater();
         final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
         final Address miningBeneficiary =
             miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
 
+        profile.startPhase(Phase.EXECUTION);
         final TransactionProcessingResult result =
             transactionProcessor.processTransaction(
                 blockchain,
@@ -158,11 +170,12 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
                 blockHeader,
                 transaction,
                 miningBeneficiary,
-                OperationTracer.NO_TRACING,
+                operationTracer,
                 blockHashLookup,
                 true,
                 TransactionValidationParams.processingBlock(),
                 privateMetadataUpdater);
+        profile.endPhase();
         if (result.isInvalid()) {
           LOG.info(
               "Block processing error: transaction invalid '{}'. Block {} Transaction {}",
@@ -172,24 +185,46 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
           return AbstractBlockProcessor.Result.failed();
         }
 
+        profile.startPhase(Phase.STATE_COMMIT);
         worldStateUpdater.commit();
+        profile.endPhase();
 
-        currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
+        final long transactionGasUsed = transaction.getGasLimit() - result.getGasRemaining();
+        currentGasUsed += transactionGasUsed;
 
+        profile.startPhase(Phase.RECEIPTS);
         final TransactionReceipt transactionReceipt =
             transactionReceiptFactory.create(
                 transaction.getType(), result, worldState, currentGasUsed);
         receipts.add(transactionReceipt);
+        profile.endPhase();
+        profile.endTransaction(transactionGasUsed);
       }
 
-      if (!rewardCoinbase(worldState, blockHeader, ommers, skipZeroBlockRewards)) {
+      profile.startPhase(Phase.REWARDS);
+      final boolean rewarded =
+          rewardCoinbase(worldState, blockHeader, ommers, skipZeroBlockRewards);
+      profile.endPhase();
+      if (!rewarded) {
         // no need to log, rewardCoinbase logs the error.
         return AbstractBlockProcessor.Result.failed();
       }
 
+      if (profile.isRecording()) {
+        // the root hash is cached, so this only splits the timing of persisting. Bonsai computes
+        // its root hash while persisting, so its root hash time is part of persisting.
+        profile.startPhase(Phase.STATE_ROOT);
+        worldState.rootHash();
+        profile.endPhase();
+      }
+
+      profile.startPhase(Phase.PERSIST);
       worldState.persist(blockHeader);
+      profile.endPhase();
+      successful = true;
       return AbstractBlockProcessor.Result.successful(receipts);
     } finally {
+      profile.endBlock(successful);
       globalProcessBlock.end();
     }
   }
@@ -0,0 +1,204 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler.Phase;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/** Where the time went while processing a single block. All durations are in nanoseconds. */
+public class BlockProcessingProfile {
+
+  private final long blockNumber;
+  private final Hash blockHash;
+  private final boolean successful;
+  private final int transactionCount;
+  private final long gasUsed;
+  private final long durationNanos;
+  private final Map<Phase, Long> phaseNanos;
+  private final long storageReads;
+  private final long blockCachedStorageReads;
+  private final long storageReadNanos;
+  private final List<TransactionProfile> slowestTransactions;
+
+  BlockProcessingProfile(
+      final long blockNumber,
+      final Hash blockHash,
+      final boolean successful,
+      final int transactionCount,
+      final long gasUsed,
+      final long durationNanos,
+      final Map<Phase, Long> phaseNanos,
+      final long storageReads,
+      final long blockCachedStorageReads,
+      final long storageReadNanos,
+      final List<TransactionProfile> slowestTransactions) {
+    this.blockNumber = blockNumber;
+    this.blockHash = blockHash;
+    this.successful = successful;
+    this.transactionCount = transactionCount;
+    this.gasUsed = gasUsed;
+    this.durationNanos = durationNanos;
+    this.phaseNanos = Collections.unmodifiableMap(phaseNanos);
+    this.storageReads = storageReads;
+    this.blockCachedStorageReads = blockCachedStorageReads;
+    this.storageReadNanos = storageReadNanos;
+    this.slowestTransactions = Collections.unmodifiableList(slowestTransactions);
+  }
+
+  public long getBlockNumber() {
+    return blockNumber;
+  }
+
+  public Hash getBlockHash() {
+    return blockHash;
+  }
+
+  /**
+   * Returns whether the block was processed successfully. Profiles of failed blocks stop at the
+   * transaction or phase that failed.
+   *
+   * @return {@code true} if the block was processed successfully
+   */
+  public boolean isSuccessful() {
+    return successful;
+  }
+
+  public int getTransactionCount() {
+    return transactionCount;
+  }
+
+  public long getGasUsed() {
+    return gasUsed;
+  }
+
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * Returns the time spent in each phase. Phases that were not reached are absent.
+   *
+   * @return the time spent in each phase, in phase order
+   */
+  public Map<Phase, Long> getPhaseNanos() {
+    return phaseNanos;
+  }
+
+  /**
+   * Returns the number of SLOAD operations executed by the transactions of the block.
+   *
+   * @return the number of storage reads
+   */
+  public long getStorageReads() {
+    return storageReads;
+  }
+
+  /**
+   * Returns the number of storage reads of slots that an earlier read or write in the same block
+   * had already touched. These are answered from the in-memory state of the block; all other reads
+   * go to the persisted world state.
+   *
+   * @return the number of storage reads answered from the block's in-memory state
+   */
+  public long getBlockCachedStorageReads() {
+    return blockCachedStorageReads;
+  }
+
+  public long getStorageReadNanos() {
+    return storageReadNanos;
+  }
+
+  /**
+   * Returns the slowest transactions of the block, slowest first.
+   *
+   * @return the slowest transactions of the block
+   */
+  public List<TransactionProfile> getSlowestTransactions() {
+    return slowestTransactions;
+  }
+
+  /** Where the time went while processing a single transaction. */
+  public static class TransactionProfile {
+
+    private final Hash hash;
+    private final int index;
+    private final Optional<Address> to;
+    private final long gasUsed;
+    private final long durationNanos;
+    private final long storageReads;
+    private final long storageReadNanos;
+
+    TransactionProfile(
+        final Hash hash,
+        final int index,
+        final Optional<Address> to,
+        final long gasUsed,
+        final long durationNanos,
+        final long storageReads,
+        final long storageReadNanos) {
+      this.hash = hash;
+      this.index = index;
+      this.to = to;
+      this.gasUsed = gasUsed;
+      this.durationNanos = durationNanos;
+      this.storageReads = storageReads;
+      this.storageReadNanos = storageReadNanos;
+    }
+
+    public Hash getHash() {
+      return hash;
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    /**
+     * Returns the called contract or account, which is empty for contract creations.
+     *
+     * @return the recipient of the transaction
+     */
+    public Optional<Address> getTo() {
+      return to;
+    }
+
+    public long getGasUsed() {
+      return gasUsed;
+    }
+
+    /**
+     * Returns the time from sender recovery until the receipt of the transaction was created.
+     *
+     * @return the time spent on the transaction
+     */
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+
+    public long getStorageReads() {
+      return storageReads;
+    }
+
+    public long getStorageReadNanos() {
+      return storageReadNanos;
+    }
+  }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfile.TransactionProfile;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+import org.hyperledger.besu.ethereum.vm.OperationTracer;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Records where the time goes while blocks are processed.
+ *
+ * <p>Each processed block produces a {@link BlockProcessingProfile} holding the time spent in each
+ * {@link Phase}, the storage reads of its transactions and its slowest transactions. The most
+ * recent profiles are retained so they can be queried, and every phase is also exported as a timer
+ * labelled with the phase name.
+ *
+ * <p>The {@link #DISABLED} profiler hands out a recorder whose methods do nothing, so block
+ * processing only pays for a few empty calls when profiling is off.
+ */
+public class BlockProcessingProfiler {
+
+  public static final int DEFAULT_SLOWEST_TRANSACTIONS = 10;
+  public static final int DEFAULT_RETAINED_PROFILES = 128;
+
+  public static final BlockProcessingProfiler DISABLED = new BlockProcessingProfiler();
+
+  private static final int SLOAD_OPCODE = 0x54;
+  private static final int SSTORE_OPCODE = 0x55;
+
+  /** The phases of block processing. */
+  public enum Phase {
+    /** Recovering the sender of each transaction from its signature. */
+    SENDER_RECOVERY("sender_recovery"),
+    /** Executing each transaction in the EVM, including its state reads. */
+    EXECUTION("execution"),
+    /** Committing the changes of each transaction to the block's world state. */
+    STATE_COMMIT("state_commit"),
+    /** Creating each receipt, which includes an intermediate state root before Byzantium. */
+    RECEIPTS("receipts"),
+    /** Paying the block and ommer rewards. */
+    REWARDS("rewards"),
+    /** Computing the state root of the block. */
+    STATE_ROOT("state_root"),
+    /** Writing the world state of the block to storage. */
+    PERSIST("persist");
+
+    private final String label;
+
+    Phase(final String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  /** Records the profile of a single block. Recorders are confined to the processing thread. */
+  public interface BlockRecorder {
+
+    BlockRecorder NO_OP = new BlockRecorder() {};
+
+    /**
+     * Returns whether anything is recorded. Work that is only done to be measured should be skipped
+     * when this returns {@code false}.
+     *
+     * @return {@code true} if the recorder records the block
+     */
+    default boolean isRecording() {
+      return false;
+    }
+
+    default void startPhase(final Phase phase) {}
+
+    default void endPhase() {}
+
+    /**
+     * Starts recording a transaction. Recording recovers the sender so the recovery is timed
+     * separately from the execution of the transaction.
+     *
+     * @param transaction the transaction about to be processed
+     * @return the tracer to execute the transaction with
+     */
+    default OperationTracer startTransaction(final Transaction transaction) {
+      return OperationTracer.NO_TRACING;
+    }
+
+    default void endTransaction(final long gasUsed) {}
+
+    default void endBlock(final boolean successful) {}
+  }
+
+  private final boolean enabled;
+  private final int slowestTransactions;
+  private final Cache<Hash, BlockProcessingProfile> profiles;
+  private final AtomicReference<BlockProcessingProfile> latestProfile = new AtomicReference<>();
+  private final OperationTimer blockTimer;
+  private final OperationTimer[] phaseTimers;
+  private final Counter stateStorageReads;
+  private final Counter blockCachedStorageReads;
+
+  private BlockProcessingProfiler() {
+    this.enabled = false;
+    this.slowestTransactions = 0;
+    this.profiles = CacheBuilder.newBuilder().maximumSize(0).build();
+    this.blockTimer = null;
+    this.phaseTimers = null;
+    this.stateStorageReads = null;
+    this.blockCachedStorageReads = null;
+  }
+
+  public BlockProcessingProfiler(final MetricsSystem metricsSystem) {
+    this(metricsSystem, DEFAULT_SLOWEST_TRANSACTIONS, DEFAULT_RETAINED_PROFILES);
+  }
+
+  public BlockProcessingProfiler(
+      final MetricsSystem metricsSystem,
+      final int slowestTransactions,
+      final int retainedProfiles) {
+    checkArgument(slowestTransactions >= 0, "Slowest transactions must not be negative");
+    checkArgument(retainedProfiles > 0, "Retained profiles must be positive");
+    this.enabled = true;
+    this.slowestTransactions = slowestTransactions;
+    this.profiles = CacheBuilder.newBuilder().maximumSize(retainedProfiles).build();
+
+    blockTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_processing_seconds",
+            "Time taken to process a block");
+    final LabelledMetric<OperationTimer> labelledPhaseTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_processing_phase_seconds",
+            "Time spent in each phase of block processing, per transaction for transaction phases",
+            "phase");
+    phaseTimers = new OperationTimer[Phase.values().length];
+    for (final Phase phase : Phase.values()) {
+      phaseTimers[phase.ordinal()] = labelledPhaseTimer.labels(phase.getLabel());
+    }
+    final LabelledMetric<Counter> storageReads =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_processing_storage_reads_total",
+            "Number of storage reads executed while processing blocks, by whether the slot was already touched earlier in the block",
+            "source");
+    stateStorageReads = storageReads.labels("state");
+    blockCachedStorageReads = storageReads.labels("block");
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts recording the processing of a block.
+   *
+   * @param blockHeader the header of the block about to be processed
+   * @return the recorder for the block, which does nothing if profiling is disabled
+   */
+  public BlockRecorder startBlock(final BlockHeader blockHeader) {
+    if (!enabled) {
+      return BlockRecorder.NO_OP;
+    }
+    return new ActiveBlockRecorder(blockHeader);
+  }
+
+  public Optional<BlockProcessingProfile> getProfile(final Hash blockHash) {
+    return Optional.ofNullable(profiles.getIfPresent(blockHash));
+  }
+
+  /**
+   * Returns the profile of the block that was processed last, which may not be on the canonical
+   * chain.
+   *
+   * @return the most recent profile
+   */
+  public Optional<BlockProcessingProfile> getLatestProfile() {
+    return Optional.ofNullable(latestProfile.get());
+  }
+
+  private void completed(final BlockProcessingProfile profile) {
+    profiles.put(profile.getBlockHash(), profile);
+    latestProfile.set(profile);
+  }
+
+  private class ActiveBlockRecorder implements BlockRecorder, OperationTracer {
+
+    private final BlockHeader blockHeader;
+    private final long blockStart = System.nanoTime();
+    private final OperationTimer.TimingContext blockTiming = blockTimer.startTimer();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final boolean[] phaseReached = new boolean[Phase.values().length];
+    private final Set<Bytes> touchedSlots = new HashSet<>();
+    private final PriorityQueue<TransactionProfile> slowest =
+        new PriorityQueue<>(Comparator.comparingLong(TransactionProfile::getDurationNanos));
+
+    private Phase phase;
+    private long phaseStart;
+    private OperationTimer.TimingContext phaseTiming;
+
+    private int transactionCount;
+    private long gasUsed;
+    private long storageReads;
+    private long cachedStorageReads;
+    private long storageReadNanos;
+
+    private Transaction transaction;
+    private long transactionNanos;
+    private long transactionStorageReads;
+    private long transactionStorageReadNanos;
+
+    private ActiveBlockRecorder(final BlockHeader blockHeader) {
+      this.blockHeader = blockHeader;
+    }
+
+    @Override
+    public boolean isRecording() {
+      return true;
+    }
+
+    @Override
+    public void startPhase(final Phase phase) {
+      this.phase = phase;
+      phaseTiming = phaseTimers[phase.ordinal()].startTimer();
+      phaseStart = System.nanoTime();
+    }
+
+    @Override
+    public void endPhase() {
+      final long elapsed = System.nanoTime() - phaseStart;
+      phaseTiming.stopTimer();
+      phaseNanos[phase.ordinal()] += elapsed;
+      phaseReached[phase.ordinal()] = true;
+      if (transaction != null) {
+        transactionNanos += elapsed;
+      }
+    }
+
+    @Override
+    public OperationTracer startTransaction(final Transaction transaction) {
+      this.transaction = transaction;
+      transactionNanos = 0;
+      transactionStorageReads = 0;
+      transactionStorageReadNanos = 0;
+
+      startPhase(Phase.SENDER_RECOVERY);
+      try {
+        transaction.getSender();
+      } catch (final IllegalStateException e) {
+        // the transaction processor rejects transactions with unrecoverable senders
+      }
+      endPhase();
+      return this;
+    }
+
+    @Override
+    public void endTransaction(final long gasUsed) {
+      this.gasUsed += gasUsed;
+      if (slowestTransactions > 0) {
+        slowest.add(
+            new TransactionProfile(
+                transaction.getHash(),
+                transactionCount,
+                transaction.getTo(),
+                gasUsed,
+                transactionNanos,
+                transactionStorageReads,
+                transactionStorageReadNanos));
+        if (slowest.size() > slowestTransactions) {
+          slowest.poll();
+        }
+      }
+      transactionCount++;
+      transaction = null;
+    }
+
+    @Override
+    public void traceExecution(final MessageFrame frame, final ExecuteOperation executeOperation) {
+      final int opcode = frame.getCurrentOperation().getOpcode();
+      if ((opcode != SLOAD_OPCODE && opcode != SSTORE_OPCODE) || frame.stackSize() == 0) {
+        executeOperation.execute();
+        return;
+      }
+      final boolean touched =
+          !touchedSlots.add(Bytes.concatenate(frame.getRecipientAddress(), frame.getStackItem(0)));
+      if (opcode == SSTORE_OPCODE) {
+        executeOperation.execute();
+        return;
+      }
+      final long start = System.nanoTime();
+      executeOperation.execute();
+      final long elapsed = System.nanoTime() - start;
+      storageReads++;
+      storageReadNanos += elapsed;
+      transactionStorageReads++;
+      transactionStorageReadNanos += elapsed;
+      if (touched) {
+        cachedStorageReads++;
+      }
+    }
+
+    @Override
+    public void endBlock(final boolean successful) {
+      final long duration = System.nanoTime() - blockStart;
+      blockTiming.stopTimer();
+      stateStorageReads.inc(storageReads - cachedStorageReads);
+      blockCachedStorageReads.inc(cachedStorageReads);
+
+      final Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+      for (final Phase phase : Phase.values()) {
+        if (phaseReached[phase.ordinal()]) {
+          phases.put(phase, phaseNanos[phase.ordinal()]);
+        }
+      }
+      final List<TransactionProfile> slowestFirst = new ArrayList<>(slowest);
+      slowestFirst.sort(Comparator.comparingLong(TransactionProfile::getDurationNanos).reversed());
+      completed(
+          new BlockProcessingProfile(
+              blockHeader.getNumber(),
+              blockHeader.getHash(),
+              successful,
+              transactionCount,
+              gasUsed,
+              duration,
+              phases,
+              storageReads,
+              cachedStorageReads,
+              storageReadNanos,
+              slowestFirst));
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The full EthHash dataset of an epoch, held in a memory-mapped file outside of the Java heap.
+ *
+ * <p>The file holds the dataset items in index order, exactly as {@link EthHash#calcDatasetItem}
+ * produces them. It is written under a temporary name and only moved into place once every item has
+ * been generated, so a file with the final name is always complete. The file is mapped in segments
+ * because a single mapping is limited to 2GB.
+ */
+public class EthHashDataset {
+
+  static final int DEFAULT_SEGMENT_SHIFT = 30;
+  private static final int ITEMS_PER_GENERATION_TASK = 1 << 14;
+
+  private final long epoch;
+  private final long size;
+  private final int segmentShift;
+  private final long segmentMask;
+  private final ByteBuffer[] segments;
+
+  private EthHashDataset(
+      final long epoch, final long size, final int segmentShift, final ByteBuffer[] segments) {
+    this.epoch = epoch;
+    this.size = size;
+    this.segmentShift = segmentShift;
+    this.segmentMask = (1L << segmentShift) - 1;
+    this.segments = segments;
+  }
+
+  /**
+   * Opens the dataset stored in the given file if it exists, or generates it into the file.
+   *
+   * @param file the file holding the dataset
+   * @param epoch the epoch of the dataset
+   * @param datasetSize the size of the dataset in bytes
+   * @param cache the EthHash cache of the epoch
+   * @param executor the executor to generate items on, in parallel if it has multiple threads
+   * @return the dataset
+   */
+  public static EthHashDataset openOrGenerate(
+      final Path file,
+      final long epoch,
+      final long datasetSize,
+      final int[] cache,
+      final Executor executor) {
+    return openOrGenerate(file, epoch, datasetSize, cache, executor, DEFAULT_SEGMENT_SHIFT);
+  }
+
+  static EthHashDataset openOrGenerate(
+      final Path file,
+      final long epoch,
+      final long datasetSize,
+      final int[] cache,
+      final Executor executor,
+      final int segmentShift) {
+    checkArgument(
+        datasetSize % EthHash.HASH_BYTES == 0, "Dataset size must be a multiple of item size");
+    checkArgument(
+        segmentShift >= Integer.numberOfTrailingZeros(EthHash.HASH_BYTES)
+            && segmentShift <= DEFAULT_SEGMENT_SHIFT,
+        "Invalid segment size");
+    try {
+      if (!Files.isRegularFile(file) || Files.size(file) != datasetSize) {
+        generate(file, datasetSize, cache, executor, segmentShift);
+      }
+      try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        final ByteBuffer[] segments =
+            map(channel, FileChannel.MapMode.READ_ONLY, datasetSize, segmentShift)
+                .toArray(new ByteBuffer[0]);
+        return new EthHashDataset(epoch, datasetSize, segmentShift, segments);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to create EthHash dataset " + file, e);
+    }
+  }
+
+  private static void generate(
+      final Path file,
+      final long datasetSize,
+      final int[] cache,
+      final Executor executor,
+      final int segmentShift)
+      throws IOException {
+    final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (final FileChannel channel =
+        FileChannel.open(
+            tempFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      final List<MappedByteBuffer> segments =
+          map(channel, FileChannel.MapMode.READ_WRITE, datasetSize, segmentShift);
+      final int itemsPerSegment = (1 << segmentShift) / EthHash.HASH_BYTES;
+      final long items = datasetSize / EthHash.HASH_BYTES;
+      // tasks never span segments as both sizes are powers of two
+      final int itemsPerTask = Math.min(ITEMS_PER_GENERATION_TASK, itemsPerSegment);
+      final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+      for (long first = 0; first < items; first += itemsPerTask) {
+        final int firstItem = Math.toIntExact(first);
+        final int lastItem = Math.toIntExact(Math.min(items, first + itemsPerTask));
+        final MappedByteBuffer segment = segments.get(firstItem / itemsPerSegment);
+        tasks.add(
+            CompletableFuture.runAsync(
+                () -> generateItems(segment, itemsPerSegment, cache, firstItem, lastItem),
+                executor));
+      }
+      CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+      segments.forEach(MappedByteBuffer::force);
+    }
+    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static void generateItems(
+      final ByteBuffer segment,
+      final int itemsPerSegment,
+      final int[] cache,
+      final int firstItem,
+      final int lastItem) {
+    final ByteBuffer target = segment.duplicate();
+    target.position((firstItem % itemsPerSegment) * EthHash.HASH_BYTES);
+    final byte[] item = new byte[EthHash.HASH_BYTES];
+    for (int index = firstItem; index < lastItem; index++) {
+      EthHash.calcDatasetItem(item, cache, index);
+      target.put(item);
+    }
+  }
+
+  private static List<MappedByteBuffer> map(
+      final FileChannel channel,
+      final FileChannel.MapMode mode,
+      final long datasetSize,
+      final int segmentShift)
+      throws IOException {
+    final long segmentSize = 1L << segmentShift;
+    final List<MappedByteBuffer> segments = new ArrayList<>();
+    for (long offset = 0; offset < datasetSize; offset += segmentSize) {
+      final MappedByteBuffer segment =
+          channel.map(mode, offset, Math.min(segmentSize, datasetSize - offset));
+      segment.order(ByteOrder.LITTLE_ENDIAN);
+      segments.add(segment);
+    }
+    return segments;
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Copies a dataset item into the given buffer. Safe to call from multiple threads at once.
+   *
+   * @param buffer a buffer of at least {@link EthHash#HASH_BYTES} bytes
+   * @param index the index of the item
+   */
+  public void lookup(final byte[] buffer, final int index) {
+    final long offset = (long) index * EthHash.HASH_BYTES;
+    final ByteBuffer segment = segments[(int) (offset >>> segmentShift)];
+    final int position = (int) (offset & segmentMask);
+    for (int i = 0; i < EthHash.HASH_BYTES; i += Long.BYTES) {
+      long word = segment.getLong(position + i);
+      for (int j = 0; j < Long.BYTES; j++) {
+        buffer[i + j] = (byte) word;
+        word >>>= 8;
+      }
+    }
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Provides the full EthHash datasets used for mining.
+ *
+ * <p>Datasets are generated in the background, one epoch at a time, with the items of each dataset
+ * generated in parallel. While the dataset of an epoch is being generated no dataset is returned
+ * for it, and callers are expected to fall back to the light EthHash implementation. To avoid that
+ * fallback at epoch transitions, the dataset of the next epoch is generated once the chain gets
+ * within {@link #PREGENERATION_BLOCKS} blocks of it. Datasets of earlier epochs are discarded once
+ * a later one is in use.
+ *
+ * <p>The dataset in use is looked up on every hash attempt, so once it is ready it is returned
+ * without touching the map of generations until the epoch changes or the next epoch needs
+ * generating. A failed generation is retried no sooner than {@link #GENERATION_RETRY_DELAY} later.
+ */
+public class EthHashDatasetManager {
+
+  private static final Logger LOG = LogManager.getLogger();
+  static final long PREGENERATION_BLOCKS = 1000;
+  static final Duration GENERATION_RETRY_DELAY = Duration.ofMinutes(1);
+  private static final String DATASET_FILE_PREFIX = "full-R23-";
+
+  private final Path directory;
+  private final EthHashCacheFactory cacheFactory = new EthHashCacheFactory();
+  private final Executor generationExecutor;
+  private final Executor itemExecutor;
+  private final Map<Long, CompletableFuture<EthHashDataset>> datasets = new ConcurrentHashMap<>();
+  private final Map<Long, Path> datasetFiles = new ConcurrentHashMap<>();
+  private final Map<Long, Long> generationFailureTimes = new ConcurrentHashMap<>();
+  private final Clock clock;
+  private volatile ReadyDataset readyDataset;
+
+  private final Counter loadedDatasetsCounter;
+  private final OperationTimer generationTimer;
+
+  public EthHashDatasetManager(
+      final Path directory, final int generationThreads, final MetricsSystem metricsSystem) {
+    this(
+        directory,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("EthHashDatasetGeneration")
+                .build()),
+        Executors.newFixedThreadPool(
+            generationThreads,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("EthHashDatasetItems-%d")
+                .build()),
+        metricsSystem,
+        Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  EthHashDatasetManager(
+      final Path directory,
+      final Executor generationExecutor,
+      final Executor itemExecutor,
+      final MetricsSystem metricsSystem,
+      final Clock clock) {
+    this.directory = directory;
+    this.generationExecutor = generationExecutor;
+    this.itemExecutor = itemExecutor;
+    this.clock = clock;
+    loadedDatasetsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "ethhash_datasets_loaded_total",
+            "Total number of full EthHash datasets generated or loaded from disk for mining");
+    generationTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.BLOCKCHAIN,
+            "ethhash_dataset_generation_duration_seconds",
+            "Time taken to generate or load a full EthHash dataset");
+  }
+
+  /**
+   * Returns the dataset for the epoch of the given block if it is ready, and schedules generation
+   * of any dataset that will be needed soon.
+   *
+   * @param blockNumber the number of the block being mined
+   * @param epochCalculator the epoch calculator of the chain
+   * @return the dataset, or empty if it is not yet available
+   */
+  public Optional<EthHashDataset> datasetFor(
+      final long blockNumber, final EpochCalculator epochCalculator) {
+    final long epoch = epochCalculator.cacheEpoch(blockNumber);
+    final long upcomingBlock = blockNumber + PREGENERATION_BLOCKS;
+    final long upcomingEpoch = epochCalculator.cacheEpoch(upcomingBlock);
+    final ReadyDataset ready = readyDataset;
+    if (ready != null
+        && ready.epoch == epoch
+        && (ready.upcomingGeneration == null
+            ? upcomingEpoch == epoch
+            : !ready.upcomingGeneration.isCompletedExceptionally())) {
+      return Optional.of(ready.dataset);
+    }
+
+    final CompletableFuture<EthHashDataset> dataset =
+        generationFor(epoch, blockNumber, epochCalculator);
+    final CompletableFuture<EthHashDataset> upcomingGeneration =
+        upcomingEpoch != epoch
+            ? generationFor(upcomingEpoch, upcomingBlock, epochCalculator)
+            : null;
+
+    if (!dataset.isDone() || dataset.isCompletedExceptionally()) {
+      return Optional.empty();
+    }
+    discardEpochsBefore(epoch);
+    readyDataset = new ReadyDataset(epoch, dataset.join(), upcomingGeneration);
+    return Optional.of(dataset.join());
+  }
+
+  private CompletableFuture<EthHashDataset> generationFor(
+      final long epoch, final long blockNumber, final EpochCalculator epochCalculator) {
+    final CompletableFuture<EthHashDataset> existing = datasets.get(epoch);
+    if (existing != null && !isRetryDue(epoch, existing)) {
+      return existing;
+    }
+    return datasets.compute(
+        epoch,
+        (e, current) ->
+            current == null || isRetryDue(e, current)
+                ? scheduleGeneration(e, blockNumber, epochCalculator)
+                : current);
+  }
+
+  private boolean isRetryDue(final long epoch, final CompletableFuture<EthHashDataset> generation) {
+    if (!generation.isCompletedExceptionally()) {
+      return false;
+    }
+    final Long failureTime = generationFailureTimes.get(epoch);
+    return failureTime == null || clock.millis() - failureTime >= GENERATION_RETRY_DELAY.toMillis();
+  }
+
+  private CompletableFuture<EthHashDataset> scheduleGeneration(
+      final long epoch, final long blockNumber, final EpochCalculator epochCalculator) {
+    final Path file =
+        directory.resolve(
+            DATASET_FILE_PREFIX
+                + Bytes.wrap(DirectAcyclicGraphSeed.dagSeed(blockNumber, epochCalculator))
+                    .slice(0, 8)
+                    .toUnprefixedHexString());
+    datasetFiles.put(epoch, file);
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return generate(file, epoch, blockNumber, epochCalculator);
+          } catch (final RuntimeException e) {
+            // recorded before the generation completes so that no lookup retries it immediately
+            generationFailureTimes.put(epoch, clock.millis());
+            LOG.warn("Unable to create EthHash dataset for epoch {}", epoch, e);
+            throw e;
+          }
+        },
+        generationExecutor);
+  }
+
+  private EthHashDataset generate(
+      final Path file,
+      final long epoch,
+      final long blockNumber,
+      final EpochCalculator epochCalculator) {
+    final EthHashCacheFactory.EthHashDescriptor descriptor =
+        cacheFactory.ethHashCacheFor(blockNumber, epochCalculator);
+    try {
+      Files.createDirectories(directory);
+    } catch (final IOException e) {
+      throw new IllegalStateException("Unable to create EthHash dataset directory", e);
+    }
+    if (!Files.isRegularFile(file)) {
+      LOG.info(
+          "Generating EthHash dataset for epoch {} ({} bytes)", epoch, descriptor.getDatasetSize());
+    }
+    try (final OperationTimer.TimingContext ignored = generationTimer.startTimer()) {
+      final EthHashDataset dataset =
+          EthHashDataset.openOrGenerate(
+              file, epoch, descriptor.getDatasetSize(), descriptor.getCache(), itemExecutor);
+      loadedDatasetsCounter.inc();
+      LOG.info("EthHash dataset for epoch {} is ready", epoch);
+      return dataset;
+    }
+  }
+
+  private void discardEpochsBefore(final long epoch) {
+    for (final Long staleEpoch : datasets.keySet()) {
+      if (staleEpoch >= epoch) {
+        continue;
+      }
+      final CompletableFuture<EthHashDataset> stale = datasets.remove(staleEpoch);
+      final Path file = datasetFiles.remove(staleEpoch);
+      generationFailureTimes.remove(staleEpoch);
+      if (stale != null && file != null) {
+        // the mapping stays valid for any thread still using it, so the file can go right away
+        stale.whenComplete((dataset, error) -> deleteQuietly(file));
+      }
+    }
+  }
+
+  private static class ReadyDataset {
+    private final long epoch;
+    private final EthHashDataset dataset;
+    private final CompletableFuture<EthHashDataset> upcomingGeneration;
+
+    private ReadyDataset(
+        final long epoch,
+        final EthHashDataset dataset,
+        final CompletableFuture<EthHashDataset> upcomingGeneration) {
+      this.epoch = epoch;
+      this.dataset = dataset;
+      this.upcomingGeneration = upcomingGeneration;
+    }
+  }
+
+  private static void deleteQuietly(final Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (final IOException e) {
+      LOG.debug("Unable to delete EthHash dataset {}", file, e);
+    }
+  }
+}
@@ -14,17 +14,28 @@
  */
 package org.hyperledger.besu.ethereum.mainnet;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.apache.logging.log4j.LogManager.getLogger;
 
 import org.hyperledger.besu.ethereum.chain.EthHashObserver;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
 
 import com.google.common.base.Stopwatch;
 import org.apache.logging.log4j.Logger;
@@ -80,10 +91,12 @@ public class EthHashSolver {
 
   private final Iterable<Long> nonceGenerator;
   private final EthHasher ethHasher;
-  private volatile long hashesPerSecond = NO_MINING_CONDUCTED;
   private final Boolean stratumMiningEnabled;
   private final Subscribers<EthHashObserver> ethHashObservers;
   private final EpochCalculator epochCalculator;
+  private final int solverThreads;
+  private final AtomicLongArray threadHashesPerSecond;
+  private final LabelledMetric<Counter> threadHashesCounter;
   private volatile Optional<EthHashSolverJob> currentJob = Optional.empty();
 
   public EthHashSolver(
@@ -92,12 +105,42 @@ public class EthHashSolver {
       final Boolean stratumMiningEnabled,
       final Subscribers<EthHashObserver> ethHashObservers,
       final EpochCalculator epochCalculator) {
+    this(
+        nonceGenerator,
+        ethHasher,
+        stratumMiningEnabled,
+        ethHashObservers,
+        epochCalculator,
+        1,
+        new NoOpMetricsSystem());
+  }
+
+  public EthHashSolver(
+      final Iterable<Long> nonceGenerator,
+      final EthHasher ethHasher,
+      final Boolean stratumMiningEnabled,
+      final Subscribers<EthHashObserver> ethHashObservers,
+      final EpochCalculator epochCalculator,
+      final int solverThreads,
+      final MetricsSystem metricsSystem) {
+    checkArgument(solverThreads > 0, "At least one solver thread is required");
     this.nonceGenerator = nonceGenerator;
     this.ethHasher = ethHasher;
     this.stratumMiningEnabled = stratumMiningEnabled;
     this.ethHashObservers = ethHashObservers;
     ethHashObservers.forEach(observer -> observer.setSubmitWorkCallback(this::submitSolution));
     this.epochCalculator = epochCalculator;
+    this.solverThreads = solverThreads;
+    this.threadHashesPerSecond = new AtomicLongArray(solverThreads);
+    for (int i = 0; i < solverThreads; i++) {
+      threadHashesPerSecond.set(i, NO_MINING_CONDUCTED);
+    }
+    this.threadHashesCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "ethhash_solver_hashes_total",
+            "Total number of EthHash nonces tested by each local solver thread",
+            "thread");
   }
 
   public EthHashSolution solveFor(final EthHashSolverJob job)
@@ -111,12 +154,55 @@ public class EthHashSolver {
     return currentJob.get().getSolution();
   }
 
-  private void findValidNonce() {
-    final Stopwatch operationTimer = Stopwatch.createStarted();
+  private void findValidNonce() throws InterruptedException {
     final EthHashSolverJob job = currentJob.get();
+    final Iterator<Long> nonces = nonceGenerator.iterator();
+    final Supplier<Long> nextNonce =
+        () -> {
+          synchronized (nonces) {
+            return nonces.hasNext() ? nonces.next() : null;
+          }
+        };
+
+    final List<Thread> workers = new ArrayList<>();
+    for (int i = 1; i < solverThreads; i++) {
+      final int thread = i;
+      final Thread worker =
+          new Thread(
+              () -> {
+                try {
+                  searchNonces(job, nextNonce, thread);
+                } catch (final RuntimeException e) {
+                  job.failed(e);
+                }
+              },
+              "EthHashSolver-" + thread);
+      worker.setDaemon(true);
+      worker.start();
+      workers.add(worker);
+    }
+
+    try {
+      searchNonces(job, nextNonce, 0);
+      for (final Thread worker : workers) {
+        worker.join();
+      }
+    } catch (final InterruptedException | RuntimeException e) {
+      job.failed(e);
+      throw e;
+    }
+    if (!job.isDone()) {
+      job.failed(new IllegalStateException("No valid nonce found."));
+    }
+  }
+
+  private void searchNonces(
+      final EthHashSolverJob job, final Supplier<Long> nextNonce, final int thread) {
+    final Stopwatch operationTimer = Stopwatch.createStarted();
+    final Counter hashesCounter = threadHashesCounter.labels(Integer.toString(thread));
     long hashesExecuted = 0;
     final byte[] hashBuffer = new byte[64];
-    for (final Long n : nonceGenerator) {
+    for (Long n = nextNonce.get(); n != null; n = nextNonce.get()) {
 
       if (job.isDone()) {
         return;
@@ -126,10 +212,10 @@ public class EthHashSolver {
       solution.ifPresent(job::solvedWith);
 
       hashesExecuted++;
+      hashesCounter.inc();
       final double operationDurationSeconds = operationTimer.elapsed(TimeUnit.NANOSECONDS) / 1e9;
-      hashesPerSecond = (long) (hashesExecuted / operationDurationSeconds);
+      threadHashesPerSecond.set(thread, (long) (hashesExecuted / operationDurationSeconds));
     }
-    job.failed(new IllegalStateException("No valid nonce found."));
   }
 
   private Optional<EthHashSolution> testNonce(
@@ -154,10 +240,16 @@ public class EthHashSolver {
   }
 
   public Optional<Long> hashesPerSecond() {
-    if (hashesPerSecond == NO_MINING_CONDUCTED) {
-      return Optional.empty();
+    boolean miningConducted = false;
+    long hashesPerSecond = 0;
+    for (int i = 0; i < solverThreads; i++) {
+      final long threadRate = threadHashesPerSecond.get(i);
+      if (threadRate != NO_MINING_CONDUCTED) {
+        miningConducted = true;
+        hashesPerSecond += threadRate;
+      }
     }
-    return Optional.of(hashesPerSecond);
+    return miningConducted ? Optional.of(hashesPerSecond) : Optional.empty();
   }
 
   public boolean submitSolution(final EthHashSolution solution) {
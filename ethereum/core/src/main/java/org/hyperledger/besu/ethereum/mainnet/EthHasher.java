@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.mainnet;
 
+import java.util.Optional;
+
 public interface EthHasher {
 
   /**
@@ -45,4 +47,34 @@ public interface EthHasher {
       System.arraycopy(hash, 0, buffer, 0, hash.length);
     }
   }
+
+  /**
+   * Hashes with the full dataset of the epoch once it has been generated, and with the light
+   * implementation until then.
+   */
+  final class Full implements EthHasher {
+
+    private final EthHashDatasetManager datasetManager;
+    private final Light light = new Light();
+
+    public Full(final EthHashDatasetManager datasetManager) {
+      this.datasetManager = datasetManager;
+    }
+
+    @Override
+    public void hash(
+        final byte[] buffer,
+        final long nonce,
+        final long number,
+        final EpochCalculator epochCalc,
+        final byte[] headerHash) {
+      final Optional<EthHashDataset> dataset = datasetManager.datasetFor(number, epochCalc);
+      if (dataset.isEmpty()) {
+        light.hash(buffer, nonce, number, epochCalc, headerHash);
+        return;
+      }
+      final byte[] hash = EthHash.hashimotoFull(dataset.get(), headerHash, nonce);
+      System.arraycopy(hash, 0, buffer, 0, hash.length);
+    }
+  }
 }
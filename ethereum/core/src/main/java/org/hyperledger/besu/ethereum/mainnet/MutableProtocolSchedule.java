@@ -33,6 +33,7 @@ public class MutableProtocolSchedule implements ProtocolSchedule {
           Comparator.<ScheduledProtocolSpec, Long>comparing(ScheduledProtocolSpec::getBlock)
               .reversed());
   private final Optional<BigInteger> chainId;
+  private BlockProcessingProfiler blockProcessingProfiler = BlockProcessingProfiler.DISABLED;
 
   public MutableProtocolSchedule(final Optional<BigInteger> chainId) {
     this.chainId = chainId;
@@ -92,4 +93,25 @@ public class MutableProtocolSchedule implements ProtocolSchedule {
                 .setPublicWorldStateArchive(publicWorldStateArchive);
         });
   }
+
+  @Override
+  public void setBlockProcessingProfiler(final BlockProcessingProfiler blockProcessingProfiler) {
+    this.blockProcessingProfiler = blockProcessingProfiler;
+    protocolSpecs.forEach(
+        spec -> {
+          final BlockProcessor blockProcessor = spec.getSpec().getBlockProcessor();
+          if (blockProcessor instanceof AbstractBlockProcessor) {
+            ((AbstractBlockProcessor) blockProcessor)
+                .setBlockProcessingProfiler(blockProcessingProfiler);
+          } else if (blockProcessor instanceof PrivacyBlockProcessor) {
+            ((PrivacyBlockProcessor) blockProcessor)
+                .setBlockProcessingProfiler(blockProcessingProfiler);
+          }
+        });
+  }
+
+  @Override
+  public BlockProcessingProfiler getBlockProcessingProfiler() {
+    return blockProcessingProfiler;
+  }
 }
@@ -23,6 +23,8 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.privacy.ParallelPrivateStateRehydration;
+import org.hyperledger.besu.ethereum.privacy.PrivatePayloadPrefetcher;
 import org.hyperledger.besu.ethereum.privacy.PrivateStateRehydration;
 import org.hyperledger.besu.ethereum.privacy.PrivateStateRootResolver;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionWithMetadata;
@@ -33,6 +35,7 @@ import org.hyperledger.besu.ethereum.privacy.storage.PrivateStateStorage;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateTransactionMetadata;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
@@ -53,6 +56,8 @@ public class PrivacyBlockProcessor implements BlockProcessor {
   private final PrivateStateStorage privateStateStorage;
   private final WorldStateArchive privateWorldStateArchive;
   private final PrivateStateRootResolver privateStateRootResolver;
+  private final Optional<PrivatePayloadPrefetcher> payloadPrefetcher;
+  private final Optional<ParallelPrivateStateRehydration> parallelRehydration;
   private WorldStateArchive publicWorldStateArchive;
 
   public PrivacyBlockProcessor(
@@ -62,18 +67,46 @@ public class PrivacyBlockProcessor implements BlockProcessor {
       final PrivateStateStorage privateStateStorage,
       final WorldStateArchive privateWorldStateArchive,
       final PrivateStateRootResolver privateStateRootResolver) {
+    this(
+        blockProcessor,
+        protocolSchedule,
+        enclave,
+        privateStateStorage,
+        privateWorldStateArchive,
+        privateStateRootResolver,
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  public PrivacyBlockProcessor(
+      final BlockProcessor blockProcessor,
+      final ProtocolSchedule protocolSchedule,
+      final Enclave enclave,
+      final PrivateStateStorage privateStateStorage,
+      final WorldStateArchive privateWorldStateArchive,
+      final PrivateStateRootResolver privateStateRootResolver,
+      final Optional<PrivatePayloadPrefetcher> payloadPrefetcher,
+      final Optional<ParallelPrivateStateRehydration> parallelRehydration) {
     this.blockProcessor = blockProcessor;
     this.protocolSchedule = protocolSchedule;
     this.enclave = enclave;
     this.privateStateStorage = privateStateStorage;
     this.privateWorldStateArchive = privateWorldStateArchive;
     this.privateStateRootResolver = privateStateRootResolver;
+    this.payloadPrefetcher = payloadPrefetcher;
+    this.parallelRehydration = parallelRehydration;
   }
 
   public void setPublicWorldStateArchive(final WorldStateArchive publicWorldStateArchive) {
     this.publicWorldStateArchive = publicWorldStateArchive;
   }
 
+  public void setBlockProcessingProfiler(final BlockProcessingProfiler blockProcessingProfiler) {
+    if (blockProcessor instanceof AbstractBlockProcessor) {
+      ((AbstractBlockProcessor) blockProcessor).setBlockProcessingProfiler(blockProcessingProfiler);
+    }
+  }
+
   @Override
   public Result processBlock(
       final Blockchain blockchain,
@@ -87,22 +120,32 @@ public class PrivacyBlockProcessor implements BlockProcessor {
       throw new IllegalArgumentException("PrivateMetadataUpdater passed in is not null.");
     }
 
-    maybeRehydrate(blockchain, blockHeader, transactions);
+    // start retrieving private payloads while any rehydration is done
+    final Optional<PrivatePayloadPrefetcher.Prefetch> prefetch =
+        payloadPrefetcher.map(prefetcher -> prefetcher.prefetch(transactions));
+    try {
+      maybeRehydrate(blockchain, blockHeader, transactions);
 
-    final PrivateMetadataUpdater metadataUpdater =
-        new PrivateMetadataUpdater(blockHeader, privateStateStorage);
+      final PrivateMetadataUpdater metadataUpdater =
+          new PrivateMetadataUpdater(blockHeader, privateStateStorage);
 
-    final Result result =
-        blockProcessor.processBlock(
-            blockchain, worldState, blockHeader, transactions, ommers, metadataUpdater);
-    metadataUpdater.commit();
-    return result;
+      final Result result =
+          blockProcessor.processBlock(
+              blockchain, worldState, blockHeader, transactions, ommers, metadataUpdater);
+      metadataUpdater.commit();
+      return result;
+    } finally {
+      prefetch.ifPresent(PrivatePayloadPrefetcher.Prefetch::discard);
+    }
   }
 
   void maybeRehydrate(
       final Blockchain blockchain,
       final BlockHeader blockHeader,
       final List<Transaction> transactions) {
+    final List<Bytes32> privacyGroupIds = new ArrayList<>();
+    final List<Bytes32> addKeys = new ArrayList<>();
+    final List<List<PrivateTransactionWithMetadata>> rehydrationLists = new ArrayList<>();
     transactions.stream()
         .filter(
             t ->
@@ -129,27 +172,46 @@ public class PrivacyBlockProcessor implements BlockProcessor {
                     createActualList(
                         blockHeader, privateTransactionWithMetadataList, privacyGroupId);
 
-                if (actualList.size() > 0) {
+                // groups are rehydrated concurrently, so a group added twice in this block is
+                // only rehydrated once
+                if (actualList.size() > 0 && !privacyGroupIds.contains(privacyGroupId)) {
                   LOG.debug(
                       "Rehydrating privacy group {}, number of transactions to be rehydrated is {} out of a total number of {} transactions.",
                       privacyGroupId.toString(),
                       actualList.size(),
                       privateTransactionWithMetadataList.size());
-                  final PrivateStateRehydration privateStateRehydration =
-                      new PrivateStateRehydration(
-                          privateStateStorage,
-                          blockchain,
-                          protocolSchedule,
-                          publicWorldStateArchive,
-                          privateWorldStateArchive,
-                          privateStateRootResolver);
-                  privateStateRehydration.rehydrate(actualList);
-                  privateStateStorage.updater().putAddDataKey(privacyGroupId, addKey).commit();
+                  privacyGroupIds.add(privacyGroupId);
+                  addKeys.add(addKey);
+                  rehydrationLists.add(actualList);
                 }
               } catch (final EnclaveClientException e) {
                 // we were not being added because we have not found the add blob
               }
             });
+
+    if (rehydrationLists.isEmpty()) {
+      return;
+    }
+
+    final PrivateStateRehydration privateStateRehydration =
+        new PrivateStateRehydration(
+            privateStateStorage,
+            blockchain,
+            protocolSchedule,
+            publicWorldStateArchive,
+            privateWorldStateArchive,
+            privateStateRootResolver);
+    if (parallelRehydration.isPresent()) {
+      parallelRehydration.get().rehydrate(privateStateRehydration, rehydrationLists);
+    } else {
+      rehydrationLists.forEach(privateStateRehydration::rehydrate);
+    }
+
+    final PrivateStateStorage.Updater updater = privateStateStorage.updater();
+    for (int i = 0; i < privacyGroupIds.size(); i++) {
+      updater.putAddDataKey(privacyGroupIds.get(i), addKeys.get(i));
+    }
+    updater.commit();
   }
 
   private List<PrivateTransactionWithMetadata> createActualList(
@@ -30,4 +30,8 @@ public interface ProtocolSchedule {
 
   void setPublicWorldStateArchiveForPrivacyBlockProcessor(
       WorldStateArchive publicWorldStateArchive);
+
+  void setBlockProcessingProfiler(BlockProcessingProfiler blockProcessingProfiler);
+
+  BlockProcessingProfiler getBlockProcessingProfiler();
 }
@@ -328,7 +328,9 @@ public class ProtocolSpecBuilder {
               privacyParameters.getEnclave(),
               privacyParameters.getPrivateStateStorage(),
               privacyParameters.getPrivateWorldStateArchive(),
-              privacyParameters.getPrivateStateRootResolver());
+              privacyParameters.getPrivateStateRootResolver(),
+              privacyParameters.getPrivatePayloadPrefetcher(),
+              privacyParameters.getParallelPrivateStateRehydration());
     }
 
     final BlockValidator blockValidator =
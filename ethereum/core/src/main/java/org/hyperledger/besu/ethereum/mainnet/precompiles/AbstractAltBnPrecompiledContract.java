@@ -40,6 +40,11 @@ public abstract class AbstractAltBnPrecompiledContract extends AbstractPrecompil
             : "Native alt bn128 requested but not available");
   }
 
+  public static void disableNative() {
+    useNative = false;
+    LOG.info("Using pure Java alt bn128");
+  }
+
   private final byte operationId;
 
   AbstractAltBnPrecompiledContract(
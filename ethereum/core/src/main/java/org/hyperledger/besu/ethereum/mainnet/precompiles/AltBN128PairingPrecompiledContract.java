@@ -18,7 +18,6 @@ import org.hyperledger.besu.crypto.altbn128.AltBn128Fq12Pairer;
 import org.hyperledger.besu.crypto.altbn128.AltBn128Fq2Point;
 import org.hyperledger.besu.crypto.altbn128.AltBn128Point;
 import org.hyperledger.besu.crypto.altbn128.Fq;
-import org.hyperledger.besu.crypto.altbn128.Fq12;
 import org.hyperledger.besu.crypto.altbn128.Fq2;
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
@@ -107,12 +106,7 @@ public class AltBN128PairingPrecompiledContract extends AbstractAltBnPrecompiled
       b.add(p2);
     }
 
-    Fq12 exponent = Fq12.one();
-    for (int i = 0; i < parameters; ++i) {
-      exponent = exponent.multiply(AltBn128Fq12Pairer.pair(a.get(i), b.get(i)));
-    }
-
-    if (AltBn128Fq12Pairer.finalize(exponent).equals(Fq12.one())) {
+    if (AltBn128Fq12Pairer.pairingCheck(a, b)) {
       return TRUE;
     } else {
       return FALSE;
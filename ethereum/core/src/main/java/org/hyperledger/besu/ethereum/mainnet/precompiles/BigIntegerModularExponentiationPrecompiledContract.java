@@ -22,6 +22,9 @@ import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import java.math.BigInteger;
 import java.util.Arrays;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
 
@@ -44,8 +47,23 @@ public class BigIntegerModularExponentiationPrecompiledContract
   private static final BigInteger BIGINT_3072 = BigInteger.valueOf(3_072L);
   private static final BigInteger BIGINT_199680 = BigInteger.valueOf(199_680L);
 
+  private static final long RESULT_CACHE_SIZE = 128;
+  // Covers 4096 bit RSA verification, larger inputs are hashed and copied for little benefit.
+  private static final int MAX_CACHED_INPUT_SIZE = 4_096;
+  // Above this size a single multiply and divide is slower than BigInteger.modPow.
+  private static final int MAX_SQUARING_MODULUS_BITS = 2_048;
+
+  private final Cache<Bytes, Bytes> resultCache;
+
   public BigIntegerModularExponentiationPrecompiledContract(final GasCalculator gasCalculator) {
+    this(gasCalculator, RESULT_CACHE_SIZE);
+  }
+
+  @VisibleForTesting
+  BigIntegerModularExponentiationPrecompiledContract(
+      final GasCalculator gasCalculator, final long resultCacheSize) {
     super("BigIntModExp", gasCalculator);
+    this.resultCache = CacheBuilder.newBuilder().maximumSize(resultCacheSize).build();
   }
 
   @Override
@@ -55,6 +73,21 @@ public class BigIntegerModularExponentiationPrecompiledContract
 
   @Override
   public Bytes compute(final Bytes input, final MessageFrame messageFrame) {
+    // The result only depends on the input, so calls repeated within or across blocks, such as
+    // verifying the same signature, are answered from recent results.
+    if (input.size() > MAX_CACHED_INPUT_SIZE) {
+      return computeResult(input);
+    }
+    final Bytes cachedResult = resultCache.getIfPresent(input);
+    if (cachedResult != null) {
+      return cachedResult;
+    }
+    final Bytes result = computeResult(input);
+    resultCache.put(input.copy(), result);
+    return result;
+  }
+
+  private static Bytes computeResult(final Bytes input) {
     final BigInteger baseLength = baseLength(input);
     final BigInteger exponentLength = exponentLength(input);
     final BigInteger modulusLength = modulusLength(input);
@@ -65,18 +98,42 @@ public class BigIntegerModularExponentiationPrecompiledContract
     final BigInteger mod = extractParameter(input, modulusOffset, modulusLength.intValue());
 
     final Bytes modExp;
-    // Result must be the length of the modulus.
-    final MutableBytes result = MutableBytes.create(modulusLength.intValue());
+    // Result must be the length of the modulus. It is returned as immutable bytes because it may be
+    // cached and returned again.
+    final byte[] result = new byte[modulusLength.intValue()];
     if (mod.compareTo(BigInteger.ZERO) == 0) {
       modExp = MutableBytes.EMPTY;
     } else {
       // BigInteger zero-pads positive values whose most significant bit is a 1 if
       // the padding was not there.
-      modExp = Bytes.wrap(base.modPow(exp, mod).toByteArray()).trimLeadingZeros();
+      modExp = Bytes.wrap(modPow(base, exp, mod).toByteArray()).trimLeadingZeros();
     }
 
-    modExp.copyTo(result, result.size() - modExp.size());
-    return result;
+    modExp.copyTo(MutableBytes.wrap(result), result.length - modExp.size());
+    return Bytes.wrap(result);
+  }
+
+  /**
+   * Computes {@code base^exp mod mod} for a positive modulus. BigInteger.modPow already uses
+   * sliding window Montgomery exponentiation for odd moduli, but its setup dominates for the
+   * smallest exponents, so those are handled directly.
+   */
+  @VisibleForTesting
+  static BigInteger modPow(final BigInteger base, final BigInteger exp, final BigInteger mod) {
+    if (mod.equals(BigInteger.ONE)) {
+      return BigInteger.ZERO;
+    }
+    if (exp.signum() == 0) {
+      return BigInteger.ONE;
+    }
+    if (exp.equals(BigInteger.ONE)) {
+      return base.mod(mod);
+    }
+    if (exp.equals(BigInteger.TWO) && mod.bitLength() <= MAX_SQUARING_MODULUS_BITS) {
+      final BigInteger reduced = base.mod(mod);
+      return reduced.multiply(reduced).mod(mod);
+    }
+    return base.modPow(exp, mod);
   }
 
   // Equation to estimate the multiplication complexity.
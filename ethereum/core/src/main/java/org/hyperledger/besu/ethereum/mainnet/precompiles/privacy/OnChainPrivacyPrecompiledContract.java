@@ -88,6 +88,7 @@ public class OnChainPrivacyPrecompiledContract extends PrivacyPrecompiledContrac
         privacyParameters.getEnclave(),
         privacyParameters.getPrivateWorldStateArchive(),
         privacyParameters.getPrivateStateRootResolver(),
+        privacyParameters.getPrivatePayloadPrefetcher(),
         "OnChainPrivacy");
   }
 
@@ -28,6 +28,7 @@ import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.mainnet.AbstractPrecompiledContract;
+import org.hyperledger.besu.ethereum.privacy.PrivatePayloadPrefetcher;
 import org.hyperledger.besu.ethereum.privacy.PrivateStateRootResolver;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransaction;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionProcessor;
@@ -42,6 +43,7 @@ import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
 import java.util.Base64;
+import java.util.Optional;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.logging.log4j.LogManager;
@@ -51,6 +53,7 @@ import org.apache.tuweni.bytes.Bytes32;
 
 public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
   private final Enclave enclave;
+  private final Optional<PrivatePayloadPrefetcher> payloadPrefetcher;
   final WorldStateArchive privateWorldStateArchive;
   final PrivateStateRootResolver privateStateRootResolver;
   PrivateTransactionProcessor privateTransactionProcessor;
@@ -66,6 +69,7 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
         privacyParameters.getEnclave(),
         privacyParameters.getPrivateWorldStateArchive(),
         privacyParameters.getPrivateStateRootResolver(),
+        privacyParameters.getPrivatePayloadPrefetcher(),
         name);
   }
 
@@ -84,8 +88,25 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
       final WorldStateArchive worldStateArchive,
       final PrivateStateRootResolver privateStateRootResolver,
       final String name) {
+    this(
+        gasCalculator,
+        enclave,
+        worldStateArchive,
+        privateStateRootResolver,
+        Optional.empty(),
+        name);
+  }
+
+  protected PrivacyPrecompiledContract(
+      final GasCalculator gasCalculator,
+      final Enclave enclave,
+      final WorldStateArchive worldStateArchive,
+      final PrivateStateRootResolver privateStateRootResolver,
+      final Optional<PrivatePayloadPrefetcher> payloadPrefetcher,
+      final String name) {
     super(name, gasCalculator);
     this.enclave = enclave;
+    this.payloadPrefetcher = payloadPrefetcher;
     this.privateWorldStateArchive = worldStateArchive;
     this.privateStateRootResolver = privateStateRootResolver;
   }
@@ -232,7 +253,10 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
   ReceiveResponse getReceiveResponse(final String key) {
     final ReceiveResponse receiveResponse;
     try {
-      receiveResponse = enclave.receive(key);
+      receiveResponse =
+          payloadPrefetcher
+              .flatMap(prefetcher -> prefetcher.take(key))
+              .orElseGet(() -> enclave.receive(key));
     } catch (final EnclaveServerException e) {
       LOG.error("Enclave is responding with an error, perhaps it has a misconfiguration?", e);
       throw e;
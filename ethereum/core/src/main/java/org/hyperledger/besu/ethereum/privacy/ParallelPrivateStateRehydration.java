@@ -0,0 +1,164 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.privacy;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Rehydrates the private state of several privacy groups at once. The private world states of
+ * different privacy groups are independent, so each group is replayed on its own thread, while the
+ * blocks each group needs are read ahead of its execution on a separate pool.
+ */
+public class ParallelPrivateStateRehydration {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  private final ExecutorService groupExecutor;
+  private final ExecutorService blockReadExecutor;
+  private final Counter rehydratedBlocksCounter;
+  private final Counter rehydratedTransactionsCounter;
+  private final AtomicLong remainingBlocks = new AtomicLong();
+
+  public ParallelPrivateStateRehydration(final MetricsSystem metricsSystem, final int parallelism) {
+    this.groupExecutor = createExecutor(parallelism, "PrivateStateRehydration-%d");
+    this.blockReadExecutor = createExecutor(parallelism, "PrivateStateRehydrationReader-%d");
+
+    rehydratedBlocksCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "private_state_rehydration_blocks_total",
+            "Number of blocks executed to rehydrate private state");
+    rehydratedTransactionsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "private_state_rehydration_transactions_total",
+            "Number of private transactions executed to rehydrate private state");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "private_state_rehydration_blocks_remaining",
+        "Number of blocks still to be executed by private state rehydrations in progress",
+        remainingBlocks::get);
+  }
+
+  private static ExecutorService createExecutor(final int threads, final String nameFormat) {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat(nameFormat).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Rehydrates each of the given privacy groups, returning once all of them are complete. If any
+   * rehydration fails, the first failure is rethrown after the remaining groups have finished.
+   *
+   * @param rehydration the rehydration to run for each group
+   * @param privacyGroups the transactions of each privacy group, in chain order
+   */
+  public void rehydrate(
+      final PrivateStateRehydration rehydration,
+      final List<List<PrivateTransactionWithMetadata>> privacyGroups) {
+    final long startTime = System.currentTimeMillis();
+    final List<GroupProgress> progress = new ArrayList<>();
+    final List<CompletableFuture<Void>> rehydrations = new ArrayList<>();
+    for (final List<PrivateTransactionWithMetadata> privacyGroup : privacyGroups) {
+      final GroupProgress groupProgress = new GroupProgress();
+      progress.add(groupProgress);
+      rehydrations.add(
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  rehydration.rehydrate(privacyGroup, blockReadExecutor, groupProgress);
+                } finally {
+                  groupProgress.finished();
+                }
+              },
+              groupExecutor));
+    }
+
+    RuntimeException failure = null;
+    for (final CompletableFuture<Void> groupRehydration : rehydrations) {
+      try {
+        groupRehydration.join();
+      } catch (final CompletionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+
+    final long blocks =
+        progress.stream().mapToLong(groupProgress -> groupProgress.rehydrated).sum();
+    final long durationMillis = Math.max(1, System.currentTimeMillis() - startTime);
+    LOG.info(
+        "Rehydrated {} privacy groups from {} blocks in {} seconds ({} blocks/s)",
+        privacyGroups.size(),
+        blocks,
+        durationMillis / 1000.0,
+        blocks * 1000 / durationMillis);
+  }
+
+  private class GroupProgress implements PrivateStateRehydration.ProgressListener {
+    private long remaining;
+    private long rehydrated;
+
+    @Override
+    public void blocksScheduled(final long blockCount) {
+      remaining += blockCount;
+      remainingBlocks.addAndGet(blockCount);
+    }
+
+    @Override
+    public void blockRehydrated(final int privateTransactionCount) {
+      remaining--;
+      rehydrated++;
+      remainingBlocks.decrementAndGet();
+      rehydratedBlocksCounter.inc();
+      rehydratedTransactionsCounter.inc(privateTransactionCount);
+    }
+
+    void finished() {
+      // a rehydration that stops early leaves blocks which will never be executed
+      remainingBlocks.addAndGet(-remaining);
+      remaining = 0;
+    }
+  }
+}
@@ -182,7 +182,10 @@ public class PrivateGroupRehydrationBlockProcessor {
       return AbstractBlockProcessor.Result.failed();
     }
 
-    metadataUpdater.commit();
+    // privacy groups may be rehydrated concurrently, and share the head block map of each block
+    synchronized (privateStateStorage) {
+      metadataUpdater.commitMergingPrivacyGroupHeadBlockMap();
+    }
 
     return AbstractBlockProcessor.Result.successful(receipts);
   }
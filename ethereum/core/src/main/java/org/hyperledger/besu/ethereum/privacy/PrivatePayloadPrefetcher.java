@@ -0,0 +1,159 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.privacy;
+
+import org.hyperledger.besu.enclave.Enclave;
+import org.hyperledger.besu.enclave.types.ReceiveResponse;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Retrieves the private payloads of the privacy marker transactions in a block from the enclave
+ * before the block is executed. Payloads are requested concurrently, with at most {@code
+ * maxInFlight} requests outstanding, so the privacy precompile usually finds the payload of each
+ * marker transaction ready instead of waiting for a round trip to the enclave.
+ *
+ * <p>A failed request is reported to the precompile when it takes the payload, so it is handled
+ * exactly as if the payload had been requested by the precompile itself.
+ */
+public class PrivatePayloadPrefetcher {
+
+  public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
+  private final Enclave enclave;
+  private final Address privacyPrecompileAddress;
+  private final Executor executor;
+  private final Map<String, CompletableFuture<ReceiveResponse>> payloads =
+      new ConcurrentHashMap<>();
+
+  public PrivatePayloadPrefetcher(
+      final Enclave enclave, final Address privacyPrecompileAddress, final int maxInFlight) {
+    this(enclave, privacyPrecompileAddress, createExecutor(maxInFlight));
+  }
+
+  @VisibleForTesting
+  PrivatePayloadPrefetcher(
+      final Enclave enclave, final Address privacyPrecompileAddress, final Executor executor) {
+    this.enclave = enclave;
+    this.privacyPrecompileAddress = privacyPrecompileAddress;
+    this.executor = executor;
+  }
+
+  private static Executor createExecutor(final int maxInFlight) {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxInFlight,
+            maxInFlight,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("PrivatePayloadPrefetch-%d")
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Starts retrieving the payloads of all privacy marker transactions in the given list.
+   *
+   * @param transactions the transactions of the block about to be processed
+   * @return the payloads this call started retrieving, to be discarded once the block is processed
+   */
+  public Prefetch prefetch(final List<Transaction> transactions) {
+    final Prefetch prefetch = new Prefetch();
+    for (final Transaction transaction : transactions) {
+      if (transaction.getTo().filter(privacyPrecompileAddress::equals).isEmpty()) {
+        continue;
+      }
+      payloadKey(transaction.getPayload())
+          .ifPresent(
+              key ->
+                  payloads.computeIfAbsent(
+                      key,
+                      k -> {
+                        final CompletableFuture<ReceiveResponse> payload =
+                            CompletableFuture.supplyAsync(() -> enclave.receive(k), executor);
+                        prefetch.started.put(k, payload);
+                        return payload;
+                      }));
+    }
+    return prefetch;
+  }
+
+  /**
+   * Removes and returns the prefetched payload for the given key, waiting for it to arrive if it is
+   * still being retrieved.
+   *
+   * @param key the base64 encoded enclave key of the payload
+   * @return the enclave response, or empty if the payload was not prefetched
+   */
+  public Optional<ReceiveResponse> take(final String key) {
+    final CompletableFuture<ReceiveResponse> payload = payloads.remove(key);
+    if (payload == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(payload.join());
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private Optional<String> payloadKey(final Bytes payload) {
+    if (!privacyPrecompileAddress.equals(Address.ONCHAIN_PRIVACY)) {
+      return Optional.of(payload.toBase64String());
+    }
+    // on-chain privacy marker transactions may carry more data after the payload key
+    return payload.size() < 32
+        ? Optional.empty()
+        : Optional.of(payload.slice(0, 32).toBase64String());
+  }
+
+  /** The payloads retrieved by one call to {@link #prefetch(List)}. */
+  public class Prefetch {
+    private final Map<String, CompletableFuture<ReceiveResponse>> started = new HashMap<>();
+
+    private Prefetch() {}
+
+    /**
+     * Discards the payloads of this prefetch which were not taken. Payloads prefetched for other
+     * blocks being processed at the same time are kept.
+     */
+    public void discard() {
+      started.forEach(payloads::remove);
+    }
+  }
+}
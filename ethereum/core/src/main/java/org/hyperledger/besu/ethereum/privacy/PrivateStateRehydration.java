@@ -27,11 +27,17 @@ import org.hyperledger.besu.ethereum.privacy.storage.PrivacyGroupHeadBlockMap;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateStateStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -40,6 +46,17 @@ import org.apache.tuweni.bytes.Bytes32;
 public class PrivateStateRehydration {
 
   private static final Logger LOG = LogManager.getLogger();
+  private static final int BLOCK_READ_AHEAD = 16;
+  private static final int HEAD_BLOCK_MAP_BATCH_SIZE = 1000;
+
+  /** Receives progress updates from a rehydration. */
+  public interface ProgressListener {
+    ProgressListener NONE = new ProgressListener() {};
+
+    default void blocksScheduled(final long blockCount) {}
+
+    default void blockRehydrated(final int privateTransactionCount) {}
+  }
 
   private final PrivateStateStorage privateStateStorage;
   private final Blockchain blockchain;
@@ -65,6 +82,22 @@ public class PrivateStateRehydration {
 
   public void rehydrate(
       final List<PrivateTransactionWithMetadata> privateTransactionWithMetadataList) {
+    rehydrate(
+        privateTransactionWithMetadataList, MoreExecutors.directExecutor(), ProgressListener.NONE);
+  }
+
+  /**
+   * Rehydrates the private state of a single privacy group. The blocks containing the group's
+   * transactions are read on the given executor ahead of their execution.
+   *
+   * @param privateTransactionWithMetadataList the transactions of the privacy group, in chain order
+   * @param blockReadExecutor the executor to read blocks on
+   * @param progressListener the listener to report progress to
+   */
+  public void rehydrate(
+      final List<PrivateTransactionWithMetadata> privateTransactionWithMetadataList,
+      final Executor blockReadExecutor,
+      final ProgressListener progressListener) {
     final long rehydrationStartTimestamp = System.currentTimeMillis();
     final long chainHeadBlockNumber = blockchain.getChainHeadBlockNumber();
     final Optional<Bytes> maybeGroupId =
@@ -78,18 +111,20 @@ public class PrivateStateRehydration {
     LOG.debug("Rehydrating privacy group {}", privacyGroupId.toBase64String());
 
     // check if there is a privacyGroupHeadBlockMap for the first block ...
-    final boolean needEmptyPrivacyGroupHeadBlockMap =
+    synchronized (privateStateStorage) {
+      final boolean needEmptyPrivacyGroupHeadBlockMap =
+          privateStateStorage
+              .getPrivacyGroupHeadBlockMap(
+                  getBlockHashForIndex(0, privateTransactionWithMetadataList))
+              .isEmpty();
+      if (needEmptyPrivacyGroupHeadBlockMap) {
         privateStateStorage
-            .getPrivacyGroupHeadBlockMap(
-                getBlockHashForIndex(0, privateTransactionWithMetadataList))
-            .isEmpty();
-    if (needEmptyPrivacyGroupHeadBlockMap) {
-      privateStateStorage
-          .updater()
-          .putPrivacyGroupHeadBlockMap(
-              getBlockHashForIndex(0, privateTransactionWithMetadataList),
-              PrivacyGroupHeadBlockMap.empty())
-          .commit();
+            .updater()
+            .putPrivacyGroupHeadBlockMap(
+                getBlockHashForIndex(0, privateTransactionWithMetadataList),
+                PrivacyGroupHeadBlockMap.empty())
+            .commit();
+      }
     }
 
     final LinkedHashMap<Hash, PrivateTransaction> pmtHashToPrivateTransactionMap =
@@ -102,16 +137,37 @@ public class PrivateStateRehydration {
           transactionWithMetadata.getPrivateTransaction());
     }
 
+    // the index of the last PMT (for this group) in each block containing any of its PMTs
+    final List<Integer> lastIndexInBlock = new ArrayList<>();
+    final List<Hash> blockHashes = new ArrayList<>();
     for (int i = 0; i < privateTransactionWithMetadataList.size(); i++) {
-      // find out which block this transaction is in
       final Hash blockHash = getBlockHashForIndex(i, privateTransactionWithMetadataList);
+      if (!blockHashes.isEmpty() && blockHashes.get(blockHashes.size() - 1).equals(blockHash)) {
+        lastIndexInBlock.set(lastIndexInBlock.size() - 1, i);
+      } else {
+        blockHashes.add(blockHash);
+        lastIndexInBlock.add(i);
+      }
+    }
+    progressListener.blocksScheduled(blockHashes.size());
 
-      // At the end of the while loop i will be the index of the last PMT (for this group) that is
-      // in this block.
-      while (i + 1 < privateTransactionWithMetadataList.size()
-          && blockHash.equals(getBlockHashForIndex(i + 1, privateTransactionWithMetadataList))) {
-        i++;
+    final Deque<CompletableFuture<Block>> blocksRead = new ArrayDeque<>();
+    int nextBlockToRead = 0;
+    int firstIndexInBlock = 0;
+    for (int blockIndex = 0; blockIndex < blockHashes.size(); blockIndex++) {
+      final Hash blockHash = blockHashes.get(blockIndex);
+      final int i = lastIndexInBlock.get(blockIndex);
+
+      // keep reading the next blocks while this one is executed
+      while (nextBlockToRead < blockHashes.size()
+          && nextBlockToRead <= blockIndex + BLOCK_READ_AHEAD) {
+        final Hash hashToRead = blockHashes.get(nextBlockToRead++);
+        blocksRead.add(
+            CompletableFuture.supplyAsync(
+                () -> blockchain.getBlockByHash(hashToRead).orElseThrow(RuntimeException::new),
+                blockReadExecutor));
       }
+      final CompletableFuture<Block> blockRead = blocksRead.poll();
 
       final Hash lastPmtHash =
           privateTransactionWithMetadataList
@@ -126,7 +182,7 @@ public class PrivateStateRehydration {
         return;
       }
 
-      final Block block = blockchain.getBlockByHash(blockHash).orElseThrow(RuntimeException::new);
+      final Block block = blockRead.join();
       final BlockHeader blockHeader = block.getHeader();
       LOG.debug(
           "Rehydrating block {} ({}/{}), {}",
@@ -199,9 +255,14 @@ public class PrivateStateRehydration {
             getBlockNumberForIndex(i, privateTransactionWithMetadataList),
             blockchain.getChainHeadBlockNumber() + 1);
       }
+      progressListener.blockRehydrated(i + 1 - firstIndexInBlock);
+      firstIndexInBlock = i + 1;
     }
     final long rehydrationDuration = System.currentTimeMillis() - rehydrationStartTimestamp;
-    LOG.debug("Rehydration took {} seconds", rehydrationDuration / 1000.0);
+    LOG.debug(
+        "Rehydration of {} blocks took {} seconds",
+        blockHashes.size(),
+        rehydrationDuration / 1000.0);
   }
 
   protected void rehydratePrivacyGroupHeadBlockMap(
@@ -210,17 +271,23 @@ public class PrivateStateRehydration {
       final Blockchain currentBlockchain,
       final long from,
       final long to) {
-    for (long j = from + 1; j < to; j++) {
-      final BlockHeader theBlockHeader = currentBlockchain.getBlockHeader(j).orElseThrow();
-      final PrivacyGroupHeadBlockMap thePrivacyGroupHeadBlockMap =
-          privateStateStorage
-              .getPrivacyGroupHeadBlockMap(theBlockHeader.getHash())
-              .orElse(PrivacyGroupHeadBlockMap.empty());
-      final PrivateStateStorage.Updater privateStateUpdater = privateStateStorage.updater();
-      thePrivacyGroupHeadBlockMap.put(privacyGroupId, hashOfLastBlockWithPmt);
-      privateStateUpdater.putPrivacyGroupHeadBlockMap(
-          theBlockHeader.getHash(), new PrivacyGroupHeadBlockMap(thePrivacyGroupHeadBlockMap));
-      privateStateUpdater.commit();
+    for (long batchStart = from + 1; batchStart < to; batchStart += HEAD_BLOCK_MAP_BATCH_SIZE) {
+      final long batchEnd = Math.min(to, batchStart + HEAD_BLOCK_MAP_BATCH_SIZE);
+      // privacy groups may be rehydrated concurrently, and share the head block map of each block
+      synchronized (privateStateStorage) {
+        final PrivateStateStorage.Updater privateStateUpdater = privateStateStorage.updater();
+        for (long j = batchStart; j < batchEnd; j++) {
+          final BlockHeader theBlockHeader = currentBlockchain.getBlockHeader(j).orElseThrow();
+          final PrivacyGroupHeadBlockMap thePrivacyGroupHeadBlockMap =
+              privateStateStorage
+                  .getPrivacyGroupHeadBlockMap(theBlockHeader.getHash())
+                  .orElse(PrivacyGroupHeadBlockMap.empty());
+          thePrivacyGroupHeadBlockMap.put(privacyGroupId, hashOfLastBlockWithPmt);
+          privateStateUpdater.putPrivacyGroupHeadBlockMap(
+              theBlockHeader.getHash(), new PrivacyGroupHeadBlockMap(thePrivacyGroupHeadBlockMap));
+        }
+        privateStateUpdater.commit();
+      }
     }
   }
 
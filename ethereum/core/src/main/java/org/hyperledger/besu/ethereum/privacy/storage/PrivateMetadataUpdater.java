@@ -18,7 +18,10 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionReceipt;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import org.apache.tuweni.bytes.Bytes32;
 
@@ -29,6 +32,7 @@ public class PrivateMetadataUpdater {
   private final PrivateStateStorage.Updater updater;
   private final PrivacyGroupHeadBlockMap privacyGroupHeadBlockMap;
   private final Map<Bytes32, PrivateBlockMetadata> privateBlockMetadataMap = new HashMap<>();
+  private final Set<Bytes32> updatedPrivacyGroups = new HashSet<>();
 
   public PrivateMetadataUpdater(
       final BlockHeader blockHeader, final PrivateStateStorage keyValueStorage) {
@@ -66,12 +70,37 @@ public class PrivateMetadataUpdater {
 
   public void updatePrivacyGroupHeadBlockMap(final Bytes32 privacyGroupId) {
     privacyGroupHeadBlockMap.put(privacyGroupId, blockHeader.getHash());
+    updatedPrivacyGroups.add(privacyGroupId);
   }
 
   public void commit() {
     if (privacyGroupHeadBlockMap.size() > 0) {
       updater.putPrivacyGroupHeadBlockMap(blockHeader.getHash(), privacyGroupHeadBlockMap);
     }
+    commitPrivateBlockMetadata();
+  }
+
+  /**
+   * Commits the updates, adding the heads of the updated privacy groups to the head block map
+   * already stored for this block rather than replacing it. Used when a block that has already been
+   * processed is processed again for a single privacy group, where the stored map may hold heads of
+   * other groups that the map derived from the parent block does not.
+   */
+  public void commitMergingPrivacyGroupHeadBlockMap() {
+    final Optional<PrivacyGroupHeadBlockMap> storedMap =
+        privateStateKeyValueStorage.getPrivacyGroupHeadBlockMap(blockHeader.getHash());
+    if (storedMap.isPresent()) {
+      final PrivacyGroupHeadBlockMap mergedMap = new PrivacyGroupHeadBlockMap(storedMap.get());
+      updatedPrivacyGroups.forEach(
+          privacyGroupId -> mergedMap.put(privacyGroupId, blockHeader.getHash()));
+      updater.putPrivacyGroupHeadBlockMap(blockHeader.getHash(), mergedMap);
+    } else if (privacyGroupHeadBlockMap.size() > 0) {
+      updater.putPrivacyGroupHeadBlockMap(blockHeader.getHash(), privacyGroupHeadBlockMap);
+    }
+    commitPrivateBlockMetadata();
+  }
+
+  private void commitPrivateBlockMetadata() {
     privateBlockMetadataMap.entrySet().stream()
         .forEach(
             entry ->
@@ -28,7 +28,8 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
   CODE_STORAGE(new byte[] {7}, new int[] {2}),
   ACCOUNT_STORAGE_STORAGE(new byte[] {8}, new int[] {2}),
   TRIE_BRANCH_STORAGE(new byte[] {9}, new int[] {2}),
-  TRIE_LOG_STORAGE(new byte[] {10}, new int[] {2});
+  TRIE_LOG_STORAGE(new byte[] {10}, new int[] {2}),
+  VOTE_TALLY_SNAPSHOTS(new byte[] {11});
 
   private final byte[] id;
   private final int[] versionList;
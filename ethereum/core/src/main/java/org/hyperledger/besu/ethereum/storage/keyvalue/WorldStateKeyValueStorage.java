@@ -22,9 +22,9 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
@@ -93,22 +93,44 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
 
   @Override
   public long prune(final Predicate<byte[]> inUseCheck) {
-    final AtomicInteger prunedKeys = new AtomicInteger(0);
+    return prune(inUseCheck, Integer.MAX_VALUE, (examinedKeys, prunedKeys) -> {});
+  }
+
+  @Override
+  public long prune(
+      final Predicate<byte[]> inUseCheck,
+      final int batchSize,
+      final PruneBatchListener batchListener) {
+    long prunedKeys = 0;
+    long batchExaminedKeys = 0;
+    long batchPrunedKeys = 0;
     try (final Stream<byte[]> keys = keyValueStorage.streamKeys()) {
-      keys.forEach(
-          key -> {
-            lock.lock();
-            try {
-              if (!inUseCheck.test(key) && keyValueStorage.tryDelete(key)) {
-                prunedKeys.incrementAndGet();
-              }
-            } finally {
-              lock.unlock();
-            }
-          });
+      final Iterator<byte[]> iterator = keys.iterator();
+      while (iterator.hasNext()) {
+        final byte[] key = iterator.next();
+        lock.lock();
+        try {
+          if (!inUseCheck.test(key) && keyValueStorage.tryDelete(key)) {
+            batchPrunedKeys++;
+          }
+        } finally {
+          lock.unlock();
+        }
+        batchExaminedKeys++;
+        if (batchExaminedKeys >= batchSize) {
+          batchListener.onBatchPruned(batchExaminedKeys, batchPrunedKeys);
+          prunedKeys += batchPrunedKeys;
+          batchExaminedKeys = 0;
+          batchPrunedKeys = 0;
+        }
+      }
+    }
+    if (batchExaminedKeys > 0) {
+      batchListener.onBatchPruned(batchExaminedKeys, batchPrunedKeys);
+      prunedKeys += batchPrunedKeys;
     }
 
-    return prunedKeys.get();
+    return prunedKeys;
   }
 
   @Override
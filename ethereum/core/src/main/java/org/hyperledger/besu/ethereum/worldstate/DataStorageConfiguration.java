@@ -26,5 +26,30 @@ public interface DataStorageConfiguration {
           .dataStorageFormat(DataStorageFormat.FOREST)
           .build();
 
+  long DEFAULT_BONSAI_TRIE_LOG_RETAINED_LAYERS = 0;
+  long DEFAULT_BONSAI_TRIE_LOG_ARCHIVE_RANGE_SIZE = 0;
+
   DataStorageFormat getDataStorageFormat();
+
+  /**
+   * The number of recent Bonsai trie log layers to keep in the trie log storage. Older layers are
+   * pruned in the background. Zero keeps every layer.
+   *
+   * @return the number of trie log layers to retain
+   */
+  @Value.Default
+  default long getBonsaiTrieLogRetainedLayers() {
+    return DEFAULT_BONSAI_TRIE_LOG_RETAINED_LAYERS;
+  }
+
+  /**
+   * The number of consecutive blocks stored in each compressed trie log range archive. Pruned
+   * layers are archived rather than discarded when this is positive.
+   *
+   * @return the number of blocks in each trie log archive range
+   */
+  @Value.Default
+  default long getBonsaiTrieLogArchiveRangeSize() {
+    return DEFAULT_BONSAI_TRIE_LOG_ARCHIVE_RANGE_SIZE;
+  }
 }
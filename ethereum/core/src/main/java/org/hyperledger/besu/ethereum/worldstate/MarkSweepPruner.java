@@ -27,12 +27,14 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -40,6 +42,9 @@ import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -53,8 +58,13 @@ public class MarkSweepPruner {
 
   private static final int DEFAULT_OPS_PER_TRANSACTION = 10_000;
   private static final int MAX_MARKING_THREAD_POOL_SIZE = 2;
+  private static final double MARK_FILTER_FALSE_POSITIVE_RATE = 0.01;
 
   private final int operationsPerTransaction;
+  private final int sweepBatchSize;
+  private final Optional<RateLimiter> sweepRateLimiter;
+  private final long markFilterMemory;
+  private volatile Optional<BloomFilter<byte[]>> markFilter = Optional.empty();
   private final WorldStateStorage worldStateStorage;
   private final MutableBlockchain blockchain;
   private final KeyValueStorage markStorage;
@@ -62,6 +72,9 @@ public class MarkSweepPruner {
   private final Counter markOperationCounter;
   private final Counter sweepOperationCounter;
   private final Counter sweptNodesCounter;
+  private final Counter sweepExaminedNodesCounter;
+  private final Counter sweepThrottledMillisCounter;
+  private final AtomicLong currentSweepExaminedNodes = new AtomicLong();
   private final Stopwatch markStopwatch;
   private volatile long nodeAddedListenerId;
   private final ReadWriteLock pendingMarksLock = new ReentrantReadWriteLock();
@@ -81,10 +94,57 @@ public class MarkSweepPruner {
       final KeyValueStorage markStorage,
       final ObservableMetricsSystem metricsSystem,
       final int operationsPerTransaction) {
+    this(
+        worldStateStorage,
+        blockchain,
+        markStorage,
+        metricsSystem,
+        operationsPerTransaction,
+        PrunerConfiguration.getDefault());
+  }
+
+  public MarkSweepPruner(
+      final WorldStateStorage worldStateStorage,
+      final MutableBlockchain blockchain,
+      final KeyValueStorage markStorage,
+      final ObservableMetricsSystem metricsSystem,
+      final PrunerConfiguration prunerConfiguration) {
+    this(
+        worldStateStorage,
+        blockchain,
+        markStorage,
+        metricsSystem,
+        DEFAULT_OPS_PER_TRANSACTION,
+        prunerConfiguration);
+  }
+
+  public MarkSweepPruner(
+      final WorldStateStorage worldStateStorage,
+      final MutableBlockchain blockchain,
+      final KeyValueStorage markStorage,
+      final ObservableMetricsSystem metricsSystem,
+      final int operationsPerTransaction,
+      final PrunerConfiguration prunerConfiguration) {
     this.worldStateStorage = worldStateStorage;
     this.markStorage = markStorage;
     this.blockchain = blockchain;
     this.operationsPerTransaction = operationsPerTransaction;
+    this.markFilterMemory = prunerConfiguration.getMarkFilterMemory();
+    if (markFilterMemory > 0) {
+      markFilter = Optional.of(createMarkFilter(markFilterMemory));
+    }
+
+    final int sweepOperationsPerSecond = prunerConfiguration.getSweepOperationsPerSecond();
+    if (sweepOperationsPerSecond > 0) {
+      // a batch examines up to its size in nodes and may also remove each of them, so half a
+      // second's budget keeps the rate limiter's pauses to at most about a second
+      this.sweepBatchSize =
+          Math.min(operationsPerTransaction, Math.max(1, sweepOperationsPerSecond / 2));
+      this.sweepRateLimiter = Optional.of(RateLimiter.create(sweepOperationsPerSecond));
+    } else {
+      this.sweepBatchSize = operationsPerTransaction;
+      this.sweepRateLimiter = Optional.empty();
+    }
 
     markedNodesCounter =
         metricsSystem.createCounter(
@@ -105,6 +165,21 @@ public class MarkSweepPruner {
             BesuMetricCategory.PRUNER,
             "sweep_operations_total",
             "Total number of sweep operations performed");
+    sweepExaminedNodesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "sweep_examined_nodes_total",
+            "Total number of nodes examined while sweeping");
+    sweepThrottledMillisCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "sweep_throttled_milliseconds_total",
+            "Total number of milliseconds sweeping was paused to stay within the operations budget");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.PRUNER,
+        "sweep_examined_nodes_current",
+        "Number of nodes examined by the current or most recent sweep",
+        currentSweepExaminedNodes::get);
 
     markStopwatch = Stopwatch.createUnstarted();
     metricsSystem.createLongGauge(
@@ -192,7 +267,10 @@ public class MarkSweepPruner {
     LOG.debug("Sweeping unused nodes");
     // Sweep state roots first, walking backwards until we get to a state root that isn't in the
     // storage
+    currentSweepExaminedNodes.set(0);
     long prunedNodeCount = 0;
+    long batchExaminedNodes = 0;
+    long batchPrunedNodes = 0;
     WorldStateStorage.Updater updater = worldStateStorage.updater();
     for (long blockNumber = markedBlockNumber - 1; blockNumber >= 0; blockNumber--) {
       final Hash candidateStateRootHash =
@@ -205,15 +283,21 @@ public class MarkSweepPruner {
       if (!isMarked(candidateStateRootHash)) {
         updater.removeAccountStateTrieNode(candidateStateRootHash);
         prunedNodeCount++;
-        if (prunedNodeCount % operationsPerTransaction == 0) {
-          updater.commit();
-          updater = worldStateStorage.updater();
-        }
+        batchPrunedNodes++;
+      }
+      batchExaminedNodes++;
+      if (batchExaminedNodes == sweepBatchSize) {
+        updater.commit();
+        updater = worldStateStorage.updater();
+        onSweepBatch(batchExaminedNodes, batchPrunedNodes);
+        batchExaminedNodes = 0;
+        batchPrunedNodes = 0;
       }
     }
     updater.commit();
+    onSweepBatch(batchExaminedNodes, batchPrunedNodes);
     // Sweep non-state-root nodes
-    prunedNodeCount += worldStateStorage.prune(this::isMarked);
+    prunedNodeCount += worldStateStorage.prune(this::isMarked, sweepBatchSize, this::onSweepBatch);
     sweptNodesCounter.inc(prunedNodeCount);
     clearMarks();
     LOG.debug("Completed sweeping unused nodes");
@@ -227,13 +311,46 @@ public class MarkSweepPruner {
   public void clearMarks() {
     markStorage.clear();
     pendingMarks.clear();
+    if (markFilterMemory > 0) {
+      markFilter = Optional.of(createMarkFilter(markFilterMemory));
+    }
+  }
+
+  /**
+   * Creates a bloom filter that fits the marked set in the given number of bytes. A false positive
+   * only leaves an unused node in place until a later pruning cycle, so the filter trades a little
+   * space efficiency for not having to write each mark to disk.
+   */
+  private static BloomFilter<byte[]> createMarkFilter(final long memoryBytes) {
+    final double bits = memoryBytes * 8d;
+    final long expectedInsertions =
+        Math.max(
+            1,
+            (long) (-bits * Math.log(2) * Math.log(2) / Math.log(MARK_FILTER_FALSE_POSITIVE_RATE)));
+    return BloomFilter.create(
+        Funnels.byteArrayFunnel(), expectedInsertions, MARK_FILTER_FALSE_POSITIVE_RATE);
+  }
+
+  private void onSweepBatch(final long examinedNodes, final long prunedNodes) {
+    sweepExaminedNodesCounter.inc(examinedNodes);
+    currentSweepExaminedNodes.addAndGet(examinedNodes);
+    final long operations = examinedNodes + prunedNodes;
+    if (operations > 0 && sweepRateLimiter.isPresent()) {
+      final double throttledSeconds =
+          sweepRateLimiter.get().acquire((int) Math.min(operations, Integer.MAX_VALUE));
+      sweepThrottledMillisCounter.inc((long) (throttledSeconds * 1000));
+    }
   }
 
   private boolean isMarked(final Bytes32 key) {
-    return pendingMarks.contains(key) || markStorage.containsKey(key.toArrayUnsafe());
+    return isMarked(key.toArrayUnsafe());
   }
 
   private boolean isMarked(final byte[] key) {
+    final Optional<BloomFilter<byte[]>> filter = markFilter;
+    if (filter.isPresent()) {
+      return filter.get().mightContain(key);
+    }
     return pendingMarks.contains(Bytes32.wrap(key)) || markStorage.containsKey(key);
   }
 
@@ -263,11 +380,23 @@ public class MarkSweepPruner {
 
   @VisibleForTesting
   void markNode(final Bytes32 hash) {
-    markThenMaybeFlush(() -> pendingMarks.add(hash), 1);
+    final Optional<BloomFilter<byte[]>> filter = markFilter;
+    if (filter.isPresent()) {
+      filter.get().put(hash.toArrayUnsafe());
+      markedNodesCounter.inc();
+    } else {
+      markThenMaybeFlush(() -> pendingMarks.add(hash), 1);
+    }
   }
 
   private void markNodes(final Collection<Bytes32> nodeHashes) {
-    markThenMaybeFlush(() -> pendingMarks.addAll(nodeHashes), nodeHashes.size());
+    final Optional<BloomFilter<byte[]>> filter = markFilter;
+    if (filter.isPresent()) {
+      nodeHashes.forEach(hash -> filter.get().put(hash.toArrayUnsafe()));
+      markedNodesCounter.inc(nodeHashes.size());
+    } else {
+      markThenMaybeFlush(() -> pendingMarks.addAll(nodeHashes), nodeHashes.size());
+    }
   }
 
   private void markThenMaybeFlush(final Runnable nodeMarker, final int numberOfNodes) {
@@ -21,6 +21,9 @@ import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -49,12 +52,14 @@ public class Pruner {
 
   private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
   private final ExecutorService executorService;
+  private final Counter completedCyclesCounter;
 
   @VisibleForTesting
   Pruner(
       final MarkSweepPruner pruningStrategy,
       final Blockchain blockchain,
       final PrunerConfiguration prunerConfiguration,
+      final MetricsSystem metricsSystem,
       final ExecutorService executorService) {
     this.pruningStrategy = pruningStrategy;
     this.blockchain = blockchain;
@@ -64,16 +69,34 @@ public class Pruner {
     checkArgument(
         blockConfirmations >= 0 && blockConfirmations < blocksRetained,
         "blockConfirmations and blocksRetained must be non-negative. blockConfirmations must be less than blockRetained.");
+
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.PRUNER,
+        "pruning_phase",
+        "Current pruning phase (0 idle, 1 awaiting confirmations, 2 marking, 3 marking complete, 4 sweeping)",
+        () -> pruningPhase.get().ordinal());
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.PRUNER,
+        "pruning_mark_block_number",
+        "Number of the block whose state is marked in the current pruning cycle",
+        () -> markBlockNumber);
+    completedCyclesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "pruning_cycles_completed_total",
+            "Total number of completed mark and sweep cycles");
   }
 
   public Pruner(
       final MarkSweepPruner pruningStrategy,
       final Blockchain blockchain,
-      final PrunerConfiguration prunerConfiguration) {
+      final PrunerConfiguration prunerConfiguration,
+      final MetricsSystem metricsSystem) {
     this(
         pruningStrategy,
         blockchain,
         prunerConfiguration,
+        metricsSystem,
         // This is basically the out-of-the-box `Executors.newSingleThreadExecutor` except we want
         // the `corePoolSize` to be 0
         new ThreadPoolExecutor(
@@ -157,7 +180,9 @@ public class Pruner {
     execute(
         () -> {
           pruningStrategy.sweepBefore(markBlockNumber);
-          pruningPhase.compareAndSet(PruningPhase.SWEEPING, PruningPhase.IDLE);
+          if (pruningPhase.compareAndSet(PruningPhase.SWEEPING, PruningPhase.IDLE)) {
+            completedCyclesCounter.inc();
+          }
         });
   }
 
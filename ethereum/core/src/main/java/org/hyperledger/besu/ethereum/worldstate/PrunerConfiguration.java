@@ -17,14 +17,32 @@ package org.hyperledger.besu.ethereum.worldstate;
 public class PrunerConfiguration {
   public static final int DEFAULT_PRUNING_BLOCKS_RETAINED = 1024;
   public static final int DEFAULT_PRUNING_BLOCK_CONFIRMATIONS = 10;
+  public static final int DEFAULT_PRUNING_SWEEP_OPERATIONS_PER_SECOND = 0;
+  public static final long DEFAULT_PRUNING_MARK_FILTER_MEMORY = 0;
 
   private final int blocksRetainedBeforeSweeping;
   private final int blockConfirmationsBeforeMarking;
+  private final int sweepOperationsPerSecond;
+  private final long markFilterMemory;
 
   public PrunerConfiguration(
       final int blockConfirmationsBeforeMarking, final int blocksRetainedBeforeSweeping) {
+    this(
+        blockConfirmationsBeforeMarking,
+        blocksRetainedBeforeSweeping,
+        DEFAULT_PRUNING_SWEEP_OPERATIONS_PER_SECOND,
+        DEFAULT_PRUNING_MARK_FILTER_MEMORY);
+  }
+
+  public PrunerConfiguration(
+      final int blockConfirmationsBeforeMarking,
+      final int blocksRetainedBeforeSweeping,
+      final int sweepOperationsPerSecond,
+      final long markFilterMemory) {
     this.blockConfirmationsBeforeMarking = blockConfirmationsBeforeMarking;
     this.blocksRetainedBeforeSweeping = blocksRetainedBeforeSweeping;
+    this.sweepOperationsPerSecond = sweepOperationsPerSecond;
+    this.markFilterMemory = markFilterMemory;
   }
 
   public static PrunerConfiguration getDefault() {
@@ -39,4 +57,24 @@ public class PrunerConfiguration {
   public int getBlockConfirmations() {
     return blockConfirmationsBeforeMarking;
   }
+
+  /**
+   * The maximum number of nodes examined or removed per second while sweeping. Zero means
+   * unlimited.
+   *
+   * @return the sweep operation budget
+   */
+  public int getSweepOperationsPerSecond() {
+    return sweepOperationsPerSecond;
+  }
+
+  /**
+   * The number of bytes to use for an in-memory bloom filter of marked nodes. Zero means marks are
+   * written to the pruning storage instead.
+   *
+   * @return the mark filter memory budget in bytes
+   */
+  public long getMarkFilterMemory() {
+    return markFilterMemory;
+  }
 }
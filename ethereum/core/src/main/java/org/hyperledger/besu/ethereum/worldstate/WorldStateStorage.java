@@ -44,6 +44,25 @@ public interface WorldStateStorage {
 
   long prune(Predicate<byte[]> inUseCheck);
 
+  /**
+   * Removes all nodes which are not in use, notifying the listener after each batch of examined
+   * nodes. The listener is called without holding any storage locks so it may block to limit the
+   * rate of pruning.
+   *
+   * @param inUseCheck returns true for nodes which must be retained
+   * @param batchSize the number of nodes to examine between listener calls
+   * @param batchListener notified after each batch
+   * @return the number of nodes removed
+   */
+  default long prune(
+      final Predicate<byte[]> inUseCheck,
+      final int batchSize,
+      final PruneBatchListener batchListener) {
+    final long prunedKeys = prune(inUseCheck);
+    batchListener.onBatchPruned(0, prunedKeys);
+    return prunedKeys;
+  }
+
   long addNodeAddedListener(NodesAddedListener listener);
 
   void removeNodeAddedListener(long id);
@@ -72,4 +91,8 @@ public interface WorldStateStorage {
   interface NodesAddedListener {
     void onNodesAdded(Collection<Bytes32> nodeHash);
   }
+
+  interface PruneBatchListener {
+    void onBatchPruned(long examinedKeys, long prunedKeys);
+  }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TrieLogPrunerTest {
+
+  private static final long RETAINED = BonsaiWorldStateArchive.RETAINED_LAYERS;
+  private static final long RANGE_SIZE = 100;
+
+  private final InMemoryKeyValueStorage trieLogStorage = new InMemoryKeyValueStorage();
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final Map<Long, BlockHeader> headers = new HashMap<>();
+
+  @Before
+  public void setUp() {
+    when(blockchain.getBlockHeader(anyLong()))
+        .thenAnswer(
+            invocation -> Optional.ofNullable(headers.get(invocation.<Long>getArgument(0))));
+    final KeyValueStorageTransaction transaction = trieLogStorage.startTransaction();
+    for (long number = 0; number <= 1000; number++) {
+      final BlockHeader header = new BlockHeaderTestFixture().number(number).buildHeader();
+      headers.put(number, header);
+      final TrieLogLayer layer = new TrieLogLayer();
+      layer.setBlockHash(header.getHash());
+      final BytesValueRLPOutput output = new BytesValueRLPOutput();
+      layer.writeTo(output);
+      transaction.put(header.getHash().toArrayUnsafe(), output.encoded().toArrayUnsafe());
+    }
+    transaction.commit();
+  }
+
+  @Test
+  public void shouldRejectRetentionBelowLayeredCache() {
+    assertThatThrownBy(() -> createPruner(RETAINED - 1, Optional.empty()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldPruneLayersBehindRetainedWindow() {
+    final TrieLogPruner pruner = createPruner(RETAINED, Optional.empty());
+
+    pruner.onBlockPersisted(RETAINED + 10);
+
+    assertThat(hasLayer(0)).isFalse();
+    assertThat(hasLayer(10)).isFalse();
+    assertThat(hasLayer(11)).isTrue();
+    assertThat(hasLayer(RETAINED + 10)).isTrue();
+  }
+
+  @Test
+  public void shouldResumeFromLastPrunedBlockAfterRestart() {
+    createPruner(RETAINED, Optional.empty()).onBlockPersisted(RETAINED + 10);
+    // a layer re-added below the pruned height is not revisited by a new pruner
+    final KeyValueStorageTransaction transaction = trieLogStorage.startTransaction();
+    transaction.put(headers.get(5L).getHash().toArrayUnsafe(), new byte[] {(byte) 0xc0});
+    transaction.commit();
+
+    createPruner(RETAINED, Optional.empty()).onBlockPersisted(RETAINED + 20);
+
+    assertThat(hasLayer(5)).isTrue();
+    assertThat(hasLayer(20)).isFalse();
+    assertThat(hasLayer(21)).isTrue();
+  }
+
+  @Test
+  public void shouldArchiveOnlyCompleteRanges() {
+    final TrieLogRangeArchive archive = new TrieLogRangeArchive(trieLogStorage, RANGE_SIZE);
+    final TrieLogPruner pruner = createPruner(RETAINED, Optional.of(archive));
+
+    pruner.onBlockPersisted(RETAINED + 150);
+
+    assertThat(archive.containsRange(0)).isTrue();
+    assertThat(archive.containsRange(1)).isFalse();
+    assertThat(hasLayer(99)).isFalse();
+    assertThat(hasLayer(100)).isTrue();
+    assertThat(archive.getTrieLogLayer(headers.get(42L)).map(TrieLogLayer::getBlockHash))
+        .contains(headers.get(42L).getHash());
+
+    pruner.onBlockPersisted(RETAINED + 199);
+
+    assertThat(archive.containsRange(1)).isTrue();
+    assertThat(hasLayer(199)).isFalse();
+    assertThat(hasLayer(200)).isTrue();
+  }
+
+  private TrieLogPruner createPruner(
+      final long retainedLayers, final Optional<TrieLogRangeArchive> archive) {
+    return new TrieLogPruner(
+        trieLogStorage,
+        blockchain,
+        retainedLayers,
+        archive,
+        new NoOpMetricsSystem(),
+        Runnable::run);
+  }
+
+  private boolean hasLayer(final long number) {
+    return trieLogStorage.containsKey(headers.get(number).getHash().toArrayUnsafe());
+  }
+}
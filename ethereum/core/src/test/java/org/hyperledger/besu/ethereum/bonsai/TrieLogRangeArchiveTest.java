@@ -0,0 +1,161 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class TrieLogRangeArchiveTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x1234");
+  private static final Hash SLOT = Hash.hash(Bytes.of(1));
+
+  @Test
+  public void shouldRoundTripChainedLayers() {
+    final List<TrieLogLayer> layers = createChainedLayers(10);
+
+    final Map<Hash, TrieLogLayer> decoded =
+        TrieLogRangeArchive.decode(TrieLogRangeArchive.encode(layers));
+
+    assertThat(decoded).hasSize(layers.size());
+    for (final TrieLogLayer layer : layers) {
+      assertThat(encode(decoded.get(layer.getBlockHash()))).isEqualTo(encode(layer));
+    }
+  }
+
+  @Test
+  public void shouldRoundTripUnrelatedOriginals() {
+    final TrieLogLayer first = new TrieLogLayer();
+    first.setBlockHash(Hash.hash(Bytes.of(1)));
+    first.addStorageChange(ADDRESS, SLOT, UInt256.ONE, UInt256.valueOf(2));
+    first.addCodeChange(ADDRESS, null, Bytes.of(0x60));
+    final TrieLogLayer second = new TrieLogLayer();
+    second.setBlockHash(Hash.hash(Bytes.of(2)));
+    // original does not match the previous updated value, e.g. after a gap in the range
+    second.addStorageChange(ADDRESS, SLOT, UInt256.valueOf(5), null);
+    second.addCodeChange(ADDRESS, Bytes.of(0x61), null);
+
+    final Map<Hash, TrieLogLayer> decoded =
+        TrieLogRangeArchive.decode(TrieLogRangeArchive.encode(List.of(first, second)));
+
+    assertThat(encode(decoded.get(first.getBlockHash()))).isEqualTo(encode(first));
+    assertThat(encode(decoded.get(second.getBlockHash()))).isEqualTo(encode(second));
+  }
+
+  @Test
+  public void shouldPreserveMissingCode() {
+    final TrieLogLayer creation = new TrieLogLayer();
+    creation.setBlockHash(Hash.hash(Bytes.of(1)));
+    creation.addCodeChange(ADDRESS, null, Bytes.of(0x60));
+    final TrieLogLayer deletion = new TrieLogLayer();
+    deletion.setBlockHash(Hash.hash(Bytes.of(2)));
+    deletion.addCodeChange(ADDRESS, Bytes.of(0x60), null);
+    // layers are archived as they are read back from the trie log storage
+    final List<TrieLogLayer> stored =
+        List.of(
+            TrieLogLayer.fromBytes(encode(creation).toArrayUnsafe()),
+            TrieLogLayer.fromBytes(encode(deletion).toArrayUnsafe()));
+
+    final Map<Hash, TrieLogLayer> decoded =
+        TrieLogRangeArchive.decode(TrieLogRangeArchive.encode(stored));
+
+    final BonsaiValue<Bytes> created = codeChange(decoded.get(creation.getBlockHash()));
+    assertThat(created.getOriginal()).isNull();
+    assertThat(created.getUpdated()).isEqualTo(Bytes.of(0x60));
+    final BonsaiValue<Bytes> deleted = codeChange(decoded.get(deletion.getBlockHash()));
+    assertThat(deleted.getOriginal()).isEqualTo(Bytes.of(0x60));
+    assertThat(deleted.getUpdated()).isNull();
+    for (final TrieLogLayer layer : stored) {
+      final BonsaiValue<Bytes> expected = codeChange(layer);
+      final BonsaiValue<Bytes> actual = codeChange(decoded.get(layer.getBlockHash()));
+      assertThat(actual.getOriginal()).isEqualTo(expected.getOriginal());
+      assertThat(actual.getUpdated()).isEqualTo(expected.getUpdated());
+    }
+  }
+
+  @Test
+  public void shouldBeSmallerThanIndividualLayers() {
+    final List<TrieLogLayer> layers = createChainedLayers(64);
+    final int individualSize = layers.stream().mapToInt(layer -> encode(layer).size()).sum();
+
+    assertThat(TrieLogRangeArchive.encode(layers).length).isLessThan(individualSize / 2);
+  }
+
+  @Test
+  public void shouldReadLayerFromStoredRange() {
+    final InMemoryKeyValueStorage storage = new InMemoryKeyValueStorage();
+    final TrieLogRangeArchive archive = new TrieLogRangeArchive(storage, 16);
+    final TrieLogLayer layer = createChainedLayers(1).get(0);
+    final BlockHeader header = new BlockHeaderTestFixture().number(17).buildHeader();
+    layer.setBlockHash(header.getHash());
+
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    archive.writeRange(archive.rangeIndex(17), List.of(layer), transaction);
+    transaction.commit();
+
+    assertThat(archive.containsRange(1)).isTrue();
+    assertThat(archive.getTrieLogLayer(header).map(this::encode)).contains(encode(layer));
+    assertThat(archive.getTrieLogLayer(new BlockHeaderTestFixture().number(18).buildHeader()))
+        .isEmpty();
+  }
+
+  private List<TrieLogLayer> createChainedLayers(final int count) {
+    final List<TrieLogLayer> layers = new ArrayList<>();
+    StateTrieAccountValue account = null;
+    UInt256 slotValue = null;
+    for (int i = 0; i < count; i++) {
+      final TrieLogLayer layer = new TrieLogLayer();
+      layer.setBlockHash(Hash.hash(Bytes.ofUnsignedInt(i)));
+      final StateTrieAccountValue updatedAccount =
+          new StateTrieAccountValue(i, Wei.of(1000 + i), Hash.EMPTY_TRIE_HASH, Hash.EMPTY, 0);
+      layer.addAccountChange(ADDRESS, account, updatedAccount);
+      final UInt256 updatedSlotValue = UInt256.valueOf(i + 1);
+      layer.addStorageChange(ADDRESS, SLOT, slotValue, updatedSlotValue);
+      layers.add(layer);
+      account = updatedAccount;
+      slotValue = updatedSlotValue;
+    }
+    return layers;
+  }
+
+  private BonsaiValue<Bytes> codeChange(final TrieLogLayer layer) {
+    return layer.streamCodeChanges().findFirst().orElseThrow().getValue();
+  }
+
+  private Bytes encode(final TrieLogLayer layer) {
+    final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    layer.writeTo(output);
+    return output.encoded();
+  }
+}
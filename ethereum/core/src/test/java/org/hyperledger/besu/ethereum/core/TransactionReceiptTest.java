@@ -16,7 +16,11 @@ package org.hyperledger.besu.ethereum.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.plugin.data.TransactionType;
+
+import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.Test;
@@ -40,4 +44,30 @@ public class TransactionReceiptTest {
         TransactionReceipt.readFrom(RLP.input(RLP.encode(receipt::writeToWithRevertReason)));
     assertThat(copy).isEqualTo(receipt);
   }
+
+  @Test
+  public void decodedReceiptIsWrittenAsDecoded() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final TransactionReceipt receipt = gen.receipt(gen.logs(3, 2));
+    final Bytes encoded = RLP.encode(receipt::writeTo);
+
+    final TransactionReceipt copy = TransactionReceipt.readFrom(RLP.input(encoded));
+
+    assertThat(RLP.encode(copy::writeTo)).isEqualTo(encoded);
+    assertThat(copy.getLogs()).isEqualTo(receipt.getLogs());
+  }
+
+  @Test
+  public void typedReceiptEncoding() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final TransactionReceipt receipt =
+        new TransactionReceipt(TransactionType.EIP1559, 1, 21000, gen.logs(2, 1), Optional.empty());
+    final BytesValueRLPOutput expected = new BytesValueRLPOutput();
+    receipt.writeTo(expected);
+
+    final Bytes encoded = RLP.encode(receipt::writeTo);
+
+    assertThat(encoded).isEqualTo(expected.encoded());
+    assertThat(encoded.get(0)).isEqualTo((byte) TransactionType.EIP1559.getSerializedType());
+  }
 }
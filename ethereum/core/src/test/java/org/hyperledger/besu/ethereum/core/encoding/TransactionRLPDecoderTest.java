@@ -21,6 +21,7 @@ import org.hyperledger.besu.config.experimental.ExperimentalEIPs;
 import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 
@@ -70,4 +71,40 @@ public class TransactionRLPDecoderTest {
     assertThat(transaction.getFeeCap()).hasValue(Wei.of(369L));
     ExperimentalEIPs.eip1559Enabled = ExperimentalEIPs.EIP1559_ENABLED_DEFAULT_VALUE;
   }
+
+  @Test
+  public void frontierTransactionRoundTrips() {
+    final Bytes encoded = Bytes.fromHexString(FRONTIER_TX_RLP);
+    final Transaction transaction = TransactionRLPDecoder.decode(RLP.input(encoded));
+
+    assertThat(RLP.encode(transaction::writeTo)).isEqualTo(encoded);
+  }
+
+  @Test
+  public void nonCanonicalFrontierTransactionIsWrittenCanonically() {
+    final Transaction transaction =
+        TransactionRLPDecoder.decode(RLP.input(Bytes.fromHexString(FRONTIER_TX_RLP)));
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeLongScalar(transaction.getNonce());
+    out.writeUInt256Scalar(transaction.getGasPrice());
+    out.writeLongScalar(transaction.getGasLimit());
+    out.writeBytes(Bytes.EMPTY);
+    out.writeUInt256Scalar(transaction.getValue());
+    out.writeBytes(transaction.getPayload());
+    out.writeBigIntegerScalar(transaction.getV());
+    // a signature value with a leading zero byte decodes to the same transaction
+    out.writeBytes(
+        Bytes.concatenate(
+            Bytes.of(0),
+            Bytes.wrap(transaction.getSignature().getR().toByteArray()).trimLeadingZeros()));
+    out.writeBigIntegerScalar(transaction.getSignature().getS());
+    out.endList();
+
+    final Transaction decoded = TransactionRLPDecoder.decode(RLP.input(out.encoded()));
+
+    assertThat(decoded).isEqualTo(transaction);
+    assertThat(RLP.encode(decoded::writeTo)).isEqualTo(Bytes.fromHexString(FRONTIER_TX_RLP));
+    assertThat(decoded.getHash()).isEqualTo(transaction.getHash());
+  }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfile.TransactionProfile;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler.BlockRecorder;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler.Phase;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+import org.hyperledger.besu.ethereum.vm.Operation;
+import org.hyperledger.besu.ethereum.vm.OperationTracer;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.stream.Collectors;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Test;
+
+public class BlockProcessingProfilerTest {
+
+  private static final int SLOAD = 0x54;
+  private static final int SSTORE = 0x55;
+  private static final int ADD = 0x01;
+
+  private final KeyPair keyPair = KeyPair.generate();
+  private final TransactionTestFixture transactionTestFixture = new TransactionTestFixture();
+
+  @Test
+  public void disabledProfilerDoesNotRecord() {
+    final BlockRecorder recorder = BlockProcessingProfiler.DISABLED.startBlock(blockHeader(1));
+
+    assertThat(recorder).isSameAs(BlockRecorder.NO_OP);
+    assertThat(recorder.isRecording()).isFalse();
+    assertThat(recorder.startTransaction(transaction(0))).isSameAs(OperationTracer.NO_TRACING);
+    recorder.endBlock(true);
+
+    assertThat(BlockProcessingProfiler.DISABLED.isEnabled()).isFalse();
+    assertThat(BlockProcessingProfiler.DISABLED.getLatestProfile()).isEmpty();
+  }
+
+  @Test
+  public void shouldRecordPhasesAndSlowestTransactions() throws InterruptedException {
+    final BlockProcessingProfiler profiler =
+        new BlockProcessingProfiler(new NoOpMetricsSystem(), 2, 10);
+    final BlockHeader header = blockHeader(1);
+    final Transaction fast = transaction(0);
+    final Transaction slowest = transaction(1);
+    final Transaction slow = transaction(2);
+
+    final BlockRecorder recorder = profiler.startBlock(header);
+    assertThat(recorder.isRecording()).isTrue();
+    executeTransaction(recorder, fast, 21_000, 1);
+    executeTransaction(recorder, slowest, 50_000, 30);
+    executeTransaction(recorder, slow, 40_000, 15);
+    recorder.startPhase(Phase.PERSIST);
+    recorder.endPhase();
+    recorder.endBlock(true);
+
+    final BlockProcessingProfile profile = profiler.getProfile(header.getHash()).orElseThrow();
+    assertThat(profiler.getLatestProfile()).containsSame(profile);
+    assertThat(profile.getBlockNumber()).isEqualTo(1);
+    assertThat(profile.isSuccessful()).isTrue();
+    assertThat(profile.getTransactionCount()).isEqualTo(3);
+    assertThat(profile.getGasUsed()).isEqualTo(111_000);
+    assertThat(profile.getPhaseNanos().keySet())
+        .containsExactly(Phase.SENDER_RECOVERY, Phase.EXECUTION, Phase.PERSIST);
+    assertThat(profile.getPhaseNanos().get(Phase.EXECUTION)).isGreaterThanOrEqualTo(46_000_000L);
+    assertThat(profile.getDurationNanos())
+        .isGreaterThanOrEqualTo(profile.getPhaseNanos().get(Phase.EXECUTION));
+
+    assertThat(profile.getSlowestTransactions())
+        .extracting(TransactionProfile::getHash)
+        .containsExactly(slowest.getHash(), slow.getHash());
+    final TransactionProfile slowestProfile = profile.getSlowestTransactions().get(0);
+    assertThat(slowestProfile.getIndex()).isEqualTo(1);
+    assertThat(slowestProfile.getGasUsed()).isEqualTo(50_000);
+    assertThat(slowestProfile.getTo()).isEqualTo(slowest.getTo());
+    assertThat(slowestProfile.getDurationNanos()).isGreaterThanOrEqualTo(30_000_000L);
+  }
+
+  @Test
+  public void shouldCountStorageReadsOfSlotsTouchedEarlierInTheBlockAsCached() {
+    final BlockProcessingProfiler profiler = new BlockProcessingProfiler(new NoOpMetricsSystem());
+    final BlockHeader header = blockHeader(1);
+    final Address contract = Address.fromHexString("0x1000000000000000000000000000000000000001");
+    final Bytes32 readSlot = Bytes32.fromHexStringLenient("0x01");
+    final Bytes32 writtenSlot = Bytes32.fromHexStringLenient("0x02");
+
+    final BlockRecorder recorder = profiler.startBlock(header);
+    OperationTracer tracer = recorder.startTransaction(transaction(0));
+    trace(tracer, frame(SLOAD, contract, readSlot));
+    trace(tracer, frame(ADD, contract, readSlot));
+    trace(tracer, frame(SSTORE, contract, writtenSlot));
+    recorder.endTransaction(30_000);
+
+    tracer = recorder.startTransaction(transaction(1));
+    trace(tracer, frame(SLOAD, contract, readSlot));
+    trace(tracer, frame(SLOAD, contract, writtenSlot));
+    trace(tracer, frame(SLOAD, Address.ZERO, readSlot));
+    recorder.endTransaction(30_000);
+    recorder.endBlock(true);
+
+    final BlockProcessingProfile profile = profiler.getProfile(header.getHash()).orElseThrow();
+    assertThat(profile.getStorageReads()).isEqualTo(4);
+    assertThat(profile.getBlockCachedStorageReads()).isEqualTo(2);
+    assertThat(
+            profile.getSlowestTransactions().stream()
+                .collect(
+                    Collectors.toMap(
+                        TransactionProfile::getIndex, TransactionProfile::getStorageReads)))
+        .containsEntry(0, 1L)
+        .containsEntry(1, 3L);
+  }
+
+  @Test
+  public void shouldRetainOnlyTheMostRecentProfiles() {
+    final BlockProcessingProfiler profiler =
+        new BlockProcessingProfiler(new NoOpMetricsSystem(), 1, 2);
+    final BlockHeader first = blockHeader(1);
+    final BlockHeader second = blockHeader(2);
+    final BlockHeader third = blockHeader(3);
+
+    profiler.startBlock(first).endBlock(true);
+    profiler.startBlock(second).endBlock(true);
+    profiler.startBlock(third).endBlock(false);
+
+    assertThat(profiler.getProfile(first.getHash())).isEmpty();
+    assertThat(profiler.getProfile(second.getHash())).isPresent();
+    assertThat(profiler.getProfile(third.getHash())).isPresent();
+    assertThat(profiler.getLatestProfile().map(BlockProcessingProfile::getBlockHash))
+        .contains(third.getHash());
+    assertThat(profiler.getLatestProfile().map(BlockProcessingProfile::isSuccessful))
+        .contains(false);
+  }
+
+  private void executeTransaction(
+      final BlockRecorder recorder,
+      final Transaction transaction,
+      final long gasUsed,
+      final long executionMillis)
+      throws InterruptedException {
+    recorder.startTransaction(transaction);
+    recorder.startPhase(Phase.EXECUTION);
+    Thread.sleep(executionMillis);
+    recorder.endPhase();
+    recorder.endTransaction(gasUsed);
+  }
+
+  private void trace(final OperationTracer tracer, final MessageFrame frame) {
+    tracer.traceExecution(frame, () -> null);
+  }
+
+  private MessageFrame frame(final int opcode, final Address recipient, final Bytes32 slot) {
+    final Operation operation = mock(Operation.class);
+    when(operation.getOpcode()).thenReturn(opcode);
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getCurrentOperation()).thenReturn(operation);
+    when(frame.getRecipientAddress()).thenReturn(recipient);
+    when(frame.stackSize()).thenReturn(1);
+    when(frame.getStackItem(0)).thenReturn(slot);
+    return frame;
+  }
+
+  private BlockHeader blockHeader(final long number) {
+    return new BlockHeaderTestFixture().number(number).buildHeader();
+  }
+
+  private Transaction transaction(final long nonce) {
+    return transactionTestFixture.nonce(nonce).createTransaction(keyPair);
+  }
+}
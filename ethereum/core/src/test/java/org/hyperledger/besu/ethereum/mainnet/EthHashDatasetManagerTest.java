@@ -0,0 +1,57 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.testutil.TestClock;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EthHashDatasetManagerTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final EpochCalculator epochCalculator = new EpochCalculator.DefaultEpochCalculator();
+
+  @Test
+  public void failedGenerationIsRetriedAfterDelay() throws Exception {
+    // generation fails as the dataset directory can't be created
+    final Path notADirectory = folder.newFile().toPath();
+    final List<Runnable> generations = new ArrayList<>();
+    final TestClock clock = new TestClock();
+    final EthHashDatasetManager manager =
+        new EthHashDatasetManager(
+            notADirectory, generations::add, Runnable::run, new NoOpMetricsSystem(), clock);
+
+    assertThat(manager.datasetFor(1, epochCalculator)).isEmpty();
+    assertThat(generations).hasSize(1);
+    generations.get(0).run();
+
+    assertThat(manager.datasetFor(1, epochCalculator)).isEmpty();
+    assertThat(generations).hasSize(1);
+
+    clock.stepMillis(EthHashDatasetManager.GENERATION_RETRY_DELAY.toMillis());
+    assertThat(manager.datasetFor(1, epochCalculator)).isEmpty();
+    assertThat(generations).hasSize(2);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EthHashDatasetTest {
+
+  private static final long DATASET_SIZE = 32 * 1024;
+  private static final byte[] HEADER_HASH =
+      Hex.decode("c9149cc0386e689d789a1c2f3d5d169a61a6218ed30e74414dc736e442ef3d1f");
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final int[] cache =
+      EthHash.mkCache(1024, 1L, new EpochCalculator.DefaultEpochCalculator());
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void itemsMatchItemsCalculatedFromCache() throws Exception {
+    final Path file = folder.getRoot().toPath().resolve("dataset");
+    // small segments so that items are spread over many mappings
+    final EthHashDataset dataset =
+        EthHashDataset.openOrGenerate(file, 0, DATASET_SIZE, cache, executor, 12);
+
+    assertThat(Files.size(file)).isEqualTo(DATASET_SIZE);
+    assertThat(file.resolveSibling("dataset.tmp")).doesNotExist();
+    final byte[] expected = new byte[EthHash.HASH_BYTES];
+    final byte[] actual = new byte[EthHash.HASH_BYTES];
+    for (int index = 0; index < DATASET_SIZE / EthHash.HASH_BYTES; index++) {
+      EthHash.calcDatasetItem(expected, cache, index);
+      dataset.lookup(actual, index);
+      assertThat(actual).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void hashimotoFullMatchesHashimotoLight() {
+    final EthHashDataset dataset =
+        EthHashDataset.openOrGenerate(
+            folder.getRoot().toPath().resolve("dataset"), 0, DATASET_SIZE, cache, executor);
+
+    assertThat(Hex.toHexString(EthHash.hashimotoFull(dataset, HEADER_HASH, 0L)))
+        .isEqualTo(
+            "e4073cffaef931d37117cefd9afd27ea0f1cad6a981dd2605c4a1ac97c519800"
+                + "d3539235ee2e6f8db665c0a72169f55b7f6c605712330b778ec3944f0eb5a557");
+    for (long nonce = 1; nonce < 100; nonce++) {
+      assertThat(EthHash.hashimotoFull(dataset, HEADER_HASH, nonce))
+          .isEqualTo(EthHash.hashimotoLight(DATASET_SIZE, cache, HEADER_HASH, nonce));
+    }
+  }
+
+  @Test
+  public void existingDatasetIsReusedWithoutRegenerating() {
+    final Path file = folder.getRoot().toPath().resolve("dataset");
+    EthHashDataset.openOrGenerate(file, 0, DATASET_SIZE, cache, executor);
+
+    final Executor failingExecutor =
+        task -> {
+          throw new AssertionError("Dataset should not be regenerated");
+        };
+    final EthHashDataset reopened =
+        EthHashDataset.openOrGenerate(file, 0, DATASET_SIZE, cache, failingExecutor);
+
+    assertThat(EthHash.hashimotoFull(reopened, HEADER_HASH, 7L))
+        .isEqualTo(EthHash.hashimotoLight(DATASET_SIZE, cache, HEADER_HASH, 7L));
+  }
+}
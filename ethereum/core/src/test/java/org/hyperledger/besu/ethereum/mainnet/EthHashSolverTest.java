@@ -21,9 +21,12 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
@@ -89,6 +92,42 @@ public class EthHashSolverTest {
     assertThat(solver.getWorkDefinition().equals(Optional.of(inputs))).isTrue();
   }
 
+  @Test
+  public void solutionIsFoundAcrossMultipleSolverThreads()
+      throws InterruptedException, ExecutionException {
+    final List<Long> noncesToTry = new ArrayList<>(Collections.nCopies(1000, 1L));
+    noncesToTry.add(500, 0L);
+
+    final EthHasher hasher = mock(EthHasher.class);
+    doAnswer(
+            invocation -> {
+              final Object[] args = invocation.getArguments();
+              final byte[] headerHash = ((byte[]) args[0]);
+              final long nonce = ((long) args[1]);
+              headerHash[32] = (byte) (nonce & 0xFF);
+              return null;
+            })
+        .when(hasher)
+        .hash(any(), anyLong(), anyLong(), any(), any());
+
+    final EthHashSolver solver =
+        new EthHashSolver(
+            noncesToTry,
+            hasher,
+            false,
+            Subscribers.none(),
+            new EpochCalculator.DefaultEpochCalculator(),
+            4,
+            new NoOpMetricsSystem());
+
+    final EthHashSolverInputs inputs = new EthHashSolverInputs(UInt256.ONE, new byte[0], 5);
+    final EthHashSolution solution =
+        solver.solveFor(EthHashSolver.EthHashSolverJob.createFromInputs(inputs));
+
+    assertThat(solution.getNonce()).isEqualTo(0L);
+    assertThat(solver.hashesPerSecond()).isPresent();
+  }
+
   @Test
   public void ifInvokedTwiceProducesCorrectAnswerForSecondInvocation()
       throws InterruptedException, ExecutionException {
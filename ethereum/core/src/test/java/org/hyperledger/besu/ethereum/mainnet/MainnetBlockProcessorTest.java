@@ -28,6 +28,9 @@ import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.fees.TransactionGasBudgetCalculator;
 import org.hyperledger.besu.ethereum.referencetests.ReferenceTestBlockchain;
 import org.hyperledger.besu.ethereum.referencetests.ReferenceTestWorldState;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
 
 import org.junit.Test;
 
@@ -89,4 +92,67 @@ public class MainnetBlockProcessorTest {
     // An empty block with 0 reward should change the world state prior to EIP158
     assertThat(worldState.rootHash()).isNotEqualTo(initialHash);
   }
+
+  @Test
+  public void profileIsRecordedWhenProfilingIsEnabled() {
+    final Blockchain blockchain = new ReferenceTestBlockchain();
+    final MainnetBlockProcessor blockProcessor =
+        new MainnetBlockProcessor(
+            transactionProcessor,
+            transactionReceiptFactory,
+            Wei.ZERO,
+            BlockHeader::getCoinbase,
+            false,
+            TransactionGasBudgetCalculator.frontier());
+    final BlockProcessingProfiler profiler = new BlockProcessingProfiler(new NoOpMetricsSystem());
+    blockProcessor.setBlockProcessingProfiler(profiler);
+
+    final MutableWorldState worldState = ReferenceTestWorldState.create(emptyMap());
+    final BlockHeader emptyBlockHeader =
+        new BlockHeaderTestFixture()
+            .transactionsRoot(Hash.EMPTY_LIST_HASH)
+            .ommersHash(Hash.EMPTY_LIST_HASH)
+            .buildHeader();
+    blockProcessor.processBlock(blockchain, worldState, emptyBlockHeader, emptyList(), emptyList());
+
+    final BlockProcessingProfile profile =
+        profiler.getProfile(emptyBlockHeader.getHash()).orElseThrow();
+    assertThat(profile.isSuccessful()).isTrue();
+    assertThat(profile.getTransactionCount()).isZero();
+    assertThat(profile.getPhaseNanos().keySet())
+        .containsExactly(
+            BlockProcessingProfiler.Phase.REWARDS,
+            BlockProcessingProfiler.Phase.STATE_ROOT,
+            BlockProcessingProfiler.Phase.PERSIST);
+  }
+
+  @Test
+  public void profileOfFailedBlockIncludesThePhaseItFailedIn() {
+    final Blockchain blockchain = new ReferenceTestBlockchain();
+    final MainnetBlockProcessor blockProcessor =
+        new MainnetBlockProcessor(
+            transactionProcessor,
+            transactionReceiptFactory,
+            Wei.ZERO,
+            BlockHeader::getCoinbase,
+            false,
+            TransactionGasBudgetCalculator.frontier());
+    final BlockProcessingProfiler profiler = new BlockProcessingProfiler(new NoOpMetricsSystem());
+    blockProcessor.setBlockProcessingProfiler(profiler);
+
+    final MutableWorldState worldState = ReferenceTestWorldState.create(emptyMap());
+    final BlockHeader blockHeader =
+        new BlockHeaderTestFixture().number(1).transactionsRoot(Hash.EMPTY_LIST_HASH).buildHeader();
+    // an ommer too many generations away fails the rewards phase
+    final BlockHeader ommer = new BlockHeaderTestFixture().number(100).buildHeader();
+    final BlockProcessor.Result result =
+        blockProcessor.processBlock(
+            blockchain, worldState, blockHeader, emptyList(), List.of(ommer));
+
+    assertThat(result.isSuccessful()).isFalse();
+    final BlockProcessingProfile profile = profiler.getProfile(blockHeader.getHash()).orElseThrow();
+    assertThat(profile.isSuccessful()).isFalse();
+    assertThat(profile.getPhaseNanos().keySet())
+        .containsExactly(BlockProcessingProfiler.Phase.REWARDS);
+  }
 }
@@ -44,6 +44,31 @@ public class AltBN128PairingPrecompiledContractTest {
     assertThat(result).isEqualTo(AltBN128PairingPrecompiledContract.TRUE);
   }
 
+  @Test
+  public void compute_validPointsWithoutNative() {
+    AbstractAltBnPrecompiledContract.useNative = false;
+    try {
+      final Bytes result = byzantiumContract.compute(validPointBytes(), messageFrame);
+      assertThat(result).isEqualTo(AltBN128PairingPrecompiledContract.TRUE);
+    } finally {
+      AbstractAltBnPrecompiledContract.useNative = true;
+    }
+  }
+
+  @Test
+  public void compute_invalidPairingWithoutNative() {
+    final Bytes validPoints = validPointBytes();
+    // pair the generator with itself twice instead of with its negation
+    final Bytes input = Bytes.concatenate(validPoints.slice(0, 192), validPoints.slice(0, 192));
+    AbstractAltBnPrecompiledContract.useNative = false;
+    try {
+      final Bytes result = byzantiumContract.compute(input, messageFrame);
+      assertThat(result).isEqualTo(AltBN128PairingPrecompiledContract.FALSE);
+    } finally {
+      AbstractAltBnPrecompiledContract.useNative = true;
+    }
+  }
+
   public Bytes validPointBytes() {
     final Bytes g1Point0 =
         Bytes.concatenate(
@@ -0,0 +1,125 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.ethereum.mainnet.BerlinGasCalculator;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
+import org.junit.Test;
+
+public class BigIntegerModularExponentiationPrecompiledContractTest {
+
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+  private final Random random = new Random(1);
+
+  @Test
+  public void modPowMatchesBigIntegerModPow() {
+    for (int i = 0; i < 2_000; i++) {
+      final BigInteger base = new BigInteger(1 + random.nextInt(2_100), random);
+      final BigInteger exp =
+          i % 2 == 0 ? BigInteger.valueOf(random.nextInt(4)) : new BigInteger(64, random);
+      BigInteger mod = new BigInteger(1 + random.nextInt(2_100), random);
+      if (mod.signum() == 0) {
+        mod = BigInteger.ONE;
+      }
+      assertThat(BigIntegerModularExponentiationPrecompiledContract.modPow(base, exp, mod))
+          .isEqualTo(base.modPow(exp, mod));
+    }
+  }
+
+  @Test
+  public void modPowHandlesTrivialModulusAndExponent() {
+    final BigInteger base = BigInteger.valueOf(12345);
+    assertThat(
+            BigIntegerModularExponentiationPrecompiledContract.modPow(
+                base, BigInteger.ZERO, BigInteger.ONE))
+        .isEqualTo(BigInteger.ZERO);
+    assertThat(
+            BigIntegerModularExponentiationPrecompiledContract.modPow(
+                base, BigInteger.ZERO, BigInteger.TEN))
+        .isEqualTo(BigInteger.ONE);
+    assertThat(
+            BigIntegerModularExponentiationPrecompiledContract.modPow(
+                base, BigInteger.ONE, BigInteger.TEN))
+        .isEqualTo(BigInteger.valueOf(5));
+    assertThat(
+            BigIntegerModularExponentiationPrecompiledContract.modPow(
+                base, BigInteger.TWO, BigInteger.valueOf(1000)))
+        .isEqualTo(BigInteger.valueOf(25));
+  }
+
+  @Test
+  public void repeatedInputReturnsCachedResult() {
+    final BigIntegerModularExponentiationPrecompiledContract contract =
+        new BigIntegerModularExponentiationPrecompiledContract(new BerlinGasCalculator());
+    final Bytes input = input(Bytes.fromHexString("03"), Bytes.fromHexString("010001"), 0x0b);
+
+    final Bytes result = contract.compute(input, messageFrame);
+    assertThat(result).isEqualTo(Bytes.of(9));
+    assertThat(contract.compute(input.copy(), messageFrame)).isSameAs(result);
+  }
+
+  @Test
+  public void cachedResultCannotBeModified() {
+    final BigIntegerModularExponentiationPrecompiledContract contract =
+        new BigIntegerModularExponentiationPrecompiledContract(new BerlinGasCalculator());
+    final Bytes input = input(Bytes.fromHexString("03"), Bytes.fromHexString("010001"), 0x0b);
+
+    assertThat(contract.compute(input, messageFrame)).isNotInstanceOf(MutableBytes.class);
+  }
+
+  @Test
+  public void cachedResultIsNotAffectedByLaterChangesToInput() {
+    final BigIntegerModularExponentiationPrecompiledContract contract =
+        new BigIntegerModularExponentiationPrecompiledContract(new BerlinGasCalculator());
+    final MutableBytes input =
+        input(Bytes.fromHexString("02"), Bytes.fromHexString("03"), 0x0b).mutableCopy();
+
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(Bytes.of(8));
+    // change the base to 3
+    input.set(96, (byte) 3);
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(Bytes.of(5));
+  }
+
+  @Test
+  public void disabledCacheComputesEveryCall() {
+    final BigIntegerModularExponentiationPrecompiledContract contract =
+        new BigIntegerModularExponentiationPrecompiledContract(new BerlinGasCalculator(), 0);
+    final Bytes input = input(Bytes.fromHexString("03"), Bytes.fromHexString("02"), 0x0b);
+
+    final Bytes result = contract.compute(input, messageFrame);
+    assertThat(result).isEqualTo(Bytes.of(9));
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(result).isNotSameAs(result);
+  }
+
+  private static Bytes input(final Bytes base, final Bytes exponent, final int modulus) {
+    return Bytes.concatenate(
+        Bytes32.leftPad(Bytes.ofUnsignedInt(base.size())),
+        Bytes32.leftPad(Bytes.ofUnsignedInt(exponent.size())),
+        Bytes32.leftPad(Bytes.ofUnsignedInt(1)),
+        base,
+        exponent,
+        Bytes.of(modulus));
+  }
+}
@@ -24,6 +24,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.enclave.Enclave;
@@ -38,16 +40,23 @@ import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.Log;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.PrivateTransactionDataFixture;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.PrivacyBlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.SpuriousDragonGasCalculator;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.privacy.PrivatePayloadPrefetcher;
 import org.hyperledger.besu.ethereum.privacy.PrivateStateRootResolver;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransaction;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionProcessor;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivacyGroupHeadBlockMap;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateBlockMetadata;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
+import org.hyperledger.besu.ethereum.privacy.storage.PrivateStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateStateStorage;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
@@ -56,12 +65,14 @@ import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.Before;
@@ -325,6 +336,77 @@ public class PrivacyPrecompiledContractTest {
     return bytesValueRLPOutput.encoded().toBase64String().getBytes(UTF_8);
   }
 
+  @Test
+  public void payloadPrefetchedByTheBlockProcessorIsUsed() {
+    final Enclave enclave = mock(Enclave.class);
+    when(enclave.retrievePrivacyGroup(PAYLOAD_TEST_PRIVACY_GROUP_ID))
+        .thenReturn(
+            new PrivacyGroup(
+                PAYLOAD_TEST_PRIVACY_GROUP_ID,
+                PrivacyGroup.Type.PANTHEON,
+                "",
+                "",
+                Arrays.asList(VALID_BASE64_ENCLAVE_KEY.toBase64String())));
+    final PrivateTransaction privateTransaction = privateTransactionBesu();
+    final ReceiveResponse response =
+        new ReceiveResponse(
+            convertPrivateTransactionToBytes(privateTransaction),
+            PAYLOAD_TEST_PRIVACY_GROUP_ID,
+            privateTransaction.getPrivateFrom().toBase64String());
+    when(enclave.receive(any(String.class))).thenReturn(response);
+
+    final PrivatePayloadPrefetcher prefetcher =
+        new PrivatePayloadPrefetcher(enclave, Address.DEFAULT_PRIVACY, 1);
+    final PrivacyPrecompiledContract contract =
+        new PrivacyPrecompiledContract(
+            new SpuriousDragonGasCalculator(),
+            enclave,
+            worldStateArchive,
+            privateStateRootResolver,
+            Optional.of(prefetcher),
+            "Privacy");
+    contract.setPrivateTransactionProcessor(
+        mockPrivateTxProcessor(
+            TransactionProcessingResult.successful(
+                new ArrayList<>(), 0, 0, Bytes.fromHexString(DEFAULT_OUTPUT), null)));
+
+    // the block processor calls the precompile for the marker transaction while the block is
+    // processed, as the public transaction processor would
+    final Transaction markerTransaction = PrivateTransactionDataFixture.privacyMarkerTransaction();
+    final AtomicReference<Bytes> output = new AtomicReference<>();
+    final BlockProcessor publicBlockProcessor = mock(BlockProcessor.class);
+    when(publicBlockProcessor.processBlock(any(), any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              output.set(contract.compute(markerTransaction.getPayload(), messageFrame));
+              return mock(BlockProcessor.Result.class);
+            });
+    final PrivateStateStorage blockPrivateStateStorage =
+        new PrivateStateKeyValueStorage(new InMemoryKeyValueStorage());
+    final PrivacyBlockProcessor privacyBlockProcessor =
+        new PrivacyBlockProcessor(
+            publicBlockProcessor,
+            mock(ProtocolSchedule.class),
+            enclave,
+            blockPrivateStateStorage,
+            worldStateArchive,
+            new PrivateStateRootResolver(blockPrivateStateStorage),
+            Optional.of(prefetcher),
+            Optional.empty());
+
+    privacyBlockProcessor.processBlock(
+        blockchain,
+        mock(MutableWorldState.class),
+        new BlockDataGenerator().header(),
+        List.of(markerTransaction),
+        Collections.emptyList(),
+        null);
+
+    assertThat(output.get()).isEqualTo(Bytes.fromHexString(DEFAULT_OUTPUT));
+    // the payload was only requested by the prefetcher
+    verify(enclave, times(1)).receive(VALID_BASE64_ENCLAVE_KEY.toBase64String());
+  }
+
   private PrivacyPrecompiledContract buildPrivacyPrecompiledContract(final Enclave enclave) {
     return new PrivacyPrecompiledContract(
         new SpuriousDragonGasCalculator(), enclave, worldStateArchive, privateStateRootResolver);
@@ -0,0 +1,86 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.privacy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ParallelPrivateStateRehydrationTest {
+
+  private final PrivateStateRehydration rehydration = mock(PrivateStateRehydration.class);
+  private final List<PrivateTransactionWithMetadata> firstGroup =
+      List.of(mock(PrivateTransactionWithMetadata.class));
+  private final List<PrivateTransactionWithMetadata> secondGroup =
+      List.of(mock(PrivateTransactionWithMetadata.class));
+  private final ParallelPrivateStateRehydration parallelRehydration =
+      new ParallelPrivateStateRehydration(new NoOpMetricsSystem(), 2);
+
+  @Test
+  public void privacyGroupsAreRehydratedConcurrently() {
+    // each rehydration only completes once both have started
+    final CountDownLatch started = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              started.countDown();
+              assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+              return null;
+            })
+        .when(rehydration)
+        .rehydrate(any(), any(), any());
+
+    parallelRehydration.rehydrate(rehydration, List.of(firstGroup, secondGroup));
+
+    verify(rehydration).rehydrate(eq(firstGroup), any(), any());
+    verify(rehydration).rehydrate(eq(secondGroup), any(), any());
+  }
+
+  @Test
+  public void failureIsRethrownOnceAllPrivacyGroupsAreComplete() {
+    final CountDownLatch secondGroupComplete = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              assertThat(secondGroupComplete.await(10, TimeUnit.SECONDS)).isTrue();
+              throw new IllegalStateException("rehydration failed");
+            })
+        .when(rehydration)
+        .rehydrate(eq(firstGroup), any(), any());
+    doAnswer(
+            invocation -> {
+              secondGroupComplete.countDown();
+              return null;
+            })
+        .when(rehydration)
+        .rehydrate(eq(secondGroup), any(), any());
+
+    assertThatThrownBy(
+            () -> parallelRehydration.rehydrate(rehydration, List.of(firstGroup, secondGroup)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("rehydration failed");
+    assertThat(secondGroupComplete.getCount()).isZero();
+  }
+}
@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateStateStorage;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateTransactionMetadata;
 
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes32;
@@ -84,4 +85,23 @@ public class PrivateMetadataUpdaterTest {
         privateStateStorage.getPrivacyGroupHeadBlockMap(hashBlockOne).get();
     assertThat(actual.get(privacyGroupId)).isEqualTo(hashBlockOne);
   }
+
+  @Test
+  public void mergingCommitKeepsHeadsOfOtherPrivacyGroupsStoredForTheBlock() {
+    when(blockHeader.getHash()).thenReturn(hashBlockOne);
+    final Bytes32 otherPrivacyGroupId = Bytes32.fromHexString("0x44");
+    privateStateStorage
+        .updater()
+        .putPrivacyGroupHeadBlockMap(
+            hashBlockOne, new PrivacyGroupHeadBlockMap(Map.of(otherPrivacyGroupId, hashBlockOne)))
+        .commit();
+
+    updater.updatePrivacyGroupHeadBlockMap(privacyGroupId);
+    updater.commitMergingPrivacyGroupHeadBlockMap();
+
+    final PrivacyGroupHeadBlockMap actual =
+        privateStateStorage.getPrivacyGroupHeadBlockMap(hashBlockOne).get();
+    assertThat(actual.get(privacyGroupId)).isEqualTo(hashBlockOne);
+    assertThat(actual.get(otherPrivacyGroupId)).isEqualTo(hashBlockOne);
+  }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.privacy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.enclave.Enclave;
+import org.hyperledger.besu.enclave.EnclaveClientException;
+import org.hyperledger.besu.enclave.EnclaveFactory;
+import org.hyperledger.besu.enclave.types.ReceiveResponse;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrivatePayloadPrefetcherTest {
+
+  private static final long ENCLAVE_DELAY_MS = 100;
+  private static final int MARKER_TRANSACTIONS = 8;
+  private static final String MISSING_KEY = Bytes32.ZERO.toBase64String();
+
+  private final Vertx vertx = Vertx.vertx();
+  private HttpServer stubEnclave;
+  private Enclave enclave;
+
+  @Before
+  public void startStubEnclave() throws Exception {
+    final CompletableFuture<HttpServer> started = new CompletableFuture<>();
+    vertx
+        .createHttpServer()
+        .requestHandler(
+            request ->
+                request.bodyHandler(
+                    body -> {
+                      final String key = body.toJsonObject().getString("key");
+                      vertx.setTimer(
+                          ENCLAVE_DELAY_MS,
+                          timer -> {
+                            if (MISSING_KEY.equals(key)) {
+                              request
+                                  .response()
+                                  .setStatusCode(404)
+                                  .end(new JsonObject().put("error", "NotFound").encode());
+                            } else {
+                              request.response().end(receiveResponse(key).encode());
+                            }
+                          });
+                    }))
+        .listen(
+            0,
+            "localhost",
+            result -> {
+              if (result.succeeded()) {
+                started.complete(result.result());
+              } else {
+                started.completeExceptionally(result.cause());
+              }
+            });
+    stubEnclave = started.get(10, TimeUnit.SECONDS);
+    enclave =
+        new EnclaveFactory(vertx)
+            .createVertxEnclave(URI.create("http://localhost:" + stubEnclave.actualPort()));
+  }
+
+  @After
+  public void stopStubEnclave() {
+    vertx.close();
+  }
+
+  @Test
+  public void prefetchedPayloadsAreRetrievedConcurrently() {
+    final Enclave blockingEnclave = mock(Enclave.class);
+    final CountDownLatch allRequested = new CountDownLatch(MARKER_TRANSACTIONS);
+    final AtomicBoolean requestedConcurrently = new AtomicBoolean(true);
+    when(blockingEnclave.receive(anyString()))
+        .thenAnswer(
+            invocation -> {
+              // each request is only answered once every payload has been requested
+              allRequested.countDown();
+              if (!allRequested.await(10, TimeUnit.SECONDS)) {
+                requestedConcurrently.set(false);
+              }
+              final String key = invocation.getArgument(0);
+              return new ReceiveResponse(key.getBytes(StandardCharsets.UTF_8), key, key);
+            });
+    final List<Transaction> transactions = new ArrayList<>();
+    final List<String> keys = new ArrayList<>();
+    for (int i = 1; i <= MARKER_TRANSACTIONS; i++) {
+      final Bytes32 key = Bytes32.leftPad(Bytes.of(i));
+      keys.add(key.toBase64String());
+      transactions.add(markerTransaction(Address.DEFAULT_PRIVACY, key));
+    }
+
+    final PrivatePayloadPrefetcher prefetcher =
+        new PrivatePayloadPrefetcher(blockingEnclave, Address.DEFAULT_PRIVACY, MARKER_TRANSACTIONS);
+    prefetcher.prefetch(transactions);
+    for (final String key : keys) {
+      assertThat(prefetcher.take(key).map(ReceiveResponse::getSenderKey)).contains(key);
+    }
+
+    assertThat(requestedConcurrently).isTrue();
+    keys.forEach(key -> verify(blockingEnclave).receive(key));
+    verifyNoMoreInteractions(blockingEnclave);
+  }
+
+  @Test
+  public void onlyMarkerTransactionsToThePrecompileArePrefetched() {
+    final Bytes32 key = Bytes32.leftPad(Bytes.of(1));
+    final PrivatePayloadPrefetcher prefetcher =
+        new PrivatePayloadPrefetcher(enclave, Address.ONCHAIN_PRIVACY, 1);
+
+    prefetcher.prefetch(
+        List.of(
+            markerTransaction(Address.DEFAULT_PRIVACY, key),
+            markerTransaction(Address.ONCHAIN_PRIVACY, Bytes.concatenate(key, Bytes32.ZERO))));
+
+    assertThat(prefetcher.take(key.toBase64String())).isPresent();
+    assertThat(prefetcher.take(key.toBase64String())).isEmpty();
+  }
+
+  @Test
+  public void discardingAPrefetchKeepsPayloadsPrefetchedForOtherBlocks() {
+    final Bytes32 firstKey = Bytes32.leftPad(Bytes.of(1));
+    final Bytes32 secondKey = Bytes32.leftPad(Bytes.of(2));
+    final Enclave immediateEnclave = mock(Enclave.class);
+    when(immediateEnclave.receive(anyString()))
+        .thenAnswer(
+            invocation -> {
+              final String key = invocation.getArgument(0);
+              return new ReceiveResponse(key.getBytes(StandardCharsets.UTF_8), key, key);
+            });
+    final PrivatePayloadPrefetcher prefetcher =
+        new PrivatePayloadPrefetcher(immediateEnclave, Address.DEFAULT_PRIVACY, 2);
+
+    final PrivatePayloadPrefetcher.Prefetch first =
+        prefetcher.prefetch(List.of(markerTransaction(Address.DEFAULT_PRIVACY, firstKey)));
+    prefetcher.prefetch(List.of(markerTransaction(Address.DEFAULT_PRIVACY, secondKey)));
+    first.discard();
+
+    assertThat(prefetcher.take(firstKey.toBase64String())).isEmpty();
+    assertThat(prefetcher.take(secondKey.toBase64String())).isPresent();
+  }
+
+  @Test
+  public void enclaveErrorsAreThrownWhenPayloadIsTaken() {
+    final PrivatePayloadPrefetcher prefetcher =
+        new PrivatePayloadPrefetcher(enclave, Address.DEFAULT_PRIVACY, 1);
+    prefetcher.prefetch(List.of(markerTransaction(Address.DEFAULT_PRIVACY, Bytes32.ZERO)));
+
+    assertThatThrownBy(() -> prefetcher.take(MISSING_KEY))
+        .isInstanceOf(EnclaveClientException.class);
+  }
+
+  private static Transaction markerTransaction(final Address to, final Bytes payload) {
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getTo()).thenReturn(Optional.of(to));
+    when(transaction.getPayload()).thenReturn(payload);
+    return transaction;
+  }
+
+  private static JsonObject receiveResponse(final String key) {
+    // the sender key echoes the requested key so responses can be matched to requests
+    return new JsonObject()
+        .put("payload", key.getBytes(StandardCharsets.UTF_8))
+        .put("privacyGroupId", key)
+        .put("senderKey", key);
+  }
+}
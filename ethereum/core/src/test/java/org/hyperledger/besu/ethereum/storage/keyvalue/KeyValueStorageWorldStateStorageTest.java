@@ -21,7 +21,11 @@ import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage.
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.Test;
 
@@ -188,6 +192,33 @@ public class KeyValueStorageWorldStateStorageTest {
     assertThat(emptyStorage().isWorldStateAvailable(Hash.EMPTY_TRIE_HASH)).isTrue();
   }
 
+  @Test
+  public void prune_reportsProgressInBatches() {
+    final WorldStateKeyValueStorage storage = emptyStorage();
+    final Updater updater = storage.updater();
+    for (int i = 0; i < 5; i++) {
+      updater.putCode(Bytes.of(i));
+    }
+    updater.commit();
+    final Bytes32 retained = Hash.hash(Bytes.of(0));
+    final List<Long> examinedBatches = new ArrayList<>();
+    final List<Long> prunedBatches = new ArrayList<>();
+
+    final long pruned =
+        storage.prune(
+            key -> retained.equals(Bytes32.wrap(key)),
+            2,
+            (examinedKeys, prunedKeys) -> {
+              examinedBatches.add(examinedKeys);
+              prunedBatches.add(prunedKeys);
+            });
+
+    assertThat(pruned).isEqualTo(4);
+    assertThat(examinedBatches).containsExactly(2L, 2L, 1L);
+    assertThat(prunedBatches.stream().mapToLong(Long::longValue).sum()).isEqualTo(4);
+    assertThat(storage.getCode(retained)).contains(Bytes.of(0));
+  }
+
   private WorldStateKeyValueStorage emptyStorage() {
     return new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
   }
@@ -17,8 +17,11 @@ package org.hyperledger.besu.ethereum.worldstate;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -144,7 +147,7 @@ public class MarkSweepPrunerTest {
         stateRoot -> {
           final InOrder thisRootsOrdering = inOrder(hashValueStore, worldStateStorage);
           thisRootsOrdering.verify(hashValueStore).remove(stateRoot);
-          thisRootsOrdering.verify(worldStateStorage).prune(any());
+          thisRootsOrdering.verify(worldStateStorage).prune(any(), anyInt(), any());
         });
   }
 
@@ -181,12 +184,94 @@ public class MarkSweepPrunerTest {
         stateRoot -> {
           final InOrder thisRootsOrdering = inOrder(hashValueStore, worldStateStorage);
           thisRootsOrdering.verify(hashValueStore).remove(stateRoot);
-          thisRootsOrdering.verify(worldStateStorage).prune(any());
+          thisRootsOrdering.verify(worldStateStorage).prune(any(), anyInt(), any());
         });
 
     assertThat(stateStorage.containsKey(markedRoot.toArray())).isTrue();
   }
 
+  @Test
+  public void sweepBefore_withMarkFilterRetainsMarkedState() {
+    final MarkSweepPruner pruner =
+        new MarkSweepPruner(
+            worldStateStorage,
+            blockchain,
+            markStorage,
+            metricsSystem,
+            new PrunerConfiguration(0, 1, 0, 1024 * 1024));
+
+    final int numBlocks = 15;
+    final int numAccounts = 10;
+    generateBlockchainData(numBlocks, numAccounts);
+
+    final int markBlockNumber = 10;
+    final BlockHeader markBlock = blockchain.getBlockHeader(markBlockNumber).get();
+    final Set<Bytes> expectedNodes = collectWorldStateNodes(markBlock.getStateRoot());
+
+    pruner.mark(markBlock.getStateRoot());
+    pruner.sweepBefore(markBlock.getNumber());
+
+    // Marks are not written to the pruning storage
+    assertThat(markStorage.containsKey(markBlock.getStateRoot().toArrayUnsafe())).isFalse();
+    // All marked nodes survive, while false positives may leave a few unused nodes behind
+    assertThat(hashValueStore.values())
+        .containsAll(expectedNodes.stream().map(Bytes::toArrayUnsafe).collect(Collectors.toSet()));
+    assertThat(hashValueStore.size()).isLessThan(expectedNodes.size() * 2);
+    final WorldState markedState =
+        worldStateArchive.get(markBlock.getStateRoot(), markBlock.getHash()).get();
+    final int expectedAccounts = numAccounts * markBlockNumber;
+    assertThat(markedState.streamAccounts(Bytes32.ZERO, expectedAccounts * 2).count())
+        .isEqualTo(expectedAccounts);
+  }
+
+  @Test
+  public void sweepBefore_withOperationBudgetSweepsInBatches() {
+    final int operationsPerTransaction = 100;
+    final MarkSweepPruner pruner =
+        new MarkSweepPruner(
+            worldStateStorage,
+            blockchain,
+            markStorage,
+            metricsSystem,
+            operationsPerTransaction,
+            new PrunerConfiguration(0, 1, 1_000_000, 0));
+
+    generateBlockchainData(15, 10);
+
+    final BlockHeader markBlock = blockchain.getBlockHeader(10).get();
+    final Set<Bytes> expectedNodes = collectWorldStateNodes(markBlock.getStateRoot());
+
+    pruner.mark(markBlock.getStateRoot());
+    pruner.sweepBefore(markBlock.getNumber());
+
+    verify(worldStateStorage).prune(any(), eq(operationsPerTransaction), any());
+    assertThat(hashValueStore.size()).isEqualTo(expectedNodes.size());
+  }
+
+  @Test
+  public void sweepBefore_withSmallOperationBudgetSweepsInHalfSecondBatches() {
+    final MarkSweepPruner pruner =
+        new MarkSweepPruner(
+            worldStateStorage,
+            blockchain,
+            markStorage,
+            metricsSystem,
+            10_000,
+            new PrunerConfiguration(0, 1, 10_000, 0));
+
+    generateBlockchainData(15, 10);
+
+    final BlockHeader markBlock = blockchain.getBlockHeader(10).get();
+    final Set<Bytes> expectedNodes = collectWorldStateNodes(markBlock.getStateRoot());
+
+    pruner.mark(markBlock.getStateRoot());
+    pruner.sweepBefore(markBlock.getNumber());
+
+    // examining and removing a batch may use twice its size from the budget
+    verify(worldStateStorage).prune(any(), eq(5_000), any());
+    assertThat(hashValueStore.size()).isEqualTo(expectedNodes.size());
+  }
+
   private void generateBlockchainData(final int numBlocks, final int numAccounts) {
     Block parentBlock = blockchain.getChainHeadBlock();
     for (int i = 0; i < numBlocks; i++) {
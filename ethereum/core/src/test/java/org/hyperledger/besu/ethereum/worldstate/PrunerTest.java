@@ -65,7 +65,12 @@ public class PrunerTest {
         DefaultBlockchain.createMutable(genesisBlock, blockchainStorage, metricsSystem, 0);
 
     final Pruner pruner =
-        new Pruner(markSweepPruner, blockchain, new PrunerConfiguration(0, 1), mockExecutorService);
+        new Pruner(
+            markSweepPruner,
+            blockchain,
+            new PrunerConfiguration(0, 1),
+            metricsSystem,
+            mockExecutorService);
     pruner.start();
 
     final Block block1 = appendBlockWithParent(blockchain, genesisBlock);
@@ -86,7 +91,12 @@ public class PrunerTest {
         DefaultBlockchain.createMutable(genesisBlock, blockchainStorage, metricsSystem, 0);
 
     final Pruner pruner =
-        new Pruner(markSweepPruner, blockchain, new PrunerConfiguration(1, 2), mockExecutorService);
+        new Pruner(
+            markSweepPruner,
+            blockchain,
+            new PrunerConfiguration(1, 2),
+            metricsSystem,
+            mockExecutorService);
     pruner.start();
 
     final Hash markBlockStateRootHash =
@@ -113,7 +123,12 @@ public class PrunerTest {
 
     // start pruner so it can start handling block added events
     final Pruner pruner =
-        new Pruner(markSweepPruner, blockchain, new PrunerConfiguration(0, 1), mockExecutorService);
+        new Pruner(
+            markSweepPruner,
+            blockchain,
+            new PrunerConfiguration(0, 1),
+            metricsSystem,
+            mockExecutorService);
     pruner.start();
 
     /*
@@ -153,6 +168,7 @@ public class PrunerTest {
                     markSweepPruner,
                     mockchain,
                     new PrunerConfiguration(-1, -2),
+                    metricsSystem,
                     mockExecutorService))
         .isInstanceOf(IllegalArgumentException.class);
     assertThatThrownBy(
@@ -161,6 +177,7 @@ public class PrunerTest {
                     markSweepPruner,
                     mockchain,
                     new PrunerConfiguration(10, 8),
+                    metricsSystem,
                     mockExecutorService))
         .isInstanceOf(IllegalArgumentException.class);
     assertThatThrownBy(
@@ -169,6 +186,7 @@ public class PrunerTest {
                     markSweepPruner,
                     mockchain,
                     new PrunerConfiguration(10, 10),
+                    metricsSystem,
                     mockExecutorService))
         .isInstanceOf(IllegalArgumentException.class);
   }
@@ -182,7 +200,12 @@ public class PrunerTest {
         DefaultBlockchain.createMutable(genesisBlock, blockchainStorage, metricsSystem, 0);
 
     final Pruner pruner =
-        new Pruner(markSweepPruner, blockchain, new PrunerConfiguration(0, 1), mockExecutorService);
+        new Pruner(
+            markSweepPruner,
+            blockchain,
+            new PrunerConfiguration(0, 1),
+            metricsSystem,
+            mockExecutorService);
     pruner.start();
     pruner.stop();
     verify(markSweepPruner).cleanup();
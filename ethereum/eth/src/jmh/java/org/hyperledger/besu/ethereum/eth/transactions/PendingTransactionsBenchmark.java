@@ -0,0 +1,126 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionSelectionResult;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the pending transaction implementations while transactions are added concurrently with
+ * block selection. Selected transactions are removed as if they had been included in a block, so
+ * the adding threads can keep re-adding them once they cycle through the generated transactions.
+ */
+@State(Scope.Benchmark)
+public class PendingTransactionsBenchmark {
+
+  private static final int MAX_PENDING_TRANSACTIONS = 4096;
+  private static final int GENERATED_TRANSACTIONS = 2 * MAX_PENDING_TRANSACTIONS;
+  private static final int TRANSACTIONS_PER_BLOCK = 200;
+
+  @Param({"false", "true"})
+  public boolean senderQueuesEnabled;
+
+  @Param({"16", "1024"})
+  public int senders;
+
+  private List<Transaction> generatedTransactions;
+  private final AtomicInteger nextTransaction = new AtomicInteger();
+  private PendingTransactions pendingTransactions;
+
+  @Setup(Level.Trial)
+  public void generateTransactions() {
+    final List<KeyPair> keyPairs = new ArrayList<>();
+    for (int i = 0; i < senders; i++) {
+      keyPairs.add(KeyPair.generate());
+    }
+    generatedTransactions = new ArrayList<>(GENERATED_TRANSACTIONS);
+    for (int i = 0; i < GENERATED_TRANSACTIONS; i++) {
+      generatedTransactions.add(
+          new TransactionTestFixture()
+              .nonce(i / senders)
+              .gasPrice(Wei.of(1 + (i * 31L) % 100))
+              .createTransaction(keyPairs.get(i % senders)));
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void createPendingTransactions() {
+    pendingTransactions =
+        senderQueuesEnabled
+            ? new SenderQueuedPendingTransactions(
+                TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+                MAX_PENDING_TRANSACTIONS,
+                TransactionPoolConfiguration.MAX_PENDING_TRANSACTIONS_HASHES,
+                Clock.systemUTC(),
+                new NoOpMetricsSystem(),
+                () -> null,
+                TransactionPoolConfiguration.DEFAULT_PRICE_BUMP)
+            : new PendingTransactions(
+                TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+                MAX_PENDING_TRANSACTIONS,
+                TransactionPoolConfiguration.MAX_PENDING_TRANSACTIONS_HASHES,
+                Clock.systemUTC(),
+                new NoOpMetricsSystem(),
+                () -> null,
+                TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+    nextTransaction.set(0);
+    for (int i = 0; i < MAX_PENDING_TRANSACTIONS / 2; i++) {
+      addNextTransaction();
+    }
+  }
+
+  @Benchmark
+  @Group("addAndSelect")
+  @GroupThreads(3)
+  public boolean addTransaction() {
+    return addNextTransaction();
+  }
+
+  @Benchmark
+  @Group("addAndSelect")
+  @GroupThreads(1)
+  public int selectTransactions() {
+    final int[] selected = {0};
+    pendingTransactions.selectTransactions(
+        transaction ->
+            ++selected[0] < TRANSACTIONS_PER_BLOCK
+                ? TransactionSelectionResult.DELETE_TRANSACTION_AND_CONTINUE
+                : TransactionSelectionResult.COMPLETE_OPERATION);
+    return selected[0];
+  }
+
+  private boolean addNextTransaction() {
+    final int index = Math.floorMod(nextTransaction.getAndIncrement(), GENERATED_TRANSACTIONS);
+    return pendingTransactions.addRemoteTransaction(generatedTransactions.get(index));
+  }
+}
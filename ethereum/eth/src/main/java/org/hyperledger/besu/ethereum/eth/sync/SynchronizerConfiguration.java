@@ -46,6 +46,9 @@ public class SynchronizerConfiguration {
   public static final int DEFAULT_COMPUTATION_PARALLELISM = 2;
   public static final int DEFAULT_WORLD_STATE_TASK_CACHE_SIZE =
       CachingTaskCollection.DEFAULT_CACHE_SIZE;
+  public static final long DEFAULT_WORLD_STATE_NODE_FILTER_MEMORY = 0L;
+  public static final float DEFAULT_WORLD_STATE_NODE_FILTER_FALSE_POSITIVE_RATE = 0.01f;
+  public static final boolean DEFAULT_WORLD_STATE_NODE_FILTER_PERSISTED = true;
 
   // Fast sync config
   private final int fastSyncPivotDistance;
@@ -55,6 +58,9 @@ public class SynchronizerConfiguration {
   private final int worldStateRequestParallelism;
   private final int worldStateMaxRequestsWithoutProgress;
   private final int worldStateTaskCacheSize;
+  private final long worldStateNodeFilterMemory;
+  private final float worldStateNodeFilterFalsePositiveRate;
+  private final boolean worldStateNodeFilterPersisted;
 
   // Block propagation config
   private final Range<Long> blockPropagationRange;
@@ -83,6 +89,9 @@ public class SynchronizerConfiguration {
       final int worldStateMaxRequestsWithoutProgress,
       final long worldStateMinMillisBeforeStalling,
       final int worldStateTaskCacheSize,
+      final long worldStateNodeFilterMemory,
+      final float worldStateNodeFilterFalsePositiveRate,
+      final boolean worldStateNodeFilterPersisted,
       final Range<Long> blockPropagationRange,
       final SyncMode syncMode,
       final long downloaderChangeTargetThresholdByHeight,
@@ -102,6 +111,9 @@ public class SynchronizerConfiguration {
     this.worldStateMaxRequestsWithoutProgress = worldStateMaxRequestsWithoutProgress;
     this.worldStateMinMillisBeforeStalling = worldStateMinMillisBeforeStalling;
     this.worldStateTaskCacheSize = worldStateTaskCacheSize;
+    this.worldStateNodeFilterMemory = worldStateNodeFilterMemory;
+    this.worldStateNodeFilterFalsePositiveRate = worldStateNodeFilterFalsePositiveRate;
+    this.worldStateNodeFilterPersisted = worldStateNodeFilterPersisted;
     this.blockPropagationRange = blockPropagationRange;
     this.syncMode = syncMode;
     this.downloaderChangeTargetThresholdByHeight = downloaderChangeTargetThresholdByHeight;
@@ -215,6 +227,24 @@ public class SynchronizerConfiguration {
     return worldStateTaskCacheSize;
   }
 
+  /**
+   * The memory, in bytes, available to the filter of already persisted world state nodes. A value
+   * of 0 disables the filter.
+   *
+   * @return the memory budget of the persisted node filter
+   */
+  public long getWorldStateNodeFilterMemory() {
+    return worldStateNodeFilterMemory;
+  }
+
+  public float getWorldStateNodeFilterFalsePositiveRate() {
+    return worldStateNodeFilterFalsePositiveRate;
+  }
+
+  public boolean isWorldStateNodeFilterPersisted() {
+    return worldStateNodeFilterPersisted;
+  }
+
   public int getMaxTrailingPeers() {
     return maxTrailingPeers;
   }
@@ -243,6 +273,10 @@ public class SynchronizerConfiguration {
         DEFAULT_WORLD_STATE_MAX_REQUESTS_WITHOUT_PROGRESS;
     private long worldStateMinMillisBeforeStalling = DEFAULT_WORLD_STATE_MIN_MILLIS_BEFORE_STALLING;
     private int worldStateTaskCacheSize = DEFAULT_WORLD_STATE_TASK_CACHE_SIZE;
+    private long worldStateNodeFilterMemory = DEFAULT_WORLD_STATE_NODE_FILTER_MEMORY;
+    private float worldStateNodeFilterFalsePositiveRate =
+        DEFAULT_WORLD_STATE_NODE_FILTER_FALSE_POSITIVE_RATE;
+    private boolean worldStateNodeFilterPersisted = DEFAULT_WORLD_STATE_NODE_FILTER_PERSISTED;
 
     public Builder fastSyncPivotDistance(final int distance) {
       fastSyncPivotDistance = distance;
@@ -345,6 +379,22 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder worldStateNodeFilterMemory(final long worldStateNodeFilterMemory) {
+      this.worldStateNodeFilterMemory = worldStateNodeFilterMemory;
+      return this;
+    }
+
+    public Builder worldStateNodeFilterFalsePositiveRate(
+        final float worldStateNodeFilterFalsePositiveRate) {
+      this.worldStateNodeFilterFalsePositiveRate = worldStateNodeFilterFalsePositiveRate;
+      return this;
+    }
+
+    public Builder worldStateNodeFilterPersisted(final boolean worldStateNodeFilterPersisted) {
+      this.worldStateNodeFilterPersisted = worldStateNodeFilterPersisted;
+      return this;
+    }
+
     public Builder maxTrailingPeers(final int maxTailingPeers) {
       this.maxTrailingPeers = maxTailingPeers;
       return this;
@@ -360,6 +410,9 @@ public class SynchronizerConfiguration {
           worldStateMaxRequestsWithoutProgress,
           worldStateMinMillisBeforeStalling,
           worldStateTaskCacheSize,
+          worldStateNodeFilterMemory,
+          worldStateNodeFilterFalsePositiveRate,
+          worldStateNodeFilterPersisted,
           blockPropagationRange,
           syncMode,
           downloaderChangeTargetThresholdByHeight,
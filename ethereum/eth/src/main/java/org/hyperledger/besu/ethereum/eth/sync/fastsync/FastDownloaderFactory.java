@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.eth.sync.SyncMode;
 import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.sync.worldstate.NodeDataRequest;
+import org.hyperledger.besu.ethereum.eth.sync.worldstate.PersistedNodeFilter;
 import org.hyperledger.besu.ethereum.eth.sync.worldstate.WorldStateDownloader;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
@@ -41,6 +42,7 @@ import org.apache.logging.log4j.Logger;
 public class FastDownloaderFactory {
 
   private static final String FAST_SYNC_FOLDER = "fastsync";
+  private static final String NODE_FILTER_FILENAME = "worldStateNodeFilter.dat";
 
   private static final Logger LOG = LogManager.getLogger();
 
@@ -85,10 +87,13 @@ public class FastDownloaderFactory {
             getStateQueueDirectory(dataDirectory),
             metricsSystem,
             syncConfig.getWorldStateTaskCacheSize());
+    final Optional<PersistedNodeFilter> persistedNodeFilter =
+        createPersistedNodeFilter(syncConfig, fastSyncDataDirectory, fastSyncState, metricsSystem);
     final WorldStateDownloader worldStateDownloader =
         new WorldStateDownloader(
             ethContext,
             worldStateStorage,
+            persistedNodeFilter,
             taskCollection,
             syncConfig.getWorldStateHashCountPerRequest(),
             syncConfig.getWorldStateRequestParallelism(),
@@ -114,6 +119,29 @@ public class FastDownloaderFactory {
     return Optional.of(fastSyncDownloader);
   }
 
+  private static Optional<PersistedNodeFilter> createPersistedNodeFilter(
+      final SynchronizerConfiguration syncConfig,
+      final Path fastSyncDataDirectory,
+      final FastSyncState fastSyncState,
+      final MetricsSystem metricsSystem) {
+    if (syncConfig.getWorldStateNodeFilterMemory() <= 0) {
+      return Optional.empty();
+    }
+    final Optional<Path> persistenceFile =
+        syncConfig.isWorldStateNodeFilterPersisted()
+            ? Optional.of(fastSyncDataDirectory.resolve(NODE_FILTER_FILENAME))
+            : Optional.empty();
+    // Without a stored pivot block no world state data has been downloaded yet, so a new filter
+    // starts out with a complete picture of the persisted nodes.
+    return Optional.of(
+        PersistedNodeFilter.create(
+            syncConfig.getWorldStateNodeFilterMemory(),
+            syncConfig.getWorldStateNodeFilterFalsePositiveRate(),
+            persistenceFile,
+            fastSyncState.getPivotBlockHeader().isEmpty(),
+            metricsSystem));
+  }
+
   private static Path getStateQueueDirectory(final Path dataDirectory) {
     final Path queueDataDir = getFastSyncDataDirectory(dataDirectory).resolve("statequeue");
     ensureDirectoryExists(queueDataDir.toFile());
@@ -29,11 +29,20 @@ import org.apache.tuweni.bytes.Bytes;
 public class LoadLocalDataStep {
 
   private final WorldStateStorage worldStateStorage;
+  private final Optional<PersistedNodeFilter> persistedNodeFilter;
   private final Counter existingNodeCounter;
 
   public LoadLocalDataStep(
       final WorldStateStorage worldStateStorage, final MetricsSystem metricsSystem) {
+    this(worldStateStorage, Optional.empty(), metricsSystem);
+  }
+
+  public LoadLocalDataStep(
+      final WorldStateStorage worldStateStorage,
+      final Optional<PersistedNodeFilter> persistedNodeFilter,
+      final MetricsSystem metricsSystem) {
     this.worldStateStorage = worldStateStorage;
+    this.persistedNodeFilter = persistedNodeFilter;
     existingNodeCounter =
         metricsSystem.createCounter(
             BesuMetricCategory.SYNCHRONIZER,
@@ -44,7 +53,10 @@ public class LoadLocalDataStep {
   public Stream<Task<NodeDataRequest>> loadLocalData(
       final Task<NodeDataRequest> task, final Pipe<Task<NodeDataRequest>> completedTasks) {
     final NodeDataRequest request = task.getData();
-    final Optional<Bytes> existingData = request.getExistingData(worldStateStorage);
+    final Optional<Bytes> existingData =
+        persistedNodeFilter.isPresent()
+            ? persistedNodeFilter.get().getExistingData(request, worldStateStorage)
+            : request.getExistingData(worldStateStorage);
     if (existingData.isPresent()) {
       existingNodeCounter.inc();
       request.setData(existingData.get());
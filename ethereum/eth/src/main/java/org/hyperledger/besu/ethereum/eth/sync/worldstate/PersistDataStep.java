@@ -20,12 +20,21 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage.Updater;
 import org.hyperledger.besu.services.tasks.Task;
 
 import java.util.List;
+import java.util.Optional;
 
 public class PersistDataStep {
   private final WorldStateStorage worldStateStorage;
+  private final Optional<PersistedNodeFilter> persistedNodeFilter;
 
   public PersistDataStep(final WorldStateStorage worldStateStorage) {
+    this(worldStateStorage, Optional.empty());
+  }
+
+  public PersistDataStep(
+      final WorldStateStorage worldStateStorage,
+      final Optional<PersistedNodeFilter> persistedNodeFilter) {
     this.worldStateStorage = worldStateStorage;
+    this.persistedNodeFilter = persistedNodeFilter;
   }
 
   public List<Task<NodeDataRequest>> persist(
@@ -45,6 +54,13 @@ public class PersistDataStep {
               }
             });
     updater.commit();
+    persistedNodeFilter.ifPresent(
+        filter ->
+            tasks.stream()
+                .map(Task::getData)
+                .filter(request -> request.getData() != null)
+                .filter(request -> !isRootState(blockHeader, request))
+                .forEach(request -> filter.markPersisted(request.getHash())));
     return tasks;
   }
 
@@ -0,0 +1,210 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.worldstate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Probabilistic record of the world state nodes persisted during a fast sync world state download.
+ *
+ * <p>Most lookups made by {@link LoadLocalDataStep} are for nodes which are not yet stored locally.
+ * When the filter reports a node as absent the storage read can be skipped entirely. A negative
+ * answer can only be trusted when the filter has seen every node written so far, so a filter
+ * created for a download that resumes from an earlier run is only trusted if it was loaded from the
+ * file saved by that run. Nodes persisted after the last save are simply downloaded again, which is
+ * wasteful but safe since nodes are keyed by their hash.
+ */
+public class PersistedNodeFilter {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final BloomFilter<byte[]> filter;
+  private final Optional<Path> persistenceFile;
+  private volatile boolean authoritative;
+
+  private final Counter skippedLookupCounter;
+  private final Counter confirmedLookupCounter;
+  private final Counter falsePositiveCounter;
+  private final Counter untrustedLookupCounter;
+
+  PersistedNodeFilter(
+      final BloomFilter<byte[]> filter,
+      final boolean authoritative,
+      final Optional<Path> persistenceFile,
+      final MetricsSystem metricsSystem) {
+    this.filter = filter;
+    this.authoritative = authoritative;
+    this.persistenceFile = persistenceFile;
+
+    final LabelledMetric<Counter> lookupCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "world_state_node_filter_lookups_total",
+            "Number of local world state node lookups by persisted node filter result",
+            "result");
+    skippedLookupCounter = lookupCounter.labels("absent");
+    confirmedLookupCounter = lookupCounter.labels("present");
+    falsePositiveCounter = lookupCounter.labels("false_positive");
+    untrustedLookupCounter = lookupCounter.labels("untrusted");
+
+    metricsSystem.createGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        "world_state_node_filter_expected_false_positive_rate",
+        "Estimated false positive rate of the persisted world state node filter",
+        filter::expectedFpp);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        "world_state_node_filter_entries_current",
+        "Approximate number of nodes recorded in the persisted world state node filter",
+        filter::approximateElementCount);
+  }
+
+  /**
+   * Creates a filter sized to fit in the given memory budget.
+   *
+   * @param memoryBudgetBytes the maximum number of bytes to use for the filter bits
+   * @param falsePositiveRate the desired false positive rate once the filter is at capacity
+   * @param persistenceFile the file to load the filter from and save it to, if persistence is
+   *     enabled
+   * @param trustIfNew whether a newly created filter is known to cover all stored nodes, i.e. the
+   *     download has not made any progress before now
+   * @param metricsSystem the metrics system
+   * @return the new filter
+   */
+  public static PersistedNodeFilter create(
+      final long memoryBudgetBytes,
+      final double falsePositiveRate,
+      final Optional<Path> persistenceFile,
+      final boolean trustIfNew,
+      final MetricsSystem metricsSystem) {
+    checkArgument(memoryBudgetBytes > 0, "Memory budget must be positive");
+    checkArgument(
+        falsePositiveRate > 0 && falsePositiveRate < 1,
+        "False positive rate must be between 0 and 1");
+
+    final Optional<BloomFilter<byte[]>> loaded = persistenceFile.flatMap(PersistedNodeFilter::load);
+    if (loaded.isPresent()) {
+      return new PersistedNodeFilter(loaded.get(), true, persistenceFile, metricsSystem);
+    }
+    final BloomFilter<byte[]> filter =
+        BloomFilter.create(
+            Funnels.byteArrayFunnel(),
+            expectedInsertions(memoryBudgetBytes, falsePositiveRate),
+            falsePositiveRate);
+    if (!trustIfNew) {
+      LOG.info(
+          "World state download has already made progress, persisted node filter will only be used to confirm existing nodes");
+    }
+    return new PersistedNodeFilter(filter, trustIfNew, persistenceFile, metricsSystem);
+  }
+
+  /**
+   * Calculates the number of entries a bloom filter can hold within the given number of bytes while
+   * keeping the requested false positive rate.
+   */
+  static long expectedInsertions(final long memoryBudgetBytes, final double falsePositiveRate) {
+    final double bits = memoryBudgetBytes * 8d;
+    return Math.max(1, (long) (-bits * Math.log(2) * Math.log(2) / Math.log(falsePositiveRate)));
+  }
+
+  public boolean isAuthoritative() {
+    return authoritative;
+  }
+
+  public Optional<Bytes> getExistingData(
+      final NodeDataRequest request, final WorldStateStorage worldStateStorage) {
+    final Hash hash = request.getHash();
+    if (!authoritative) {
+      untrustedLookupCounter.inc();
+      final Optional<Bytes> existingData = request.getExistingData(worldStateStorage);
+      existingData.ifPresent(data -> markPersisted(hash));
+      return existingData;
+    }
+    if (!filter.mightContain(hash.toArrayUnsafe())) {
+      skippedLookupCounter.inc();
+      return Optional.empty();
+    }
+    final Optional<Bytes> existingData = request.getExistingData(worldStateStorage);
+    if (existingData.isPresent()) {
+      confirmedLookupCounter.inc();
+    } else {
+      falsePositiveCounter.inc();
+    }
+    return existingData;
+  }
+
+  public void markPersisted(final Hash hash) {
+    filter.put(hash.toArrayUnsafe());
+  }
+
+  /**
+   * Writes the filter to its persistence file, if one is configured. Filters which are not
+   * authoritative are never saved so that a later run can't mistake them for a complete record.
+   */
+  public void save() {
+    if (persistenceFile.isEmpty() || !authoritative) {
+      return;
+    }
+    final Path file = persistenceFile.get();
+    final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+        filter.writeTo(out);
+      }
+      Files.move(
+          tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      LOG.warn("Unable to save persisted node filter to {}", file, e);
+    }
+  }
+
+  private static Optional<BloomFilter<byte[]>> load(final Path file) {
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (final InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+      final BloomFilter<byte[]> filter = BloomFilter.readFrom(in, Funnels.byteArrayFunnel());
+      LOG.info(
+          "Loaded persisted node filter with approximately {} entries",
+          filter.approximateElementCount());
+      return Optional.of(filter);
+    } catch (final IOException e) {
+      LOG.warn("Unable to load persisted node filter from {}, ignoring it", file, e);
+      return Optional.empty();
+    }
+  }
+}
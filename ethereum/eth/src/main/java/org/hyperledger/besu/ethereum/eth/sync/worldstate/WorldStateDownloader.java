@@ -45,6 +45,7 @@ public class WorldStateDownloader implements WorldStateDownloadStatus {
   private final int maxOutstandingRequests;
   private final int maxNodeRequestsWithoutProgress;
   private final WorldStateStorage worldStateStorage;
+  private final Optional<PersistedNodeFilter> persistedNodeFilter;
 
   private final AtomicReference<WorldDownloadState> downloadState = new AtomicReference<>();
 
@@ -60,8 +61,33 @@ public class WorldStateDownloader implements WorldStateDownloadStatus {
       final long minMillisBeforeStalling,
       final Clock clock,
       final MetricsSystem metricsSystem) {
+    this(
+        ethContext,
+        worldStateStorage,
+        Optional.empty(),
+        taskCollection,
+        hashCountPerRequest,
+        maxOutstandingRequests,
+        maxNodeRequestsWithoutProgress,
+        minMillisBeforeStalling,
+        clock,
+        metricsSystem);
+  }
+
+  public WorldStateDownloader(
+      final EthContext ethContext,
+      final WorldStateStorage worldStateStorage,
+      final Optional<PersistedNodeFilter> persistedNodeFilter,
+      final CachingTaskCollection<NodeDataRequest> taskCollection,
+      final int hashCountPerRequest,
+      final int maxOutstandingRequests,
+      final int maxNodeRequestsWithoutProgress,
+      final long minMillisBeforeStalling,
+      final Clock clock,
+      final MetricsSystem metricsSystem) {
     this.ethContext = ethContext;
     this.worldStateStorage = worldStateStorage;
+    this.persistedNodeFilter = persistedNodeFilter;
     this.taskCollection = taskCollection;
     this.hashCountPerRequest = hashCountPerRequest;
     this.maxOutstandingRequests = maxOutstandingRequests;
@@ -132,9 +158,10 @@ public class WorldStateDownloader implements WorldStateDownloadStatus {
           WorldStateDownloadProcess.builder()
               .hashCountPerRequest(hashCountPerRequest)
               .maxOutstandingRequests(maxOutstandingRequests)
-              .loadLocalDataStep(new LoadLocalDataStep(worldStateStorage, metricsSystem))
+              .loadLocalDataStep(
+                  new LoadLocalDataStep(worldStateStorage, persistedNodeFilter, metricsSystem))
               .requestDataStep(new RequestDataStep(ethContext, metricsSystem))
-              .persistDataStep(new PersistDataStep(worldStateStorage))
+              .persistDataStep(new PersistDataStep(worldStateStorage, persistedNodeFilter))
               .completeTaskStep(maybeCompleteTask.get())
               .downloadState(newDownloadState)
               .pivotBlockHeader(header)
@@ -143,7 +170,13 @@ public class WorldStateDownloader implements WorldStateDownloadStatus {
 
       newDownloadState.setWorldStateDownloadProcess(downloadProcess);
 
-      return newDownloadState.startDownload(downloadProcess, ethContext.getScheduler());
+      final CompletableFuture<Void> downloadFuture =
+          newDownloadState.startDownload(downloadProcess, ethContext.getScheduler());
+      // Save the filter whenever a download ends, including when the pivot block is switched, so
+      // that a restarted download can keep skipping lookups for nodes it already has.
+      persistedNodeFilter.ifPresent(
+          filter -> downloadFuture.whenComplete((result, error) -> filter.save()));
+      return downloadFuture;
     }
   }
 
@@ -38,6 +38,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -63,18 +64,19 @@ import com.google.common.collect.EvictingQueue;
  */
 public class PendingTransactions {
 
+  protected static final Comparator<TransactionInfo> TRANSACTION_PRIORITY =
+      comparing(TransactionInfo::isReceivedFromLocalSource)
+          .thenComparing(TransactionInfo::getGasPrice)
+          .thenComparing(TransactionInfo::getSequence)
+          .reversed();
+
   private final int maxTransactionRetentionHours;
   private final Clock clock;
 
   private final EvictingQueue<Hash> newPooledHashes;
-  private final Map<Hash, TransactionInfo> pendingTransactions = new ConcurrentHashMap<>();
-  private final NavigableSet<TransactionInfo> prioritizedTransactions =
-      new TreeSet<>(
-          comparing(TransactionInfo::isReceivedFromLocalSource)
-              .thenComparing(TransactionInfo::getGasPrice)
-              .thenComparing(TransactionInfo::getSequence)
-              .reversed());
-  private final Map<Address, TransactionsForSenderInfo> transactionsBySender =
+  protected final Map<Hash, TransactionInfo> pendingTransactions = new ConcurrentHashMap<>();
+  protected final NavigableSet<TransactionInfo> prioritizedTransactions;
+  protected final Map<Address, TransactionsForSenderInfo> transactionsBySender =
       new ConcurrentHashMap<>();
 
   private final Subscribers<PendingTransactionListener> pendingTransactionSubscribers =
@@ -83,7 +85,10 @@ public class PendingTransactions {
   private final Subscribers<PendingTransactionDroppedListener> transactionDroppedListeners =
       Subscribers.create();
 
-  private final LabelledMetric<Counter> transactionRemovedCounter;
+  private final Counter localTransactionAddedToBlockCounter;
+  private final Counter localTransactionDroppedCounter;
+  private final Counter remoteTransactionAddedToBlockCounter;
+  private final Counter remoteTransactionDroppedCounter;
   private final Counter localTransactionAddedCounter;
   private final Counter remoteTransactionAddedCounter;
   private final Counter localTransactionHashesAddedCounter;
@@ -100,6 +105,27 @@ public class PendingTransactions {
       final MetricsSystem metricsSystem,
       final Supplier<BlockHeader> chainHeadHeaderSupplier,
       final Percentage priceBump) {
+    this(
+        maxTransactionRetentionHours,
+        maxPendingTransactions,
+        maxPooledTransactionHashes,
+        clock,
+        metricsSystem,
+        chainHeadHeaderSupplier,
+        priceBump,
+        new TreeSet<>(TRANSACTION_PRIORITY));
+  }
+
+  protected PendingTransactions(
+      final int maxTransactionRetentionHours,
+      final int maxPendingTransactions,
+      final int maxPooledTransactionHashes,
+      final Clock clock,
+      final MetricsSystem metricsSystem,
+      final Supplier<BlockHeader> chainHeadHeaderSupplier,
+      final Percentage priceBump,
+      final NavigableSet<TransactionInfo> prioritizedTransactions) {
+    this.prioritizedTransactions = prioritizedTransactions;
     this.maxTransactionRetentionHours = maxTransactionRetentionHours;
     this.maxPendingTransactions = maxPendingTransactions;
     this.clock = clock;
@@ -116,13 +142,18 @@ public class PendingTransactions {
     remoteTransactionAddedCounter = transactionAddedCounter.labels("remote");
     localTransactionHashesAddedCounter = transactionAddedCounter.labels("pool");
 
-    transactionRemovedCounter =
+    final LabelledMetric<Counter> transactionRemovedCounter =
         metricsSystem.createLabelledCounter(
             BesuMetricCategory.TRANSACTION_POOL,
             "transactions_removed_total",
             "Count of transactions removed from the transaction pool",
             "source",
             "operation");
+    localTransactionAddedToBlockCounter = transactionRemovedCounter.labels("local", "addedToBlock");
+    localTransactionDroppedCounter = transactionRemovedCounter.labels("local", "dropped");
+    remoteTransactionAddedToBlockCounter =
+        transactionRemovedCounter.labels("remote", "addedToBlock");
+    remoteTransactionDroppedCounter = transactionRemovedCounter.labels("remote", "dropped");
   }
 
   public void evictOldTransactions() {
@@ -182,7 +213,7 @@ public class PendingTransactions {
     doRemoveTransaction(transaction, true);
   }
 
-  private void doRemoveTransaction(final Transaction transaction, final boolean addedToBlock) {
+  protected void doRemoveTransaction(final Transaction transaction, final boolean addedToBlock) {
     synchronized (prioritizedTransactions) {
       final TransactionInfo removedTransactionInfo =
           pendingTransactions.remove(transaction.getHash());
@@ -195,11 +226,13 @@ public class PendingTransactions {
     }
   }
 
-  private void incrementTransactionRemovedCounter(
+  protected void incrementTransactionRemovedCounter(
       final boolean receivedFromLocalSource, final boolean addedToBlock) {
-    final String location = receivedFromLocalSource ? "local" : "remote";
-    final String operation = addedToBlock ? "addedToBlock" : "dropped";
-    transactionRemovedCounter.labels(location, operation).inc();
+    if (receivedFromLocalSource) {
+      (addedToBlock ? localTransactionAddedToBlockCounter : localTransactionDroppedCounter).inc();
+    } else {
+      (addedToBlock ? remoteTransactionAddedToBlockCounter : remoteTransactionDroppedCounter).inc();
+    }
   }
 
   public void selectTransactions(final TransactionSelector selector) {
@@ -241,7 +274,7 @@ public class PendingTransactions {
             .map(TransactionInfo::getTransaction));
   }
 
-  private TransactionAddedStatus addTransaction(final TransactionInfo transactionInfo) {
+  protected TransactionAddedStatus addTransaction(final TransactionInfo transactionInfo) {
     Optional<Transaction> droppedTransaction = Optional.empty();
     synchronized (prioritizedTransactions) {
       if (pendingTransactions.containsKey(transactionInfo.getHash())) {
@@ -273,9 +306,7 @@ public class PendingTransactions {
     final TransactionInfo existingTransaction =
         getTrackedTransactionBySenderAndNonce(transactionInfo);
     if (existingTransaction != null) {
-      if (existingTransaction.transaction.getType().equals(TransactionType.FRONTIER)
-          && !transactionReplacementHandler.shouldReplace(
-              existingTransaction, transactionInfo, chainHeadHeaderSupplier.get())) {
+      if (!shouldReplace(existingTransaction, transactionInfo)) {
         return REJECTED_UNDERPRICED_REPLACEMENT;
       }
       removeTransaction(existingTransaction.getTransaction());
@@ -284,6 +315,13 @@ public class PendingTransactions {
     return ADDED;
   }
 
+  protected boolean shouldReplace(
+      final TransactionInfo existingTransaction, final TransactionInfo replacementTransaction) {
+    return !existingTransaction.transaction.getType().equals(TransactionType.FRONTIER)
+        || transactionReplacementHandler.shouldReplace(
+            existingTransaction, replacementTransaction, chainHeadHeaderSupplier.get());
+  }
+
   private void trackTransactionBySenderAndNonce(final TransactionInfo transactionInfo) {
     final TransactionsForSenderInfo transactionsForSenderInfo =
         transactionsBySender.computeIfAbsent(
@@ -306,11 +344,11 @@ public class PendingTransactions {
     return transactionsForSenderInfo.getTransactionInfoForNonce(transactionInfo.getNonce());
   }
 
-  private void notifyTransactionAdded(final Transaction transaction) {
+  protected void notifyTransactionAdded(final Transaction transaction) {
     pendingTransactionSubscribers.forEach(listener -> listener.onTransactionAdded(transaction));
   }
 
-  private void notifyTransactionDropped(final Transaction transaction) {
+  protected void notifyTransactionDropped(final Transaction transaction) {
     transactionDroppedListeners.forEach(listener -> listener.onTransactionDropped(transaction));
   }
 
@@ -0,0 +1,212 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionAddedStatus.ADDED;
+import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionAddedStatus.ALREADY_KNOWN;
+import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionAddedStatus.REJECTED_UNDERPRICED_REPLACEMENT;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.util.number.Percentage;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+/**
+ * Pending transactions held in a nonce ordered queue per sender.
+ *
+ * <p>Only the lowest nonce transaction of each sender is held in {@code prioritizedTransactions},
+ * so selecting transactions for a block is a merge of the sender queues rather than a scan of every
+ * pending transaction. Adds and removes for different senders do not contend on a shared lock: each
+ * sender queue is updated atomically through its map entry and the indexes are concurrent sets.
+ *
+ * <p>Selection only releases transactions with consecutive nonces, so a transaction queued behind a
+ * nonce gap is not offered until the gap is filled.
+ */
+public class SenderQueuedPendingTransactions extends PendingTransactions {
+
+  private final NavigableSet<TransactionInfo> evictionOrder =
+      new ConcurrentSkipListSet<>(TRANSACTION_PRIORITY);
+
+  public SenderQueuedPendingTransactions(
+      final int maxTransactionRetentionHours,
+      final int maxPendingTransactions,
+      final int maxPooledTransactionHashes,
+      final Clock clock,
+      final MetricsSystem metricsSystem,
+      final Supplier<BlockHeader> chainHeadHeaderSupplier,
+      final Percentage priceBump) {
+    super(
+        maxTransactionRetentionHours,
+        maxPendingTransactions,
+        maxPooledTransactionHashes,
+        clock,
+        metricsSystem,
+        chainHeadHeaderSupplier,
+        priceBump,
+        // only holds the lowest nonce transaction of each sender
+        new ConcurrentSkipListSet<>(TRANSACTION_PRIORITY));
+  }
+
+  @Override
+  protected TransactionAddedStatus addTransaction(final TransactionInfo transactionInfo) {
+    if (pendingTransactions.containsKey(transactionInfo.getHash())) {
+      return ALREADY_KNOWN;
+    }
+    final TransactionAddedStatus[] status = {ADDED};
+    final TransactionInfo[] replacedTransaction = {null};
+    transactionsBySender.compute(
+        transactionInfo.getSender(),
+        (sender, existingQueue) -> {
+          final TransactionsForSenderInfo queue =
+              existingQueue == null ? new TransactionsForSenderInfo() : existingQueue;
+          if (pendingTransactions.putIfAbsent(transactionInfo.getHash(), transactionInfo) != null) {
+            status[0] = ALREADY_KNOWN;
+            return queue.isEmpty() ? null : queue;
+          }
+          final TransactionInfo existingTransaction =
+              queue.getTransactionInfoForNonce(transactionInfo.getNonce());
+          if (existingTransaction != null) {
+            if (!shouldReplace(existingTransaction, transactionInfo)) {
+              pendingTransactions.remove(transactionInfo.getHash());
+              status[0] = REJECTED_UNDERPRICED_REPLACEMENT;
+              return queue.isEmpty() ? null : queue;
+            }
+            removeFromQueue(queue, existingTransaction);
+            replacedTransaction[0] = existingTransaction;
+          }
+          final TransactionInfo previousHead = queue.getLowestNonceTransactionInfo();
+          queue.addTransactionToTrack(transactionInfo.getNonce(), transactionInfo);
+          evictionOrder.add(transactionInfo);
+          updateSenderHead(previousHead, queue.getLowestNonceTransactionInfo());
+          return queue;
+        });
+    if (!status[0].equals(ADDED)) {
+      return status[0];
+    }
+
+    if (replacedTransaction[0] != null) {
+      incrementTransactionRemovedCounter(replacedTransaction[0].isReceivedFromLocalSource(), false);
+      notifyTransactionDropped(replacedTransaction[0].getTransaction());
+    }
+    tryEvictTransactionHash(transactionInfo.getHash());
+
+    final List<Transaction> droppedTransactions = new ArrayList<>();
+    while (size() > maxSize()) {
+      final TransactionInfo toRemove = evictionOrder.pollLast();
+      if (toRemove == null) {
+        break;
+      }
+      doRemoveTransaction(toRemove.getTransaction(), false);
+      droppedTransactions.add(toRemove.getTransaction());
+    }
+    notifyTransactionAdded(transactionInfo.getTransaction());
+    droppedTransactions.forEach(this::notifyTransactionDropped);
+    return ADDED;
+  }
+
+  @Override
+  protected void doRemoveTransaction(final Transaction transaction, final boolean addedToBlock) {
+    final TransactionInfo[] removedTransaction = {null};
+    transactionsBySender.computeIfPresent(
+        transaction.getSender(),
+        (sender, queue) -> {
+          final TransactionInfo transactionInfo =
+              queue.getTransactionInfoForNonce(transaction.getNonce());
+          if (transactionInfo != null && transactionInfo.getHash().equals(transaction.getHash())) {
+            removeFromQueue(queue, transactionInfo);
+            removedTransaction[0] = transactionInfo;
+          }
+          return queue.isEmpty() ? null : queue;
+        });
+    if (removedTransaction[0] != null) {
+      incrementTransactionRemovedCounter(
+          removedTransaction[0].isReceivedFromLocalSource(), addedToBlock);
+    }
+  }
+
+  // Must be called from within the compute block of the sender's map entry.
+  private void removeFromQueue(
+      final TransactionsForSenderInfo queue, final TransactionInfo transactionInfo) {
+    final TransactionInfo previousHead = queue.getLowestNonceTransactionInfo();
+    queue.removeTrackedTransaction(transactionInfo.getNonce());
+    pendingTransactions.remove(transactionInfo.getHash());
+    evictionOrder.remove(transactionInfo);
+    updateSenderHead(previousHead, queue.getLowestNonceTransactionInfo());
+  }
+
+  private void updateSenderHead(final TransactionInfo previousHead, final TransactionInfo newHead) {
+    if (previousHead == newHead) {
+      return;
+    }
+    if (previousHead != null) {
+      prioritizedTransactions.remove(previousHead);
+    }
+    if (newHead != null) {
+      prioritizedTransactions.add(newHead);
+    }
+  }
+
+  @Override
+  public void selectTransactions(final TransactionSelector selector) {
+    final List<Transaction> transactionsToRemove = new ArrayList<>();
+    final PriorityQueue<TransactionInfo> candidates = new PriorityQueue<>(TRANSACTION_PRIORITY);
+    // the heads are read without locking so a sender may briefly appear twice, keep its lowest
+    // nonce
+    final Map<Address, TransactionInfo> lowestNonceBySender = new HashMap<>();
+    for (final TransactionInfo head : prioritizedTransactions) {
+      lowestNonceBySender.merge(
+          head.getSender(), head, (a, b) -> a.getNonce() <= b.getNonce() ? a : b);
+    }
+    candidates.addAll(lowestNonceBySender.values());
+
+    while (!candidates.isEmpty()) {
+      final TransactionInfo transactionInfo = candidates.poll();
+      final Transaction transaction = transactionInfo.getTransaction();
+      final TransactionSelectionResult result = selector.evaluateTransaction(transaction);
+      switch (result) {
+        case DELETE_TRANSACTION_AND_CONTINUE:
+          transactionsToRemove.add(transaction);
+          break;
+        case CONTINUE:
+          break;
+        case COMPLETE_OPERATION:
+          transactionsToRemove.forEach(this::removeTransaction);
+          return;
+        default:
+          throw new RuntimeException("Illegal value for TransactionSelectionResult.");
+      }
+      final TransactionsForSenderInfo queue = transactionsBySender.get(transactionInfo.getSender());
+      if (queue != null) {
+        final TransactionInfo next =
+            queue.getTransactionInfoForNonce(transactionInfo.getNonce() + 1);
+        if (next != null) {
+          candidates.add(next);
+        }
+      }
+    }
+    transactionsToRemove.forEach(this::removeTransaction);
+  }
+}
@@ -74,7 +74,8 @@ public class TransactionPool implements BlockAddedObserver {
   private final Optional<TransactionBatchAddedListener> pendingTransactionBatchAddedListener;
   private final SyncState syncState;
   private final Wei minTransactionGasPrice;
-  private final LabelledMetric<Counter> duplicateTransactionCounter;
+  private final Counter localDuplicateTransactionCounter;
+  private final Counter remoteDuplicateTransactionCounter;
   private final PeerTransactionTracker peerTransactionTracker;
   private final Optional<PeerPendingTransactionTracker> maybePeerPendingTransactionTracker;
   private final Optional<EIP1559> eip1559;
@@ -110,12 +111,14 @@ public class TransactionPool implements BlockAddedObserver {
     this.eip1559 = eip1559;
     this.configuration = configuration;
 
-    duplicateTransactionCounter =
+    final LabelledMetric<Counter> duplicateTransactionCounter =
         metricsSystem.createLabelledCounter(
             BesuMetricCategory.TRANSACTION_POOL,
             "transactions_duplicates_total",
             "Total number of duplicate transactions received",
             "source");
+    localDuplicateTransactionCounter = duplicateTransactionCounter.labels(LOCAL);
+    remoteDuplicateTransactionCounter = duplicateTransactionCounter.labels(REMOTE);
 
     ethContext.getEthPeers().subscribeConnect(this::handleConnect);
   }
@@ -152,7 +155,7 @@ public class TransactionPool implements BlockAddedObserver {
       final TransactionAddedStatus transactionAddedStatus =
           pendingTransactions.addLocalTransaction(transaction);
       if (!transactionAddedStatus.equals(TransactionAddedStatus.ADDED)) {
-        duplicateTransactionCounter.labels(LOCAL).inc();
+        localDuplicateTransactionCounter.inc();
         return ValidationResult.invalid(transactionAddedStatus.getInvalidReason().orElseThrow());
       }
       final Collection<Transaction> txs = singletonList(transaction);
@@ -172,7 +175,7 @@ public class TransactionPool implements BlockAddedObserver {
       pendingTransactions.tryEvictTransactionHash(transaction.getHash());
       if (pendingTransactions.containsTransaction(transaction.getHash())) {
         // We already have this transaction, don't even validate it.
-        duplicateTransactionCounter.labels(REMOTE).inc();
+        remoteDuplicateTransactionCounter.inc();
         continue;
       }
       final Wei transactionGasPrice = minTransactionGasPrice(transaction);
@@ -186,7 +189,7 @@ public class TransactionPool implements BlockAddedObserver {
         if (added) {
           addedTransactions.add(transaction);
         } else {
-          duplicateTransactionCounter.labels(REMOTE).inc();
+          remoteDuplicateTransactionCounter.inc();
         }
       } else {
         LOG.trace(
@@ -31,6 +31,7 @@ public interface TransactionPoolConfiguration {
   Percentage DEFAULT_PRICE_BUMP = Percentage.fromInt(10);
   Wei DEFAULT_RPC_TX_FEE_CAP = Wei.fromEth(1);
   Duration ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD = Duration.ofMillis(500);
+  boolean DEFAULT_SENDER_QUEUES_ENABLED = false;
 
   TransactionPoolConfiguration DEFAULT = ImmutableTransactionPoolConfiguration.builder().build();
 
@@ -68,4 +69,9 @@ public interface TransactionPoolConfiguration {
   default Wei getTxFeeCap() {
     return DEFAULT_RPC_TX_FEE_CAP;
   }
+
+  @Value.Default
+  default boolean isSenderQueuesEnabled() {
+    return DEFAULT_SENDER_QUEUES_ENABLED;
+  }
 }
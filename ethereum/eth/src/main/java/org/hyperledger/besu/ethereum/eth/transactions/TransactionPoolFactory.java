@@ -45,14 +45,23 @@ public class TransactionPoolFactory {
       final Optional<EIP1559> eip1559) {
 
     final PendingTransactions pendingTransactions =
-        new PendingTransactions(
-            transactionPoolConfiguration.getPendingTxRetentionPeriod(),
-            transactionPoolConfiguration.getTxPoolMaxSize(),
-            transactionPoolConfiguration.getPooledTransactionHashesSize(),
-            clock,
-            metricsSystem,
-            protocolContext.getBlockchain()::getChainHeadHeader,
-            transactionPoolConfiguration.getPriceBump());
+        transactionPoolConfiguration.isSenderQueuesEnabled()
+            ? new SenderQueuedPendingTransactions(
+                transactionPoolConfiguration.getPendingTxRetentionPeriod(),
+                transactionPoolConfiguration.getTxPoolMaxSize(),
+                transactionPoolConfiguration.getPooledTransactionHashesSize(),
+                clock,
+                metricsSystem,
+                protocolContext.getBlockchain()::getChainHeadHeader,
+                transactionPoolConfiguration.getPriceBump())
+            : new PendingTransactions(
+                transactionPoolConfiguration.getPendingTxRetentionPeriod(),
+                transactionPoolConfiguration.getTxPoolMaxSize(),
+                transactionPoolConfiguration.getPooledTransactionHashesSize(),
+                clock,
+                metricsSystem,
+                protocolContext.getBlockchain()::getChainHeadHeader,
+                transactionPoolConfiguration.getPriceBump());
 
     final PeerTransactionTracker transactionTracker = new PeerTransactionTracker();
     final TransactionsMessageSender transactionsMessageSender =
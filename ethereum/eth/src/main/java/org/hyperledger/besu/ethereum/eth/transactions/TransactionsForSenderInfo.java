@@ -47,8 +47,8 @@ class TransactionsForSenderInfo {
   }
 
   void removeTrackedTransaction(final long nonce) {
-    transactionsInfos.remove(nonce);
     synchronized (transactionsInfos) {
+      transactionsInfos.remove(nonce);
       if (!transactionsInfos.isEmpty() && nonce != transactionsInfos.firstKey()) {
         findGap();
       }
@@ -71,10 +71,12 @@ class TransactionsForSenderInfo {
   }
 
   OptionalLong maybeNextNonce() {
-    if (transactionsInfos.isEmpty()) {
-      return OptionalLong.empty();
-    } else {
-      return nextGap.isEmpty() ? OptionalLong.of(transactionsInfos.lastKey() + 1) : nextGap;
+    synchronized (transactionsInfos) {
+      if (transactionsInfos.isEmpty()) {
+        return OptionalLong.empty();
+      } else {
+        return nextGap.isEmpty() ? OptionalLong.of(transactionsInfos.lastKey() + 1) : nextGap;
+      }
     }
   }
 
@@ -83,6 +85,20 @@ class TransactionsForSenderInfo {
   }
 
   TransactionInfo getTransactionInfoForNonce(final long nonce) {
-    return transactionsInfos.get(nonce);
+    synchronized (transactionsInfos) {
+      return transactionsInfos.get(nonce);
+    }
+  }
+
+  TransactionInfo getLowestNonceTransactionInfo() {
+    synchronized (transactionsInfos) {
+      return transactionsInfos.isEmpty() ? null : transactionsInfos.firstEntry().getValue();
+    }
+  }
+
+  boolean isEmpty() {
+    synchronized (transactionsInfos) {
+      return transactionsInfos.isEmpty();
+    }
   }
 }
@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.services.tasks.Task;
 
 import java.util.List;
@@ -87,6 +88,23 @@ public class PersistDataStepTest {
     verify(downloadState).setRootNodeData(rootNode.getData().getData());
   }
 
+  @Test
+  public void shouldRecordPersistedNodesInFilter() {
+    final PersistedNodeFilter filter =
+        PersistedNodeFilter.create(1024, 0.01, Optional.empty(), true, new NoOpMetricsSystem());
+    final PersistDataStep persistDataStepWithFilter =
+        new PersistDataStep(worldStateStorage, Optional.of(filter));
+    final Task<NodeDataRequest> withData = createTaskWithData(1, 2, 3);
+    final Task<NodeDataRequest> rootNode = createTaskWithData(rootNodeData);
+
+    persistDataStepWithFilter.persist(asList(withData, rootNode), blockHeader, downloadState);
+
+    assertThat(filter.getExistingData(withData.getData(), worldStateStorage))
+        .contains(withData.getData().getData());
+    // The root node is only persisted once the download completes.
+    assertThat(filter.getExistingData(rootNode.getData(), worldStateStorage)).isEmpty();
+  }
+
   private Task<NodeDataRequest> createTaskWithData(final int... bytes) {
     return createTaskWithData(Bytes.of(bytes));
   }
@@ -0,0 +1,115 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PersistedNodeFilterTest {
+
+  private static final long MEMORY = 1024;
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+  private static final Bytes DATA = Bytes.of(1, 2, 3);
+  private static final Hash HASH = Hash.hash(DATA);
+
+  @Rule public final TemporaryFolder tempDir = new TemporaryFolder();
+
+  private final WorldStateStorage worldStateStorage = mock(WorldStateStorage.class);
+  private final CodeNodeDataRequest request = NodeDataRequest.createCodeRequest(HASH);
+
+  @Test
+  public void shouldSkipStorageLookupWhenNodeWasNeverPersisted() {
+    final PersistedNodeFilter filter = createFilter(Optional.empty(), true);
+
+    assertThat(filter.getExistingData(request, worldStateStorage)).isEmpty();
+    verifyZeroInteractions(worldStateStorage);
+  }
+
+  @Test
+  public void shouldCheckStorageWhenNodeWasPersisted() {
+    when(worldStateStorage.getCode(HASH)).thenReturn(Optional.of(DATA));
+    final PersistedNodeFilter filter = createFilter(Optional.empty(), true);
+    filter.markPersisted(HASH);
+
+    assertThat(filter.getExistingData(request, worldStateStorage)).contains(DATA);
+    verify(worldStateStorage).getCode(HASH);
+  }
+
+  @Test
+  public void shouldAlwaysCheckStorageWhenNotAuthoritative() {
+    when(worldStateStorage.getCode(HASH)).thenReturn(Optional.of(DATA));
+    final PersistedNodeFilter filter = createFilter(Optional.empty(), false);
+
+    assertThat(filter.isAuthoritative()).isFalse();
+    assertThat(filter.getExistingData(request, worldStateStorage)).contains(DATA);
+    verify(worldStateStorage).getCode(HASH);
+  }
+
+  @Test
+  public void shouldRestoreSavedFilterAsAuthoritative() {
+    final Optional<Path> file = Optional.of(tempDir.getRoot().toPath().resolve("filter.dat"));
+    final PersistedNodeFilter original = createFilter(file, true);
+    original.markPersisted(HASH);
+    original.save();
+
+    when(worldStateStorage.getCode(HASH)).thenReturn(Optional.of(DATA));
+    final PersistedNodeFilter restored = createFilter(file, false);
+
+    assertThat(restored.isAuthoritative()).isTrue();
+    assertThat(restored.getExistingData(request, worldStateStorage)).contains(DATA);
+    assertThat(
+            restored.getExistingData(
+                NodeDataRequest.createCodeRequest(Hash.hash(Bytes.of(4, 5, 6))), worldStateStorage))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldNotSaveFilterWhenNotAuthoritative() {
+    final Path file = tempDir.getRoot().toPath().resolve("filter.dat");
+    final PersistedNodeFilter filter = createFilter(Optional.of(file), false);
+    filter.markPersisted(HASH);
+    filter.save();
+
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  public void shouldSizeFilterToMemoryBudget() {
+    // 1KiB at a 1% false positive rate holds roughly 850 entries (9.6 bits per entry).
+    assertThat(PersistedNodeFilter.expectedInsertions(MEMORY, FALSE_POSITIVE_RATE))
+        .isBetween(850L, 860L);
+  }
+
+  private PersistedNodeFilter createFilter(
+      final Optional<Path> persistenceFile, final boolean trustIfNew) {
+    return PersistedNodeFilter.create(
+        MEMORY, FALSE_POSITIVE_RATE, persistenceFile, trustIfNew, new NoOpMetricsSystem());
+  }
+}
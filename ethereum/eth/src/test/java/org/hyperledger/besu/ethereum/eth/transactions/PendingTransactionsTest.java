@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.eth.transactions;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -33,19 +34,30 @@ import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.Transa
 import org.hyperledger.besu.metrics.StubMetricsSystem;
 import org.hyperledger.besu.testutil.TestClock;
 
+import java.time.Clock;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.Lists;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
+@RunWith(Parameterized.class)
 public class PendingTransactionsTest {
 
+  @Parameterized.Parameters(name = "senderQueuesEnabled={0}")
+  public static Collection<Object[]> data() {
+    return asList(new Object[][] {{false}, {true}});
+  }
+
   private static final int MAX_TRANSACTIONS = 5;
   private static final int MAX_TRANSACTION_HASHES = 5;
   private static final KeyPair KEYS1 = KeyPair.generate();
@@ -58,15 +70,8 @@ public class PendingTransactionsTest {
 
   private final TestClock clock = new TestClock();
   private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
-  private final PendingTransactions transactions =
-      new PendingTransactions(
-          TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
-          MAX_TRANSACTIONS,
-          MAX_TRANSACTION_HASHES,
-          TestClock.fixed(),
-          metricsSystem,
-          PendingTransactionsTest::mockBlockHeader,
-          TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+  private final boolean senderQueuesEnabled;
+  private final PendingTransactions transactions;
   private final Transaction transaction1 = createTransaction(2);
   private final Transaction transaction2 = createTransaction(1);
 
@@ -76,6 +81,38 @@ public class PendingTransactionsTest {
   private static final Address SENDER1 = Util.publicKeyToAddress(KEYS1.getPublicKey());
   private static final Address SENDER2 = Util.publicKeyToAddress(KEYS2.getPublicKey());
 
+  public PendingTransactionsTest(final boolean senderQueuesEnabled) {
+    this.senderQueuesEnabled = senderQueuesEnabled;
+    this.transactions =
+        createPendingTransactions(
+            TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+            TestClock.fixed(),
+            PendingTransactionsTest::mockBlockHeader);
+  }
+
+  private PendingTransactions createPendingTransactions(
+      final int maxTransactionRetentionHours,
+      final Clock clock,
+      final Supplier<BlockHeader> chainHeadHeaderSupplier) {
+    return senderQueuesEnabled
+        ? new SenderQueuedPendingTransactions(
+            maxTransactionRetentionHours,
+            MAX_TRANSACTIONS,
+            MAX_TRANSACTION_HASHES,
+            clock,
+            metricsSystem,
+            chainHeadHeaderSupplier,
+            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP)
+        : new PendingTransactions(
+            maxTransactionRetentionHours,
+            MAX_TRANSACTIONS,
+            MAX_TRANSACTION_HASHES,
+            clock,
+            metricsSystem,
+            chainHeadHeaderSupplier,
+            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+  }
+
   @Test
   public void shouldReturnExclusivelyLocalTransactionsWhenAppropriate() {
     final Transaction localTransaction0 = createTransaction(0);
@@ -307,6 +344,31 @@ public class PendingTransactionsTest {
     assertThat(parsedTransactions.get(1)).isEqualTo(transaction1);
   }
 
+  @Test
+  public void selectTransactionsInNonceOrderAcrossSenders() {
+    final Transaction sender1Nonce0 = transactionWithNonceSenderAndGasPrice(0, KEYS1, 1);
+    final Transaction sender1Nonce1 = transactionWithNonceSenderAndGasPrice(1, KEYS1, 10);
+    final Transaction sender2Nonce0 = transactionWithNonceSenderAndGasPrice(0, KEYS2, 5);
+    final Transaction sender1Nonce3 = transactionWithNonceSenderAndGasPrice(3, KEYS1, 20);
+
+    transactions.addRemoteTransaction(sender1Nonce1);
+    transactions.addRemoteTransaction(sender1Nonce3);
+    transactions.addRemoteTransaction(sender2Nonce0);
+    transactions.addRemoteTransaction(sender1Nonce0);
+
+    final List<Transaction> parsedTransactions = Lists.newArrayList();
+    transactions.selectTransactions(
+        transaction -> {
+          parsedTransactions.add(transaction);
+          return PendingTransactions.TransactionSelectionResult.CONTINUE;
+        });
+
+    assertThat(parsedTransactions)
+        .startsWith(sender2Nonce0, sender1Nonce0, sender1Nonce1)
+        .hasSize(senderQueuesEnabled ? 3 : 4);
+    assertTransactionPending(sender1Nonce3);
+  }
+
   @Test
   public void shouldNotSelectReplacedTransaction() {
     final Transaction transaction1 = transactionWithNonceSenderAndGasPrice(1, KEYS1, 1);
@@ -583,14 +645,7 @@ public class PendingTransactionsTest {
   public void shouldEvictMultipleOldTransactions() {
     final int maxTransactionRetentionHours = 1;
     final PendingTransactions transactions =
-        new PendingTransactions(
-            maxTransactionRetentionHours,
-            MAX_TRANSACTIONS,
-            MAX_TRANSACTION_HASHES,
-            clock,
-            metricsSystem,
-            () -> null,
-            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+        createPendingTransactions(maxTransactionRetentionHours, clock, () -> null);
 
     transactions.addRemoteTransaction(transaction1);
     assertThat(transactions.size()).isEqualTo(1);
@@ -607,14 +662,7 @@ public class PendingTransactionsTest {
   public void shouldEvictSingleOldTransaction() {
     final int maxTransactionRetentionHours = 1;
     final PendingTransactions transactions =
-        new PendingTransactions(
-            maxTransactionRetentionHours,
-            MAX_TRANSACTIONS,
-            MAX_TRANSACTION_HASHES,
-            clock,
-            metricsSystem,
-            () -> null,
-            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+        createPendingTransactions(maxTransactionRetentionHours, clock, () -> null);
     transactions.addRemoteTransaction(transaction1);
     assertThat(transactions.size()).isEqualTo(1);
     clock.step(2L, ChronoUnit.HOURS);
@@ -627,14 +675,7 @@ public class PendingTransactionsTest {
   public void shouldEvictExclusivelyOldTransactions() {
     final int maxTransactionRetentionHours = 2;
     final PendingTransactions transactions =
-        new PendingTransactions(
-            maxTransactionRetentionHours,
-            MAX_TRANSACTIONS,
-            MAX_TRANSACTION_HASHES,
-            clock,
-            metricsSystem,
-            () -> null,
-            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+        createPendingTransactions(maxTransactionRetentionHours, clock, () -> null);
     transactions.addRemoteTransaction(transaction1);
     assertThat(transactions.size()).isEqualTo(1);
     clock.step(3L, ChronoUnit.HOURS);
@@ -97,7 +97,8 @@ public class TransactionPoolFactoryTest {
                 1,
                 TransactionPoolConfiguration.DEFAULT_PRICE_BUMP,
                 TransactionPoolConfiguration.ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD,
-                TransactionPoolConfiguration.DEFAULT_RPC_TX_FEE_CAP),
+                TransactionPoolConfiguration.DEFAULT_RPC_TX_FEE_CAP,
+                TransactionPoolConfiguration.DEFAULT_SENDER_QUEUES_ENABLED),
             pendingTransactions,
             peerTransactionTracker,
             transactionsMessageSender,
@@ -183,7 +184,8 @@ public class TransactionPoolFactoryTest {
                 1,
                 TransactionPoolConfiguration.DEFAULT_PRICE_BUMP,
                 TransactionPoolConfiguration.ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD,
-                TransactionPoolConfiguration.DEFAULT_RPC_TX_FEE_CAP),
+                TransactionPoolConfiguration.DEFAULT_RPC_TX_FEE_CAP,
+                TransactionPoolConfiguration.DEFAULT_SENDER_QUEUES_ENABLED),
             pendingTransactions,
             peerTransactionTracker,
             transactionsMessageSender,
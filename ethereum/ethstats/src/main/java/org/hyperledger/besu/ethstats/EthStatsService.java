@@ -65,13 +65,19 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import javax.net.ssl.SSLHandshakeException;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.WebSocket;
@@ -82,11 +88,20 @@ import org.apache.logging.log4j.Logger;
 /**
  * This class describes the behaviour of the EthStats service. This class is used to report pending
  * transactions, blocks, and several node-related information to a netstats server.
+ *
+ * <p>New blocks and pending transaction changes only mark the corresponding report as outdated.
+ * Outdated reports are sent at most once per report window, so several blocks imported within one
+ * window result in a single block report, preceded by a history report of the blocks the server has
+ * not seen yet. Besides the full report every five seconds, a new block is also reported at the end
+ * of its window, so with the default one second window blocks are reported more often than with the
+ * full report alone. Reports are built and serialized on a dedicated thread rather than on the
+ * Vert.x event loop, and are deferred while the websocket write queue is full.
  */
 public class EthStatsService {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  public static final Duration DEFAULT_REPORT_WINDOW = Duration.ofSeconds(1);
   private static final Duration SEND_REPORT_DELAY = Duration.ofSeconds(5);
   private static final int HISTORY_RANGE = 50;
 
@@ -103,11 +118,23 @@ public class EthStatsService {
   private final BlockResultFactory blockResultFactory;
   private final HttpClientOptions httpClientOptions;
   private final WebSocketConnectOptions webSocketConnectOptions;
+  private final Duration reportWindow;
+  private volatile ExecutorService reportExecutor;
+
+  private final AtomicBoolean blockReportOutdated = new AtomicBoolean();
+  private final AtomicBoolean pendingTransactionsReportOutdated = new AtomicBoolean();
+  // only accessed from the report executor
+  private OptionalLong lastReportedBlockNumber = OptionalLong.empty();
+  private long nextFullReportTimestamp;
 
   private ScheduledFuture<?> reportScheduler;
-  private WebSocket webSocket;
+  private Optional<Long> blockAddedObserverId = Optional.empty();
+  private Optional<Long> pendingTransactionsListenerId = Optional.empty();
+  private Optional<Long> droppedTransactionsListenerId = Optional.empty();
+  private volatile WebSocket webSocket;
   private EnodeURL enodeURL;
-  private long pingTimestamp;
+  private volatile long pingTimestamp;
+  private volatile boolean stopped;
 
   public EthStatsService(
       final NetstatsUrl netstatsUrl,
@@ -120,6 +147,32 @@ public class EthStatsService {
       final String clientVersion,
       final GenesisConfigOptions genesisConfigOptions,
       final P2PNetwork p2PNetwork) {
+    this(
+        netstatsUrl,
+        blockchainQueries,
+        protocolManager,
+        transactionPool,
+        miningCoordinator,
+        syncState,
+        vertx,
+        clientVersion,
+        genesisConfigOptions,
+        p2PNetwork,
+        DEFAULT_REPORT_WINDOW);
+  }
+
+  public EthStatsService(
+      final NetstatsUrl netstatsUrl,
+      final BlockchainQueries blockchainQueries,
+      final EthProtocolManager protocolManager,
+      final TransactionPool transactionPool,
+      final MiningCoordinator miningCoordinator,
+      final SyncState syncState,
+      final Vertx vertx,
+      final String clientVersion,
+      final GenesisConfigOptions genesisConfigOptions,
+      final P2PNetwork p2PNetwork,
+      final Duration reportWindow) {
     this.netstatsUrl = netstatsUrl;
     this.blockchainQueries = blockchainQueries;
     this.protocolManager = protocolManager;
@@ -138,11 +191,25 @@ public class EthStatsService {
             .setPort(netstatsUrl.getPort())
             .setHost(netstatsUrl.getHost())
             .setSsl(true);
+    this.reportWindow = reportWindow;
   }
 
   public void start() {
+    stopped = false;
+    connect();
+  }
 
+  private void connect() {
     try {
+      // reconnections keep the executor, it is only shut down when the service is stopped
+      if (reportExecutor == null || reportExecutor.isShutdown()) {
+        reportExecutor =
+            Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("EthStatsReporter")
+                    .build());
+      }
 
       enodeURL = p2PNetwork.getLocalEnode().orElseThrow();
 
@@ -193,23 +260,51 @@ public class EthStatsService {
     }
   }
 
-  /** Ends the current web socket connection, observers and schedulers */
+  /** Ends the current web socket connection, observers, schedulers and the report executor */
   public void stop() {
+    stopped = true;
+    disconnect();
+    if (reportExecutor != null) {
+      reportExecutor.shutdownNow();
+    }
+  }
+
+  /** Ends the current web socket connection, observers and schedulers */
+  private void disconnect() {
     if (webSocket != null && !webSocket.isClosed()) {
       webSocket.close();
     }
     if (reportScheduler != null) {
       reportScheduler.cancel(true);
     }
+    removeObservers();
   }
 
-  /** Ends the current connection and restart a new one. */
+  private void removeObservers() {
+    blockAddedObserverId.ifPresent(id -> blockchainQueries.getBlockchain().removeObserver(id));
+    blockAddedObserverId = Optional.empty();
+    pendingTransactionsListenerId.ifPresent(transactionPool::unsubscribePendingTransactions);
+    pendingTransactionsListenerId = Optional.empty();
+    droppedTransactionsListenerId.ifPresent(transactionPool::unsubscribeDroppedTransactions);
+    droppedTransactionsListenerId = Optional.empty();
+  }
+
+  /** Ends the current connection and restart a new one, unless the service has been stopped. */
   private void retryConnect() {
-    stop();
+    disconnect();
+    if (stopped) {
+      return;
+    }
     protocolManager
         .ethContext()
         .getScheduler()
-        .scheduleFutureTask(this::start, Duration.ofSeconds(10));
+        .scheduleFutureTask(
+            () -> {
+              if (!stopped) {
+                connect();
+              }
+            },
+            Duration.ofSeconds(10));
   }
 
   /** Sends a hello request to the ethstats server in order to log in. */
@@ -257,21 +352,73 @@ public class EthStatsService {
     }
   }
 
-  /** Sends a full report to the ethstats server */
+  /**
+   * Sends a full report to the ethstats server, then keeps sending the reports that became outdated
+   * at the end of every report window and a full report every few seconds.
+   */
   private void sendFullReport() {
+    removeObservers();
+    blockAddedObserverId =
+        Optional.of(
+            blockchainQueries
+                .getBlockchain()
+                .observeBlockAdded(event -> blockReportOutdated.set(true)));
+    pendingTransactionsListenerId =
+        Optional.of(
+            transactionPool.subscribePendingTransactions(
+                transaction -> pendingTransactionsReportOutdated.set(true)));
+    droppedTransactionsListenerId =
+        Optional.of(
+            transactionPool.subscribeDroppedTransactions(
+                transaction -> pendingTransactionsReportOutdated.set(true)));
+    executeReport(
+        () -> {
+          lastReportedBlockNumber = OptionalLong.empty();
+          nextFullReportTimestamp = 0;
+        });
     reportScheduler =
         protocolManager
             .ethContext()
             .getScheduler()
             .scheduleFutureTaskWithFixedDelay(
-                () -> {
-                  sendPing();
-                  sendBlockReport();
-                  sendPendingTransactionReport();
-                  sendNodeStatsReport();
-                },
-                Duration.ofSeconds(0),
-                SEND_REPORT_DELAY);
+                () -> executeReport(this::sendReports), Duration.ZERO, reportWindow);
+  }
+
+  /** Runs a report task on the report executor, or drops it if the service has been stopped. */
+  private void executeReport(final Runnable report) {
+    try {
+      reportExecutor.execute(report);
+    } catch (final RejectedExecutionException e) {
+      LOG.debug("Ethstats service is stopped, dropping report");
+    }
+  }
+
+  /** Sends the reports which are due, unless the ethstats server is not keeping up. */
+  private void sendReports() {
+    final WebSocket webSocket = this.webSocket;
+    if (webSocket == null || webSocket.isClosed()) {
+      return;
+    }
+    if (webSocket.writeQueueFull()) {
+      // outdated reports stay marked and are sent, coalesced, once the queue drains
+      LOG.debug("Ethstats server is not keeping up, deferring reports");
+      return;
+    }
+    final long now = System.currentTimeMillis();
+    final boolean fullReport = now >= nextFullReportTimestamp;
+    if (fullReport) {
+      nextFullReportTimestamp = now + SEND_REPORT_DELAY.toMillis();
+      sendPing();
+    }
+    if (blockReportOutdated.getAndSet(false) || fullReport) {
+      sendBlockReports();
+    }
+    if (pendingTransactionsReportOutdated.getAndSet(false) || fullReport) {
+      sendPendingTransactionReport();
+    }
+    if (fullReport) {
+      sendNodeStatsReport();
+    }
   }
 
   /** Sends a ping request to the ethstats server */
@@ -298,10 +445,29 @@ public class EthStatsService {
                 String.valueOf(System.currentTimeMillis() - pingTimestamp))));
   }
 
-  /** Sends a block report concerning the last block */
-  private void sendBlockReport() {
+  /**
+   * Sends a block report concerning the chain head, preceded by a history report of the blocks
+   * imported since the previous block report, if any were skipped.
+   */
+  private void sendBlockReports() {
+    final long chainHeadBlockNumber = blockchainQueries.headBlockNumber();
+    if (lastReportedBlockNumber.isPresent()
+        && chainHeadBlockNumber - lastReportedBlockNumber.getAsLong() > 1) {
+      final long startHistoryBlockNumber =
+          Math.max(lastReportedBlockNumber.getAsLong() + 1, chainHeadBlockNumber - HISTORY_RANGE);
+      sendHistoryReport(
+          LongStream.range(startHistoryBlockNumber, chainHeadBlockNumber)
+              .boxed()
+              .collect(Collectors.toList()));
+    }
+    lastReportedBlockNumber = OptionalLong.of(chainHeadBlockNumber);
+    sendBlockReport(chainHeadBlockNumber);
+  }
+
+  /** Sends a block report concerning the given block */
+  private void sendBlockReport(final long blockNumber) {
     blockchainQueries
-        .latestBlock()
+        .blockByNumber(blockNumber)
         .map(tx -> blockResultFactory.transactionComplete(tx, false))
         .ifPresent(
             blockResult ->
@@ -410,22 +576,11 @@ public class EthStatsService {
                   sendLatencyReport();
 
                 } else if (type.equals(HISTORY)) {
-                  List<Long> list =
+                  final List<Long> list =
                       stream(parameters.get(1).withArray("list").elements())
                           .map(JsonNode::asLong)
                           .collect(Collectors.toList());
-                  //  if the server does not send a list, we recover the last 50 blocks
-                  if (list.isEmpty()) {
-                    final long chainHeadBlockNumber =
-                        blockchainQueries.getBlockchain().getChainHeadBlockNumber();
-                    final long startHistoryBlockNumber =
-                        Math.max(0, chainHeadBlockNumber - HISTORY_RANGE);
-                    list =
-                        LongStream.range(chainHeadBlockNumber, startHistoryBlockNumber)
-                            .boxed()
-                            .collect(Collectors.toList());
-                  }
-                  sendHistoryReport(list);
+                  executeReport(() -> sendRequestedHistoryReport(list));
                 }
               }
             }
@@ -435,6 +590,20 @@ public class EthStatsService {
         });
   }
 
+  private void sendRequestedHistoryReport(final List<Long> requestedBlocks) {
+    //  if the server does not send a list, we recover the last 50 blocks
+    if (requestedBlocks.isEmpty()) {
+      final long chainHeadBlockNumber = blockchainQueries.getBlockchain().getChainHeadBlockNumber();
+      final long startHistoryBlockNumber = Math.max(0, chainHeadBlockNumber - HISTORY_RANGE);
+      sendHistoryReport(
+          LongStream.rangeClosed(startHistoryBlockNumber, chainHeadBlockNumber)
+              .boxed()
+              .collect(Collectors.toList()));
+    } else {
+      sendHistoryReport(requestedBlocks);
+    }
+  }
+
   private long suggestGasPrice(final Block block) {
     // retrieves transactions from the last blocks and takes the lowest gas price. If no transaction
     // is present we return the minTransactionGasPrice of the mining coordinator
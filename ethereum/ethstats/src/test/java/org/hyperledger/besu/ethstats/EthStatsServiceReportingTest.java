@@ -0,0 +1,247 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethstats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.config.GenesisConfigOptions;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
+import org.hyperledger.besu.ethereum.p2p.network.P2PNetwork;
+import org.hyperledger.besu.ethereum.p2p.peers.EnodeURL;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.ethstats.util.ImmutableNetstatsUrl;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Reports to a local stand-in for an ethstats server over a real websocket. */
+public class EthStatsServiceReportingTest {
+
+  private static final Duration REPORT_WINDOW = Duration.ofMillis(500);
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final List<JsonArray> received = new CopyOnWriteArrayList<>();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  private Vertx vertx;
+  private HttpServer server;
+  private MutableBlockchain blockchain;
+  private EthStatsService ethStatsService;
+
+  @Before
+  public void setUp() throws Exception {
+    vertx = Vertx.vertx();
+    final int port = freePort();
+    startStandInServer(port);
+
+    final Block genesis = gen.genesisBlock();
+    blockchain = InMemoryStorageProvider.createInMemoryBlockchain(genesis);
+    appendBlocks(2);
+
+    final EthScheduler ethScheduler = mock(EthScheduler.class);
+    doAnswer(
+            invocation -> {
+              final Runnable task = invocation.getArgument(0);
+              // closing the connection at the end of the test schedules a reconnection
+              if (!scheduler.isShutdown()) {
+                scheduler.schedule(task, 100, TimeUnit.MILLISECONDS);
+              }
+              return CompletableFuture.completedFuture(null);
+            })
+        .when(ethScheduler)
+        .scheduleFutureTask(any(Runnable.class), any(Duration.class));
+    doAnswer(
+            invocation -> {
+              final Runnable task = invocation.getArgument(0);
+              final Duration initialDelay = invocation.getArgument(1);
+              final Duration delay = invocation.getArgument(2);
+              return scheduler.scheduleWithFixedDelay(
+                  task, initialDelay.toMillis(), delay.toMillis(), TimeUnit.MILLISECONDS);
+            })
+        .when(ethScheduler)
+        .scheduleFutureTaskWithFixedDelay(any(), any(), any());
+
+    final EthContext ethContext = mock(EthContext.class);
+    when(ethContext.getScheduler()).thenReturn(ethScheduler);
+    when(ethContext.getEthPeers()).thenReturn(mock(EthPeers.class));
+    final EthProtocolManager protocolManager = mock(EthProtocolManager.class);
+    when(protocolManager.ethContext()).thenReturn(ethContext);
+    when(protocolManager.getSupportedCapabilities())
+        .thenReturn(List.of(Capability.create("eth", 64)));
+
+    final TransactionPool transactionPool = mock(TransactionPool.class);
+    when(transactionPool.getPendingTransactions()).thenReturn(mock(PendingTransactions.class));
+    final MiningCoordinator miningCoordinator = mock(MiningCoordinator.class);
+    when(miningCoordinator.getMinTransactionGasPrice()).thenReturn(Wei.ZERO);
+    final GenesisConfigOptions genesisConfigOptions = mock(GenesisConfigOptions.class);
+    when(genesisConfigOptions.getChainId()).thenReturn(Optional.of(BigInteger.ONE));
+    final P2PNetwork p2PNetwork = mock(P2PNetwork.class);
+    when(p2PNetwork.getLocalEnode())
+        .thenReturn(
+            Optional.of(
+                EnodeURL.builder()
+                    .nodeId(Bytes.wrap(new byte[64]))
+                    .ipAddress("127.0.0.1")
+                    .listeningPort(30303)
+                    .discoveryPort(30303)
+                    .build()));
+
+    ethStatsService =
+        new EthStatsService(
+            ImmutableNetstatsUrl.builder()
+                .nodeName("besu-node")
+                .secret("secret")
+                .host("127.0.0.1")
+                .port(port)
+                .contact("")
+                .build(),
+            new BlockchainQueries(blockchain, mock(WorldStateArchive.class)),
+            protocolManager,
+            transactionPool,
+            miningCoordinator,
+            mock(SyncState.class),
+            vertx,
+            "clientVersion",
+            genesisConfigOptions,
+            p2PNetwork,
+            REPORT_WINDOW);
+  }
+
+  @After
+  public void tearDown() {
+    ethStatsService.stop();
+    scheduler.shutdownNow();
+    vertx.close();
+  }
+
+  @Test
+  public void blocksImportedWithinAWindowAreReportedOnceAsDeltas() {
+    ethStatsService.start();
+    Awaitility.await()
+        .atMost(10, TimeUnit.SECONDS)
+        .until(() -> reportedBlockNumbers("block").contains(2L));
+    final int reportsBeforeImport = received.size();
+
+    appendBlocks(5);
+
+    Awaitility.await()
+        .atMost(10, TimeUnit.SECONDS)
+        .until(() -> reportedBlockNumbers("block").contains(7L));
+    final List<JsonArray> reports = received.subList(reportsBeforeImport, received.size());
+    final List<Long> blockReports = blockNumbers(reports, "block");
+    final List<Long> reportedBlocks = new ArrayList<>(blockReports);
+    reportedBlocks.addAll(blockNumbers(reports, "history"));
+
+    // fewer block reports than blocks, with each skipped block sent once through history
+    assertThat(blockReports).hasSizeLessThan(5);
+    assertThat(reportedBlocks).containsExactlyInAnyOrder(3L, 4L, 5L, 6L, 7L);
+  }
+
+  private void startStandInServer(final int port) throws Exception {
+    final CompletableFuture<Void> listening = new CompletableFuture<>();
+    server =
+        vertx
+            .createHttpServer()
+            .websocketHandler(
+                webSocket ->
+                    webSocket.textMessageHandler(
+                        message -> {
+                          final JsonArray emit = new JsonObject(message).getJsonArray("emit");
+                          received.add(emit);
+                          if ("hello".equals(emit.getString(0))) {
+                            webSocket.writeTextMessage("{\"emit\":[\"ready\"]}");
+                          }
+                        }))
+            .listen(
+                port,
+                "127.0.0.1",
+                result -> {
+                  if (result.succeeded()) {
+                    listening.complete(null);
+                  } else {
+                    listening.completeExceptionally(result.cause());
+                  }
+                });
+    listening.get(10, TimeUnit.SECONDS);
+  }
+
+  private void appendBlocks(final int count) {
+    final List<Block> blocks = gen.blockSequence(blockchain.getChainHeadBlock(), count);
+    blocks.forEach(block -> blockchain.appendBlock(block, gen.receipts(block)));
+  }
+
+  private List<Long> reportedBlockNumbers(final String type) {
+    return blockNumbers(received, type);
+  }
+
+  private static List<Long> blockNumbers(final List<JsonArray> reports, final String type) {
+    return reports.stream()
+        .filter(emit -> type.equals(emit.getString(0)))
+        .flatMap(
+            emit ->
+                "block".equals(type)
+                    ? Stream.of(emit.getJsonObject(1).getJsonObject("block"))
+                    : emit.getJsonObject(1).getJsonArray("history").stream()
+                        .map(JsonObject.class::cast))
+        .map(block -> Long.decode(block.getString("number")))
+        .collect(Collectors.toList());
+  }
+
+  private static int freePort() throws IOException {
+    try (final ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -15,8 +15,10 @@
 package org.hyperledger.besu.ethstats;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,6 +26,7 @@ import static org.mockito.Mockito.when;
 import org.hyperledger.besu.config.GenesisConfigOptions;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
@@ -62,6 +65,7 @@ public class EthStatsServiceTest {
 
   @Mock private Vertx vertx;
   @Mock private BlockchainQueries blockchainQueries;
+  @Mock private Blockchain blockchain;
   @Mock private EthProtocolManager ethProtocolManager;
   @Mock private TransactionPool transactionPool;
   @Mock private MiningCoordinator miningCoordinator;
@@ -202,6 +206,7 @@ public class EthStatsServiceTest {
             genesisConfigOptions,
             p2PNetwork);
     when(p2PNetwork.getLocalEnode()).thenReturn(Optional.of(node));
+    when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
 
     final ArgumentCaptor<Handler<AsyncResult<WebSocket>>> webSocketCaptor =
         ArgumentCaptor.forClass(Handler.class);
@@ -219,6 +224,76 @@ public class EthStatsServiceTest {
     textMessageHandlerCaptor.getValue().handle("{\"emit\":[\"ready\"]}");
 
     verify(ethScheduler, times(1)).scheduleFutureTaskWithFixedDelay(any(), any(), any());
+    verify(blockchain).observeBlockAdded(any());
+    verify(transactionPool).subscribePendingTransactions(any());
+  }
+
+  @Test
+  public void shouldNotReconnectOnceStopped() {
+    ethStatsService =
+        new EthStatsService(
+            netstatsUrl,
+            blockchainQueries,
+            ethProtocolManager,
+            transactionPool,
+            miningCoordinator,
+            syncState,
+            vertx,
+            "clientVersion",
+            genesisConfigOptions,
+            p2PNetwork);
+    when(p2PNetwork.getLocalEnode()).thenReturn(Optional.of(node));
+
+    ethStatsService.start();
+
+    final ArgumentCaptor<Handler<AsyncResult<WebSocket>>> webSocketCaptor =
+        ArgumentCaptor.forClass(Handler.class);
+    verify(httpClient, times(1))
+        .webSocket(any(WebSocketConnectOptions.class), webSocketCaptor.capture());
+    webSocketCaptor.getValue().handle(succeededWebSocketEvent(Optional.of(webSocket)));
+    final ArgumentCaptor<Handler<Void>> closeHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+    verify(webSocket).closeHandler(closeHandlerCaptor.capture());
+
+    ethStatsService.stop();
+    closeHandlerCaptor.getValue().handle(null);
+
+    verify(ethScheduler, never()).scheduleFutureTask(any(Runnable.class), any(Duration.class));
+  }
+
+  @Test
+  public void shouldDropReportsScheduledAfterStop() {
+    ethStatsService =
+        new EthStatsService(
+            netstatsUrl,
+            blockchainQueries,
+            ethProtocolManager,
+            transactionPool,
+            miningCoordinator,
+            syncState,
+            vertx,
+            "clientVersion",
+            genesisConfigOptions,
+            p2PNetwork);
+    when(p2PNetwork.getLocalEnode()).thenReturn(Optional.of(node));
+    when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
+
+    ethStatsService.start();
+
+    final ArgumentCaptor<Handler<AsyncResult<WebSocket>>> webSocketCaptor =
+        ArgumentCaptor.forClass(Handler.class);
+    verify(httpClient, times(1))
+        .webSocket(any(WebSocketConnectOptions.class), webSocketCaptor.capture());
+    webSocketCaptor.getValue().handle(succeededWebSocketEvent(Optional.of(webSocket)));
+    final ArgumentCaptor<Handler<String>> textMessageHandlerCaptor =
+        ArgumentCaptor.forClass(Handler.class);
+    verify(webSocket, times(1)).textMessageHandler(textMessageHandlerCaptor.capture());
+    textMessageHandlerCaptor.getValue().handle("{\"emit\":[\"ready\"]}");
+    final ArgumentCaptor<Runnable> reportTaskCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(ethScheduler).scheduleFutureTaskWithFixedDelay(reportTaskCaptor.capture(), any(), any());
+
+    ethStatsService.stop();
+
+    assertThatCode(() -> reportTaskCaptor.getValue().run()).doesNotThrowAnyException();
   }
 
   private <T> AsyncResult<T> succeededWebSocketEvent(final Optional<T> object) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evmtool;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Summary statistics of the measured iterations of a benchmark.
+ *
+ * <p>Allocation is measured with the per-thread allocation counter of the JVM, when available, so
+ * it only covers work done on the benchmarking thread.
+ */
+class BenchmarkStatistics {
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private final long[] nanos;
+  private final long[] gas;
+  private final long[] allocatedBytes;
+  private int samples;
+
+  BenchmarkStatistics(final int iterations) {
+    nanos = new long[iterations];
+    gas = new long[iterations];
+    allocatedBytes = new long[iterations];
+  }
+
+  static boolean isAllocationCountingSupported() {
+    return THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemorySupported()
+        && ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemoryEnabled();
+  }
+
+  /** Returns the number of bytes allocated by the current thread so far, or 0 if unsupported. */
+  static long currentThreadAllocatedBytes() {
+    if (!isAllocationCountingSupported()) {
+      return 0;
+    }
+    return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN)
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  void record(final long elapsedNanos, final long gasUsed, final long allocated) {
+    nanos[samples] = elapsedNanos;
+    gas[samples] = gasUsed;
+    allocatedBytes[samples] = allocated;
+    samples++;
+  }
+
+  int getSamples() {
+    return samples;
+  }
+
+  double meanNanos() {
+    return Arrays.stream(nanos, 0, samples).average().orElse(0);
+  }
+
+  double standardDeviationNanos() {
+    if (samples < 2) {
+      return 0;
+    }
+    final double mean = meanNanos();
+    final double squares =
+        Arrays.stream(nanos, 0, samples).mapToDouble(n -> (n - mean) * (n - mean)).sum();
+    return Math.sqrt(squares / (samples - 1));
+  }
+
+  /**
+   * Returns the given percentile of the iteration times using the nearest rank method.
+   *
+   * @param percentile the percentile, between 0 exclusive and 100 inclusive
+   * @return the iteration time in nanoseconds
+   */
+  long percentileNanos(final double percentile) {
+    checkState(samples > 0, "No iterations recorded");
+    final long[] sorted = Arrays.copyOf(nanos, samples);
+    Arrays.sort(sorted);
+    final int rank = (int) Math.ceil(percentile / 100 * samples);
+    return sorted[Math.max(0, Math.min(samples, rank) - 1)];
+  }
+
+  void writeTo(final ObjectNode node) {
+    final double meanNanos = meanNanos();
+    final long totalNanos = Arrays.stream(nanos, 0, samples).sum();
+    final long totalGas = Arrays.stream(gas, 0, samples).sum();
+    final double seconds = totalNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+    node.put("iterations", samples);
+    node.put("meanNs", Math.round(meanNanos));
+    node.put("stdDevNs", Math.round(standardDeviationNanos()));
+    node.put("minNs", percentileNanos(0));
+    node.put("p50Ns", percentileNanos(50));
+    node.put("p90Ns", percentileNanos(90));
+    node.put("p99Ns", percentileNanos(99));
+    node.put("maxNs", percentileNanos(100));
+    node.put("opsPerSecond", seconds > 0 ? samples / seconds : 0);
+    node.put("gasPerIteration", samples > 0 ? totalGas / samples : 0);
+    node.put("gasPerSecond", seconds > 0 ? totalGas / seconds : 0);
+    if (isAllocationCountingSupported()) {
+      node.put(
+          "allocatedBytesPerIteration",
+          samples > 0 ? Arrays.stream(allocatedBytes, 0, samples).sum() / samples : 0);
+    }
+  }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evmtool;
+
+import static org.hyperledger.besu.evmtool.BenchmarkSubCommand.COMMAND_NAME;
+
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.mainnet.MainnetMessageCallProcessor;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.referencetests.GeneralStateTestCaseEipSpec;
+import org.hyperledger.besu.ethereum.referencetests.GeneralStateTestCaseSpec;
+import org.hyperledger.besu.ethereum.referencetests.ReferenceTestBlockchain;
+import org.hyperledger.besu.ethereum.referencetests.ReferenceTestProtocolSchedules;
+import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+import org.hyperledger.besu.ethereum.vm.OperationTracer;
+import org.hyperledger.besu.ethereum.worldstate.DefaultMutableWorldState;
+import org.hyperledger.besu.evmtool.exception.UnsupportedForkException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+/**
+ * Benchmarks the execution of the code given to the evm command, or of state tests.
+ *
+ * <p>Each benchmark runs a number of unmeasured warm-up iterations followed by the measured
+ * iterations, and prints one JSON summary line with the iteration time distribution, throughput and
+ * allocation. Every iteration starts from a fresh copy of the state test pre-state. When profiling
+ * is enabled the iterations are repeated with an {@link OpcodeProfilingTracer}, so the profiling
+ * overhead doesn't distort the reported timings.
+ */
+@Command(
+    name = COMMAND_NAME,
+    description = "Benchmark the execution of code or of Ethereum State Tests.",
+    mixinStandardHelpOptions = true,
+    versionProvider = VersionProvider.class)
+public class BenchmarkSubCommand implements Runnable {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final String COMMAND_NAME = "benchmark";
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @Option(
+      names = {"--warmup-iterations"},
+      paramLabel = "<int>",
+      description = "Number of unmeasured iterations run first (default: ${DEFAULT-VALUE}).")
+  private Integer warmupIterations = 10;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @Option(
+      names = {"--iterations"},
+      paramLabel = "<int>",
+      description = "Number of measured iterations (default: ${DEFAULT-VALUE}).")
+  private Integer iterations = 50;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @Option(
+      names = {"--profile"},
+      description = "Report the execution count, time and gas of each opcode.")
+  private Boolean profile = false;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @Option(
+      names = {"--fork"},
+      description = "Force the state tests to run on a specific fork.")
+  private String fork = null;
+
+  @ParentCommand private EvmToolCommand parentCommand;
+
+  @SuppressWarnings("unused")
+  @Spec
+  private CommandSpec spec;
+
+  @SuppressWarnings("MismatchedQueryAndUpdateOfCollection") // picocli does it magically
+  @Parameters(
+      description =
+          "State test files, or directories searched for them, such as the general state tests of"
+              + " the reference tests. The code given to the evm command is benchmarked if none"
+              + " are given.")
+  private final List<File> stateTestPaths = new ArrayList<>();
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  public BenchmarkSubCommand() {}
+
+  public BenchmarkSubCommand(final EvmToolCommand parentCommand) {
+    this.parentCommand = parentCommand;
+  }
+
+  @Override
+  public void run() {
+    if (iterations < 1 || warmupIterations < 0) {
+      throw new ParameterException(
+          spec.commandLine(),
+          "The number of iterations must be positive and the number of warm-up iterations must not be negative");
+    }
+    final PrintStream out = parentCommand.getOut();
+    try {
+      if (stateTestPaths.isEmpty()) {
+        final ObjectNode summary = objectMapper.createObjectNode();
+        summary.put("test", "code");
+        benchmark(summary, codeWorkload(), out);
+      } else {
+        benchmarkStateTests(out);
+      }
+    } catch (final IOException e) {
+      LOG.fatal(e);
+    }
+  }
+
+  private void benchmarkStateTests(final PrintStream out) throws IOException {
+    objectMapper.disable(Feature.AUTO_CLOSE_SOURCE);
+    final JavaType javaType =
+        objectMapper
+            .getTypeFactory()
+            .constructParametricType(Map.class, String.class, GeneralStateTestCaseSpec.class);
+    Configurator.setLevel(
+        "org.hyperledger.besu.ethereum.mainnet.ProtocolScheduleBuilder", Level.OFF);
+    final ReferenceTestProtocolSchedules referenceTestProtocolSchedules =
+        ReferenceTestProtocolSchedules.create();
+    Configurator.setLevel("org.hyperledger.besu.ethereum.mainnet.ProtocolScheduleBuilder", null);
+
+    for (final Path stateTestFile : stateTestFiles()) {
+      final Map<String, GeneralStateTestCaseSpec> generalStateTests;
+      try {
+        generalStateTests = objectMapper.readValue(stateTestFile.toFile(), javaType);
+      } catch (final JsonProcessingException jpe) {
+        out.println("File content error :" + stateTestFile + " " + jpe);
+        continue;
+      }
+      for (final var generalStateTest : generalStateTests.entrySet()) {
+        for (final List<GeneralStateTestCaseEipSpec> specs :
+            generalStateTest.getValue().finalStateSpecs().values()) {
+          for (final GeneralStateTestCaseEipSpec spec : specs) {
+            final BlockHeader blockHeader = spec.getBlockHeader();
+            // as in the state-test command, transactions exceeding the block gas are skipped
+            if (spec.getTransaction().getGasLimit()
+                > blockHeader.getGasLimit() - blockHeader.getGasUsed()) {
+              continue;
+            }
+            final ObjectNode summary = objectMapper.createObjectNode();
+            summary.put("test", generalStateTest.getKey());
+            summary.put("fork", spec.getFork());
+            summary.put("d", spec.getDataIndex());
+            summary.put("g", spec.getGasIndex());
+            summary.put("v", spec.getValueIndex());
+            benchmark(summary, stateTestWorkload(spec, referenceTestProtocolSchedules), out);
+          }
+        }
+      }
+    }
+  }
+
+  private List<Path> stateTestFiles() throws IOException {
+    final List<Path> files = new ArrayList<>();
+    for (final File stateTestPath : stateTestPaths) {
+      if (stateTestPath.isDirectory()) {
+        try (final Stream<Path> paths = Files.walk(stateTestPath.toPath())) {
+          files.addAll(
+              paths
+                  .filter(Files::isRegularFile)
+                  .filter(path -> path.getFileName().toString().endsWith(".json"))
+                  .sorted()
+                  .collect(Collectors.toList()));
+        }
+      } else {
+        files.add(stateTestPath.toPath());
+      }
+    }
+    return files;
+  }
+
+  private void benchmark(final ObjectNode summary, final Workload workload, final PrintStream out) {
+    for (int i = 0; i < warmupIterations; i++) {
+      workload.prepare().run(OperationTracer.NO_TRACING);
+    }
+
+    final BenchmarkStatistics statistics = new BenchmarkStatistics(iterations);
+    for (int i = 0; i < iterations; i++) {
+      final Iteration iteration = workload.prepare();
+      final long allocatedBefore = BenchmarkStatistics.currentThreadAllocatedBytes();
+      final long start = System.nanoTime();
+      final long gasUsed = iteration.run(OperationTracer.NO_TRACING);
+      final long elapsed = System.nanoTime() - start;
+      statistics.record(
+          elapsed, gasUsed, BenchmarkStatistics.currentThreadAllocatedBytes() - allocatedBefore);
+    }
+    statistics.writeTo(summary);
+
+    if (profile) {
+      final OpcodeProfilingTracer tracer = new OpcodeProfilingTracer();
+      for (int i = 0; i < iterations; i++) {
+        workload.prepare().run(tracer);
+      }
+      summary.set("profile", tracer.toJson(objectMapper));
+    }
+    out.println(summary);
+  }
+
+  private Workload codeWorkload() throws IOException {
+    final EvmToolComponent component = parentCommand.createComponent();
+    final BlockHeader blockHeader = EvmToolCommand.createBlockHeader();
+    final ProtocolSpec protocolSpec = EvmToolCommand.createProtocolSpec(component);
+    final MainnetMessageCallProcessor messageCallProcessor =
+        new MainnetMessageCallProcessor(
+            protocolSpec.getEvm(), protocolSpec.getPrecompileContractRegistry());
+    return () -> {
+      final Deque<MessageFrame> messageFrameStack = new ArrayDeque<>();
+      final MessageFrame initialFrame =
+          parentCommand.createMessageFrame(messageFrameStack, component, blockHeader);
+      messageFrameStack.add(initialFrame);
+      return tracer -> {
+        while (!messageFrameStack.isEmpty()) {
+          messageCallProcessor.process(messageFrameStack.peek(), tracer);
+        }
+        return parentCommand.getGas().minus(initialFrame.getRemainingGas()).toLong();
+      };
+    };
+  }
+
+  private Workload stateTestWorkload(
+      final GeneralStateTestCaseEipSpec spec,
+      final ReferenceTestProtocolSchedules referenceTestProtocolSchedules) {
+    final BlockHeader blockHeader = spec.getBlockHeader();
+    final Transaction transaction = spec.getTransaction();
+    final String forkName = fork == null ? spec.getFork() : fork;
+    final ProtocolSchedule protocolSchedule = referenceTestProtocolSchedules.getByName(forkName);
+    if (protocolSchedule == null) {
+      throw new UnsupportedForkException(forkName);
+    }
+    final MainnetTransactionProcessor processor =
+        protocolSchedule.getByBlockNumber(0).getTransactionProcessor();
+    final ReferenceTestBlockchain blockchain = new ReferenceTestBlockchain(blockHeader.getNumber());
+    return () -> {
+      final WorldUpdater worldStateUpdater =
+          new DefaultMutableWorldState(spec.getInitialWorldState()).updater();
+      return tracer -> {
+        final TransactionProcessingResult result =
+            processor.processTransaction(
+                blockchain,
+                worldStateUpdater,
+                blockHeader,
+                transaction,
+                blockHeader.getCoinbase(),
+                new BlockHashLookup(blockHeader, blockchain),
+                false,
+                TransactionValidationParams.processingBlock(),
+                tracer);
+        return transaction.getGasLimit() - result.getGasRemaining();
+      };
+    };
+  }
+
+  /** Something to benchmark. */
+  @FunctionalInterface
+  private interface Workload {
+    /** Sets up a fresh iteration, which is not part of the measurement. */
+    Iteration prepare();
+  }
+
+  /** A single, measured, execution of a workload. */
+  @FunctionalInterface
+  private interface Iteration {
+    /** Runs the iteration and returns the gas it used. */
+    long run(OperationTracer tracer);
+  }
+}
@@ -74,7 +74,7 @@ import picocli.CommandLine.Option;
     optionListHeading = "%nOptions:%n",
     footerHeading = "%n",
     footer = "Hyperledger Besu is licensed under the Apache License 2.0",
-    subcommands = {StateTestSubCommand.class})
+    subcommands = {StateTestSubCommand.class, BenchmarkSubCommand.class})
 public class EvmToolCommand implements Runnable {
 
   private static final Logger LOG = LogManager.getLogger();
@@ -172,48 +172,102 @@ public class EvmToolCommand implements Runnable {
     commandLine.parseWithHandlers(resultHandler, exceptionHandler, args);
   }
 
+  EvmToolComponent createComponent() throws IOException {
+    return DaggerEvmToolComponent.builder()
+        .dataStoreModule(new DataStoreModule())
+        .genesisFileModule(
+            network == null
+                ? genesisFile == null
+                    ? GenesisFileModule.createGenesisModule(NetworkName.DEV)
+                    : GenesisFileModule.createGenesisModule(genesisFile)
+                : GenesisFileModule.createGenesisModule(network))
+        .evmToolCommandOptionsModule(daggerOptions)
+        .metricsSystemModule(new MetricsSystemModule())
+        .build();
+  }
+
+  static BlockHeader createBlockHeader() {
+    return BlockHeaderBuilder.create()
+        .parentHash(Hash.EMPTY)
+        .coinbase(Address.ZERO)
+        .difficulty(Difficulty.ONE)
+        .number(1)
+        .gasLimit(5000)
+        .timestamp(Instant.now().toEpochMilli())
+        .ommersHash(Hash.EMPTY_LIST_HASH)
+        .stateRoot(Hash.EMPTY_TRIE_HASH)
+        .transactionsRoot(Hash.EMPTY)
+        .receiptsRoot(Hash.EMPTY)
+        .logsBloom(LogsBloomFilter.empty())
+        .gasUsed(0)
+        .extraData(Bytes.EMPTY)
+        .mixHash(Hash.EMPTY)
+        .nonce(0)
+        .blockHeaderFunctions(new MainnetBlockHeaderFunctions())
+        .buildBlockHeader();
+  }
+
+  static ProtocolSpec createProtocolSpec(final EvmToolComponent component) {
+    Configurator.setLevel(
+        "org.hyperledger.besu.ethereum.mainnet.ProtocolScheduleBuilder", Level.OFF);
+    final ProtocolSpec protocolSpec = component.getProtocolSpec().apply(0);
+    Configurator.setLevel("org.hyperledger.besu.ethereum.mainnet.ProtocolScheduleBuilder", null);
+    return protocolSpec;
+  }
+
+  /**
+   * Creates the frame executing the configured code.
+   *
+   * @param messageFrameStack the stack the frame, and any frames it creates, are pushed to
+   * @param component the component providing the blockchain and world state
+   * @param blockHeader the header of the block the code executes in
+   * @return the initial message frame
+   */
+  MessageFrame createMessageFrame(
+      final Deque<MessageFrame> messageFrameStack,
+      final EvmToolComponent component,
+      final BlockHeader blockHeader) {
+    return MessageFrame.builder()
+        .type(MessageFrame.Type.MESSAGE_CALL)
+        .messageFrameStack(messageFrameStack)
+        .blockchain(component.getBlockchain())
+        .worldState(component.getWorldUpdater())
+        .initialGas(gas)
+        .contract(Address.ZERO)
+        .address(receiver)
+        .originator(sender)
+        .sender(sender)
+        .gasPrice(gasPriceGWei)
+        .inputData(callData)
+        .value(ethValue)
+        .apparentValue(ethValue)
+        .code(new Code(codeHexString))
+        .blockHeader(blockHeader)
+        .depth(0)
+        .completer(c -> {})
+        .miningBeneficiary(blockHeader.getCoinbase())
+        .blockHashLookup(new BlockHashLookup(blockHeader, component.getBlockchain()))
+        .contractAccountVersion(Account.DEFAULT_VERSION)
+        .build();
+  }
+
+  Gas getGas() {
+    return gas;
+  }
+
+  PrintStream getOut() {
+    return out;
+  }
+
   @Override
   public void run() {
     try {
-      final EvmToolComponent component =
-          DaggerEvmToolComponent.builder()
-              .dataStoreModule(new DataStoreModule())
-              .genesisFileModule(
-                  network == null
-                      ? genesisFile == null
-                          ? GenesisFileModule.createGenesisModule(NetworkName.DEV)
-                          : GenesisFileModule.createGenesisModule(genesisFile)
-                      : GenesisFileModule.createGenesisModule(network))
-              .evmToolCommandOptionsModule(daggerOptions)
-              .metricsSystemModule(new MetricsSystemModule())
-              .build();
-
-      final BlockHeader blockHeader =
-          BlockHeaderBuilder.create()
-              .parentHash(Hash.EMPTY)
-              .coinbase(Address.ZERO)
-              .difficulty(Difficulty.ONE)
-              .number(1)
-              .gasLimit(5000)
-              .timestamp(Instant.now().toEpochMilli())
-              .ommersHash(Hash.EMPTY_LIST_HASH)
-              .stateRoot(Hash.EMPTY_TRIE_HASH)
-              .transactionsRoot(Hash.EMPTY)
-              .receiptsRoot(Hash.EMPTY)
-              .logsBloom(LogsBloomFilter.empty())
-              .gasUsed(0)
-              .extraData(Bytes.EMPTY)
-              .mixHash(Hash.EMPTY)
-              .nonce(0)
-              .blockHeaderFunctions(new MainnetBlockHeaderFunctions())
-              .buildBlockHeader();
+      final EvmToolComponent component = createComponent();
+      final BlockHeader blockHeader = createBlockHeader();
 
       Configurator.setAllLevels("", repeat == 0 ? Level.INFO : Level.OFF);
       int repeat = this.repeat;
-      Configurator.setLevel(
-          "org.hyperledger.besu.ethereum.mainnet.ProtocolScheduleBuilder", Level.OFF);
-      final ProtocolSpec protocolSpec = component.getProtocolSpec().apply(0);
-      Configurator.setLevel("org.hyperledger.besu.ethereum.mainnet.ProtocolScheduleBuilder", null);
+      final ProtocolSpec protocolSpec = createProtocolSpec(component);
       final PrecompileContractRegistry precompileContractRegistry =
           protocolSpec.getPrecompileContractRegistry();
       final EVM evm = protocolSpec.getEvm();
@@ -228,29 +282,7 @@ public class EvmToolCommand implements Runnable {
                 : OperationTracer.NO_TRACING;
 
         final Deque<MessageFrame> messageFrameStack = new ArrayDeque<>();
-        messageFrameStack.add(
-            MessageFrame.builder()
-                .type(MessageFrame.Type.MESSAGE_CALL)
-                .messageFrameStack(messageFrameStack)
-                .blockchain(component.getBlockchain())
-                .worldState(component.getWorldUpdater())
-                .initialGas(gas)
-                .contract(Address.ZERO)
-                .address(receiver)
-                .originator(sender)
-                .sender(sender)
-                .gasPrice(gasPriceGWei)
-                .inputData(callData)
-                .value(ethValue)
-                .apparentValue(ethValue)
-                .code(new Code(codeHexString))
-                .blockHeader(blockHeader)
-                .depth(0)
-                .completer(c -> {})
-                .miningBeneficiary(blockHeader.getCoinbase())
-                .blockHashLookup(new BlockHashLookup(blockHeader, component.getBlockchain()))
-                .contractAccountVersion(Account.DEFAULT_VERSION)
-                .build());
+        messageFrameStack.add(createMessageFrame(messageFrameStack, component, blockHeader));
 
         final MainnetMessageCallProcessor mcp =
             new MainnetMessageCallProcessor(evm, precompileContractRegistry);
@@ -0,0 +1,95 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evmtool;
+
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+import org.hyperledger.besu.ethereum.vm.Operation;
+import org.hyperledger.besu.ethereum.vm.Operation.OperationResult;
+import org.hyperledger.besu.ethereum.vm.OperationTracer;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Collects the number of executions, cumulative execution time and cumulative gas of each opcode.
+ *
+ * <p>Time spent in a call or create operation only covers setting up the child frame, the child
+ * frame's own operations are accounted to their respective opcodes.
+ */
+public class OpcodeProfilingTracer implements OperationTracer {
+
+  private static final int OPCODES = 256;
+
+  private final String[] names = new String[OPCODES];
+  private final long[] counts = new long[OPCODES];
+  private final long[] nanos = new long[OPCODES];
+  private final long[] gas = new long[OPCODES];
+
+  @Override
+  public void traceExecution(final MessageFrame frame, final ExecuteOperation executeOperation) {
+    final Operation operation = frame.getCurrentOperation();
+    final long start = System.nanoTime();
+    final OperationResult result = executeOperation.execute();
+    final long elapsed = System.nanoTime() - start;
+
+    final int opcode = operation.getOpcode() & 0xff;
+    names[opcode] = operation.getName();
+    counts[opcode]++;
+    nanos[opcode] += elapsed;
+    if (result.getGasCost().isPresent()) {
+      gas[opcode] += result.getGasCost().get().toLong();
+    }
+  }
+
+  public long getCount(final int opcode) {
+    return counts[opcode];
+  }
+
+  public long getNanos(final int opcode) {
+    return nanos[opcode];
+  }
+
+  public long getGas(final int opcode) {
+    return gas[opcode];
+  }
+
+  /**
+   * Creates a histogram of the executed opcodes, ordered by cumulative execution time.
+   *
+   * @param objectMapper the mapper used to create the nodes
+   * @return one entry per executed opcode
+   */
+  public ArrayNode toJson(final ObjectMapper objectMapper) {
+    final ArrayNode histogram = objectMapper.createArrayNode();
+    IntStream.range(0, OPCODES)
+        .filter(opcode -> counts[opcode] > 0)
+        .boxed()
+        .sorted(Comparator.comparingLong((Integer opcode) -> nanos[opcode]).reversed())
+        .forEach(
+            opcode -> {
+              final ObjectNode entry = histogram.addObject();
+              entry.put("op", opcode);
+              entry.put("opName", names[opcode]);
+              entry.put("count", counts[opcode]);
+              entry.put("timeNs", nanos[opcode]);
+              entry.put("gas", gas[opcode]);
+            });
+    return histogram;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evmtool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import picocli.CommandLine;
+
+public class BenchmarkSubCommandTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void shouldBenchmarkCode() throws Exception {
+    final List<JsonNode> summaries =
+        run(
+            // the default sender has no account, so use one funded in the dev genesis
+            "--sender",
+            "0xfe3b557e8fb62b89f4916b721be55ceb828dbd73",
+            "--code",
+            "0x6001600201600055",
+            "benchmark",
+            "--warmup-iterations",
+            "2",
+            "--iterations",
+            "5",
+            "--profile");
+
+    assertThat(summaries).hasSize(1);
+    final JsonNode summary = summaries.get(0);
+    assertThat(summary.get("test").asText()).isEqualTo("code");
+    assertThat(summary.get("iterations").asInt()).isEqualTo(5);
+    assertThat(summary.get("gasPerIteration").asLong()).isPositive();
+    assertThat(summary.get("minNs").asLong()).isLessThanOrEqualTo(summary.get("maxNs").asLong());
+
+    final JsonNode profile = summary.get("profile");
+    assertThat(profile.isArray()).isTrue();
+    assertThat(profile)
+        .anySatisfy(
+            op -> {
+              assertThat(op.get("opName").asText()).isEqualTo("SSTORE");
+              assertThat(op.get("count").asLong()).isEqualTo(5);
+            });
+  }
+
+  @Test
+  public void shouldBenchmarkStateTest() throws Exception {
+    final List<JsonNode> summaries =
+        run(
+            "benchmark",
+            "--warmup-iterations",
+            "0",
+            "--iterations",
+            "3",
+            BenchmarkSubCommandTest.class.getResource("valid-state-test.json").getPath());
+
+    assertThat(summaries).isNotEmpty();
+    for (final JsonNode summary : summaries) {
+      assertThat(summary.has("fork")).isTrue();
+      assertThat(summary.get("iterations").asInt()).isEqualTo(3);
+      assertThat(summary.has("profile")).isFalse();
+    }
+  }
+
+  @Test
+  public void shouldRejectNonPositiveIterations() throws Exception {
+    assertThat(run("benchmark", "--iterations", "0")).isEmpty();
+  }
+
+  private List<JsonNode> run(final String... args) throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+    new EvmToolCommand()
+        .parse(
+            new CommandLine.RunLast().useOut(out),
+            new CommandLine.DefaultExceptionHandler<List<Object>>().useErr(out),
+            args);
+    final List<JsonNode> summaries = new ArrayList<>();
+    for (final String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+      if (line.startsWith("{")) {
+        summaries.add(objectMapper.readTree(line));
+      }
+    }
+    return summaries;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+import org.hyperledger.besu.ethereum.p2p.peers.Peer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures k-nearest lookups, as served for every FindNeighbors request, against a table with
+ * 10,000 bonded peers. The full scan benchmark sorts every peer in the table, which is how lookups
+ * were answered before the buckets were used as an index.
+ */
+@State(Scope.Benchmark)
+public class PeerTableBenchmark {
+
+  private static final int TARGET_COUNT = 1024;
+  private static final int NEIGHBOURS = 16;
+
+  @Param({"10000"})
+  public int tableSize;
+
+  private PeerTable peerTable;
+  private Bytes[] targets;
+  private int nextTarget;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    // a bucket size as large as the table lets every generated peer in
+    peerTable = new PeerTable(Peer.randomId(), tableSize);
+    for (int i = 0; i < tableSize; i++) {
+      final DiscoveryPeer peer =
+          DiscoveryPeer.fromIdAndEndpoint(
+              Peer.randomId(), new Endpoint("10.0.0.1", 30303, Optional.empty()));
+      peer.setStatus(PeerDiscoveryStatus.BONDED);
+      peerTable.tryAdd(peer);
+    }
+    targets = Stream.generate(Peer::randomId).limit(TARGET_COUNT).toArray(Bytes[]::new);
+  }
+
+  @Benchmark
+  public List<DiscoveryPeer> nearestPeers() {
+    return peerTable.nearestPeers(nextTarget(), NEIGHBOURS);
+  }
+
+  @Benchmark
+  public List<DiscoveryPeer> fullScanNearestPeers() {
+    final Bytes32 targetKeccak256 = Hash.keccak256(nextTarget());
+    return peerTable
+        .streamAllPeers()
+        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+        .sorted(
+            comparingInt(
+                peer -> PeerDistanceCalculator.distance(peer.keccak256(), targetKeccak256)))
+        .limit(NEIGHBOURS)
+        .collect(toList());
+  }
+
+  private Bytes nextTarget() {
+    nextTarget = (nextTarget + 1) % TARGET_COUNT;
+    return targets[nextTarget];
+  }
+}
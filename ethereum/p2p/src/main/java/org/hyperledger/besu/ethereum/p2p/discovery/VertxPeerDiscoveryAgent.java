@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import org.hyperledger.besu.crypto.NodeKey;
 import org.hyperledger.besu.ethereum.p2p.config.DiscoveryConfiguration;
+import org.hyperledger.besu.ethereum.p2p.discovery.internal.DiscoveryPacketVerifier;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.Packet;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerDiscoveryController;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerDiscoveryController.AsyncExecutor;
@@ -43,6 +44,7 @@ import java.util.stream.StreamSupport;
 import io.netty.channel.EventLoopGroup;
 import io.netty.util.concurrent.SingleThreadEventExecutor;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.datagram.DatagramPacket;
 import io.vertx.core.datagram.DatagramSocket;
@@ -54,8 +56,11 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
   private static final Logger LOG = LogManager.getLogger();
 
   private final Vertx vertx;
+  private final DiscoveryPacketVerifier packetVerifier;
   /* The vert.x UDP socket. */
   private DatagramSocket socket;
+  /* The context the socket was set up on, verified packets are handled on it. */
+  private volatile Context socketContext;
 
   public VertxPeerDiscoveryAgent(
       final Vertx vertx,
@@ -74,6 +79,9 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
         "vertx_eventloop_pending_tasks",
         "The number of pending tasks in the Vertx event loop",
         pendingTaskCounter(vertx.nettyEventLoopGroup()));
+    this.packetVerifier =
+        new DiscoveryPacketVerifier(
+            metricsSystem, this::runOnSocketContext, this::handleIncomingPacket);
   }
 
   private IntSupplier pendingTaskCounter(final EventLoopGroup eventLoopGroup) {
@@ -123,6 +131,8 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
     }
 
     this.socket = listenResult.result();
+    this.socketContext = vertx.getOrCreateContext();
+    packetVerifier.start();
 
     // TODO: when using wildcard hosts (0.0.0.0), we need to handle multiple addresses by
     // selecting
@@ -171,6 +181,7 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
     socket.close(
         ar -> {
           if (ar.succeeded()) {
+            packetVerifier.stop();
             controller.ifPresent(PeerDiscoveryController::stop);
             socket = null;
             completion.complete(null);
@@ -205,29 +216,14 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
       LOG.debug("Discarding over-sized packet. Actual size (bytes): " + length);
       return;
     }
-    vertx.<Packet>executeBlocking(
-        future -> {
-          try {
-            future.complete(Packet.decode(datagram.data()));
-          } catch (final Throwable t) {
-            future.fail(t);
-          }
-        },
-        event -> {
-          if (event.succeeded()) {
-            // Acquire the senders coordinates to build a Peer representation from them.
-            final String host = datagram.sender().host();
-            final int port = datagram.sender().port();
-            final Endpoint endpoint = new Endpoint(host, port, Optional.empty());
-            handleIncomingPacket(endpoint, event.result());
-          } else {
-            if (event.cause() instanceof PeerDiscoveryPacketDecodingException) {
-              LOG.debug("Discarding invalid peer discovery packet: {}", event.cause().getMessage());
-            } else {
-              LOG.error("Encountered error while handling packet", event.cause());
-            }
-          }
-        });
+    // Acquire the senders coordinates to build a Peer representation from them.
+    final String host = datagram.sender().host();
+    final int port = datagram.sender().port();
+    packetVerifier.submit(datagram.data(), new Endpoint(host, port, Optional.empty()));
+  }
+
+  private void runOnSocketContext(final Runnable task) {
+    socketContext.runOnContext(v -> task.run());
   }
 
   private class VertxAsyncExecutor implements AsyncExecutor {
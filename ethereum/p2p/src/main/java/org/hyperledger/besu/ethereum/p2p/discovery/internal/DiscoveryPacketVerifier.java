@@ -0,0 +1,330 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryPacketDecodingException;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.vertx.core.buffer.Buffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Verifies incoming discovery packets away from the network event loop.
+ *
+ * <p>Datagrams are screened on submission: each source IP is limited by a token bucket and packets
+ * whose declared hash matches a recently verified packet are dropped before any signature recovery
+ * is attempted. Accepted datagrams wait in a bounded queue, and are dropped when it is full, until
+ * a dedicated worker decodes them. Workers drain the queue in batches and hand each batch of
+ * verified packets to the delivery executor in a single task.
+ */
+public class DiscoveryPacketVerifier {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+  public static final int DEFAULT_BATCH_SIZE = 64;
+  public static final int DEFAULT_WORKER_THREADS = 2;
+  public static final double DEFAULT_PACKETS_PER_SECOND_PER_IP = 100;
+  public static final int DEFAULT_BURST_PER_IP = 200;
+
+  private static final int HASH_SIZE = 32;
+  private static final long RECENT_PACKET_RETENTION_SECONDS = 60;
+  private static final int RECENT_PACKET_CACHE_SIZE = 10_000;
+  private static final int TRACKED_SOURCE_CACHE_SIZE = 10_000;
+
+  private final Executor deliveryExecutor;
+  private final BiConsumer<Endpoint, Packet> packetHandler;
+  private final BlockingQueue<PendingPacket> queue;
+  private final int batchSize;
+  private final int workerThreads;
+  private final double packetsPerSecondPerIp;
+  private final int burstPerIp;
+
+  private final Cache<Bytes, Boolean> recentlyVerified =
+      CacheBuilder.newBuilder()
+          .maximumSize(RECENT_PACKET_CACHE_SIZE)
+          .expireAfterWrite(RECENT_PACKET_RETENTION_SECONDS, TimeUnit.SECONDS)
+          .build();
+  private final Cache<String, TokenBucket> sourceRateLimits =
+      CacheBuilder.newBuilder()
+          .maximumSize(TRACKED_SOURCE_CACHE_SIZE)
+          .expireAfterAccess(1, TimeUnit.MINUTES)
+          .build();
+
+  private final Counter verifiedCounter;
+  private final Counter queueFullCounter;
+  private final Counter rateLimitedCounter;
+  private final Counter duplicateCounter;
+  private final Counter invalidCounter;
+
+  private volatile ExecutorService workers;
+  private volatile boolean running;
+
+  public DiscoveryPacketVerifier(
+      final MetricsSystem metricsSystem,
+      final Executor deliveryExecutor,
+      final BiConsumer<Endpoint, Packet> packetHandler) {
+    this(
+        metricsSystem,
+        deliveryExecutor,
+        packetHandler,
+        DEFAULT_QUEUE_CAPACITY,
+        DEFAULT_BATCH_SIZE,
+        DEFAULT_WORKER_THREADS,
+        DEFAULT_PACKETS_PER_SECOND_PER_IP,
+        DEFAULT_BURST_PER_IP);
+  }
+
+  @VisibleForTesting
+  DiscoveryPacketVerifier(
+      final MetricsSystem metricsSystem,
+      final Executor deliveryExecutor,
+      final BiConsumer<Endpoint, Packet> packetHandler,
+      final int queueCapacity,
+      final int batchSize,
+      final int workerThreads,
+      final double packetsPerSecondPerIp,
+      final int burstPerIp) {
+    checkArgument(queueCapacity > 0, "Queue capacity must be positive");
+    checkArgument(batchSize > 0, "Batch size must be positive");
+    checkArgument(workerThreads > 0, "Worker threads must be positive");
+    checkArgument(packetsPerSecondPerIp > 0, "Packets per second must be positive");
+    checkArgument(burstPerIp > 0, "Burst size must be positive");
+    this.deliveryExecutor = deliveryExecutor;
+    this.packetHandler = packetHandler;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.workerThreads = workerThreads;
+    this.packetsPerSecondPerIp = packetsPerSecondPerIp;
+    this.burstPerIp = burstPerIp;
+
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.NETWORK,
+        "discovery_verification_queue_size",
+        "Number of discovery packets waiting for signature verification",
+        queue::size);
+    verifiedCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.NETWORK,
+            "discovery_packets_verified_total",
+            "Total number of discovery packets that passed signature verification");
+    final LabelledMetric<Counter> droppedCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.NETWORK,
+            "discovery_packets_dropped_total",
+            "Total number of incoming discovery packets dropped before reaching the controller",
+            "reason");
+    queueFullCounter = droppedCounter.labels("queue_full");
+    rateLimitedCounter = droppedCounter.labels("rate_limited");
+    duplicateCounter = droppedCounter.labels("duplicate");
+    invalidCounter = droppedCounter.labels("invalid");
+  }
+
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    workers =
+        Executors.newFixedThreadPool(
+            workerThreads,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("DiscoveryVerifier-%d")
+                .build());
+    for (int i = 0; i < workerThreads; i++) {
+      workers.execute(this::verifyPackets);
+    }
+  }
+
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    workers.shutdownNow();
+    queue.clear();
+  }
+
+  /**
+   * Screens a received datagram and queues it for verification.
+   *
+   * @param datagram the raw datagram
+   * @param sender the endpoint the datagram was received from
+   * @return true if the datagram was queued, false if it was dropped
+   */
+  public boolean submit(final Buffer datagram, final Endpoint sender) {
+    if (!tryAcquire(sender.getHost())) {
+      rateLimitedCounter.inc();
+      return false;
+    }
+    if (datagram.length() >= HASH_SIZE && isDuplicate(declaredHash(datagram))) {
+      duplicateCounter.inc();
+      return false;
+    }
+    if (!queue.offer(new PendingPacket(datagram, sender))) {
+      queueFullCounter.inc();
+      return false;
+    }
+    return true;
+  }
+
+  private void verifyPackets() {
+    final List<PendingPacket> pending = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        final PendingPacket first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        pending.add(first);
+        queue.drainTo(pending, batchSize - 1);
+        final List<VerifiedPacket> verified = verify(pending);
+        pending.clear();
+        if (!verified.isEmpty()) {
+          deliver(verified);
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void deliver(final List<VerifiedPacket> verified) {
+    try {
+      deliveryExecutor.execute(
+          () -> verified.forEach(p -> packetHandler.accept(p.sender, p.packet)));
+    } catch (final RuntimeException e) {
+      // the worker keeps verifying later packets, only this batch is lost
+      LOG.error("Failed to deliver verified peer discovery packets", e);
+    }
+  }
+
+  private List<VerifiedPacket> verify(final List<PendingPacket> pending) {
+    final List<VerifiedPacket> verified = new ArrayList<>(pending.size());
+    for (final PendingPacket candidate : pending) {
+      // a copy of the packet may have been verified since it was queued
+      if (candidate.datagram.length() >= HASH_SIZE
+          && isDuplicate(declaredHash(candidate.datagram))) {
+        duplicateCounter.inc();
+        continue;
+      }
+      try {
+        final Packet packet = Packet.decode(candidate.datagram);
+        recentlyVerified.put(packet.getHash(), Boolean.TRUE);
+        verified.add(new VerifiedPacket(candidate.sender, packet));
+      } catch (final PeerDiscoveryPacketDecodingException e) {
+        invalidCounter.inc();
+        LOG.debug("Discarding invalid peer discovery packet: {}", e.getMessage());
+      } catch (final RuntimeException e) {
+        invalidCounter.inc();
+        LOG.error("Encountered error while handling packet", e);
+      }
+    }
+    verifiedCounter.inc(verified.size());
+    return verified;
+  }
+
+  private boolean isDuplicate(final Bytes hash) {
+    return recentlyVerified.getIfPresent(hash) != null;
+  }
+
+  private static Bytes declaredHash(final Buffer datagram) {
+    return Bytes.wrap(datagram.getBytes(0, HASH_SIZE));
+  }
+
+  private boolean tryAcquire(final String host) {
+    try {
+      return sourceRateLimits
+          .get(host, () -> new TokenBucket(burstPerIp, packetsPerSecondPerIp))
+          .tryAcquire();
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @VisibleForTesting
+  int getQueueSize() {
+    return queue.size();
+  }
+
+  private static class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(final int capacity, final double tokensPerSecond) {
+      this.capacity = capacity;
+      this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+      this.tokens = capacity;
+      this.lastRefill = System.nanoTime();
+    }
+
+    synchronized boolean tryAcquire() {
+      final long now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+      lastRefill = now;
+      if (tokens < 1) {
+        return false;
+      }
+      tokens--;
+      return true;
+    }
+  }
+
+  private static class PendingPacket {
+    private final Buffer datagram;
+    private final Endpoint sender;
+
+    PendingPacket(final Buffer datagram, final Endpoint sender) {
+      this.datagram = datagram;
+      this.sender = sender;
+    }
+  }
+
+  private static class VerifiedPacket {
+    private final Endpoint sender;
+    private final Packet packet;
+
+    VerifiedPacket(final Endpoint sender, final Packet packet) {
+      this.sender = sender;
+      this.packet = packet;
+    }
+  }
+}
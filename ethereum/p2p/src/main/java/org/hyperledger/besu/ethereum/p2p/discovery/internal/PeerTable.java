@@ -15,7 +15,6 @@
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
 import static java.util.Comparator.comparingInt;
-import static java.util.stream.Collectors.toList;
 
 import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
@@ -24,16 +23,18 @@ import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 import org.hyperledger.besu.ethereum.p2p.peers.PeerId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.hash.BloomFilter;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 
 /**
  * Implements a Kademlia routing table based on k-buckets with a keccak-256 XOR-based distance
@@ -45,10 +46,10 @@ public class PeerTable {
   private static final int BLOOM_FILTER_REGENERATION_THRESHOLD = 50; // evictions
 
   private final Bucket[] table;
-  private final Bytes keccak256;
+  private final Bytes32 keccak256;
   private final int maxEntriesCnt;
 
-  private final Map<Bytes, Integer> distanceCache;
+  private final Cache<Bytes, Integer> distanceCache;
   private BloomFilter<Bytes> idBloom;
   private int evictionCnt = 0;
 
@@ -61,11 +62,9 @@ public class PeerTable {
   public PeerTable(final Bytes nodeId, final int bucketSize) {
     this.keccak256 = Hash.keccak256(nodeId);
     this.table =
-        Stream.generate(() -> new Bucket(DEFAULT_BUCKET_SIZE))
-            .limit(N_BUCKETS + 1)
-            .toArray(Bucket[]::new);
-    this.distanceCache = new ConcurrentHashMap<>();
+        Stream.generate(() -> new Bucket(bucketSize)).limit(N_BUCKETS + 1).toArray(Bucket[]::new);
     this.maxEntriesCnt = N_BUCKETS * bucketSize;
+    this.distanceCache = CacheBuilder.newBuilder().maximumSize(maxEntriesCnt).build();
 
     // A bloom filter with 4096 expected insertions of 64-byte keys with a 0.1% false positive
     // probability yields a memory footprint of ~7.5kb.
@@ -153,7 +152,7 @@ public class PeerTable {
       return EvictResult.self();
     }
 
-    distanceCache.remove(id);
+    distanceCache.invalidate(id);
 
     if (table[distance].getPeers().isEmpty()) {
       return EvictResult.absent();
@@ -186,18 +185,82 @@ public class PeerTable {
    * Returns the <code>limit</code> peers (at most) closest to the provided target, based on the XOR
    * distance between the keccak-256 hash of the ID and the keccak-256 hash of the target.
    *
+   * <p>The buckets already index peers by their distance from us, which determines their distance
+   * from the target: peers in the target's own bucket are the closest, every peer in a nearer
+   * bucket is exactly as far from the target as we are, and every peer in a farther bucket is as
+   * far from the target as it is from us. Buckets are visited in that order, so only peers in the
+   * target's bucket have their distance to the target computed and the walk stops as soon as enough
+   * peers are found.
+   *
    * @param target The target node ID.
    * @param limit The amount of results to return.
    * @return The <code>limit</code> closest peers, at most.
    */
   public List<DiscoveryPeer> nearestPeers(final Bytes target, final int limit) {
-    final Bytes keccak256 = Hash.keccak256(target);
-    return streamAllPeers()
-        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
-        .sorted(
-            comparingInt((peer) -> PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
-        .limit(limit)
-        .collect(toList());
+    final Bytes32 targetKeccak256 = Hash.keccak256(target);
+    final int targetDistance = PeerDistanceCalculator.distance(keccak256, targetKeccak256);
+    final List<DiscoveryPeer> nearest = new ArrayList<>(limit);
+    if (limit <= 0) {
+      return nearest;
+    }
+
+    addNearestBondedPeers(table[targetDistance].getPeers(), targetKeccak256, nearest, limit);
+    for (int i = 0; i < targetDistance && nearest.size() < limit; i++) {
+      addBondedPeers(table[i].getPeers(), nearest, limit);
+    }
+    for (int i = targetDistance + 1; i <= N_BUCKETS && nearest.size() < limit; i++) {
+      addBondedPeers(table[i].getPeers(), nearest, limit);
+    }
+    return nearest;
+  }
+
+  private static void addNearestBondedPeers(
+      final List<DiscoveryPeer> peers,
+      final Bytes32 targetKeccak256,
+      final List<DiscoveryPeer> nearest,
+      final int limit) {
+    final int[] distances = new int[peers.size()];
+    final int[] peersAtDistance = new int[N_BUCKETS + 1];
+    for (int i = 0; i < peers.size(); i++) {
+      final DiscoveryPeer peer = peers.get(i);
+      if (peer.getStatus() == PeerDiscoveryStatus.BONDED) {
+        distances[i] = PeerDistanceCalculator.distance(peer.keccak256(), targetKeccak256);
+        peersAtDistance[distances[i]]++;
+      } else {
+        distances[i] = -1;
+      }
+    }
+
+    // Only the peers up to the distance that fills the limit need to be ordered.
+    int maxDistance = 0;
+    for (int found = peersAtDistance[0]; found < limit && maxDistance < N_BUCKETS; ) {
+      found += peersAtDistance[++maxDistance];
+    }
+    final List<Integer> candidates = new ArrayList<>();
+    for (int i = 0; i < distances.length; i++) {
+      if (distances[i] >= 0 && distances[i] <= maxDistance) {
+        candidates.add(i);
+      }
+    }
+    candidates.sort(comparingInt(i -> distances[i]));
+    for (final int candidate : candidates) {
+      if (nearest.size() >= limit) {
+        return;
+      }
+      nearest.add(peers.get(candidate));
+    }
+  }
+
+  private static void addBondedPeers(
+      final List<DiscoveryPeer> peers, final List<DiscoveryPeer> nearest, final int limit) {
+    for (final DiscoveryPeer peer : peers) {
+      if (nearest.size() >= limit) {
+        return;
+      }
+      if (peer.getStatus() == PeerDiscoveryStatus.BONDED) {
+        nearest.add(peer);
+      }
+    }
   }
 
   public Stream<DiscoveryPeer> streamAllPeers() {
@@ -212,7 +275,7 @@ public class PeerTable {
    * @return The distance.
    */
   private int distanceFrom(final PeerId peer) {
-    final Integer distance = distanceCache.get(peer.getId());
+    final Integer distance = distanceCache.getIfPresent(peer.getId());
     return distance == null
         ? PeerDistanceCalculator.distance(keccak256, peer.keccak256())
         : distance;
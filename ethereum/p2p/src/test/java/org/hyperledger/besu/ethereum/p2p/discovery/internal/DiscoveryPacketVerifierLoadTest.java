@@ -0,0 +1,167 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.hyperledger.besu.crypto.NodeKey;
+import org.hyperledger.besu.crypto.NodeKeyUtils;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
+import org.hyperledger.besu.ethereum.p2p.peers.EnodeURL;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.buffer.Buffer;
+import org.apache.tuweni.units.bigints.UInt64;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Replays a burst of synthetic discovery traffic through the verifier into a controller, the way
+ * the vert.x agent wires them together, and checks that every valid packet is answered exactly
+ * once.
+ */
+public class DiscoveryPacketVerifierLoadTest {
+
+  private static final int SOURCE_COUNT = 200;
+  private static final int REPLAYS_PER_PACKET = 4;
+  private static final int INVALID_PACKET_COUNT = 50;
+  private static final String DROPPED = "discovery_packets_dropped_total";
+
+  private final PeerDiscoveryTestHelper helper = new PeerDiscoveryTestHelper();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  // stands in for the single threaded event loop the controller runs on
+  private final ExecutorService eventLoop = Executors.newSingleThreadExecutor();
+  private final AtomicInteger pongs = new AtomicInteger();
+  private final AtomicInteger handledPackets = new AtomicInteger();
+
+  private PeerDiscoveryController controller;
+  private DiscoveryPacketVerifier verifier;
+
+  @Before
+  public void setUp() {
+    final NodeKey localKey = NodeKeyUtils.generate();
+    controller =
+        PeerDiscoveryControllerTest.ControllerBuilder.create()
+            .nodeKey(localKey)
+            .localPeer(helper.createDiscoveryPeer(localKey))
+            .outboundMessageHandler(
+                (peer, packet) -> {
+                  if (packet.getType() == PacketType.PONG) {
+                    pongs.incrementAndGet();
+                  }
+                })
+            .build();
+    controller.start();
+    verifier =
+        new DiscoveryPacketVerifier(
+            metricsSystem,
+            eventLoop,
+            (sender, packet) -> {
+              controller.onMessage(packet, toDiscoveryPeer(sender, packet));
+              handledPackets.incrementAndGet();
+            },
+            DiscoveryPacketVerifier.DEFAULT_QUEUE_CAPACITY,
+            DiscoveryPacketVerifier.DEFAULT_BATCH_SIZE,
+            DiscoveryPacketVerifier.DEFAULT_WORKER_THREADS,
+            DiscoveryPacketVerifier.DEFAULT_PACKETS_PER_SECOND_PER_IP,
+            REPLAYS_PER_PACKET + 2);
+    verifier.start();
+  }
+
+  @After
+  public void tearDown() {
+    verifier.stop();
+    controller.stop();
+    eventLoop.shutdownNow();
+  }
+
+  @Test
+  public void replayedAndInvalidPacketsNeverReachTheController() {
+    final Endpoint localEndpoint = helper.createDiscoveryPeer().getEndpoint();
+    final List<Endpoint> senders = new ArrayList<>();
+    final List<Buffer> pings = new ArrayList<>();
+    for (int i = 0; i < SOURCE_COUNT; i++) {
+      final Endpoint sender =
+          new Endpoint("10.0." + (i / 250) + "." + (i % 250 + 1), 30303, Optional.of(30303));
+      senders.add(sender);
+      pings.add(
+          Packet.create(
+                  PacketType.PING,
+                  PingPacketData.create(sender, localEndpoint, UInt64.ONE),
+                  NodeKeyUtils.generate())
+              .encode());
+    }
+
+    for (int i = 0; i < SOURCE_COUNT; i++) {
+      assertThat(verifier.submit(pings.get(i), senders.get(i))).isTrue();
+    }
+    for (int i = 0; i < INVALID_PACKET_COUNT; i++) {
+      final Buffer invalid = pings.get(i).copy();
+      invalid.setByte(invalid.length() - 1, (byte) 0xff);
+      invalid.setByte(0, (byte) ~invalid.getByte(0));
+      verifier.submit(invalid, senders.get(i));
+    }
+    await()
+        .atMost(30, TimeUnit.SECONDS)
+        .until(
+            () ->
+                handledPackets.get() == SOURCE_COUNT
+                    && metricsSystem.getCounterValue(DROPPED, "invalid") == INVALID_PACKET_COUNT);
+
+    // replay the captured traffic, every copy is now a known duplicate
+    for (int replay = 0; replay < REPLAYS_PER_PACKET; replay++) {
+      for (int i = 0; i < SOURCE_COUNT; i++) {
+        assertThat(verifier.submit(pings.get(i).copy(), senders.get(i))).isFalse();
+      }
+    }
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> pongs.get() == SOURCE_COUNT);
+    assertThat(handledPackets.get()).isEqualTo(SOURCE_COUNT);
+    assertThat(metricsSystem.getCounterValue("discovery_packets_verified_total"))
+        .isEqualTo(SOURCE_COUNT);
+    assertThat(metricsSystem.getCounterValue(DROPPED, "duplicate"))
+        .isEqualTo((long) SOURCE_COUNT * REPLAYS_PER_PACKET);
+    assertThat(metricsSystem.getGaugeValue("discovery_verification_queue_size")).isZero();
+
+    // a single source flooding packets is cut off once its burst is spent
+    final Endpoint flooder = senders.get(0);
+    for (int i = 0; i < 10; i++) {
+      verifier.submit(pings.get(i).copy(), flooder);
+    }
+    assertThat(metricsSystem.getCounterValue(DROPPED, "rate_limited")).isPositive();
+  }
+
+  private static DiscoveryPeer toDiscoveryPeer(final Endpoint sender, final Packet packet) {
+    return DiscoveryPeer.fromEnode(
+        EnodeURL.builder()
+            .nodeId(packet.getNodeId())
+            .ipAddress(sender.getHost())
+            .listeningPort(sender.getUdpPort())
+            .discoveryPort(sender.getUdpPort())
+            .build());
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.hyperledger.besu.crypto.NodeKey;
+import org.hyperledger.besu.crypto.NodeKeyUtils;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.vertx.core.buffer.Buffer;
+import org.apache.tuweni.units.bigints.UInt64;
+import org.junit.After;
+import org.junit.Test;
+
+public class DiscoveryPacketVerifierTest {
+
+  private static final String DROPPED = "discovery_packets_dropped_total";
+  private static final Endpoint SENDER = new Endpoint("10.0.0.1", 30303, Optional.empty());
+  private static final Endpoint RECIPIENT = new Endpoint("10.0.0.2", 30303, Optional.empty());
+
+  private final NodeKey nodeKey = NodeKeyUtils.generate();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final List<Packet> delivered = new CopyOnWriteArrayList<>();
+  private DiscoveryPacketVerifier verifier;
+
+  @After
+  public void tearDown() {
+    if (verifier != null) {
+      verifier.stop();
+    }
+  }
+
+  @Test
+  public void shouldDeliverVerifiedPackets() {
+    verifier = createVerifier(16, 4, 100, 100);
+    verifier.start();
+
+    for (int i = 1; i <= 10; i++) {
+      assertThat(verifier.submit(createPing(i), SENDER)).isTrue();
+    }
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 10);
+    assertThat(metricsSystem.getCounterValue("discovery_packets_verified_total")).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldDropDuplicatesOfVerifiedPacketsBeforeQueueing() {
+    verifier = createVerifier(16, 4, 100, 100);
+    verifier.start();
+    final Buffer ping = createPing(1);
+
+    assertThat(verifier.submit(ping, SENDER)).isTrue();
+    await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 1);
+
+    assertThat(verifier.submit(ping.copy(), SENDER)).isFalse();
+    assertThat(metricsSystem.getCounterValue(DROPPED, "duplicate")).isEqualTo(1);
+    assertThat(verifier.getQueueSize()).isZero();
+  }
+
+  @Test
+  public void shouldRateLimitEachSourceIp() {
+    verifier = createVerifier(16, 4, 0.001, 3);
+
+    for (int i = 1; i <= 3; i++) {
+      assertThat(verifier.submit(createPing(i), SENDER)).isTrue();
+    }
+    assertThat(verifier.submit(createPing(4), SENDER)).isFalse();
+    assertThat(verifier.submit(createPing(4), RECIPIENT)).isTrue();
+
+    assertThat(metricsSystem.getCounterValue(DROPPED, "rate_limited")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDropPacketsWhenQueueIsFull() {
+    verifier = createVerifier(2, 4, 100, 100);
+
+    assertThat(verifier.submit(createPing(1), SENDER)).isTrue();
+    assertThat(verifier.submit(createPing(2), SENDER)).isTrue();
+    assertThat(verifier.submit(createPing(3), SENDER)).isFalse();
+
+    assertThat(metricsSystem.getGaugeValue("discovery_verification_queue_size")).isEqualTo(2);
+    assertThat(metricsSystem.getCounterValue(DROPPED, "queue_full")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDropPacketsThatFailVerification() {
+    verifier = createVerifier(16, 4, 100, 100);
+    verifier.start();
+    final Buffer corrupted = createPing(1);
+    corrupted.setByte(
+        corrupted.length() - 1, (byte) (corrupted.getByte(corrupted.length() - 1) ^ 1));
+
+    assertThat(verifier.submit(corrupted, SENDER)).isTrue();
+    assertThat(verifier.submit(createPing(2), SENDER)).isTrue();
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 1);
+    assertThat(metricsSystem.getCounterValue(DROPPED, "invalid")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepVerifyingWhenDeliveryFails() {
+    final AtomicBoolean failDelivery = new AtomicBoolean(true);
+    verifier =
+        new DiscoveryPacketVerifier(
+            metricsSystem,
+            task -> {
+              if (failDelivery.getAndSet(false)) {
+                throw new RejectedExecutionException("Delivery executor is shut down");
+              }
+              task.run();
+            },
+            (sender, packet) -> delivered.add(packet),
+            16,
+            1,
+            1,
+            100,
+            100);
+    verifier.start();
+
+    assertThat(verifier.submit(createPing(1), SENDER)).isTrue();
+    await().atMost(5, TimeUnit.SECONDS).until(() -> !failDelivery.get());
+    assertThat(verifier.submit(createPing(2), SENDER)).isTrue();
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 1);
+  }
+
+  private DiscoveryPacketVerifier createVerifier(
+      final int queueCapacity,
+      final int batchSize,
+      final double packetsPerSecondPerIp,
+      final int burstPerIp) {
+    return new DiscoveryPacketVerifier(
+        metricsSystem,
+        Runnable::run,
+        (sender, packet) -> delivered.add(packet),
+        queueCapacity,
+        batchSize,
+        1,
+        packetsPerSecondPerIp,
+        burstPerIp);
+  }
+
+  private Buffer createPing(final long enrSeq) {
+    return Packet.create(
+            PacketType.PING,
+            PingPacketData.create(SENDER, RECIPIENT, UInt64.valueOf(enrSeq)),
+            nodeKey)
+        .encode();
+  }
+}
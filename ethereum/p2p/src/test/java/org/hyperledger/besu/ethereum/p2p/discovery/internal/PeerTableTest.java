@@ -14,11 +14,15 @@
  */
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.AddOutcome;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResult;
@@ -26,10 +30,12 @@ import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResul
 import org.hyperledger.besu.ethereum.p2p.peers.EnodeURL;
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.junit.Test;
 
 public class PeerTableTest {
@@ -175,4 +181,57 @@ public class PeerTableTest {
     final EvictResult evictResult = table.tryEvict(peer);
     assertThat(evictResult.getOutcome()).isEqualTo(EvictOutcome.SELF);
   }
+
+  @Test
+  public void nearestPeersShouldMatchFullTableOrdering() {
+    final Bytes localId = Peer.randomId();
+    final PeerTable table = new PeerTable(localId, 64);
+    for (int i = 0; i < 1000; i++) {
+      final DiscoveryPeer peer =
+          DiscoveryPeer.fromIdAndEndpoint(
+              Peer.randomId(), new Endpoint("10.0.0.1", 30303, Optional.empty()));
+      if (i % 5 != 0) {
+        peer.setStatus(PeerDiscoveryStatus.BONDED);
+      }
+      table.tryAdd(peer);
+    }
+
+    final List<Bytes> targets = new ArrayList<>();
+    targets.add(localId);
+    table.streamAllPeers().limit(20).map(DiscoveryPeer::getId).forEach(targets::add);
+    for (int i = 0; i < 50; i++) {
+      targets.add(Peer.randomId());
+    }
+
+    for (final Bytes target : targets) {
+      for (final int limit : new int[] {1, 16, 100, 2000}) {
+        assertThat(table.nearestPeers(target, limit))
+            .containsExactlyElementsOf(fullTableNearestPeers(table, target, limit));
+      }
+    }
+  }
+
+  @Test
+  public void nearestPeersShouldSkipPeersThatAreNotBonded() {
+    final PeerTable table = new PeerTable(Peer.randomId(), 16);
+    final DiscoveryPeer bonded = helper.createDiscoveryPeer();
+    bonded.setStatus(PeerDiscoveryStatus.BONDED);
+    table.tryAdd(bonded);
+    table.tryAdd(helper.createDiscoveryPeer());
+
+    assertThat(table.nearestPeers(Peer.randomId(), 16)).containsExactly(bonded);
+  }
+
+  private static List<DiscoveryPeer> fullTableNearestPeers(
+      final PeerTable table, final Bytes target, final int limit) {
+    final Bytes32 targetKeccak256 = Hash.keccak256(target);
+    return table
+        .streamAllPeers()
+        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+        .sorted(
+            comparingInt(
+                peer -> PeerDistanceCalculator.distance(peer.keccak256(), targetKeccak256)))
+        .limit(limit)
+        .collect(toList());
+  }
 }
@@ -23,6 +23,7 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -32,6 +33,7 @@ public abstract class AbstractNodeSmartContractPermissioningController
 
   protected final Address contractAddress;
   protected final TransactionSimulator transactionSimulator;
+  private final Optional<PermissioningDecisionCache<List<EnodeURL>>> decisionCache;
 
   private final Counter checkCounter;
   private final Counter checkCounterPermitted;
@@ -48,8 +50,26 @@ public abstract class AbstractNodeSmartContractPermissioningController
       final Address contractAddress,
       final TransactionSimulator transactionSimulator,
       final MetricsSystem metricsSystem) {
+    this(contractAddress, transactionSimulator, metricsSystem, Optional.empty());
+  }
+
+  /**
+   * Creates a permissioning controller attached to a blockchain
+   *
+   * @param contractAddress The address at which the permissioning smart contract resides
+   * @param transactionSimulator A transaction simulator with attached blockchain and world state
+   * @param metricsSystem The metrics provider that is to be reported to
+   * @param decisionCache The cache of decisions made at the chain head, keyed by the source and
+   *     destination enode
+   */
+  protected AbstractNodeSmartContractPermissioningController(
+      final Address contractAddress,
+      final TransactionSimulator transactionSimulator,
+      final MetricsSystem metricsSystem,
+      final Optional<PermissioningDecisionCache<List<EnodeURL>>> decisionCache) {
     this.contractAddress = contractAddress;
     this.transactionSimulator = transactionSimulator;
+    this.decisionCache = decisionCache;
 
     this.checkCounter =
         metricsSystem.createCounter(
@@ -79,11 +99,16 @@ public abstract class AbstractNodeSmartContractPermissioningController
   public boolean isPermitted(final EnodeURL sourceEnode, final EnodeURL destinationEnode) {
     this.checkCounter.inc();
 
-    if (!isContractDeployed()) {
-      throw new IllegalStateException("Permissioning contract does not exist");
-    }
+    final boolean permitted =
+        decisionCache
+            .map(
+                cache ->
+                    cache.isPermitted(
+                        List.of(sourceEnode, destinationEnode),
+                        () -> simulate(sourceEnode, destinationEnode)))
+            .orElseGet(() -> simulate(sourceEnode, destinationEnode));
 
-    if (checkSmartContractRules(sourceEnode, destinationEnode)) {
+    if (permitted) {
       this.checkCounterPermitted.inc();
       return true;
     } else {
@@ -92,6 +117,13 @@ public abstract class AbstractNodeSmartContractPermissioningController
     }
   }
 
+  private boolean simulate(final EnodeURL sourceEnode, final EnodeURL destinationEnode) {
+    if (!isContractDeployed()) {
+      throw new IllegalStateException("Permissioning contract does not exist");
+    }
+    return checkSmartContractRules(sourceEnode, destinationEnode);
+  }
+
   private boolean isContractDeployed() {
     final Optional<Boolean> contractExists =
         transactionSimulator.doesAddressExistAtHead(contractAddress);
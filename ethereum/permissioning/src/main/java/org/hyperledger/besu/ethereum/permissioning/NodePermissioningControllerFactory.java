@@ -70,7 +70,7 @@ public class NodePermissioningControllerFactory {
             .isSmartContractNodeAllowlistEnabled()) {
 
       configureNodePermissioningSmartContractProvider(
-          permissioningConfiguration, transactionSimulator, metricsSystem, providers);
+          permissioningConfiguration, transactionSimulator, metricsSystem, blockchain, providers);
 
       if (fixedNodes.isEmpty()) {
         syncStatusProviderOptional = Optional.empty();
@@ -117,26 +117,37 @@ public class NodePermissioningControllerFactory {
       final PermissioningConfiguration permissioningConfiguration,
       final TransactionSimulator transactionSimulator,
       final MetricsSystem metricsSystem,
+      final Blockchain blockchain,
       final List<NodePermissioningProvider> providers) {
     final SmartContractPermissioningConfiguration smartContractPermissioningConfig =
         permissioningConfiguration.getSmartContractConfig().get();
     final Address nodePermissioningSmartContractAddress =
         smartContractPermissioningConfig.getNodeSmartContractAddress();
 
+    final Optional<PermissioningDecisionCache<List<EnodeURL>>> decisionCache =
+        Optional.of(
+            PermissioningDecisionCache.create(blockchain, "node_smart_contract", metricsSystem));
+
     final NodePermissioningProvider smartContractProvider;
     switch (smartContractPermissioningConfig.getNodeSmartContractInterfaceVersion()) {
       case 1:
         {
           smartContractProvider =
               new NodeSmartContractPermissioningController(
-                  nodePermissioningSmartContractAddress, transactionSimulator, metricsSystem);
+                  nodePermissioningSmartContractAddress,
+                  transactionSimulator,
+                  metricsSystem,
+                  decisionCache);
           break;
         }
       case 2:
         {
           smartContractProvider =
               new NodeSmartContractV2PermissioningController(
-                  nodePermissioningSmartContractAddress, transactionSimulator, metricsSystem);
+                  nodePermissioningSmartContractAddress,
+                  transactionSimulator,
+                  metricsSystem,
+                  decisionCache);
           break;
         }
       default:
@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.net.InetAddress;
+import java.util.List;
 import java.util.Optional;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -62,6 +63,14 @@ public class NodeSmartContractPermissioningController
     super(contractAddress, transactionSimulator, metricsSystem);
   }
 
+  public NodeSmartContractPermissioningController(
+      final Address contractAddress,
+      final TransactionSimulator transactionSimulator,
+      final MetricsSystem metricsSystem,
+      final Optional<PermissioningDecisionCache<List<EnodeURL>>> decisionCache) {
+    super(contractAddress, transactionSimulator, metricsSystem, decisionCache);
+  }
+
   @Override
   boolean checkSmartContractRules(final EnodeURL sourceEnode, final EnodeURL destinationEnode) {
     final Bytes payload = createPayload(sourceEnode, destinationEnode);
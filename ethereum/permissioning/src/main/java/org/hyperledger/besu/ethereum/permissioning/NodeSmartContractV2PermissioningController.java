@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.web3j.abi.FunctionEncoder;
@@ -47,6 +48,14 @@ public class NodeSmartContractV2PermissioningController
     super(contractAddress, transactionSimulator, metricsSystem);
   }
 
+  public NodeSmartContractV2PermissioningController(
+      final Address contractAddress,
+      final TransactionSimulator transactionSimulator,
+      final MetricsSystem metricsSystem,
+      final Optional<PermissioningDecisionCache<List<EnodeURL>>> decisionCache) {
+    super(contractAddress, transactionSimulator, metricsSystem, decisionCache);
+  }
+
   @Override
   boolean checkSmartContractRules(final EnodeURL sourceEnode, final EnodeURL destinationEnode) {
     return isPermitted(sourceEnode) && isPermitted(destinationEnode);
@@ -0,0 +1,123 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.permissioning;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Remembers the permissioning decisions made by a smart contract permissioning provider for the
+ * current chain head.
+ *
+ * <p>A decision is the result of simulating a call to the permissioning contract against the chain
+ * head, so it can only change when the head does. All decisions are discarded whenever a block
+ * becomes the new canonical head, and a decision which was being simulated while the head changed
+ * is not kept, as it may have been made against either head.
+ *
+ * @param <K> the type of the value identifying what is being permitted
+ */
+public class PermissioningDecisionCache<K> {
+
+  static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  private final Cache<K, Boolean> decisions;
+  private final AtomicLong chainHeadGeneration = new AtomicLong();
+  private final OperationTimer simulationTimer;
+
+  /**
+   * Creates a decision cache.
+   *
+   * @param maximumSize the maximum number of decisions to keep
+   * @param metricsPrefix the prefix of the metric names, identifying the permissioning provider
+   * @param metricsSystem The metrics provider that is to be reported to
+   */
+  public PermissioningDecisionCache(
+      final long maximumSize, final String metricsPrefix, final MetricsSystem metricsSystem) {
+    this.decisions = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+
+    metricsSystem.createGauge(
+        BesuMetricCategory.PERMISSIONING,
+        metricsPrefix + "_decision_cache_hit_ratio",
+        "Ratio of permissioning checks answered from decisions already made at the chain head",
+        () -> decisions.stats().hitRate());
+    this.simulationTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.PERMISSIONING,
+            metricsPrefix + "_simulation_duration_seconds",
+            "Time taken to simulate permissioning smart contract calls for uncached decisions");
+  }
+
+  /**
+   * Creates a decision cache which is invalidated whenever the chain head changes.
+   *
+   * @param blockchain the blockchain whose head the decisions are made against
+   * @param metricsPrefix the prefix of the metric names, identifying the permissioning provider
+   * @param metricsSystem The metrics provider that is to be reported to
+   * @param <K> the type of the value identifying what is being permitted
+   * @return the decision cache
+   */
+  public static <K> PermissioningDecisionCache<K> create(
+      final Blockchain blockchain, final String metricsPrefix, final MetricsSystem metricsSystem) {
+    final PermissioningDecisionCache<K> cache =
+        new PermissioningDecisionCache<>(DEFAULT_MAXIMUM_SIZE, metricsPrefix, metricsSystem);
+    blockchain.observeBlockAdded(
+        event -> {
+          if (event.isNewCanonicalHead()) {
+            cache.onChainHeadChanged();
+          }
+        });
+    return cache;
+  }
+
+  /**
+   * Returns the decision for the given key, simulating it if it has not been made at the current
+   * chain head. Decisions which fail with an exception are not cached.
+   *
+   * @param key the value identifying what is being permitted
+   * @param simulation makes the decision against the current chain head
+   * @return whether the key is permitted
+   */
+  public boolean isPermitted(final K key, final BooleanSupplier simulation) {
+    final Boolean cachedDecision = decisions.getIfPresent(key);
+    if (cachedDecision != null) {
+      return cachedDecision;
+    }
+
+    final long generation = chainHeadGeneration.get();
+    final boolean permitted;
+    try (final OperationTimer.TimingContext ignored = simulationTimer.startTimer()) {
+      permitted = simulation.getAsBoolean();
+    }
+    decisions.put(key, permitted);
+    // the head may have changed while simulating, in which case the decision may be stale
+    if (chainHeadGeneration.get() != generation) {
+      decisions.invalidate(key);
+    }
+    return permitted;
+  }
+
+  void onChainHeadChanged() {
+    chainHeadGeneration.incrementAndGet();
+    decisions.invalidateAll();
+  }
+}
@@ -33,6 +33,7 @@ import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 
 /**
  * Controller that can read from a smart contract that exposes the permissioning call
@@ -45,6 +46,7 @@ public class TransactionSmartContractPermissioningController
 
   private final Address contractAddress;
   private final TransactionSimulator transactionSimulator;
+  private final Optional<PermissioningDecisionCache<Bytes32>> decisionCache;
 
   // full function signature for connection allowed call
   private static final String FUNCTION_SIGNATURE =
@@ -78,8 +80,26 @@ public class TransactionSmartContractPermissioningController
       final Address contractAddress,
       final TransactionSimulator transactionSimulator,
       final MetricsSystem metricsSystem) {
+    this(contractAddress, transactionSimulator, metricsSystem, Optional.empty());
+  }
+
+  /**
+   * Creates a permissioning controller attached to a blockchain
+   *
+   * @param contractAddress The address at which the permissioning smart contract resides
+   * @param transactionSimulator A transaction simulator with attached blockchain and world state
+   * @param metricsSystem The metrics provider that is to be reported to
+   * @param decisionCache The cache of decisions made at the chain head, keyed by the hash of the
+   *     contract call payload
+   */
+  public TransactionSmartContractPermissioningController(
+      final Address contractAddress,
+      final TransactionSimulator transactionSimulator,
+      final MetricsSystem metricsSystem,
+      final Optional<PermissioningDecisionCache<Bytes32>> decisionCache) {
     this.contractAddress = contractAddress;
     this.transactionSimulator = transactionSimulator;
+    this.decisionCache = decisionCache;
 
     this.checkCounter =
         metricsSystem.createCounter(
@@ -113,6 +133,30 @@ public class TransactionSmartContractPermissioningController
 
     this.checkCounter.inc();
     final Bytes payload = createPayload(transaction);
+    // the payload holds every transaction field the contract is given
+    final boolean permitted =
+        decisionCache
+            .map(cache -> cache.isPermitted(Hash.keccak256(payload), () -> simulate(payload)))
+            .orElseGet(() -> simulate(payload));
+
+    if (permitted) {
+      this.checkCounterPermitted.inc();
+      LOG.trace(
+          "Account permissioning - Smart Contract: Permitted transaction {} from {}",
+          transactionHash,
+          sender);
+      return true;
+    } else {
+      this.checkCounterUnpermitted.inc();
+      LOG.trace(
+          "Account permissioning - Smart Contract: Rejected transaction {} from {}",
+          transactionHash,
+          sender);
+      return false;
+    }
+  }
+
+  private boolean simulate(final Bytes payload) {
     final CallParameter callParams =
         new CallParameter(null, contractAddress, -1, null, null, payload);
 
@@ -120,7 +164,6 @@ public class TransactionSmartContractPermissioningController
         transactionSimulator.doesAddressExistAtHead(contractAddress);
 
     if (contractExists.isPresent() && !contractExists.get()) {
-      this.checkCounterPermitted.inc();
       LOG.warn(
           "Account permissioning smart contract not found at address {} in current head block. Any transaction will be allowed.",
           contractAddress);
@@ -143,21 +186,7 @@ public class TransactionSmartContractPermissioningController
       }
     }
 
-    if (result.map(r -> checkTransactionResult(r.getOutput())).orElse(false)) {
-      this.checkCounterPermitted.inc();
-      LOG.trace(
-          "Account permissioning - Smart Contract: Permitted transaction {} from {}",
-          transactionHash,
-          sender);
-      return true;
-    } else {
-      this.checkCounterUnpermitted.inc();
-      LOG.trace(
-          "Account permissioning - Smart Contract: Rejected transaction {} from {}",
-          transactionHash,
-          sender);
-      return false;
-    }
+    return result.map(r -> checkTransactionResult(r.getOutput())).orElse(false);
   }
 
   // Checks the returned bytes from the permissioning contract call to see if it's a value we
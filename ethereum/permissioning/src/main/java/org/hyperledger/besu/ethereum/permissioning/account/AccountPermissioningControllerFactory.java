@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.permissioning.AccountLocalConfigPermissioningController;
 import org.hyperledger.besu.ethereum.permissioning.LocalPermissioningConfiguration;
 import org.hyperledger.besu.ethereum.permissioning.PermissioningConfiguration;
+import org.hyperledger.besu.ethereum.permissioning.PermissioningDecisionCache;
 import org.hyperledger.besu.ethereum.permissioning.QuorumQip714Gate;
 import org.hyperledger.besu.ethereum.permissioning.SmartContractPermissioningConfiguration;
 import org.hyperledger.besu.ethereum.permissioning.TransactionSmartContractPermissioningController;
@@ -56,7 +57,7 @@ public class AccountPermissioningControllerFactory {
     final Optional<TransactionSmartContractPermissioningController>
         transactionSmartContractPermissioningController =
             buildSmartContractPermissioningController(
-                permissioningConfiguration, transactionSimulator, metricsSystem);
+                permissioningConfiguration, transactionSimulator, metricsSystem, blockchain);
 
     if (accountLocalConfigPermissioningController.isPresent()
         || transactionSmartContractPermissioningController.isPresent()) {
@@ -90,7 +91,8 @@ public class AccountPermissioningControllerFactory {
       buildSmartContractPermissioningController(
           final PermissioningConfiguration permissioningConfiguration,
           final TransactionSimulator transactionSimulator,
-          final MetricsSystem metricsSystem) {
+          final MetricsSystem metricsSystem,
+          final Blockchain blockchain) {
 
     if (permissioningConfiguration.getSmartContractConfig().isPresent()) {
       final SmartContractPermissioningConfiguration smartContractPermissioningConfiguration =
@@ -104,7 +106,12 @@ public class AccountPermissioningControllerFactory {
             transactionSmartContractPermissioningController =
                 Optional.of(
                     new TransactionSmartContractPermissioningController(
-                        accountSmartContractAddress, transactionSimulator, metricsSystem));
+                        accountSmartContractAddress,
+                        transactionSimulator,
+                        metricsSystem,
+                        Optional.of(
+                            PermissioningDecisionCache.create(
+                                blockchain, "transaction_smart_contract", metricsSystem))));
         validatePermissioningContract(transactionSmartContractPermissioningController.get());
 
         return transactionSmartContractPermissioningController;
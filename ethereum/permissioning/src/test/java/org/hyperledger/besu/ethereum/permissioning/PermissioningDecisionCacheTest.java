@@ -0,0 +1,125 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.permissioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PermissioningDecisionCacheTest {
+
+  private final BlockDataGenerator blockDataGenerator = new BlockDataGenerator();
+  private final PermissioningDecisionCache<String> cache =
+      new PermissioningDecisionCache<>(100, "test", new NoOpMetricsSystem());
+  private final AtomicInteger simulations = new AtomicInteger();
+
+  @Test
+  public void decisionIsSimulatedOncePerChainHead() {
+    assertThat(cache.isPermitted("sender", this::permit)).isTrue();
+    assertThat(cache.isPermitted("sender", this::permit)).isTrue();
+    assertThat(simulations).hasValue(1);
+
+    cache.onChainHeadChanged();
+
+    assertThat(cache.isPermitted("sender", this::permit)).isTrue();
+    assertThat(simulations).hasValue(2);
+  }
+
+  @Test
+  public void decisionsAreCachedPerKey() {
+    assertThat(cache.isPermitted("permitted", this::permit)).isTrue();
+    assertThat(cache.isPermitted("rejected", this::reject)).isFalse();
+    assertThat(cache.isPermitted("permitted", this::reject)).isTrue();
+    assertThat(cache.isPermitted("rejected", this::permit)).isFalse();
+    assertThat(simulations).hasValue(2);
+  }
+
+  @Test
+  public void failedSimulationIsNotCached() {
+    assertThatIllegalStateException()
+        .isThrownBy(
+            () ->
+                cache.isPermitted(
+                    "sender",
+                    () -> {
+                      throw new IllegalStateException("contract call failed");
+                    }));
+
+    assertThat(cache.isPermitted("sender", this::permit)).isTrue();
+    assertThat(simulations).hasValue(1);
+  }
+
+  @Test
+  public void decisionMadeWhileChainHeadChangedIsNotCached() {
+    assertThat(
+            cache.isPermitted(
+                "sender",
+                () -> {
+                  cache.onChainHeadChanged();
+                  return reject();
+                }))
+        .isFalse();
+
+    assertThat(cache.isPermitted("sender", this::permit)).isTrue();
+  }
+
+  @Test
+  public void onlyNewCanonicalHeadsInvalidateDecisions() {
+    final Blockchain blockchain = mock(Blockchain.class);
+    final PermissioningDecisionCache<String> observingCache =
+        PermissioningDecisionCache.create(blockchain, "test", new NoOpMetricsSystem());
+    final ArgumentCaptor<BlockAddedObserver> observer =
+        ArgumentCaptor.forClass(BlockAddedObserver.class);
+    verify(blockchain).observeBlockAdded(observer.capture());
+
+    assertThat(observingCache.isPermitted("sender", this::permit)).isTrue();
+
+    final Block fork = blockDataGenerator.block();
+    observer.getValue().onBlockAdded(BlockAddedEvent.createForFork(fork));
+    assertThat(observingCache.isPermitted("sender", this::reject)).isTrue();
+
+    final Block head = blockDataGenerator.block();
+    observer
+        .getValue()
+        .onBlockAdded(
+            BlockAddedEvent.createForHeadAdvancement(
+                head, Collections.emptyList(), Collections.emptyList()));
+    assertThat(observingCache.isPermitted("sender", this::reject)).isFalse();
+  }
+
+  private boolean permit() {
+    simulations.incrementAndGet();
+    return true;
+  }
+
+  private boolean reject() {
+    simulations.incrementAndGet();
+    return false;
+  }
+}
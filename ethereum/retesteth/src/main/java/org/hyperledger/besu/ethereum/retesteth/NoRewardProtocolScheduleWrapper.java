@@ -20,6 +20,7 @@ import org.hyperledger.besu.ethereum.core.BlockImporter;
 import org.hyperledger.besu.ethereum.core.TransactionFilter;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.fees.TransactionGasBudgetCalculator;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingProfiler;
 import org.hyperledger.besu.ethereum.mainnet.BlockProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockImporter;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockProcessor;
@@ -97,4 +98,14 @@ public class NoRewardProtocolScheduleWrapper implements ProtocolSchedule {
       final WorldStateArchive publicWorldStateArchive) {
     delegate.setPublicWorldStateArchiveForPrivacyBlockProcessor(publicWorldStateArchive);
   }
+
+  @Override
+  public void setBlockProcessingProfiler(final BlockProcessingProfiler blockProcessingProfiler) {
+    delegate.setBlockProcessingProfiler(blockProcessingProfiler);
+  }
+
+  @Override
+  public BlockProcessingProfiler getBlockProcessingProfiler() {
+    return delegate.getBlockProcessingProfiler();
+  }
 }
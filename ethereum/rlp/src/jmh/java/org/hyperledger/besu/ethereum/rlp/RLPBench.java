@@ -50,6 +50,19 @@ public class RLPBench {
     return l;
   }
 
+  @SuppressWarnings("unchecked")
+  private static void encode(final Object obj, final RLPOutput out) {
+    if (obj instanceof Bytes) {
+      out.writeBytes((Bytes) obj);
+    } else {
+      out.startList();
+      for (final Object o : (List<Object>) obj) {
+        encode(o, out);
+      }
+      out.endList();
+    }
+  }
+
   @Param({"1", "3", "8"})
   public int depth;
 
@@ -73,6 +86,13 @@ public class RLPBench {
     return RLPTestUtil.encode(toEncode);
   }
 
+  @Benchmark
+  public Bytes getBenchmarkStreamingEncoding() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    encode(toEncode, out);
+    return out.encoded();
+  }
+
   @Benchmark
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
@@ -103,7 +103,7 @@ public abstract class RLP {
    * @return The RLP encoding of the data written by {@code writer}.
    */
   public static Bytes encode(final Consumer<RLPOutput> writer) {
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    final StreamingRLPOutput out = new StreamingRLPOutput();
     writer.accept(out);
     return out.encoded();
   }
@@ -0,0 +1,136 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
+
+/**
+ * An {@link RLPOutput} that encodes values directly into a growable buffer as they are written.
+ *
+ * <p>Unlike {@link BytesValueRLPOutput}, which records every written value and only encodes them
+ * once the output is complete, this output writes each element as soon as it is added. As the size
+ * of a list isn't known until it is closed, a single byte is reserved for the list header when the
+ * list is started and the header is written in place when the list ends. Lists whose payload is
+ * longer than 55 bytes need a longer header, in which case the payload is moved along to make room
+ * for it.
+ */
+public class StreamingRLPOutput implements RLPOutput {
+  private static final int DEFAULT_INITIAL_CAPACITY = 256;
+
+  private byte[] buffer;
+  private MutableBytes bufferView;
+  private int position;
+
+  // Offsets of the reserved header byte of every currently open list.
+  private int[] listStarts = new int[8];
+  private int depth;
+
+  public StreamingRLPOutput() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public StreamingRLPOutput(final int initialCapacity) {
+    buffer = new byte[Math.max(1, initialCapacity)];
+    bufferView = MutableBytes.wrap(buffer);
+  }
+
+  @Override
+  public void writeBytes(final Bytes v) {
+    checkNotTerminated();
+    ensureCapacity(RLPEncodingHelpers.elementSize(v));
+    position = RLPEncodingHelpers.writeElement(v, bufferView, position);
+  }
+
+  @Override
+  public void writeRaw(final Bytes v) {
+    checkNotTerminated();
+    ensureCapacity(v.size());
+    v.copyTo(bufferView, position);
+    position += v.size();
+  }
+
+  @Override
+  public void startList() {
+    if (depth == listStarts.length) {
+      listStarts = Arrays.copyOf(listStarts, (listStarts.length * 3) / 2);
+    }
+    listStarts[depth++] = position;
+    ensureCapacity(1);
+    position++;
+  }
+
+  @Override
+  public void endList() {
+    checkState(depth > 0, "LeaveList() called with no prior matching startList()");
+
+    final int listStart = listStarts[--depth];
+    final int payloadStart = listStart + 1;
+    final int payloadSize = position - payloadStart;
+    final int extraHeaderSize = RLPEncodingHelpers.listSize(payloadSize) - payloadSize - 1;
+    if (extraHeaderSize > 0) {
+      ensureCapacity(extraHeaderSize);
+      System.arraycopy(buffer, payloadStart, buffer, payloadStart + extraHeaderSize, payloadSize);
+      position += extraHeaderSize;
+    }
+    RLPEncodingHelpers.writeListHeader(payloadSize, bufferView, listStart);
+  }
+
+  /**
+   * The size of the encoded data.
+   *
+   * @return The size of the RLP-encoded data written to this output.
+   * @throws IllegalStateException if some opened list haven't been closed (the output is not valid
+   *     as is).
+   */
+  public int encodedSize() {
+    checkState(depth == 0, "A list has been entered (startList()) but not left (endList())");
+    return position;
+  }
+
+  /**
+   * The encoded data.
+   *
+   * <p>The returned value shares the buffer of this output, which can't be modified further once a
+   * complete item has been written.
+   *
+   * @return A value containing the data written to this output RLP-encoded.
+   * @throws IllegalStateException if some opened list haven't been closed (the output is not valid
+   *     as is).
+   */
+  public Bytes encoded() {
+    final int size = encodedSize();
+    if (size == 0) {
+      return Bytes.EMPTY;
+    }
+    return Bytes.wrap(buffer, 0, size);
+  }
+
+  private void checkNotTerminated() {
+    checkState(depth > 0 || position == 0, "Terminated RLP output, cannot add more elements");
+  }
+
+  private void ensureCapacity(final int additional) {
+    final int required = position + additional;
+    if (required > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+      bufferView = MutableBytes.wrap(buffer);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class StreamingRLPOutputTest {
+
+  private static final Bytes SHORT_VALUE = Bytes.fromHexString("0x0102030405");
+  private static final Bytes LONG_VALUE = Bytes.wrap(new byte[300]);
+
+  @Test
+  public void empty() {
+    assertThat(new StreamingRLPOutput().encoded()).isEqualTo(Bytes.EMPTY);
+  }
+
+  @Test
+  public void singleElements() {
+    assertSameEncoding(out -> out.writeBytes(Bytes.EMPTY));
+    assertSameEncoding(out -> out.writeByte((byte) 0x7f));
+    assertSameEncoding(out -> out.writeBytes(SHORT_VALUE));
+    assertSameEncoding(out -> out.writeBytes(LONG_VALUE));
+  }
+
+  @Test
+  public void emptyList() {
+    assertSameEncoding(
+        out -> {
+          out.startList();
+          out.endList();
+        });
+  }
+
+  @Test
+  public void shortList() {
+    assertSameEncoding(
+        out -> {
+          out.startList();
+          out.writeBytes(SHORT_VALUE);
+          out.writeLongScalar(1234);
+          out.endList();
+        });
+  }
+
+  @Test
+  public void longListIsMovedToFitItsHeader() {
+    assertSameEncoding(
+        out -> {
+          out.startList();
+          for (int i = 0; i < 20; i++) {
+            out.writeBytes(SHORT_VALUE);
+          }
+          out.endList();
+        });
+    assertSameEncoding(
+        out -> {
+          out.startList();
+          out.writeBytes(LONG_VALUE);
+          out.endList();
+        });
+  }
+
+  @Test
+  public void nestedLongLists() {
+    assertSameEncoding(
+        out -> {
+          out.startList();
+          for (int i = 0; i < 10; i++) {
+            out.startList();
+            out.writeBytes(SHORT_VALUE);
+            out.startList();
+            for (int j = 0; j < i * 10; j++) {
+              out.writeIntScalar(j);
+            }
+            out.endList();
+            out.writeBytes(LONG_VALUE);
+            out.endList();
+          }
+          out.endList();
+        });
+  }
+
+  @Test
+  public void rawValues() {
+    final Bytes raw =
+        RLP.encode(out -> out.writeList(List.of(1, 2, 3), (v, o) -> o.writeIntScalar(v)));
+    assertSameEncoding(
+        out -> {
+          out.startList();
+          out.writeRaw(raw);
+          out.writeBytes(SHORT_VALUE);
+          out.endList();
+        });
+  }
+
+  @Test
+  public void listAfterTopLevelRawValue() {
+    // typed transaction receipts are written as a raw type byte followed by a list
+    assertSameEncoding(
+        out -> {
+          out.writeRaw(Bytes.of(0x03));
+          out.startList();
+          out.writeByte((byte) 0x05);
+          out.endList();
+        });
+  }
+
+  @Test
+  public void growsFromSmallInitialCapacity() {
+    final StreamingRLPOutput out = new StreamingRLPOutput(1);
+    out.startList();
+    out.writeBytes(LONG_VALUE);
+    out.writeBytes(LONG_VALUE);
+    out.endList();
+
+    final BytesValueRLPOutput expected = new BytesValueRLPOutput();
+    expected.startList();
+    expected.writeBytes(LONG_VALUE);
+    expected.writeBytes(LONG_VALUE);
+    expected.endList();
+    assertThat(out.encoded()).isEqualTo(expected.encoded());
+    assertThat(out.encodedSize()).isEqualTo(expected.encodedSize());
+  }
+
+  @Test
+  public void cannotWriteAfterCompleteItem() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+    out.endList();
+
+    assertThatThrownBy(() -> out.writeBytes(SHORT_VALUE)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void cannotEncodeUnclosedList() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+
+    assertThatThrownBy(out::encoded).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static void assertSameEncoding(final Consumer<RLPOutput> writer) {
+    final BytesValueRLPOutput expected = new BytesValueRLPOutput();
+    writer.accept(expected);
+    final StreamingRLPOutput actual = new StreamingRLPOutput();
+    writer.accept(actual);
+
+    assertThat(actual.encoded()).isEqualTo(expected.encoded());
+  }
+}
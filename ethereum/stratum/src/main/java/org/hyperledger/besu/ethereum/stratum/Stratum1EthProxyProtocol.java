@@ -49,17 +49,26 @@ public class Stratum1EthProxyProtocol implements StratumProtocol {
   private static final JsonMapper mapper = new JsonMapper();
 
   private final MiningCoordinator miningCoordinator;
-  private EthHashSolverInputs currentInput;
-  private Function<EthHashSolution, Boolean> submitCallback;
+  private volatile EthHashSolverInputs currentInput;
+  // the eth_getWork result for the current job, computed once and shared by all connections
+  private volatile String[] currentWork;
+  private volatile Function<EthHashSolution, Boolean> submitCallback;
   private final EpochCalculator epochCalculator;
+  private final StratumShareValidator shareValidator;
 
   public Stratum1EthProxyProtocol(final MiningCoordinator miningCoordinator) {
+    this(miningCoordinator, StratumShareValidator.direct());
+  }
+
+  Stratum1EthProxyProtocol(
+      final MiningCoordinator miningCoordinator, final StratumShareValidator shareValidator) {
     if (!(miningCoordinator instanceof EthHashMiningCoordinator)) {
       throw new IllegalArgumentException(
           "Stratum1 Proxies require an EthHashMiningCoordinator not "
               + ((miningCoordinator == null) ? "null" : miningCoordinator.getClass().getName()));
     }
     this.miningCoordinator = miningCoordinator;
+    this.shareValidator = shareValidator;
     this.epochCalculator = ((EthHashMiningCoordinator) miningCoordinator).getEpochCalculator();
   }
 
@@ -90,13 +99,7 @@ public class Stratum1EthProxyProtocol implements StratumProtocol {
   }
 
   private void sendNewWork(final StratumConnection conn, final Object id) {
-    byte[] dagSeed = DirectAcyclicGraphSeed.dagSeed(currentInput.getBlockNumber(), epochCalculator);
-    final String[] result = {
-      "0x" + BaseEncoding.base16().lowerCase().encode(currentInput.getPrePowHash()),
-      "0x" + BaseEncoding.base16().lowerCase().encode(dagSeed),
-      currentInput.getTarget().toHexString()
-    };
-    JsonRpcSuccessResponse req = new JsonRpcSuccessResponse(id, result);
+    JsonRpcSuccessResponse req = new JsonRpcSuccessResponse(id, currentWork);
     try {
       conn.send(mapper.writeValueAsString(req) + "\n");
     } catch (JsonProcessingException e) {
@@ -124,25 +127,46 @@ public class Stratum1EthProxyProtocol implements StratumProtocol {
     }
   }
 
-  private void handleMiningSubmit(final StratumConnection conn, final JsonRpcRequest req)
-      throws IOException {
+  private void handleMiningSubmit(final StratumConnection conn, final JsonRpcRequest req) {
     LOG.debug("Miner submitted solution {}", req);
-    boolean result = false;
+    final long receivedAt = System.nanoTime();
     final EthHashSolution solution =
         new EthHashSolution(
             Bytes.fromHexString(req.getRequiredParameter(0, String.class)).getLong(0),
             req.getRequiredParameter(2, Hash.class),
             Bytes.fromHexString(req.getRequiredParameter(1, String.class)).toArrayUnsafe());
     if (Arrays.equals(currentInput.getPrePowHash(), solution.getPowHash())) {
-      result = submitCallback.apply(solution);
+      shareValidator
+          .validate(solution, submitCallback)
+          .thenAccept(result -> respondToSubmit(conn, req, result, receivedAt));
+    } else {
+      respondToSubmit(conn, req, false, receivedAt);
     }
+  }
 
-    String response = mapper.writeValueAsString(new JsonRpcSuccessResponse(req.getId(), result));
-    conn.send(response + "\n");
+  private void respondToSubmit(
+      final StratumConnection conn,
+      final JsonRpcRequest req,
+      final boolean result,
+      final long receivedAt) {
+    try {
+      String response = mapper.writeValueAsString(new JsonRpcSuccessResponse(req.getId(), result));
+      conn.send(response + "\n");
+    } catch (JsonProcessingException e) {
+      LOG.debug(e.getMessage(), e);
+    }
+    conn.recordShare(result, System.nanoTime() - receivedAt);
   }
 
   @Override
   public void setCurrentWorkTask(final EthHashSolverInputs input) {
+    byte[] dagSeed = DirectAcyclicGraphSeed.dagSeed(input.getBlockNumber(), epochCalculator);
+    this.currentWork =
+        new String[] {
+          "0x" + BaseEncoding.base16().lowerCase().encode(input.getPrePowHash()),
+          "0x" + BaseEncoding.base16().lowerCase().encode(dagSeed),
+          input.getTarget().toHexString()
+        };
     this.currentInput = input;
   }
 
@@ -28,16 +28,18 @@ import org.hyperledger.besu.ethereum.mainnet.EthHashSolution;
 import org.hyperledger.besu.ethereum.mainnet.EthHashSolverInputs;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -60,14 +62,24 @@ public class Stratum1Protocol implements StratumProtocol {
 
   private final MiningCoordinator miningCoordinator;
   private final String extranonce;
-  private EthHashSolverInputs currentInput;
-  private Function<EthHashSolution, Boolean> submitCallback;
+  private volatile EthHashSolverInputs currentInput;
+  // the notification for the current job, encoded once and shared by all connections
+  private volatile Buffer currentNotification;
+  private volatile Function<EthHashSolution, Boolean> submitCallback;
   private final Supplier<String> jobIdSupplier;
   private final Supplier<String> subscriptionIdCreator;
-  private final List<StratumConnection> activeConnections = new ArrayList<>();
+  private final Set<StratumConnection> activeConnections = ConcurrentHashMap.newKeySet();
   private final EpochCalculator epochCalculator;
+  private final StratumShareValidator shareValidator;
 
   public Stratum1Protocol(final String extranonce, final MiningCoordinator miningCoordinator) {
+    this(extranonce, miningCoordinator, StratumShareValidator.direct());
+  }
+
+  Stratum1Protocol(
+      final String extranonce,
+      final MiningCoordinator miningCoordinator,
+      final StratumShareValidator shareValidator) {
     this(
         extranonce,
         miningCoordinator,
@@ -75,7 +87,8 @@ public class Stratum1Protocol implements StratumProtocol {
           Bytes timeValue = Bytes.minimalBytes(Instant.now().toEpochMilli());
           return timeValue.slice(timeValue.size() - 4, 4).toShortHexString();
         },
-        Stratum1Protocol::createSubscriptionID);
+        Stratum1Protocol::createSubscriptionID,
+        shareValidator);
   }
 
   Stratum1Protocol(
@@ -83,6 +96,20 @@ public class Stratum1Protocol implements StratumProtocol {
       final MiningCoordinator miningCoordinator,
       final Supplier<String> jobIdSupplier,
       final Supplier<String> subscriptionIdCreator) {
+    this(
+        extranonce,
+        miningCoordinator,
+        jobIdSupplier,
+        subscriptionIdCreator,
+        StratumShareValidator.direct());
+  }
+
+  Stratum1Protocol(
+      final String extranonce,
+      final MiningCoordinator miningCoordinator,
+      final Supplier<String> jobIdSupplier,
+      final Supplier<String> subscriptionIdCreator,
+      final StratumShareValidator shareValidator) {
     if (!(miningCoordinator instanceof EthHashMiningCoordinator)) {
       throw new IllegalArgumentException(
           "Stratum1 requires an EthHashMiningCoordinator not "
@@ -92,6 +119,7 @@ public class Stratum1Protocol implements StratumProtocol {
     this.miningCoordinator = miningCoordinator;
     this.jobIdSupplier = jobIdSupplier;
     this.subscriptionIdCreator = subscriptionIdCreator;
+    this.shareValidator = shareValidator;
     this.epochCalculator = ((EthHashMiningCoordinator) miningCoordinator).getEpochCalculator();
   }
 
@@ -131,27 +159,24 @@ public class Stratum1Protocol implements StratumProtocol {
 
   private void registerConnection(final StratumConnection conn) {
     activeConnections.add(conn);
-    if (currentInput != null) {
-      sendNewWork(conn);
+    final Buffer notification = currentNotification;
+    if (notification != null) {
+      conn.send(notification);
     }
   }
 
-  private void sendNewWork(final StratumConnection conn) {
-    byte[] dagSeed = DirectAcyclicGraphSeed.dagSeed(currentInput.getBlockNumber(), epochCalculator);
+  private Buffer encodeNewWork(final EthHashSolverInputs input) throws JsonProcessingException {
+    byte[] dagSeed = DirectAcyclicGraphSeed.dagSeed(input.getBlockNumber(), epochCalculator);
     Object[] params =
         new Object[] {
           jobIdSupplier.get(),
-          Bytes.wrap(currentInput.getPrePowHash()).toHexString(),
+          Bytes.wrap(input.getPrePowHash()).toHexString(),
           Bytes.wrap(dagSeed).toHexString(),
-          currentInput.getTarget().toBytes().toHexString(),
+          input.getTarget().toBytes().toHexString(),
           true
         };
     JsonRpcRequest req = new JsonRpcRequest("2.0", "mining.notify", params);
-    try {
-      conn.send(mapper.writeValueAsString(req) + "\n");
-    } catch (JsonProcessingException e) {
-      LOG.debug(e.getMessage(), e);
-    }
+    return Buffer.buffer(mapper.writeValueAsString(req) + "\n", StandardCharsets.UTF_8.name());
   }
 
   @Override
@@ -176,22 +201,36 @@ public class Stratum1Protocol implements StratumProtocol {
     }
   }
 
-  private void handleMiningSubmit(final StratumConnection conn, final JsonRpcRequest message)
-      throws IOException {
+  private void handleMiningSubmit(final StratumConnection conn, final JsonRpcRequest message) {
     LOG.debug("Miner submitted solution {}", message);
-    boolean result = false;
+    final long receivedAt = System.nanoTime();
     final EthHashSolution solution =
         new EthHashSolution(
             Bytes.fromHexString(message.getRequiredParameter(2, String.class)).getLong(0),
             Hash.fromHexString(message.getRequiredParameter(4, String.class)),
             Bytes.fromHexString(message.getRequiredParameter(3, String.class)).toArrayUnsafe());
     if (Arrays.equals(currentInput.getPrePowHash(), solution.getPowHash())) {
-      result = submitCallback.apply(solution);
+      shareValidator
+          .validate(solution, submitCallback)
+          .thenAccept(result -> respondToSubmit(conn, message, result, receivedAt));
+    } else {
+      respondToSubmit(conn, message, false, receivedAt);
     }
+  }
 
-    String response =
-        mapper.writeValueAsString(new JsonRpcSuccessResponse(message.getId(), result));
-    conn.send(response + "\n");
+  private void respondToSubmit(
+      final StratumConnection conn,
+      final JsonRpcRequest message,
+      final boolean result,
+      final long receivedAt) {
+    try {
+      String response =
+          mapper.writeValueAsString(new JsonRpcSuccessResponse(message.getId(), result));
+      conn.send(response + "\n");
+    } catch (JsonProcessingException e) {
+      LOG.debug(e.getMessage(), e);
+    }
+    conn.recordShare(result, System.nanoTime() - receivedAt);
   }
 
   private void handleMiningAuthorize(final StratumConnection conn, final JsonRpcRequest message)
@@ -206,10 +245,18 @@ public class Stratum1Protocol implements StratumProtocol {
 
   @Override
   public void setCurrentWorkTask(final EthHashSolverInputs input) {
+    final Buffer notification;
+    try {
+      notification = encodeNewWork(input);
+    } catch (JsonProcessingException e) {
+      LOG.debug(e.getMessage(), e);
+      return;
+    }
     this.currentInput = input;
-    LOG.debug("Sending new work to miners: {}", input);
+    this.currentNotification = notification;
+    LOG.debug("Sending new work to {} miners: {}", activeConnections.size(), input);
     for (StratumConnection conn : activeConnections) {
-      sendNewWork(conn);
+      conn.send(notification);
     }
   }
 
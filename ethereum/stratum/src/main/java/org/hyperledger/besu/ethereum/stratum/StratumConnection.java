@@ -18,6 +18,8 @@ import static org.apache.logging.log4j.LogManager.getLogger;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import com.google.common.base.Splitter;
@@ -36,6 +38,12 @@ final class StratumConnection {
   private final StratumProtocol[] protocols;
   private final Runnable closeHandle;
   private final Consumer<String> sender;
+  private final Consumer<Buffer> encodedSender;
+
+  private final long connectedAt = System.nanoTime();
+  private final LongAdder sharesSubmitted = new LongAdder();
+  private final LongAdder sharesAccepted = new LongAdder();
+  private final LongAdder shareLatencyNanos = new LongAdder();
 
   private StratumProtocol protocol;
 
@@ -43,9 +51,22 @@ final class StratumConnection {
       final StratumProtocol[] protocols,
       final Runnable closeHandle,
       final Consumer<String> sender) {
+    this(
+        protocols,
+        closeHandle,
+        sender,
+        buffer -> sender.accept(buffer.toString(StandardCharsets.UTF_8)));
+  }
+
+  StratumConnection(
+      final StratumProtocol[] protocols,
+      final Runnable closeHandle,
+      final Consumer<String> sender,
+      final Consumer<Buffer> encodedSender) {
     this.protocols = protocols;
     this.closeHandle = closeHandle;
     this.sender = sender;
+    this.encodedSender = encodedSender;
   }
 
   void handleBuffer(final Buffer buffer) {
@@ -80,6 +101,39 @@ final class StratumConnection {
     if (protocol != null) {
       protocol.onClose(this);
     }
+    final long submitted = sharesSubmitted.sum();
+    if (submitted > 0) {
+      final double connectedMinutes =
+          Math.max(1, System.nanoTime() - connectedAt) / (double) TimeUnit.MINUTES.toNanos(1);
+      LOG.debug(
+          "Stratum connection closed: {} shares submitted, {} accepted, {} shares/min, mean latency {} ms",
+          submitted,
+          sharesAccepted.sum(),
+          String.format("%.2f", submitted / connectedMinutes),
+          TimeUnit.NANOSECONDS.toMillis(shareLatencyNanos.sum() / submitted));
+    }
+  }
+
+  /**
+   * Records the outcome of a share submitted over this connection.
+   *
+   * @param accepted whether the share was accepted
+   * @param latencyNanos the time between receiving the share and answering it
+   */
+  void recordShare(final boolean accepted, final long latencyNanos) {
+    sharesSubmitted.increment();
+    if (accepted) {
+      sharesAccepted.increment();
+    }
+    shareLatencyNanos.add(latencyNanos);
+  }
+
+  long getSharesSubmitted() {
+    return sharesSubmitted.sum();
+  }
+
+  long getSharesAccepted() {
+    return sharesAccepted.sum();
   }
 
   private void handleMessage(final String message) {
@@ -102,4 +156,14 @@ final class StratumConnection {
     LOG.debug("Sending message {}", message);
     sender.accept(message);
   }
+
+  /**
+   * Sends an already encoded message. The same buffer may be sent to many connections.
+   *
+   * @param message the encoded message, including its trailing newline
+   */
+  void send(final Buffer message) {
+    LOG.trace("Sending encoded message of {} bytes", message.length());
+    encodedSender.accept(message);
+  }
 }
@@ -20,9 +20,12 @@ import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.EthHashObserver;
 import org.hyperledger.besu.ethereum.mainnet.EthHashSolution;
 import org.hyperledger.besu.ethereum.mainnet.EthHashSolverInputs;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import io.vertx.core.Vertx;
@@ -45,6 +48,8 @@ public class StratumServer implements EthHashObserver {
   private final String networkInterface;
   private final AtomicBoolean started = new AtomicBoolean(false);
   private final StratumProtocol[] protocols;
+  private final StratumShareValidator shareValidator;
+  private final AtomicInteger activeConnections = new AtomicInteger();
   private NetServer server;
 
   public StratumServer(
@@ -52,15 +57,26 @@ public class StratumServer implements EthHashObserver {
       final MiningCoordinator miningCoordinator,
       final int port,
       final String networkInterface,
-      final String extraNonce) {
+      final String extraNonce,
+      final MetricsSystem metricsSystem) {
     this.vertx = vertx;
     this.port = port;
     this.networkInterface = networkInterface;
+    shareValidator =
+        StratumShareValidator.create(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            StratumShareValidator.DEFAULT_QUEUE_SIZE,
+            metricsSystem);
     protocols =
         new StratumProtocol[] {
-          new Stratum1Protocol(extraNonce, miningCoordinator),
-          new Stratum1EthProxyProtocol(miningCoordinator)
+          new Stratum1Protocol(extraNonce, miningCoordinator, shareValidator),
+          new Stratum1EthProxyProtocol(miningCoordinator, shareValidator)
         };
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.RPC,
+        "stratum_connections_current",
+        "Number of open stratum connections",
+        activeConnections::get);
   }
 
   public CompletableFuture<?> start() {
@@ -91,13 +107,19 @@ public class StratumServer implements EthHashObserver {
   private void handle(final NetSocket socket) {
     StratumConnection conn =
         new StratumConnection(
-            protocols, socket::close, bytes -> socket.write(Buffer.buffer(bytes)));
+            protocols, socket::close, bytes -> socket.write(Buffer.buffer(bytes)), socket::write);
+    activeConnections.incrementAndGet();
     socket.handler(conn::handleBuffer);
-    socket.closeHandler(conn::close);
+    socket.closeHandler(
+        aVoid -> {
+          activeConnections.decrementAndGet();
+          conn.close(aVoid);
+        });
   }
 
   public CompletableFuture<?> stop() {
     if (started.compareAndSet(true, false)) {
+      shareValidator.stop();
       CompletableFuture<?> result = new CompletableFuture<>();
       server.close(
           res -> {
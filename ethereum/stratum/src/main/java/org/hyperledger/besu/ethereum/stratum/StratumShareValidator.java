@@ -0,0 +1,160 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.stratum;
+
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import org.hyperledger.besu.ethereum.mainnet.EthHashSolution;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Verifies shares submitted by miners away from the event loop.
+ *
+ * <p>Shares are handed to a bounded worker pool. When the pool is saturated new shares are rejected
+ * instead of queueing without limit. Each distinct solution is remembered, so a share submitted
+ * again, by the same miner or by another one working on the same job, is rejected as a duplicate
+ * without being verified twice.
+ */
+class StratumShareValidator {
+  private static final Logger LOG = getLogger();
+
+  static final int DEFAULT_QUEUE_SIZE = 1024;
+  static final int VERIFIED_SOLUTION_CACHE_SIZE = 4096;
+
+  private final ExecutorService executor;
+  private final ConcurrentMap<EthHashSolution, CompletableFuture<Boolean>> verifiedSolutions =
+      CacheBuilder.newBuilder()
+          .maximumSize(VERIFIED_SOLUTION_CACHE_SIZE)
+          .<EthHashSolution, CompletableFuture<Boolean>>build()
+          .asMap();
+
+  private final Counter acceptedCounter;
+  private final Counter rejectedCounter;
+  private final Counter duplicateCounter;
+  private final Counter busyCounter;
+  private final OperationTimer validationTimer;
+
+  StratumShareValidator(final ExecutorService executor, final MetricsSystem metricsSystem) {
+    this.executor = executor;
+    final LabelledMetric<Counter> shareCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC,
+            "stratum_shares_total",
+            "Number of shares submitted by stratum miners by validation outcome",
+            "result");
+    acceptedCounter = shareCounter.labels("accepted");
+    rejectedCounter = shareCounter.labels("rejected");
+    duplicateCounter = shareCounter.labels("duplicate");
+    busyCounter = shareCounter.labels("busy");
+    validationTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.RPC,
+            "stratum_share_validation_latency_seconds",
+            "Time taken to validate a share submitted by a stratum miner, including queueing");
+  }
+
+  /**
+   * Creates a validator backed by a bounded pool of worker threads.
+   *
+   * @param threads the number of worker threads
+   * @param queueSize the number of shares that may wait for a worker
+   * @param metricsSystem the metrics system
+   * @return the validator
+   */
+  static StratumShareValidator create(
+      final int threads, final int queueSize, final MetricsSystem metricsSystem) {
+    return new StratumShareValidator(
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("StratumShareValidator-%d")
+                .build()),
+        metricsSystem);
+  }
+
+  /** Creates a validator which verifies shares on the calling thread. */
+  static StratumShareValidator direct() {
+    return new StratumShareValidator(
+        MoreExecutors.newDirectExecutorService(), new NoOpMetricsSystem());
+  }
+
+  /**
+   * Validates a share. A solution that was already submitted is rejected without being verified.
+   *
+   * @param solution the submitted solution
+   * @param submitCallback the callback verifying and, if valid, sealing the block
+   * @return a future completed with whether the solution was accepted
+   */
+  CompletableFuture<Boolean> validate(
+      final EthHashSolution solution, final Function<EthHashSolution, Boolean> submitCallback) {
+    final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    final CompletableFuture<Boolean> existing = verifiedSolutions.putIfAbsent(solution, result);
+    if (existing != null) {
+      duplicateCounter.inc();
+      return CompletableFuture.completedFuture(false);
+    }
+    final OperationTimer.TimingContext timingContext = validationTimer.startTimer();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              final boolean accepted = submitCallback.apply(solution);
+              (accepted ? acceptedCounter : rejectedCounter).inc();
+              result.complete(accepted);
+            } catch (final RuntimeException e) {
+              LOG.debug("Unable to validate share {}", solution, e);
+              verifiedSolutions.remove(solution, result);
+              result.complete(false);
+            } finally {
+              timingContext.stopTimer();
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      LOG.debug("Share validation pool saturated, rejecting share {}", solution);
+      verifiedSolutions.remove(solution, result);
+      busyCounter.inc();
+      result.complete(false);
+    }
+    return result;
+  }
+
+  void stop() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.stratum;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.blockcreation.EthHashMiningCoordinator;
+import org.hyperledger.besu.ethereum.mainnet.EpochCalculator;
+import org.hyperledger.besu.ethereum.mainnet.EthHashSolution;
+import org.hyperledger.besu.ethereum.mainnet.EthHashSolverInputs;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.parsetools.RecordParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Load test driving a stratum server with many simulated miners over local TCP connections.
+ *
+ * <p>The number of miners defaults to a size suitable for the regular test run and can be raised
+ * with the {@code stratum.loadtest.miners} system property.
+ */
+public class StratumServerLoadTest {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int MINERS = Integer.getInteger("stratum.loadtest.miners", 200);
+  private static final int DISTINCT_SOLUTIONS = 10;
+  private static final long TIMEOUT_SECONDS = 30;
+  private static final byte[] PRE_POW_HASH = Bytes32.fromHexStringLenient("0xbeef").toArray();
+
+  private final Set<EthHashSolution> verifiedSolutions = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger verifications = new AtomicInteger();
+
+  private Vertx vertx;
+  private StratumServer server;
+  private NetClient client;
+  private int port;
+
+  @Before
+  public void setUp() throws Exception {
+    final EthHashMiningCoordinator miningCoordinator = mock(EthHashMiningCoordinator.class);
+    when(miningCoordinator.getEpochCalculator())
+        .thenReturn(new EpochCalculator.DefaultEpochCalculator());
+    port = freePort();
+    vertx = Vertx.vertx();
+    server =
+        new StratumServer(vertx, miningCoordinator, port, "127.0.0.1", "", new NoOpMetricsSystem());
+    server.setSubmitWorkCallback(
+        solution -> {
+          verifications.incrementAndGet();
+          return verifiedSolutions.add(solution);
+        });
+    server.start().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    client = vertx.createNetClient(new NetClientOptions().setConnectTimeout(10_000));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    client.close();
+    server.stop().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    vertx.close();
+  }
+
+  @Test
+  public void simulatedMinersReceiveWorkAndHaveSharesValidated() throws Exception {
+    final CountDownLatch authorized = new CountDownLatch(MINERS);
+    final CountDownLatch notified = new CountDownLatch(MINERS);
+    final CountDownLatch answered = new CountDownLatch(MINERS);
+    final List<SimulatedMiner> miners = new ArrayList<>();
+    for (int i = 0; i < MINERS; i++) {
+      final SimulatedMiner miner = new SimulatedMiner(i, authorized, notified, answered);
+      miners.add(miner);
+      miner.connect();
+    }
+    assertThat(authorized.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+    final long broadcastStart = System.nanoTime();
+    server.newJob(new EthHashSolverInputs(UInt256.MAX_VALUE, PRE_POW_HASH, 1));
+    assertThat(notified.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    final long broadcastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - broadcastStart);
+
+    final long submitStart = System.nanoTime();
+    miners.forEach(SimulatedMiner::submitShare);
+    assertThat(answered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    final long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitStart);
+
+    LOG.debug(
+        "{} miners: job broadcast in {} ms, shares answered in {} ms",
+        MINERS,
+        broadcastMillis,
+        submitMillis);
+    // every miner got the same job, each distinct solution was only verified once and only its
+    // first submission was accepted
+    assertThat(miners.stream().map(m -> m.jobId.get()).distinct()).hasSize(1);
+    assertThat(verifications).hasValue(DISTINCT_SOLUTIONS);
+    assertThat(miners).allMatch(m -> m.shareResult.get() != null);
+    assertThat(miners.stream().filter(m -> m.shareResult.get())).hasSize(DISTINCT_SOLUTIONS);
+  }
+
+  private static int freePort() throws IOException {
+    try (final ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private class SimulatedMiner {
+    private final int index;
+    private final CountDownLatch authorized;
+    private final CountDownLatch notified;
+    private final CountDownLatch answered;
+    private final AtomicReference<String> jobId = new AtomicReference<>();
+    private final AtomicReference<Boolean> shareResult = new AtomicReference<>();
+    private volatile NetSocket socket;
+
+    SimulatedMiner(
+        final int index,
+        final CountDownLatch authorized,
+        final CountDownLatch notified,
+        final CountDownLatch answered) {
+      this.index = index;
+      this.authorized = authorized;
+      this.notified = notified;
+      this.answered = answered;
+    }
+
+    void connect() {
+      client.connect(
+          port,
+          "127.0.0.1",
+          result -> {
+            if (result.failed()) {
+              return;
+            }
+            socket = result.result();
+            socket.handler(RecordParser.newDelimited("\n", this::handleLine));
+            send(1, "mining.subscribe", new JsonArray().add("SimulatedMiner/1.0.0"));
+            send(2, "mining.authorize", new JsonArray().add("miner" + index).add("password"));
+          });
+    }
+
+    void submitShare() {
+      send(
+          3,
+          "mining.submit",
+          new JsonArray()
+              .add("miner" + index)
+              .add(jobId.get())
+              .add(Bytes.ofUnsignedLong(index % DISTINCT_SOLUTIONS).toHexString())
+              .add(Bytes.wrap(PRE_POW_HASH).toHexString())
+              .add(Bytes32.ZERO.toHexString()));
+    }
+
+    private void send(final int id, final String method, final JsonArray params) {
+      final JsonObject request =
+          new JsonObject().put("id", id).put("method", method).put("params", params);
+      socket.write(request.encode() + "\n");
+    }
+
+    private void handleLine(final Buffer line) {
+      final JsonObject message = line.toJsonObject();
+      if ("mining.notify".equals(message.getString("method"))) {
+        jobId.set(message.getJsonArray("params").getString(0));
+        notified.countDown();
+      } else if (Integer.valueOf(2).equals(message.getInteger("id"))) {
+        authorized.countDown();
+      } else if (Integer.valueOf(3).equals(message.getInteger("id"))) {
+        shareResult.set(message.getBoolean("result"));
+        answered.countDown();
+      }
+    }
+  }
+}
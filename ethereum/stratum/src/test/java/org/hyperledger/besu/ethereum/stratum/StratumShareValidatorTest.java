@@ -0,0 +1,90 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.stratum;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.mainnet.EthHashSolution;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class StratumShareValidatorTest {
+
+  private static final byte[] POW_HASH = new byte[32];
+
+  private final StratumShareValidator validator =
+      StratumShareValidator.create(1, 1, new NoOpMetricsSystem());
+
+  @After
+  public void tearDown() {
+    validator.stop();
+  }
+
+  @Test
+  public void duplicateSolutionsAreRejectedWithoutVerification() throws Exception {
+    final AtomicInteger verifications = new AtomicInteger();
+    final EthHashSolution solution = new EthHashSolution(1L, Hash.ZERO, POW_HASH);
+
+    final CompletableFuture<Boolean> first =
+        validator.validate(solution, s -> verifications.incrementAndGet() > 0);
+    final CompletableFuture<Boolean> second =
+        validator.validate(
+            new EthHashSolution(1L, Hash.ZERO, POW_HASH), s -> verifications.incrementAndGet() > 0);
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.get(5, TimeUnit.SECONDS)).isFalse();
+    assertThat(verifications).hasValue(1);
+  }
+
+  @Test
+  public void sharesAreRejectedWhenThePoolIsSaturated() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CompletableFuture<Boolean> running =
+        validator.validate(new EthHashSolution(1L, Hash.ZERO, POW_HASH), s -> await(release));
+    final CompletableFuture<Boolean> queued =
+        validator.validate(new EthHashSolution(2L, Hash.ZERO, POW_HASH), s -> true);
+    final CompletableFuture<Boolean> rejected =
+        validator.validate(new EthHashSolution(3L, Hash.ZERO, POW_HASH), s -> true);
+
+    assertThat(rejected).isCompletedWithValue(false);
+    release.countDown();
+    assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+
+    // a refused share was never verified, so a later submission is verified normally
+    assertThat(
+            validator
+                .validate(new EthHashSolution(3L, Hash.ZERO, POW_HASH), s -> true)
+                .get(5, TimeUnit.SECONDS))
+        .isTrue();
+  }
+
+  private static boolean await(final CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import static org.hyperledger.besu.metrics.BesuMetricCategory.DEFAULT_METRIC_CATEGORIES;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the Prometheus client recorders with the lock-free recorders when several threads update
+ * the same labelled metrics, the way JSON-RPC request handlers do.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class MetricsRecordersBenchmark {
+
+  private static final String[] METHODS = {
+    "eth_call", "eth_getBalance", "eth_blockNumber", "eth_getLogs", "eth_sendRawTransaction"
+  };
+
+  @Param({"false", "true"})
+  public boolean lockFreeRecordersEnabled;
+
+  private LabelledMetric<Counter> counter;
+  private LabelledMetric<OperationTimer> timer;
+  private Counter resolvedCounter;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final PrometheusMetricsSystem metricsSystem =
+        new PrometheusMetricsSystem(DEFAULT_METRIC_CATEGORIES, true, lockFreeRecordersEnabled);
+    counter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC, "requests_total", "Requests", "method");
+    timer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.RPC, "request_time", "Request time", "method");
+    resolvedCounter = counter.labels(METHODS[0]);
+  }
+
+  @Benchmark
+  public void labelledCounterIncrement() {
+    counter.labels(nextMethod()).inc();
+  }
+
+  @Benchmark
+  public void resolvedCounterIncrement() {
+    resolvedCounter.inc();
+  }
+
+  @Benchmark
+  public double labelledTimer() {
+    return timer.labels(nextMethod()).startTimer().stopTimer();
+  }
+
+  private static String nextMethod() {
+    return METHODS[ThreadLocalRandom.current().nextInt(METHODS.length)];
+  }
+}
@@ -46,7 +46,9 @@ public class MetricsSystemFactory {
     if (PROMETHEUS.equals(metricsConfiguration.getProtocol())) {
       final PrometheusMetricsSystem metricsSystem =
           new PrometheusMetricsSystem(
-              metricsConfiguration.getMetricCategories(), metricsConfiguration.isTimersEnabled());
+              metricsConfiguration.getMetricCategories(),
+              metricsConfiguration.isTimersEnabled(),
+              metricsConfiguration.isLockFreeRecordersEnabled());
       metricsSystem.init();
       return metricsSystem;
     } else if (OPENTELEMETRY.equals(metricsConfiguration.getProtocol())) {
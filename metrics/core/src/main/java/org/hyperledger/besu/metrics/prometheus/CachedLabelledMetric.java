@@ -0,0 +1,65 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A labelled metric that resolves each combination of label values to its child once. Later calls
+ * to {@link #labels(String...)} with the same values return the same child from lock-free map
+ * lookups, so hot paths don't create a new child, wrapper or key for every update.
+ *
+ * @param <T> The type of the children
+ */
+abstract class CachedLabelledMetric<T> implements LabelledMetric<T> {
+
+  // children are looked up one label value at a time, so no key is built from the label values
+  private final Node<T> root = new Node<>();
+
+  @Override
+  public T labels(final String... labels) {
+    Node<T> node = root;
+    for (final String label : labels) {
+      final Node<T> next = node.next.get(label);
+      node = next != null ? next : node.next.computeIfAbsent(label, key -> new Node<>());
+    }
+    final T child = node.child;
+    return child != null ? child : node.createChild(this, labels);
+  }
+
+  /**
+   * Creates the child for the given label values. Called at most once per combination of values.
+   *
+   * @param labels the label values
+   * @return the child
+   */
+  protected abstract T createChild(String... labels);
+
+  private static class Node<T> {
+    private final Map<String, Node<T>> next = new ConcurrentHashMap<>();
+    private volatile T child;
+
+    private synchronized T createChild(
+        final CachedLabelledMetric<T> metric, final String... labels) {
+      if (child == null) {
+        child = metric.createChild(labels);
+      }
+      return child;
+    }
+  }
+}
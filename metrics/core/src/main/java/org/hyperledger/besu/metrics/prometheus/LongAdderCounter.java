@@ -0,0 +1,81 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.singletonList;
+
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+
+/**
+ * A counter whose children are striped {@link LongAdder}s. Increments never take a lock, and the
+ * values are only summed when the metric is scraped.
+ */
+class LongAdderCounter extends CachedLabelledMetric<Counter> {
+
+  private final String metricName;
+  private final String help;
+  private final List<String> labelNames;
+  private final Map<List<String>, LongAdder> values = new ConcurrentHashMap<>();
+
+  LongAdderCounter(final String metricName, final String help, final String... labelNames) {
+    this.metricName = metricName;
+    this.help = help;
+    this.labelNames = List.of(labelNames);
+    if (labelNames.length == 0) {
+      // like the Prometheus client, report an unlabelled counter before its first increment
+      labels();
+    }
+  }
+
+  @Override
+  protected Counter createChild(final String... labels) {
+    checkArgument(labels.length == labelNames.size(), "Incorrect number of labels.");
+    final LongAdder value = values.computeIfAbsent(List.of(labels), key -> new LongAdder());
+    return new Counter() {
+      @Override
+      public void inc() {
+        value.increment();
+      }
+
+      @Override
+      public void inc(final long amount) {
+        value.add(amount);
+      }
+    };
+  }
+
+  Collector toCollector() {
+    return new Collector() {
+      @Override
+      public List<MetricFamilySamples> collect() {
+        final List<Sample> samples = new ArrayList<>(values.size());
+        values.forEach(
+            (labelValues, value) ->
+                samples.add(new Sample(metricName, labelNames, labelValues, value.sum())));
+        return singletonList(new MetricFamilySamples(metricName, Type.COUNTER, help, samples));
+      }
+    };
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.singletonList;
+
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+
+/**
+ * A timer that records durations into fixed histogram buckets held in striped {@link LongAdder}s.
+ * Recording a duration never takes a lock. The buckets are only read, and made cumulative, when the
+ * metric is scraped, which exposes it as a Prometheus histogram rather than a summary.
+ */
+class LongAdderTimer extends CachedLabelledMetric<OperationTimer> {
+
+  private static final double[] BUCKET_BOUNDS_SECONDS = {
+    0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+  };
+  private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS_SECONDS.length];
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  static {
+    for (int i = 0; i < BUCKET_BOUNDS_SECONDS.length; i++) {
+      BUCKET_BOUNDS_NANOS[i] = (long) (BUCKET_BOUNDS_SECONDS[i] * NANOS_PER_SECOND);
+    }
+  }
+
+  private final String metricName;
+  private final String help;
+  private final List<String> labelNames;
+  private final List<String> bucketLabelNames;
+  private final Map<List<String>, Recorder> recorders = new ConcurrentHashMap<>();
+
+  LongAdderTimer(final String metricName, final String help, final String... labelNames) {
+    this.metricName = metricName;
+    this.help = help;
+    this.labelNames = List.of(labelNames);
+    final List<String> bucketLabelNames = new ArrayList<>(this.labelNames);
+    bucketLabelNames.add("le");
+    this.bucketLabelNames = List.copyOf(bucketLabelNames);
+  }
+
+  @Override
+  protected OperationTimer createChild(final String... labels) {
+    checkArgument(labels.length == labelNames.size(), "Incorrect number of labels.");
+    final Recorder recorder = recorders.computeIfAbsent(List.of(labels), key -> new Recorder());
+    return () -> {
+      final long start = System.nanoTime();
+      return () -> {
+        final long elapsed = System.nanoTime() - start;
+        recorder.record(elapsed);
+        return elapsed / NANOS_PER_SECOND;
+      };
+    };
+  }
+
+  Collector toCollector() {
+    return new Collector() {
+      @Override
+      public List<MetricFamilySamples> collect() {
+        final List<Sample> samples = new ArrayList<>();
+        recorders.forEach((labelValues, recorder) -> addSamples(labelValues, recorder, samples));
+        return singletonList(new MetricFamilySamples(metricName, Type.HISTOGRAM, help, samples));
+      }
+    };
+  }
+
+  private void addSamples(
+      final List<String> labelValues, final Recorder recorder, final List<Sample> samples) {
+    long count = 0;
+    for (int i = 0; i < recorder.buckets.length; i++) {
+      count += recorder.buckets[i].sum();
+      final String upperBound =
+          i < BUCKET_BOUNDS_SECONDS.length
+              ? Collector.doubleToGoString(BUCKET_BOUNDS_SECONDS[i])
+              : "+Inf";
+      final List<String> bucketLabelValues = new ArrayList<>(labelValues);
+      bucketLabelValues.add(upperBound);
+      samples.add(new Sample(metricName + "_bucket", bucketLabelNames, bucketLabelValues, count));
+    }
+    samples.add(new Sample(metricName + "_count", labelNames, labelValues, count));
+    samples.add(
+        new Sample(
+            metricName + "_sum",
+            labelNames,
+            labelValues,
+            recorder.sumNanos.sum() / NANOS_PER_SECOND));
+  }
+
+  private static class Recorder {
+    // the last bucket counts durations above the largest bound
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    Recorder() {
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    void record(final long durationNanos) {
+      int bucket = 0;
+      while (bucket < BUCKET_BOUNDS_NANOS.length && durationNanos > BUCKET_BOUNDS_NANOS[bucket]) {
+        bucket++;
+      }
+      buckets[bucket].increment();
+      sumNanos.add(durationNanos);
+    }
+  }
+}
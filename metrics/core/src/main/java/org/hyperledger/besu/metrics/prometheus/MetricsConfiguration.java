@@ -35,6 +35,8 @@ public class MetricsConfiguration {
   private static final String DEFAULT_METRICS_PUSH_HOST = "127.0.0.1";
   public static final int DEFAULT_METRICS_PUSH_PORT = 9001;
   public static final Boolean DEFAULT_TIMERS_ENABLED = true;
+  public static final Boolean DEFAULT_LOCK_FREE_RECORDERS_ENABLED = false;
+  public static final Boolean DEFAULT_BLOCK_PROCESSING_PROFILE_ENABLED = false;
 
   private final boolean enabled;
   private final MetricsProtocol protocol;
@@ -49,6 +51,8 @@ public class MetricsConfiguration {
   private final String prometheusJob;
   private final List<String> hostsAllowlist;
   private final boolean timersEnabled;
+  private final boolean lockFreeRecordersEnabled;
+  private final boolean blockProcessingProfileEnabled;
 
   public static Builder builder() {
     return new Builder();
@@ -66,7 +70,9 @@ public class MetricsConfiguration {
       final int pushInterval,
       final String prometheusJob,
       final List<String> hostsAllowlist,
-      final boolean timersEnabled) {
+      final boolean timersEnabled,
+      final boolean lockFreeRecordersEnabled,
+      final boolean blockProcessingProfileEnabled) {
     this.enabled = enabled;
     this.port = port;
     this.protocol = protocol;
@@ -79,6 +85,8 @@ public class MetricsConfiguration {
     this.prometheusJob = prometheusJob;
     this.hostsAllowlist = hostsAllowlist;
     this.timersEnabled = timersEnabled;
+    this.lockFreeRecordersEnabled = lockFreeRecordersEnabled;
+    this.blockProcessingProfileEnabled = blockProcessingProfileEnabled;
   }
 
   public boolean isEnabled() {
@@ -143,6 +151,14 @@ public class MetricsConfiguration {
     return timersEnabled;
   }
 
+  public boolean isLockFreeRecordersEnabled() {
+    return lockFreeRecordersEnabled;
+  }
+
+  public boolean isBlockProcessingProfileEnabled() {
+    return blockProcessingProfileEnabled;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -211,6 +227,8 @@ public class MetricsConfiguration {
     private String prometheusJob = "besu-client";
     private List<String> hostsAllowlist = Arrays.asList("localhost", "127.0.0.1");
     private boolean timersEnabled = DEFAULT_TIMERS_ENABLED;
+    private boolean lockFreeRecordersEnabled = DEFAULT_LOCK_FREE_RECORDERS_ENABLED;
+    private boolean blockProcessingProfileEnabled = DEFAULT_BLOCK_PROCESSING_PROFILE_ENABLED;
 
     private Builder() {}
 
@@ -281,6 +299,16 @@ public class MetricsConfiguration {
       return this;
     }
 
+    public Builder lockFreeRecordersEnabled(final boolean lockFreeRecordersEnabled) {
+      this.lockFreeRecordersEnabled = lockFreeRecordersEnabled;
+      return this;
+    }
+
+    public Builder blockProcessingProfileEnabled(final boolean blockProcessingProfileEnabled) {
+      this.blockProcessingProfileEnabled = blockProcessingProfileEnabled;
+      return this;
+    }
+
     public MetricsConfiguration build() {
       return new MetricsConfiguration(
           enabled,
@@ -294,7 +322,9 @@ public class MetricsConfiguration {
           pushInterval,
           prometheusJob,
           hostsAllowlist,
-          timersEnabled);
+          timersEnabled,
+          lockFreeRecordersEnabled,
+          blockProcessingProfileEnabled);
     }
   }
 }
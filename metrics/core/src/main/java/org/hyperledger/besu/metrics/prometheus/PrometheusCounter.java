@@ -15,9 +15,8 @@
 package org.hyperledger.besu.metrics.prometheus;
 
 import org.hyperledger.besu.plugin.services.metrics.Counter;
-import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
-class PrometheusCounter implements LabelledMetric<Counter> {
+class PrometheusCounter extends CachedLabelledMetric<Counter> {
 
   private final io.prometheus.client.Counter counter;
 
@@ -26,7 +25,7 @@ class PrometheusCounter implements LabelledMetric<Counter> {
   }
 
   @Override
-  public Counter labels(final String... labels) {
+  protected Counter createChild(final String... labels) {
     return new UnlabelledCounter(counter.labels(labels));
   }
 
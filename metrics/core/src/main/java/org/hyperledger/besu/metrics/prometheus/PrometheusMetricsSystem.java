@@ -58,11 +58,29 @@ public class PrometheusMetricsSystem implements ObservableMetricsSystem {
 
   private final Set<MetricCategory> enabledCategories;
   private final boolean timersEnabled;
+  private final boolean lockFreeRecordersEnabled;
 
   public PrometheusMetricsSystem(
       final Set<MetricCategory> enabledCategories, final boolean timersEnabled) {
+    this(enabledCategories, timersEnabled, false);
+  }
+
+  /**
+   * Creates a metrics system backed by the Prometheus client.
+   *
+   * @param enabledCategories the categories to record metrics for
+   * @param timersEnabled whether timer metrics are recorded
+   * @param lockFreeRecordersEnabled whether counters and timers record into striped {@link
+   *     java.util.concurrent.atomic.LongAdder}s that are only read on scrape, instead of the
+   *     Prometheus client's counters and summaries. Timers are then exposed as histograms.
+   */
+  public PrometheusMetricsSystem(
+      final Set<MetricCategory> enabledCategories,
+      final boolean timersEnabled,
+      final boolean lockFreeRecordersEnabled) {
     this.enabledCategories = ImmutableSet.copyOf(enabledCategories);
     this.timersEnabled = timersEnabled;
+    this.lockFreeRecordersEnabled = lockFreeRecordersEnabled;
   }
 
   public void init() {
@@ -90,6 +108,11 @@ public class PrometheusMetricsSystem implements ObservableMetricsSystem {
         metricName,
         (k) -> {
           if (isCategoryEnabled(category)) {
+            if (lockFreeRecordersEnabled) {
+              final LongAdderCounter counter = new LongAdderCounter(metricName, help, labelNames);
+              addCollectorUnchecked(category, counter.toCollector());
+              return counter;
+            }
             final Counter counter = Counter.build(metricName, help).labelNames(labelNames).create();
             addCollectorUnchecked(category, counter);
             return new PrometheusCounter(counter);
@@ -110,6 +133,11 @@ public class PrometheusMetricsSystem implements ObservableMetricsSystem {
         metricName,
         (k) -> {
           if (timersEnabled && isCategoryEnabled(category)) {
+            if (lockFreeRecordersEnabled) {
+              final LongAdderTimer timer = new LongAdderTimer(metricName, help, labelNames);
+              addCollectorUnchecked(category, timer.toCollector());
+              return timer;
+            }
             final Summary summary =
                 Summary.build(metricName, help)
                     .quantile(0.2, 0.02)
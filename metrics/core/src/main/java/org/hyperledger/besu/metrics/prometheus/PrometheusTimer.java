@@ -14,12 +14,11 @@
  */
 package org.hyperledger.besu.metrics.prometheus;
 
-import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import io.prometheus.client.Summary;
 
-class PrometheusTimer implements LabelledMetric<OperationTimer> {
+class PrometheusTimer extends CachedLabelledMetric<OperationTimer> {
 
   private final Summary summary;
 
@@ -28,7 +27,7 @@ class PrometheusTimer implements LabelledMetric<OperationTimer> {
   }
 
   @Override
-  public OperationTimer labels(final String... labels) {
+  protected OperationTimer createChild(final String... labels) {
     final Summary.Child metric = summary.labels(labels);
     return () -> metric.startTimer()::observeDuration;
   }
@@ -159,6 +159,74 @@ public class PrometheusMetricsSystemTest {
             new Observation(RPC, "request", null, asList("method", "count")));
   }
 
+  @Test
+  public void shouldReuseChildForSameLabelValues() {
+    final LabelledMetric<Counter> counter =
+        metricsSystem.createLabelledCounter(PEERS, "connected", "Some help", "a", "b");
+    final LabelledMetric<OperationTimer> timer =
+        metricsSystem.createLabelledTimer(RPC, "request", "Some help", "methodName");
+
+    assertThat(counter.labels("x", "y")).isSameAs(counter.labels("x", "y"));
+    assertThat(counter.labels("x", "y")).isNotSameAs(counter.labels("y", "x"));
+    assertThat(timer.labels("method")).isSameAs(timer.labels("method"));
+  }
+
+  @Test
+  public void shouldCreateObservationsFromLockFreeCounter() {
+    final ObservableMetricsSystem metricsSystem =
+        new PrometheusMetricsSystem(DEFAULT_METRIC_CATEGORIES, true, true);
+    final LabelledMetric<Counter> counter =
+        metricsSystem.createLabelledCounter(PEERS, "connected", "Some help", "labelName");
+
+    counter.labels("value1").inc();
+    counter.labels("value2").inc(5);
+    counter.labels("value1").inc();
+
+    assertThat(metricsSystem.streamObservations())
+        .containsExactlyInAnyOrder(
+            new Observation(PEERS, "connected", 2.0, singletonList("value1")),
+            new Observation(PEERS, "connected", 5.0, singletonList("value2")));
+    assertThatThrownBy(() -> counter.labels("value1", "value2"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldCreateHistogramObservationsFromLockFreeTimer() {
+    final ObservableMetricsSystem metricsSystem =
+        new PrometheusMetricsSystem(DEFAULT_METRIC_CATEGORIES, true, true);
+    final LabelledMetric<OperationTimer> timer =
+        metricsSystem.createLabelledTimer(RPC, "request", "Some help", "methodName");
+
+    timer.labels("method").startTimer().stopTimer();
+    timer.labels("method").startTimer().stopTimer();
+
+    assertThat(metricsSystem.streamObservations())
+        .contains(new Observation(RPC, "request", 2.0, asList("method", "count")))
+        .contains(new Observation(RPC, "request", 2.0, asList("method", "bucket", "+Inf")))
+        .usingElementComparator(IGNORE_VALUES)
+        .contains(
+            new Observation(RPC, "request", null, asList("method", "bucket", "1.0E-4")),
+            new Observation(RPC, "request", null, asList("method", "bucket", "10.0")),
+            new Observation(RPC, "request", null, asList("method", "sum")));
+  }
+
+  @Test
+  public void shouldCreateLockFreeRecordersWhenConfigured() {
+    final MetricsConfiguration metricsConfiguration =
+        MetricsConfiguration.builder()
+            .metricCategories(ImmutableSet.of(BesuMetricCategory.RPC))
+            .enabled(true)
+            .lockFreeRecordersEnabled(true)
+            .build();
+    final ObservableMetricsSystem localMetricSystem =
+        MetricsSystemFactory.create(metricsConfiguration);
+
+    assertThat(localMetricSystem.createLabelledCounter(RPC, "name", "Not useful", "method"))
+        .isInstanceOf(LongAdderCounter.class);
+    assertThat(localMetricSystem.createLabelledTimer(RPC, "time", "Not useful", "method"))
+        .isInstanceOf(LongAdderTimer.class);
+  }
+
   @Test
   public void shouldNotCreateObservationsFromTimerWhenTimersDisabled() {
     final ObservableMetricsSystem metricsSystem =